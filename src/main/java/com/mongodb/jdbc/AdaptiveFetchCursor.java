@@ -0,0 +1,271 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import org.bson.RawBsonDocument;
+
+/**
+ * MongoCursor adjusting the batch size of each getMore to the rows read so far.
+ *
+ * <p>The first batch is small, so that the first row is returned quickly. Each following batch is
+ * sized from the average size of the rows and the rate at which they are consumed:
+ *
+ * <ul>
+ *   <li>it holds about targetBytes bytes, and never more than maxBytes,
+ *   <li>it holds no more rows than the consumer reads in MAX_BATCH_NANOS, since a slow consumer
+ *       gains nothing from larger batches,
+ *   <li>it grows by at most MAX_GROWTH times the previous batch size, while it shrinks at once.
+ * </ul>
+ *
+ * <p>When the cursor is read ahead by a PrefetchCursor, its consumer is the background fetch and
+ * not the application, so the consumption rate is not measured.
+ */
+final class AdaptiveFetchCursor implements MongoCursor<RawBsonDocument> {
+    static final int FIRST_BATCH_SIZE = 100;
+    static final long MAX_BATCH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    static final int MAX_GROWTH = 4;
+    static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final Field BATCH_CURSOR_FIELD;
+    private static final Method SET_BATCH_SIZE_METHOD;
+
+    static {
+        // The driver cursors don't expose their batch size, it is set on their internal cursor.
+        Field field = null;
+        Method method = null;
+        try {
+            field =
+                    Class.forName("com.mongodb.client.internal.MongoBatchCursorAdapter")
+                            .getDeclaredField("batchCursor");
+            field.setAccessible(true);
+            method =
+                    Class.forName("com.mongodb.internal.operation.BatchCursor")
+                            .getMethod("setBatchSize", int.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            field = null;
+        }
+        BATCH_CURSOR_FIELD = field;
+        SET_BATCH_SIZE_METHOD = method;
+    }
+
+    private final MongoCursor<RawBsonDocument> cursor;
+    private final IntConsumer batchSizeSetter;
+    private final long targetBytes;
+    private final long maxBytes;
+    private final boolean measureRate;
+
+    private int batchSize = FIRST_BATCH_SIZE;
+    // The batch being read by the consumer.
+    private int batchRows;
+    private long batchBytes;
+    private long batchStartNanos = System.nanoTime();
+
+    private int batches;
+    private int minBatchRows = Integer.MAX_VALUE;
+    private int maxBatchRows;
+
+    /**
+     * @param cursor The cursor to read, opened with a batch size of FIRST_BATCH_SIZE.
+     * @param batchSizeSetter Sets the batch size of the next getMores of the cursor.
+     * @param targetBytes The size of the batches aimed at.
+     * @param maxBytes The maximum size of a batch.
+     */
+    AdaptiveFetchCursor(
+            MongoCursor<RawBsonDocument> cursor,
+            IntConsumer batchSizeSetter,
+            long targetBytes,
+            long maxBytes) {
+        this(cursor, batchSizeSetter, targetBytes, maxBytes, true);
+    }
+
+    /**
+     * @param cursor The cursor to read, opened with a batch size of FIRST_BATCH_SIZE.
+     * @param batchSizeSetter Sets the batch size of the next getMores of the cursor.
+     * @param targetBytes The size of the batches aimed at.
+     * @param maxBytes The maximum size of a batch.
+     * @param measureRate Whether the batch sizes follow the consumption rate, false when the
+     *     cursor is not read by the application directly.
+     */
+    AdaptiveFetchCursor(
+            MongoCursor<RawBsonDocument> cursor,
+            IntConsumer batchSizeSetter,
+            long targetBytes,
+            long maxBytes,
+            boolean measureRate) {
+        this.cursor = cursor;
+        this.batchSizeSetter = batchSizeSetter;
+        this.targetBytes = targetBytes;
+        this.maxBytes = maxBytes;
+        this.measureRate = measureRate;
+    }
+
+    /**
+     * @param cursor A cursor returned by the driver.
+     * @return the setter of the batch size of its next getMores, or null if the driver doesn't
+     *     support it.
+     */
+    static IntConsumer batchSizeSetter(MongoCursor<?> cursor) {
+        if (BATCH_CURSOR_FIELD == null
+                || !BATCH_CURSOR_FIELD.getDeclaringClass().isInstance(cursor)) {
+            return null;
+        }
+        try {
+            Object batchCursor = BATCH_CURSOR_FIELD.get(cursor);
+            return size -> {
+                try {
+                    SET_BATCH_SIZE_METHOD.invoke(batchCursor, size);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Failed to set the cursor batch size", e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Computes the size of the next batch from the batch just read.
+     *
+     * @param rows The number of rows of the batch.
+     * @param bytes The total size of the rows of the batch.
+     * @param consumeNanos The time the consumer took to read the batch.
+     * @return the number of rows of the next batch.
+     */
+    int nextBatchSize(int rows, long bytes, long consumeNanos) {
+        double rowBytes = Math.max(1.0, (double) bytes / Math.max(1, rows));
+        long size = (long) (targetBytes / rowBytes);
+        if (measureRate && consumeNanos > 0) {
+            long consumedRows = (long) ((double) rows * MAX_BATCH_NANOS / consumeNanos);
+            size = Math.min(size, Math.max(FIRST_BATCH_SIZE, consumedRows));
+        }
+        size = Math.min(size, (long) batchSize * MAX_GROWTH);
+        // The maximum size is a hard limit.
+        size = Math.min(size, (long) (maxBytes / rowBytes));
+        return (int) Math.max(1, size);
+    }
+
+    private void endBatch() {
+        batchSize = nextBatchSize(batchRows, batchBytes, System.nanoTime() - batchStartNanos);
+        batchSizeSetter.accept(batchSize);
+        batches++;
+        minBatchRows = Math.min(minBatchRows, batchRows);
+        maxBatchRows = Math.max(maxBatchRows, batchRows);
+        batchRows = 0;
+        batchBytes = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (cursor.available() > 0) {
+            return true;
+        }
+        // The next batch is fetched, it is consumed from now on.
+        boolean hasNext = cursor.hasNext();
+        batchStartNanos = System.nanoTime();
+        return hasNext;
+    }
+
+    @Override
+    public RawBsonDocument next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return read(cursor.next());
+    }
+
+    /** Accounts for a row of the batch being read, ending the batch with its last row. */
+    private RawBsonDocument read(RawBsonDocument row) {
+        batchRows++;
+        batchBytes += row.getByteBuffer().remaining();
+        if (cursor.available() == 0) {
+            endBatch();
+        }
+        return row;
+    }
+
+    @Override
+    public int available() {
+        return cursor.available();
+    }
+
+    @Override
+    public RawBsonDocument tryNext() {
+        // Without a row available, the wrapped cursor fetches the next batch without waiting.
+        boolean fetched = cursor.available() == 0;
+        RawBsonDocument row = cursor.tryNext();
+        if (row == null) {
+            return null;
+        }
+        if (fetched) {
+            // The next batch was fetched, it is consumed from now on.
+            batchStartNanos = System.nanoTime();
+        }
+        return read(row);
+    }
+
+    @Override
+    public ServerCursor getServerCursor() {
+        return cursor.getServerCursor();
+    }
+
+    @Override
+    public ServerAddress getServerAddress() {
+        return cursor.getServerAddress();
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+
+    /** @return the batch size of the next getMore. */
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    /** @return the number of batches read. */
+    int getBatches() {
+        return batches;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveFetchCursor{batches="
+                + batches
+                + ", minBatchRows="
+                + (batches > 0 ? minBatchRows : 0)
+                + ", maxBatchRows="
+                + maxBatchRows
+                + ", nextBatchSize="
+                + batchSize
+                + ", targetBytes="
+                + targetBytes
+                + ", maxBytes="
+                + maxBytes
+                + ", measureRate="
+                + measureRate
+                + "}";
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * InputStream reading the remaining bytes of a ByteBuffer, without copying them. It is used to
+ * stream the string and binary values of the result sets straight from the BSON bytes of the rows.
+ */
+final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+    // When set, UTF-8 bytes are converted to ASCII, like String.getBytes(US_ASCII).
+    private final boolean ascii;
+
+    /** @param buffer The bytes to read, from its position to its limit. */
+    ByteBufferInputStream(ByteBuffer buffer) {
+        this(buffer, false);
+    }
+
+    private ByteBufferInputStream(ByteBuffer buffer, boolean ascii) {
+        this.buffer = buffer;
+        this.ascii = ascii;
+        // Without a call to mark(), reset() goes back to the start of the stream.
+        buffer.mark();
+    }
+
+    /**
+     * Returns a stream of the ASCII representation of UTF-8 bytes, where each character outside of
+     * the ASCII range is replaced by '?'.
+     *
+     * @param utf8 The UTF-8 bytes to read, from its position to its limit.
+     */
+    static ByteBufferInputStream ascii(ByteBuffer utf8) {
+        return new ByteBufferInputStream(utf8, true);
+    }
+
+    @Override
+    public int read() {
+        while (buffer.hasRemaining()) {
+            int b = buffer.get() & 0xff;
+            if (!ascii || b < 0x80) {
+                return b;
+            }
+            // A character is encoded by a leading byte followed by continuation bytes 10xxxxxx.
+            if (b >= 0xc0) {
+                return '?';
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        if (!ascii) {
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+        int n = 0;
+        while (n < len) {
+            int c = read();
+            if (c < 0) {
+                break;
+            }
+            b[off + n++] = (byte) c;
+        }
+        return (n == 0) ? -1 : n;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (ascii) {
+            long skipped = 0;
+            while (skipped < n && read() >= 0) {
+                skipped++;
+            }
+            return skipped;
+        }
+        int skipped = (int) Math.min(Math.max(n, 0), buffer.remaining());
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        // The number of ASCII characters is not known without decoding the bytes.
+        return ascii ? Math.min(buffer.remaining(), 1) : buffer.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        buffer.mark();
+    }
+
+    @Override
+    public synchronized void reset() {
+        buffer.reset();
+    }
+}
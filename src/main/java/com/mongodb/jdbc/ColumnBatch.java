@@ -0,0 +1,277 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * A batch of rows of a result set, stored by column. It is created with {@link
+ * MongoResultSet#createColumnBatch(int)} and filled with {@link
+ * MongoResultSet#fetchColumns(ColumnBatch)}, which reuses its arrays for every batch.
+ *
+ * <p>Columns are numbered from 1, like in the ResultSet API, and rows from 0. The kind of each
+ * column is derived from its type in the result set metadata:
+ *
+ * <ul>
+ *   <li>integral columns are stored in a long[],
+ *   <li>floating point columns in a double[],
+ *   <li>boolean columns in a boolean[],
+ *   <li>date and timestamp columns in a long[], as milliseconds since the epoch,
+ *   <li>all the other columns in a String[], formatted like {@link MongoResultSet#getString(int)}.
+ *       Decimal columns are kept as strings to preserve their precision.
+ * </ul>
+ *
+ * The arrays have the capacity of the batch, only the first {@link #getRowCount()} elements are
+ * valid. Null values are recorded in a bitmap per column, the array element of a null value is 0,
+ * false or null.
+ *
+ * <p>The labels, kinds and nullability of the columns describe the batches completely, so that
+ * they can be copied into other columnar formats. For instance, the Apache Arrow types of the
+ * column kinds are Int(64), FloatingPoint(DOUBLE), Bool, Timestamp(MILLISECOND, "UTC") and Utf8.
+ */
+public class ColumnBatch {
+    public enum ColumnKind {
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        TIMESTAMP,
+        STRING
+    }
+
+    private final int capacity;
+    private final String[] labels;
+    private final String[] typeNames;
+    private final boolean[] nullable;
+    private final ColumnKind[] kinds;
+    private final long[][] longs;
+    private final double[][] doubles;
+    private final boolean[][] booleans;
+    private final String[][] strings;
+    private final long[][] nulls;
+    private int rowCount;
+
+    ColumnBatch(
+            String[] labels,
+            String[] typeNames,
+            int[] jdbcTypes,
+            boolean[] nullable,
+            int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The batch capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.labels = labels;
+        this.typeNames = typeNames;
+        this.nullable = nullable;
+        int columnCount = jdbcTypes.length;
+        kinds = new ColumnKind[columnCount];
+        longs = new long[columnCount][];
+        doubles = new double[columnCount][];
+        booleans = new boolean[columnCount][];
+        strings = new String[columnCount][];
+        nulls = new long[columnCount][(capacity + 63) >>> 6];
+        for (int i = 0; i < columnCount; i++) {
+            kinds[i] = kindOf(jdbcTypes[i]);
+            switch (kinds[i]) {
+                case LONG:
+                case TIMESTAMP:
+                    longs[i] = new long[capacity];
+                    break;
+                case DOUBLE:
+                    doubles[i] = new double[capacity];
+                    break;
+                case BOOLEAN:
+                    booleans[i] = new boolean[capacity];
+                    break;
+                default:
+                    strings[i] = new String[capacity];
+            }
+        }
+    }
+
+    static ColumnKind kindOf(int jdbcType) {
+        switch (jdbcType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return ColumnKind.LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return ColumnKind.DOUBLE;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return ColumnKind.BOOLEAN;
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                return ColumnKind.TIMESTAMP;
+            default:
+                return ColumnKind.STRING;
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getColumnCount() {
+        return kinds.length;
+    }
+
+    /** @return the number of rows fetched in the batch. */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public ColumnKind getKind(int column) throws SQLException {
+        return kinds[checkColumn(column)];
+    }
+
+    public String getColumnLabel(int column) throws SQLException {
+        return labels[checkColumn(column)];
+    }
+
+    /** @return the BSON type name of the column, like ResultSetMetaData.getColumnTypeName. */
+    public String getColumnTypeName(int column) throws SQLException {
+        return typeNames[checkColumn(column)];
+    }
+
+    /** @return false if the values of the column can't be null. */
+    public boolean isNullable(int column) throws SQLException {
+        return nullable[checkColumn(column)];
+    }
+
+    /** @return the values of a LONG or TIMESTAMP column. */
+    public long[] getLongs(int column) throws SQLException {
+        int i = checkColumn(column);
+        if (longs[i] == null) {
+            throw kindMismatch(column, "LONG or TIMESTAMP");
+        }
+        return longs[i];
+    }
+
+    /** @return the values of a DOUBLE column. */
+    public double[] getDoubles(int column) throws SQLException {
+        int i = checkColumn(column);
+        if (doubles[i] == null) {
+            throw kindMismatch(column, ColumnKind.DOUBLE.name());
+        }
+        return doubles[i];
+    }
+
+    /** @return the values of a BOOLEAN column. */
+    public boolean[] getBooleans(int column) throws SQLException {
+        int i = checkColumn(column);
+        if (booleans[i] == null) {
+            throw kindMismatch(column, ColumnKind.BOOLEAN.name());
+        }
+        return booleans[i];
+    }
+
+    /** @return the values of a STRING column. */
+    public String[] getStrings(int column) throws SQLException {
+        int i = checkColumn(column);
+        if (strings[i] == null) {
+            throw kindMismatch(column, ColumnKind.STRING.name());
+        }
+        return strings[i];
+    }
+
+    /**
+     * Returns the null bitmap of a column. The value of row r is null if the bit (r % 64) of the
+     * element r / 64 is set.
+     */
+    public long[] getNulls(int column) throws SQLException {
+        return nulls[checkColumn(column)];
+    }
+
+    public boolean isNull(int column, int row) throws SQLException {
+        return (nulls[checkColumn(column)][row >>> 6] & (1L << row)) != 0;
+    }
+
+    private int checkColumn(int column) throws SQLException {
+        if (column < 1 || column > kinds.length) {
+            throw new SQLException("Index out of bounds: '" + column + "'.");
+        }
+        return column - 1;
+    }
+
+    private SQLException kindMismatch(int column, String expected) {
+        return new SQLException(
+                "Column "
+                        + column
+                        + " is a "
+                        + kinds[column - 1]
+                        + " column, not "
+                        + expected
+                        + ".");
+    }
+
+    ColumnKind kind(int columnIndex) {
+        return kinds[columnIndex];
+    }
+
+    long[] longs(int columnIndex) {
+        return longs[columnIndex];
+    }
+
+    double[] doubles(int columnIndex) {
+        return doubles[columnIndex];
+    }
+
+    boolean[] booleans(int columnIndex) {
+        return booleans[columnIndex];
+    }
+
+    String[] strings(int columnIndex) {
+        return strings[columnIndex];
+    }
+
+    /** Marks a value as null and resets its array element. */
+    void setNull(int columnIndex, int row) {
+        nulls[columnIndex][row >>> 6] |= 1L << row;
+        switch (kinds[columnIndex]) {
+            case LONG:
+            case TIMESTAMP:
+                longs[columnIndex][row] = 0L;
+                break;
+            case DOUBLE:
+                doubles[columnIndex][row] = 0.0;
+                break;
+            case BOOLEAN:
+                booleans[columnIndex][row] = false;
+                break;
+            default:
+                strings[columnIndex][row] = null;
+        }
+    }
+
+    /** Empties the batch before it is filled again. */
+    void reset() {
+        rowCount = 0;
+        for (long[] bitmap : nulls) {
+            Arrays.fill(bitmap, 0L);
+        }
+    }
+
+    void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+    }
+}
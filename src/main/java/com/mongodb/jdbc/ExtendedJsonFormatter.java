@@ -0,0 +1,292 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+/**
+ * Formats BSON values as extended JSON, with the same output as the JsonWriter of the Java driver
+ * in the RELAXED and EXTENDED modes.
+ *
+ * <p>Numbers, booleans, strings, dates, object ids, decimals, documents and arrays are written
+ * directly into a StringBuilder reused by each thread, without creating a JsonWriter. The other
+ * types are rare in result sets and are written with a JsonWriter using shared settings.
+ */
+final class ExtendedJsonFormatter {
+    static final JsonWriterSettings RELAXED_SETTINGS =
+            JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+    static final JsonWriterSettings EXTENDED_SETTINGS =
+            JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    // Relaxed extended JSON only uses ISO-8601 strings for the dates between years 1970 and 9999.
+    private static final long LAST_MS_OF_YEAR_9999 = 253402300799999L;
+    // Larger buffers are not kept, to not retain the memory of an exceptionally large value.
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFERS =
+            ThreadLocal.withInitial(() -> new StringBuilder(128));
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ExtendedJsonFormatter() {}
+
+    /**
+     * @param value The value to format.
+     * @param extended True for the EXTENDED mode, false for the RELAXED mode.
+     * @return the extended JSON representation of the value.
+     */
+    static String format(BsonValue value, boolean extended) {
+        switch (value.getBsonType()) {
+            case INT32:
+                if (!extended) {
+                    return Integer.toString(value.asInt32().getValue());
+                }
+                break;
+            case INT64:
+                if (!extended) {
+                    return Long.toString(value.asInt64().getValue());
+                }
+                break;
+            case DOUBLE:
+                double d = value.asDouble().getValue();
+                if (!extended && !Double.isNaN(d) && !Double.isInfinite(d)) {
+                    return Double.toString(d);
+                }
+                break;
+            case BOOLEAN:
+                return value.asBoolean().getValue() ? "true" : "false";
+        }
+        StringBuilder sb = BUFFERS.get();
+        sb.setLength(0);
+        append(sb, value, extended);
+        String json = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFERS.remove();
+        }
+        return json;
+    }
+
+    private static void append(StringBuilder sb, BsonValue value, boolean extended) {
+        switch (value.getBsonType()) {
+            case DOCUMENT:
+                appendDocument(sb, value.asDocument(), extended);
+                break;
+            case ARRAY:
+                appendArray(sb, value.asArray(), extended);
+                break;
+            case STRING:
+                appendString(sb, value.asString().getValue());
+                break;
+            case INT32:
+                if (extended) {
+                    sb.append("{\"$numberInt\": \"")
+                            .append(value.asInt32().getValue())
+                            .append("\"}");
+                } else {
+                    sb.append(value.asInt32().getValue());
+                }
+                break;
+            case INT64:
+                if (extended) {
+                    sb.append("{\"$numberLong\": \"")
+                            .append(value.asInt64().getValue())
+                            .append("\"}");
+                } else {
+                    sb.append(value.asInt64().getValue());
+                }
+                break;
+            case DOUBLE:
+                double d = value.asDouble().getValue();
+                if (extended || Double.isNaN(d) || Double.isInfinite(d)) {
+                    sb.append("{\"$numberDouble\": \"").append(d).append("\"}");
+                } else {
+                    sb.append(d);
+                }
+                break;
+            case BOOLEAN:
+                sb.append(value.asBoolean().getValue());
+                break;
+            case NULL:
+                sb.append("null");
+                break;
+            case DATE_TIME:
+                long millis = value.asDateTime().getValue();
+                if (!extended && millis >= 0 && millis <= LAST_MS_OF_YEAR_9999) {
+                    sb.append("{\"$date\": \"");
+                    DateTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(
+                            Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC), sb);
+                    sb.append("\"}");
+                } else {
+                    sb.append("{\"$date\": {\"$numberLong\": \"").append(millis).append("\"}}");
+                }
+                break;
+            case OBJECT_ID:
+                sb.append("{\"$oid\": \"")
+                        .append(value.asObjectId().getValue().toHexString())
+                        .append("\"}");
+                break;
+            case DECIMAL128:
+                sb.append("{\"$numberDecimal\": \"")
+                        .append(value.asDecimal128().getValue())
+                        .append("\"}");
+                break;
+            default:
+                MongoBsonValue.CODEC.encode(
+                        new NoCheckStateJsonWriter(
+                                new StringBuilderWriter(sb),
+                                extended ? EXTENDED_SETTINGS : RELAXED_SETTINGS),
+                        value,
+                        MongoBsonValue.ENCODER_CONTEXT);
+        }
+    }
+
+    private static void appendDocument(StringBuilder sb, BsonDocument document, boolean extended) {
+        sb.append('{');
+        boolean first = true;
+        for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            appendString(sb, entry.getKey());
+            sb.append(": ");
+            append(sb, entry.getValue(), extended);
+        }
+        sb.append('}');
+    }
+
+    private static void appendArray(StringBuilder sb, BsonArray array, boolean extended) {
+        sb.append('[');
+        for (int i = 0; i < array.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            append(sb, array.get(i), extended);
+        }
+        sb.append(']');
+    }
+
+    /** Writes a quoted JSON string, escaping the same characters as the driver's JsonWriter. */
+    static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c < 0x7f && c != '"' && c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\b':
+                    sb.append("\\b");
+                    break;
+                case '\f':
+                    sb.append("\\f");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (isWrittenAsIs(c)) {
+                        sb.append(c);
+                    } else {
+                        sb.append("\\u")
+                                .append(HEX_DIGITS[(c >> 12) & 0xf])
+                                .append(HEX_DIGITS[(c >> 8) & 0xf])
+                                .append(HEX_DIGITS[(c >> 4) & 0xf])
+                                .append(HEX_DIGITS[c & 0xf]);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static boolean isWrittenAsIs(char c) {
+        switch (Character.getType(c)) {
+            case Character.UPPERCASE_LETTER:
+            case Character.LOWERCASE_LETTER:
+            case Character.TITLECASE_LETTER:
+            case Character.OTHER_LETTER:
+            case Character.DECIMAL_DIGIT_NUMBER:
+            case Character.LETTER_NUMBER:
+            case Character.OTHER_NUMBER:
+            case Character.SPACE_SEPARATOR:
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+            case Character.MATH_SYMBOL:
+            case Character.CURRENCY_SYMBOL:
+            case Character.MODIFIER_SYMBOL:
+            case Character.OTHER_SYMBOL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /** Writer appending to a StringBuilder, without the synchronization of a StringWriter. */
+    private static final class StringBuilderWriter extends Writer {
+        private final StringBuilder sb;
+
+        StringBuilderWriter(StringBuilder sb) {
+            this.sb = sb;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            sb.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(int c) {
+            sb.append((char) c);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            sb.append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+
+/**
+ * Streams the rows of a result set as Apache Arrow record batches. The BSON values of the rows are
+ * decoded straight into the vectors of the VectorSchemaRoot, and only one batch of rows is held
+ * at a time: each {@link #loadNextBatch()} reads up to the batch size rows into the vectors,
+ * replacing the previous batch.
+ *
+ * <p>Apache Arrow is an optional dependency of the driver: this reader needs arrow-vector and an
+ * arrow-memory implementation on the classpath of the application.
+ *
+ * <p>The Arrow schema is derived from the result set schema, each field being named after the
+ * label of its column:
+ *
+ * <ul>
+ *   <li>int columns are Int(32) fields and long columns Int(64) fields,
+ *   <li>double columns are FloatingPoint(DOUBLE) fields,
+ *   <li>bool columns are Bool fields,
+ *   <li>date columns are Timestamp(MILLISECOND, "UTC") fields,
+ *   <li>binData columns are Binary fields,
+ *   <li>null columns are Null fields,
+ *   <li>all the other columns are Utf8 fields, formatted like {@link
+ *       MongoResultSet#getString(int)}. Decimal columns are kept as strings to preserve their
+ *       precision.
+ * </ul>
+ *
+ * The BSON type name of each column is kept in the {@value #BSON_TYPE_METADATA} metadata of its
+ * field. Closing the reader closes the result set.
+ *
+ * <pre>
+ * try (BufferAllocator allocator = new RootAllocator();
+ *         MongoArrowReader reader = new MongoArrowReader(rs, allocator, 4096)) {
+ *     VectorSchemaRoot root = reader.getVectorSchemaRoot();
+ *     while (reader.loadNextBatch()) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public class MongoArrowReader extends ArrowReader {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    /** The key of the field metadata holding the BSON type name of the column. */
+    public static final String BSON_TYPE_METADATA = "bsonType";
+
+    private final MongoResultSet resultSet;
+    private final int batchSize;
+    private final Schema schema;
+    private final BatchVisitor visitor = new BatchVisitor();
+    // Created with the vectors of the root, on the first batch.
+    private ColumnWriter[] writers;
+
+    /**
+     * @param resultSet The result set, positioned before its first row.
+     * @param allocator The allocator of the vectors.
+     */
+    public MongoArrowReader(ResultSet resultSet, BufferAllocator allocator) throws SQLException {
+        this(resultSet, allocator, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param resultSet The result set, positioned before its first row.
+     * @param allocator The allocator of the vectors.
+     * @param batchSize The maximum number of rows of a batch.
+     */
+    public MongoArrowReader(ResultSet resultSet, BufferAllocator allocator, int batchSize)
+            throws SQLException {
+        super(allocator);
+        if (batchSize <= 0) {
+            throw new SQLException("The batch size must be positive: " + batchSize);
+        }
+        this.resultSet = MongoPooledConnection.unwrapPhysical(resultSet, MongoResultSet.class);
+        this.batchSize = batchSize;
+        this.schema = toArrowSchema((MongoResultSetMetaData) this.resultSet.getMetaData());
+    }
+
+    /** @return the Arrow schema of the rows of a result set. */
+    static Schema toArrowSchema(MongoResultSetMetaData metaData) throws SQLException {
+        List<Field> fields = new ArrayList<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            MongoColumnInfo columnInfo = metaData.getColumnInfo(i);
+            ArrowType type = toArrowType(columnInfo.getBsonTypeInfo());
+            boolean nullable =
+                    type == ArrowType.Null.INSTANCE
+                            || columnInfo.getNullability() != ResultSetMetaData.columnNoNulls;
+            fields.add(
+                    new Field(
+                            columnInfo.getColumnAlias(),
+                            new FieldType(
+                                    nullable,
+                                    type,
+                                    null,
+                                    Collections.singletonMap(
+                                            BSON_TYPE_METADATA, columnInfo.getBsonTypeName())),
+                            null));
+        }
+        return new Schema(fields);
+    }
+
+    static ArrowType toArrowType(BsonTypeInfo typeInfo) {
+        switch (typeInfo) {
+            case BSON_INT:
+                return new ArrowType.Int(32, true);
+            case BSON_LONG:
+                return new ArrowType.Int(64, true);
+            case BSON_DOUBLE:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case BSON_BOOL:
+                return ArrowType.Bool.INSTANCE;
+            case BSON_DATE:
+                return new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC");
+            case BSON_BINDATA:
+                return ArrowType.Binary.INSTANCE;
+            case BSON_NULL:
+                return ArrowType.Null.INSTANCE;
+            default:
+                return ArrowType.Utf8.INSTANCE;
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Reads the next rows of the result set into the vectors of the root.
+     *
+     * @return false if the result set has no more rows.
+     * @throws IOException if the rows could not be read, caused by the SQLException of the result
+     *     set.
+     */
+    @Override
+    public boolean loadNextBatch() throws IOException {
+        prepareLoadNextBatch();
+        VectorSchemaRoot root = getVectorSchemaRoot();
+        if (writers == null) {
+            writers = createWriters(root);
+        } else {
+            for (FieldVector vector : root.getFieldVectors()) {
+                vector.reset();
+            }
+        }
+        int rows;
+        try {
+            rows = resultSet.fetchRows(batchSize, visitor);
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        root.setRowCount(rows);
+        return rows > 0;
+    }
+
+    /** @return 0, the rows are read through the result set rather than from a channel. */
+    @Override
+    public long bytesRead() {
+        return 0;
+    }
+
+    @Override
+    protected void closeReadSource() throws IOException {
+        try {
+            resultSet.close();
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Schema readSchema() {
+        return schema;
+    }
+
+    private ColumnWriter[] createWriters(VectorSchemaRoot root) {
+        List<FieldVector> vectors = root.getFieldVectors();
+        ColumnWriter[] writers = new ColumnWriter[vectors.size()];
+        for (int i = 0; i < writers.length; i++) {
+            FieldVector vector = vectors.get(i);
+            vector.setInitialCapacity(batchSize);
+            vector.allocateNew();
+            switch (vector.getMinorType()) {
+                case INT:
+                    writers[i] = new IntWriter((IntVector) vector);
+                    break;
+                case BIGINT:
+                    writers[i] = new BigIntWriter((BigIntVector) vector);
+                    break;
+                case FLOAT8:
+                    writers[i] = new Float8Writer((Float8Vector) vector);
+                    break;
+                case BIT:
+                    writers[i] = new BitWriter((BitVector) vector);
+                    break;
+                case TIMESTAMPMILLITZ:
+                    writers[i] = new TimeStampWriter((TimeStampMilliTZVector) vector);
+                    break;
+                case VARBINARY:
+                    writers[i] = new VarBinaryWriter((VarBinaryVector) vector);
+                    break;
+                case VARCHAR:
+                    writers[i] = new VarCharWriter((VarCharVector) vector);
+                    break;
+                default:
+                    // The values of a Null vector are all null, only its value count is set.
+                    writers[i] = new NullWriter();
+            }
+        }
+        return writers;
+    }
+
+    /** Dispatches the values of the rows to the writers of their columns. */
+    private final class BatchVisitor implements MongoResultSet.RowVisitor {
+        @Override
+        public boolean visitRaw(
+                int column, int row, BsonType type, MongoResultSet.RawValue value) {
+            return writers[column].writeRaw(row, type, value);
+        }
+
+        @Override
+        public void visitValue(int column, int row, BsonValue value) throws SQLException {
+            writers[column].write(row, value);
+        }
+
+        @Override
+        public void visitNull(int column, int row) {
+            writers[column].writeNull(row);
+        }
+
+        @Override
+        public void endRow(int row) {}
+    }
+
+    /** Writes the values of a column into its vector. */
+    private abstract static class ColumnWriter {
+        /**
+         * Writes a value of a raw row, when its BSON type is the one of the vector.
+         *
+         * @return false if the value must be converted from its BsonValue.
+         */
+        abstract boolean writeRaw(int row, BsonType type, MongoResultSet.RawValue value);
+
+        /** Writes a value converted like with the getter of the type of the vector. */
+        abstract void write(int row, BsonValue value) throws SQLException;
+
+        abstract void writeNull(int row);
+    }
+
+    private final class IntWriter extends ColumnWriter {
+        private final IntVector vector;
+
+        IntWriter(IntVector vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        boolean writeRaw(int row, BsonType type, MongoResultSet.RawValue value) {
+            if (type != BsonType.INT32) {
+                return false;
+            }
+            vector.setSafe(row, value.getReader().readInt32());
+            return true;
+        }
+
+        @Override
+        void write(int row, BsonValue value) throws SQLException {
+            vector.setSafe(row, resultSet.getInt(value));
+        }
+
+        @Override
+        void writeNull(int row) {
+            vector.setNull(row);
+        }
+    }
+
+    private final class BigIntWriter extends ColumnWriter {
+        private final BigIntVector vector;
+
+        BigIntWriter(BigIntVector vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        boolean writeRaw(int row, BsonType type, MongoResultSet.RawValue value) {
+            BsonBinaryReader reader = value.getReader();
+            if (type == BsonType.INT64) {
+                vector.setSafe(row, reader.readInt64());
+                return true;
+            }
+            if (type == BsonType.INT32) {
+                vector.setSafe(row, reader.readInt32());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void write(int row, BsonValue value) throws SQLException {
+            vector.setSafe(row, resultSet.getLong(value));
+        }
+
+        @Override
+        void writeNull(int row) {
+            vector.setNull(row);
+        }
+    }
+
+    private final class Float8Writer extends ColumnWriter {
+        private final Float8Vector vector;
+
+        Float8Writer(Float8Vector vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        boolean writeRaw(int row, BsonType type, MongoResultSet.RawValue value) {
+            if (type != BsonType.DOUBLE) {
+                return false;
+            }
+            vector.setSafe(row, value.getReader().readDouble());
+            return true;
+        }
+
+        @Override
+        void write(int row, BsonValue value) throws SQLException {
+            vector.setSafe(row, resultSet.getDouble(value));
+        }
+
+        @Override
+        void writeNull(int row) {
+            vector.setNull(row);
+        }
+    }
+
+    private final class BitWriter extends ColumnWriter {
+        private final BitVector vector;
+
+        BitWriter(BitVector vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        boolean writeRaw(int row, BsonType type, MongoResultSet.RawValue value) {
+            if (type != BsonType.BOOLEAN) {
+                return false;
+            }
+            vector.setSafe(row, value.getReader().readBoolean() ? 1 : 0);
+            return true;
+        }
+
+        @Override
+        void write(int row, BsonValue value) throws SQLException {
+            vector.setSafe(row, resultSet.getBoolean(value) ? 1 : 0);
+        }
+
+        @Override
+        void writeNull(int row) {
+            vector.setNull(row);
+        }
+    }
+
+    private final class TimeStampWriter extends ColumnWriter {
+        private final TimeStampMilliTZVector vector;
+
+        TimeStampWriter(TimeStampMilliTZVector vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        boolean writeRaw(int row, BsonType type, MongoResultSet.RawValue value) {
+            if (type != BsonType.DATE_TIME) {
+                return false;
+            }
+            vector.setSafe(row, value.getReader().readDateTime());
+            return true;
+        }
+
+        @Override
+        void write(int row, BsonValue value) throws SQLException {
+            vector.setSafe(row, resultSet.getEpochMillis(value));
+        }
+
+        @Override
+        void writeNull(int row) {
+            vector.setNull(row);
+        }
+    }
+
+    private final class VarBinaryWriter extends ColumnWriter {
+        private final VarBinaryVector vector;
+
+        VarBinaryWriter(VarBinaryVector vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        boolean writeRaw(int row, BsonType type, MongoResultSet.RawValue value) {
+            if (type != BsonType.BINARY) {
+                return false;
+            }
+            ByteBuffer data = value.getContent(type);
+            vector.setSafe(row, data, data.position(), data.remaining());
+            return true;
+        }
+
+        @Override
+        void write(int row, BsonValue value) throws SQLException {
+            vector.setSafe(row, resultSet.getBytes(value));
+        }
+
+        @Override
+        void writeNull(int row) {
+            vector.setNull(row);
+        }
+    }
+
+    private final class VarCharWriter extends ColumnWriter {
+        private final VarCharVector vector;
+
+        VarCharWriter(VarCharVector vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        boolean writeRaw(int row, BsonType type, MongoResultSet.RawValue value) {
+            if (type != BsonType.STRING) {
+                return false;
+            }
+            ByteBuffer utf8 = value.getContent(type);
+            vector.setSafe(row, utf8, utf8.position(), utf8.remaining());
+            return true;
+        }
+
+        @Override
+        void write(int row, BsonValue value) throws SQLException {
+            vector.setSafe(row, resultSet.getString(value).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void writeNull(int row) {
+            vector.setNull(row);
+        }
+    }
+
+    private static final class NullWriter extends ColumnWriter {
+        @Override
+        boolean writeRaw(int row, BsonType type, MongoResultSet.RawValue value) {
+            return true;
+        }
+
+        @Override
+        void write(int row, BsonValue value) {}
+
+        @Override
+        void writeNull(int row) {}
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * A read-only Blob over the data of a BSON binary value. The data is not copied: the Blob is a view
+ * over the bytes of the row it was read from, and its streams read these bytes directly.
+ */
+public class MongoBlob implements Blob {
+    private ByteBuffer data;
+
+    /** @param data The content of the Blob, from the position to the limit of the buffer. */
+    MongoBlob(ByteBuffer data) {
+        this.data = data.slice();
+    }
+
+    private ByteBuffer checkFreed() throws SQLException {
+        if (data == null) {
+            throw new SQLException("The Blob has been freed.");
+        }
+        return data;
+    }
+
+    /**
+     * Returns a view over a range of the data.
+     *
+     * @param pos The position of the first byte, starting at 1.
+     * @param length The number of bytes, truncated to the end of the data.
+     */
+    private ByteBuffer range(long pos, long length) throws SQLException {
+        ByteBuffer data = checkFreed();
+        if (pos < 1 || pos > data.limit() + 1L || length < 0) {
+            throw new SQLException(
+                    "Invalid position " + pos + " or length " + length + " in the Blob.");
+        }
+        ByteBuffer range = data.duplicate();
+        range.position((int) pos - 1);
+        range.limit((int) Math.min(data.limit(), pos - 1 + length));
+        return range;
+    }
+
+    @Override
+    public long length() throws SQLException {
+        return checkFreed().limit();
+    }
+
+    @Override
+    public byte[] getBytes(long pos, int length) throws SQLException {
+        ByteBuffer range = range(pos, length);
+        byte[] bytes = new byte[range.remaining()];
+        range.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public InputStream getBinaryStream() throws SQLException {
+        return new ByteBufferInputStream(checkFreed().duplicate());
+    }
+
+    @Override
+    public InputStream getBinaryStream(long pos, long length) throws SQLException {
+        return new ByteBufferInputStream(range(pos, length));
+    }
+
+    @Override
+    public long position(byte[] pattern, long start) throws SQLException {
+        ByteBuffer data = checkFreed();
+        if (start < 1) {
+            throw new SQLException("Invalid start position " + start + " in the Blob.");
+        }
+        for (long i = start - 1; i + pattern.length <= data.limit(); i++) {
+            int j = 0;
+            while (j < pattern.length && data.get((int) i + j) == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long position(Blob pattern, long start) throws SQLException {
+        return position(pattern.getBytes(1, (int) pattern.length()), start);
+    }
+
+    @Override
+    public int setBytes(long pos, byte[] bytes) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    @Override
+    public int setBytes(long pos, byte[] bytes, int offset, int len) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    @Override
+    public OutputStream setBinaryStream(long pos) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    @Override
+    public void truncate(long len) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    @Override
+    public void free() {
+        data = null;
+    }
+}
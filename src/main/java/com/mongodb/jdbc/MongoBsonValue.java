@@ -16,19 +16,15 @@
 
 package com.mongodb.jdbc;
 
-import java.io.StringWriter;
 import java.util.Objects;
 import java.util.UUID;
 import org.bson.BsonBinary;
 import org.bson.BsonBinarySubType;
-import org.bson.BsonDocument;
 import org.bson.BsonValue;
 import org.bson.UuidRepresentation;
 import org.bson.codecs.BsonValueCodec;
 import org.bson.codecs.EncoderContext;
 import org.bson.internal.UuidHelper;
-import org.bson.json.JsonMode;
-import org.bson.json.JsonWriterSettings;
 
 /**
  * MongoBsonValue is a wrapper for BsonValue. The purpose of this class is to override the
@@ -40,27 +36,23 @@ import org.bson.json.JsonWriterSettings;
  * does not extend BsonValue, instead it contains a BsonValue member.
  */
 public class MongoBsonValue {
-    private JsonWriterSettings JSON_WRITER_SETTINGS;
     static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
     static final BsonValueCodec CODEC = new BsonValueCodec();
 
     private final UuidRepresentation uuidRepresentation;
-    private final boolean extJsonMode;
+    private boolean extJsonMode;
 
     private BsonValue v;
 
     public MongoBsonValue(BsonValue v, boolean isExtended, UuidRepresentation uuidRepresentation) {
         this.v = v;
-        this.setJsonWriterSettings(isExtended);
         this.extJsonMode = isExtended;
         this.uuidRepresentation = uuidRepresentation;
     }
 
+    /** Sets whether toString() uses the EXTENDED or the RELAXED extended JSON mode. */
     public void setJsonWriterSettings(boolean isExtended) {
-        this.JSON_WRITER_SETTINGS =
-                JsonWriterSettings.builder()
-                        .outputMode(isExtended ? JsonMode.EXTENDED : JsonMode.RELAXED)
-                        .build();
+        this.extJsonMode = isExtended;
     }
 
     /** @return The underlying BsonValue */
@@ -96,10 +88,14 @@ public class MongoBsonValue {
                 // Fall through to toExtendedJson(this.v) for other binary types
 
             case ARRAY:
+            case BOOLEAN:
             case DATE_TIME:
             case DB_POINTER:
             case DECIMAL128:
             case DOCUMENT:
+            case DOUBLE:
+            case INT32:
+            case INT64:
             case JAVASCRIPT:
             case JAVASCRIPT_WITH_SCOPE:
             case MAX_KEY:
@@ -111,26 +107,6 @@ public class MongoBsonValue {
                 // These types are stringified in extended JSON format.
                 return toExtendedJson(this.v);
 
-            case BOOLEAN:
-            case DOUBLE:
-            case INT32:
-            case INT64:
-                // These types are also stringified in extended JSON
-                // format. However, they cannot be written by the Java
-                // driver's JsonWriter as top-level values, so we must
-                // nest them in a document.
-                BsonValue v = new BsonDocument("v", this.v);
-                String s = toExtendedJson(v);
-
-                // Substring starts at 6 because the extended JSON for
-                // the document is:
-                //   {"v": <this.v as extJSON>}
-                // so the first 5 characters are '{"v": ' and the
-                // actual value's serialization starts at position 6.
-                // The actual value's serialization ends 1 character
-                // before the end, to account for the closing '}'.
-                return s.substring(6, s.length() - 1);
-
             case END_OF_DOCUMENT:
             default:
                 return this.v.toString();
@@ -162,14 +138,11 @@ public class MongoBsonValue {
                     UuidHelper.decodeBinaryToUuid(
                             binary.getData(), binary.getType(), representationToUse);
         }
-        return String.format("{\"$uuid\":\"%s\"}", uuid.toString());
+        return "{\"$uuid\":\"" + uuid + "\"}";
     }
 
     private String toExtendedJson(BsonValue v) {
-        StringWriter w = new StringWriter();
-        CODEC.encode(new NoCheckStateJsonWriter(w, JSON_WRITER_SETTINGS), v, ENCODER_CONTEXT);
-        w.flush();
-        return w.toString();
+        return ExtendedJsonFormatter.format(v, extJsonMode);
     }
 
     @Override
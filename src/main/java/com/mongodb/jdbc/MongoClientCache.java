@@ -0,0 +1,209 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the MongoClients shared by the connections with the same client settings.
+ *
+ * <p>A client is referenced by the open connections using it. Once its last connection is closed,
+ * it stays in the cache for an idle timeout, so that its connection pool stays warm for the next
+ * connections, and is closed afterwards.
+ *
+ * <p>The clients are looked up without locking. A client is created while holding the lock of its
+ * cache entry only, so the creation of a client never blocks the connections to other clusters. The
+ * connections using a cached client only hold that lock to reserve the client against eviction,
+ * and are created outside of it, concurrently.
+ */
+public final class MongoClientCache {
+    public static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 300;
+
+    private static final ScheduledExecutorService EVICTION_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(
+                    r -> {
+                        Thread t = new Thread(r, "mongodb-jdbc-client-cache-evictor");
+                        t.setDaemon(true);
+                        return t;
+                    });
+
+    /** Creates a connection, using the given cached client state if it isn't null. */
+    interface ConnectionFactory {
+        MongoConnection create(MongoClientState cachedState) throws Exception;
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a connection using the client cached under the key, creating the client if needed.
+     * The idle timeout of a client is set by the connection creating it.
+     *
+     * @param key The canonical key of the client settings.
+     * @param idleTimeoutSeconds How long the client is kept once it is no longer used.
+     * @param factory Creates the connection.
+     * @return the new connection.
+     */
+    MongoConnection connect(String key, long idleTimeoutSeconds, ConnectionFactory factory)
+            throws Exception {
+        while (true) {
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry(k, idleTimeoutSeconds));
+            MongoClientState reserved;
+            synchronized (entry) {
+                if (entry.evicted) {
+                    // Evicted after the lookup, a new entry is needed.
+                    continue;
+                }
+                if (entry.state == null) {
+                    missCount.incrementAndGet();
+                    MongoConnection connection;
+                    try {
+                        connection = factory.create(null);
+                    } catch (Exception | Error e) {
+                        entry.evicted = true;
+                        entries.remove(key, entry);
+                        throw e;
+                    }
+                    entry.state = connection.getClientState();
+                    entry.state.setIdleListener(() -> idle(entry));
+                    return connection;
+                }
+                hitCount.incrementAndGet();
+                // The evictions scheduled before are cancelled by the new connection, and the
+                // client can't be evicted until the connection is created.
+                entry.idleGeneration++;
+                reserved = entry.state;
+                reserved.retain();
+            }
+            try {
+                return factory.create(reserved);
+            } finally {
+                // The connection holds its own reference. If it failed, the client may be idle
+                // again.
+                reserved.release();
+            }
+        }
+    }
+
+    /** Schedules the eviction of a client whose last connection was closed. */
+    private void idle(Entry entry) {
+        long idleGeneration;
+        synchronized (entry) {
+            idleGeneration = ++entry.idleGeneration;
+        }
+        EVICTION_EXECUTOR.schedule(
+                () -> evictIfIdle(entry, idleGeneration),
+                entry.idleTimeoutNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    private void evictIfIdle(Entry entry, long idleGeneration) {
+        synchronized (entry) {
+            if (entry.evicted
+                    || entry.idleGeneration != idleGeneration
+                    || entry.state.isReferenced()) {
+                // Used again since it became idle.
+                return;
+            }
+            entry.evicted = true;
+            entries.remove(entry.key, entry);
+        }
+        evictionCount.incrementAndGet();
+        entry.state.getClient().close();
+    }
+
+    /** Closes all the clients and empties the cache. */
+    void closeAll() {
+        List<Entry> closed = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            synchronized (entry) {
+                if (!entry.evicted) {
+                    entry.evicted = true;
+                    entries.remove(entry.key, entry);
+                    if (entry.state != null) {
+                        closed.add(entry);
+                    }
+                }
+            }
+        }
+        for (Entry entry : closed) {
+            entry.state.getClient().close();
+        }
+    }
+
+    /** Empties the cache without closing the clients. */
+    void clear() {
+        for (Entry entry : entries.values()) {
+            synchronized (entry) {
+                entry.evicted = true;
+                entries.remove(entry.key, entry);
+            }
+        }
+    }
+
+    /** @return the number of cached clients, in use or idle. */
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "MongoClientCache{size="
+                + size()
+                + ", hits="
+                + getHitCount()
+                + ", misses="
+                + getMissCount()
+                + ", evictions="
+                + getEvictionCount()
+                + "}";
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final long idleTimeoutNanos;
+        // The fields below are guarded by the entry.
+        private MongoClientState state;
+        private boolean evicted;
+        private long idleGeneration;
+
+        Entry(String key, long idleTimeoutSeconds) {
+            this.key = key;
+            this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        }
+    }
+}
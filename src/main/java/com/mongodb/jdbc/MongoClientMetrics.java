@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The connection pool and command metrics of a MongoClient, shared by the connections using it.
+ *
+ * <p>It listens to the events of the connection pools of the client, one per server, and to its
+ * commands. The counts are summed over the servers. The wait queue holds the operations waiting to
+ * check out a connection, it grows when the pool is saturated.
+ */
+public final class MongoClientMetrics implements ConnectionPoolListener, CommandListener {
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger waitQueueDepth = new AtomicInteger();
+    private final AtomicInteger maxWaitQueueDepth = new AtomicInteger();
+    private final AtomicLong checkOuts = new AtomicLong();
+    private final AtomicLong checkOutFailures = new AtomicLong();
+    private final AtomicLong checkOutNanos = new AtomicLong();
+    private final AtomicLong maxCheckOutNanos = new AtomicLong();
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicLong commandFailures = new AtomicLong();
+    private final AtomicLong commandNanos = new AtomicLong();
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        connections.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        connections.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        maxWaitQueueDepth.accumulateAndGet(waitQueueDepth.incrementAndGet(), Math::max);
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waitQueueDepth.decrementAndGet();
+        inUse.incrementAndGet();
+        checkOuts.incrementAndGet();
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        checkOutNanos.addAndGet(nanos);
+        maxCheckOutNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waitQueueDepth.decrementAndGet();
+        checkOutFailures.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        inUse.decrementAndGet();
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        commands.incrementAndGet();
+        commandNanos.addAndGet(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        commands.incrementAndGet();
+        commandFailures.incrementAndGet();
+        commandNanos.addAndGet(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    /** @return the number of open connections to the servers. */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /** @return the number of connections checked out by operations. */
+    public int getInUseCount() {
+        return inUse.get();
+    }
+
+    /** @return the number of operations waiting to check out a connection. */
+    public int getWaitQueueDepth() {
+        return waitQueueDepth.get();
+    }
+
+    /** @return the largest number of operations which waited to check out a connection. */
+    public int getMaxWaitQueueDepth() {
+        return maxWaitQueueDepth.get();
+    }
+
+    /** @return the number of connections checked out. */
+    public long getCheckOutCount() {
+        return checkOuts.get();
+    }
+
+    /** @return the number of check outs which failed, for instance because of a timeout. */
+    public long getCheckOutFailureCount() {
+        return checkOutFailures.get();
+    }
+
+    /** @return the average time to check out a connection, in milliseconds. */
+    public double getAverageCheckOutMillis() {
+        long count = checkOuts.get();
+        return (count > 0) ? checkOutNanos.get() / 1e6 / count : 0;
+    }
+
+    /** @return the longest time to check out a connection, in milliseconds. */
+    public double getMaxCheckOutMillis() {
+        return maxCheckOutNanos.get() / 1e6;
+    }
+
+    /** @return the number of commands run. */
+    public long getCommandCount() {
+        return commands.get();
+    }
+
+    /** @return the number of commands which failed. */
+    public long getCommandFailureCount() {
+        return commandFailures.get();
+    }
+
+    /** @return the average duration of the commands, in milliseconds. */
+    public double getAverageCommandMillis() {
+        long count = commands.get();
+        return (count > 0) ? commandNanos.get() / 1e6 / count : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "MongoClientMetrics{connections=%d, inUse=%d, waitQueueDepth=%d,"
+                        + " maxWaitQueueDepth=%d, checkOuts=%d, checkOutFailures=%d,"
+                        + " avgCheckOutMs=%.3f, maxCheckOutMs=%.3f, commands=%d,"
+                        + " commandFailures=%d, avgCommandMs=%.3f}",
+                getConnectionCount(),
+                getInUseCount(),
+                getWaitQueueDepth(),
+                getMaxWaitQueueDepth(),
+                getCheckOutCount(),
+                getCheckOutFailureCount(),
+                getAverageCheckOutMillis(),
+                getMaxCheckOutMillis(),
+                getCommandCount(),
+                getCommandFailureCount(),
+                getAverageCommandMillis());
+    }
+}
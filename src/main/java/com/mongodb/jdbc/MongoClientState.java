@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A MongoClient with the state shared by the connections using it: the settings it was created
+ * with and the verdict of the validation of its first connection. The connections using a cached
+ * client are established from this state, without building the settings again nor validating the
+ * server again.
+ *
+ * <p>The state counts the open connections using the client. When the last one is closed, the
+ * client cache is notified so that it can evict the client after an idle timeout. A client which
+ * isn't cached is closed at once if it was created by the driver.
+ */
+final class MongoClientState {
+    /** What the complete validation of a connection learnt about the server. */
+    static final class ServerInfo {
+        final MongoConnection.MongoClusterType clusterType;
+        final String serverVersion;
+        final int serverMajorVersion;
+        final int serverMinorVersion;
+        // The version of the mongosqltranslate library checked against the server, or null.
+        final String mongosqlTranslateVersion;
+
+        ServerInfo(
+                MongoConnection.MongoClusterType clusterType,
+                String serverVersion,
+                int serverMajorVersion,
+                int serverMinorVersion,
+                String mongosqlTranslateVersion) {
+            this.clusterType = clusterType;
+            this.serverVersion = serverVersion;
+            this.serverMajorVersion = serverMajorVersion;
+            this.serverMinorVersion = serverMinorVersion;
+            this.mongosqlTranslateVersion = mongosqlTranslateVersion;
+        }
+
+        @Override
+        public String toString() {
+            return "ServerInfo{clusterType="
+                    + clusterType
+                    + ", serverVersion="
+                    + serverVersion
+                    + ", mongosqlTranslateVersion="
+                    + mongosqlTranslateVersion
+                    + "}";
+        }
+    }
+
+    private final MongoClient client;
+    private final MongoClientSettings settings;
+    private final MongoClientMetrics metrics;
+    private final boolean ownsClient;
+    private final AtomicInteger references = new AtomicInteger();
+    private volatile Runnable idleListener;
+    private volatile ServerInfo serverInfo;
+
+    /**
+     * @param client The client.
+     * @param settings The settings the client was created with.
+     * @param metrics The metrics listening to the events of the client.
+     * @param ownsClient True if the client was created by the driver, and must be closed by it.
+     */
+    MongoClientState(
+            MongoClient client,
+            MongoClientSettings settings,
+            MongoClientMetrics metrics,
+            boolean ownsClient) {
+        this.client = client;
+        this.settings = settings;
+        this.metrics = metrics;
+        this.ownsClient = ownsClient;
+    }
+
+    /** Registers a new connection using the client. */
+    void retain() {
+        references.incrementAndGet();
+    }
+
+    /** Unregisters a closed connection. */
+    void release() {
+        if (references.decrementAndGet() != 0) {
+            return;
+        }
+        Runnable listener = idleListener;
+        if (listener != null) {
+            listener.run();
+        } else if (ownsClient) {
+            client.close();
+        }
+    }
+
+    /** @return true if some open connections use the client. */
+    boolean isReferenced() {
+        return references.get() > 0;
+    }
+
+    /**
+     * Sets the action run when the last connection using the client is closed, in place of closing
+     * the client.
+     */
+    void setIdleListener(Runnable idleListener) {
+        this.idleListener = idleListener;
+    }
+
+    MongoClient getClient() {
+        return client;
+    }
+
+    MongoClientSettings getSettings() {
+        return settings;
+    }
+
+    MongoClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** @return true if the client was created by the driver, with its settings and metrics. */
+    boolean ownsClient() {
+        return ownsClient;
+    }
+
+    /** @return the server information of the last successful validation, or null if none. */
+    ServerInfo getServerInfo() {
+        return serverInfo;
+    }
+
+    void setServerInfo(ServerInfo serverInfo) {
+        this.serverInfo = serverInfo;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static com.mongodb.jdbc.MongoDriver.MongoJDBCProperty.*;
+import static com.mongodb.jdbc.PropertyParser.parseInt;
+import static com.mongodb.jdbc.PropertyParser.parseLong;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.ConnectionPoolSettings;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The connection pool, server selection and socket settings of a MongoClient, set with the
+ * maxpoolsize, minpoolsize, maxconnecting, maxidletimems, serverselectiontimeoutms,
+ * localthresholdms, socketreceivebuffersize and socketsendbuffersize properties. They can also be
+ * given as options of the url. The settings which are not set keep the defaults of the MongoDB
+ * Java driver.
+ */
+public final class MongoClientTuning {
+    /** The settings with no property set. */
+    public static final MongoClientTuning DEFAULT =
+            new MongoClientTuning(null, null, null, null, null, null, null, null);
+
+    private final Integer maxPoolSize;
+    private final Integer minPoolSize;
+    private final Integer maxConnecting;
+    private final Long maxIdleTimeMs;
+    private final Long serverSelectionTimeoutMs;
+    private final Long localThresholdMs;
+    private final Integer socketReceiveBufferSize;
+    private final Integer socketSendBufferSize;
+
+    private MongoClientTuning(
+            Integer maxPoolSize,
+            Integer minPoolSize,
+            Integer maxConnecting,
+            Long maxIdleTimeMs,
+            Long serverSelectionTimeoutMs,
+            Long localThresholdMs,
+            Integer socketReceiveBufferSize,
+            Integer socketSendBufferSize) {
+        this.maxPoolSize = maxPoolSize;
+        this.minPoolSize = minPoolSize;
+        this.maxConnecting = maxConnecting;
+        this.maxIdleTimeMs = maxIdleTimeMs;
+        this.serverSelectionTimeoutMs = serverSelectionTimeoutMs;
+        this.localThresholdMs = localThresholdMs;
+        this.socketReceiveBufferSize = socketReceiveBufferSize;
+        this.socketSendBufferSize = socketSendBufferSize;
+    }
+
+    /**
+     * Parses and validates the settings.
+     *
+     * @param options The connection options, from the url and the properties, with lower case
+     *     names.
+     * @return the settings.
+     * @throws SQLException if a value is invalid.
+     */
+    static MongoClientTuning fromOptions(Properties options) throws SQLException {
+        Integer maxPoolSize =
+                parseInt(options, MAX_POOL_SIZE, 0, "a positive integer or 0 for no limit");
+        Integer minPoolSize = parseInt(options, MIN_POOL_SIZE, 0, "a positive integer");
+        Integer maxConnecting = parseInt(options, MAX_CONNECTING, 1, "a positive integer");
+        Long maxIdleTimeMs =
+                parseLong(
+                        options,
+                        MAX_IDLE_TIME_MS,
+                        0,
+                        Long.MAX_VALUE,
+                        "a positive number of milliseconds or 0 for no limit");
+        Long serverSelectionTimeoutMs =
+                parseLong(
+                        options,
+                        SERVER_SELECTION_TIMEOUT_MS,
+                        0,
+                        Long.MAX_VALUE,
+                        "a positive number of milliseconds");
+        Long localThresholdMs =
+                parseLong(
+                        options,
+                        LOCAL_THRESHOLD_MS,
+                        0,
+                        Long.MAX_VALUE,
+                        "a positive number of milliseconds");
+        Integer socketReceiveBufferSize =
+                parseInt(
+                        options,
+                        SOCKET_RECEIVE_BUFFER_SIZE,
+                        0,
+                        "a positive number of bytes or 0 for the system default");
+        Integer socketSendBufferSize =
+                parseInt(
+                        options,
+                        SOCKET_SEND_BUFFER_SIZE,
+                        0,
+                        "a positive number of bytes or 0 for the system default");
+
+        if (minPoolSize != null) {
+            int maxSize =
+                    (maxPoolSize != null)
+                            ? maxPoolSize
+                            : ConnectionPoolSettings.builder().build().getMaxSize();
+            if (maxSize > 0 && minPoolSize > maxSize) {
+                throw new SQLException(
+                        "Invalid "
+                                + MIN_POOL_SIZE.getPropertyName()
+                                + " property value : "
+                                + minPoolSize
+                                + ". It must not be greater than the "
+                                + MAX_POOL_SIZE.getPropertyName()
+                                + " of "
+                                + maxSize
+                                + ".");
+            }
+        }
+        return new MongoClientTuning(
+                maxPoolSize,
+                minPoolSize,
+                maxConnecting,
+                maxIdleTimeMs,
+                serverSelectionTimeoutMs,
+                localThresholdMs,
+                socketReceiveBufferSize,
+                socketSendBufferSize);
+    }
+
+    /** Applies the settings which are set to the settings of a client. */
+    void apply(MongoClientSettings.Builder builder) {
+        builder.applyToConnectionPoolSettings(
+                pool -> {
+                    if (maxPoolSize != null) {
+                        pool.maxSize(maxPoolSize);
+                    }
+                    if (minPoolSize != null) {
+                        pool.minSize(minPoolSize);
+                    }
+                    if (maxConnecting != null) {
+                        pool.maxConnecting(maxConnecting);
+                    }
+                    if (maxIdleTimeMs != null) {
+                        pool.maxConnectionIdleTime(maxIdleTimeMs, TimeUnit.MILLISECONDS);
+                    }
+                });
+        builder.applyToClusterSettings(
+                cluster -> {
+                    if (serverSelectionTimeoutMs != null) {
+                        cluster.serverSelectionTimeout(
+                                serverSelectionTimeoutMs, TimeUnit.MILLISECONDS);
+                    }
+                    if (localThresholdMs != null) {
+                        cluster.localThreshold(localThresholdMs, TimeUnit.MILLISECONDS);
+                    }
+                });
+        builder.applyToSocketSettings(
+                socket -> {
+                    if (socketReceiveBufferSize != null) {
+                        socket.receiveBufferSize(socketReceiveBufferSize);
+                    }
+                    if (socketSendBufferSize != null) {
+                        socket.sendBufferSize(socketSendBufferSize);
+                    }
+                });
+    }
+
+    /** @return the settings which are set, used in the key of the client cache. */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MongoClientTuning{");
+        append(sb, MAX_POOL_SIZE, maxPoolSize);
+        append(sb, MIN_POOL_SIZE, minPoolSize);
+        append(sb, MAX_CONNECTING, maxConnecting);
+        append(sb, MAX_IDLE_TIME_MS, maxIdleTimeMs);
+        append(sb, SERVER_SELECTION_TIMEOUT_MS, serverSelectionTimeoutMs);
+        append(sb, LOCAL_THRESHOLD_MS, localThresholdMs);
+        append(sb, SOCKET_RECEIVE_BUFFER_SIZE, socketReceiveBufferSize);
+        append(sb, SOCKET_SEND_BUFFER_SIZE, socketSendBufferSize);
+        return sb.append("}").toString();
+    }
+
+    private static void append(
+            StringBuilder sb, MongoDriver.MongoJDBCProperty property, Number value) {
+        if (value != null) {
+            if (sb.charAt(sb.length() - 1) != '{') {
+                sb.append(", ");
+            }
+            sb.append(property.getPropertyName()).append("=").append(value);
+        }
+    }
+}
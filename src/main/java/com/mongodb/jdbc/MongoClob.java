@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * A read-only Clob over a string value. When it is created from the UTF-8 bytes of a raw row, its
+ * streams decode these bytes as they are read, and the value is only decoded into a String for the
+ * methods accessing the characters by position.
+ */
+public class MongoClob implements Clob {
+    private String value;
+    private ByteBuffer utf8;
+    private boolean freed;
+
+    MongoClob(String value) {
+        this.value = value;
+    }
+
+    /** @param utf8 The UTF-8 bytes of the value, from the position to the limit of the buffer. */
+    MongoClob(ByteBuffer utf8) {
+        this.utf8 = utf8.slice();
+    }
+
+    private void checkFreed() throws SQLException {
+        if (freed) {
+            throw new SQLException("The Clob has been freed.");
+        }
+    }
+
+    private String getValue() throws SQLException {
+        checkFreed();
+        if (value == null) {
+            value = StandardCharsets.UTF_8.decode(utf8.duplicate()).toString();
+            utf8 = null;
+        }
+        return value;
+    }
+
+    @Override
+    public long length() throws SQLException {
+        checkFreed();
+        if (value != null) {
+            return value.length();
+        }
+        // Count the UTF-16 chars of the value: one per leading byte, two for 4 byte sequences.
+        long length = 0;
+        for (int i = 0; i < utf8.limit(); i++) {
+            int b = utf8.get(i) & 0xff;
+            if (b < 0x80 || b >= 0xc0) {
+                length += (b >= 0xf0) ? 2 : 1;
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public String getSubString(long pos, int length) throws SQLException {
+        String value = getValue();
+        if (pos < 1 || pos > value.length() + 1L || length < 0) {
+            throw new SQLException(
+                    "Invalid position " + pos + " or length " + length + " in the Clob.");
+        }
+        int start = (int) pos - 1;
+        return value.substring(start, (int) Math.min(value.length(), (long) start + length));
+    }
+
+    @Override
+    public Reader getCharacterStream() throws SQLException {
+        checkFreed();
+        if (value != null) {
+            return new StringReader(value);
+        }
+        return new InputStreamReader(
+                new ByteBufferInputStream(utf8.duplicate()), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Reader getCharacterStream(long pos, long length) throws SQLException {
+        return new StringReader(getSubString(pos, (int) Math.min(length, Integer.MAX_VALUE)));
+    }
+
+    @Override
+    public InputStream getAsciiStream() throws SQLException {
+        checkFreed();
+        if (value != null) {
+            return new ByteArrayInputStream(value.getBytes(StandardCharsets.US_ASCII));
+        }
+        return ByteBufferInputStream.ascii(utf8.duplicate());
+    }
+
+    @Override
+    public long position(String searchstr, long start) throws SQLException {
+        String value = getValue();
+        if (start < 1) {
+            throw new SQLException("Invalid start position " + start + " in the Clob.");
+        }
+        if (start > value.length()) {
+            return -1;
+        }
+        int i = value.indexOf(searchstr, (int) start - 1);
+        return (i < 0) ? -1 : i + 1;
+    }
+
+    @Override
+    public long position(Clob searchstr, long start) throws SQLException {
+        return position(searchstr.getSubString(1, (int) searchstr.length()), start);
+    }
+
+    @Override
+    public int setString(long pos, String str) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    @Override
+    public int setString(long pos, String str, int offset, int len) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    @Override
+    public OutputStream setAsciiStream(long pos) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    @Override
+    public Writer setCharacterStream(long pos) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    @Override
+    public void truncate(long len) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    @Override
+    public void free() {
+        freed = true;
+        value = null;
+        utf8 = null;
+    }
+}
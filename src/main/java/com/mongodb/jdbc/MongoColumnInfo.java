@@ -44,6 +44,10 @@ public class MongoColumnInfo {
         return isPolymorphic;
     }
 
+    public BsonTypeInfo getBsonTypeInfo() {
+        return bsonTypeInfo;
+    }
+
     public BsonType getBsonTypeEnum() {
         return bsonTypeInfo.getBsonType();
     }
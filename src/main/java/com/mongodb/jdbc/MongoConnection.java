@@ -35,12 +35,15 @@ import com.mongodb.jdbc.logging.MongoLogger;
 import com.mongodb.jdbc.logging.MongoSimpleFormatter;
 import com.mongodb.jdbc.mongosql.MongoSQLException;
 import com.mongodb.jdbc.mongosql.MongoSQLTranslate;
+import com.mongodb.jdbc.mongosql.SchemaCatalogCache;
+import com.mongodb.jdbc.mongosql.TranslationCache;
 import com.mongodb.jdbc.oidc.JdbcOidcCallback;
 import com.mongodb.jdbc.utils.X509Authentication;
 import java.io.File;
 import java.io.IOException;
 import java.sql.*;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -55,6 +58,8 @@ import org.bson.UuidRepresentation;
 @AutoLoggable
 public class MongoConnection implements Connection {
     private MongoClientSettings mongoClientSettings;
+    private MongoClientState clientState;
+    private MongoClientMetrics clientMetrics;
     protected MongoClient mongoClient;
     protected String currentDB;
     protected String url;
@@ -70,11 +75,32 @@ public class MongoConnection implements Connection {
     private static ConsoleHandler consoleHandler;
     private static Map<String, Integer> handlerCount = new HashMap<String, Integer>();
     private static Map<String, FileHandler> fileHandlers = new HashMap<String, FileHandler>();
+    // Runs the server round trips which are issued concurrently with the caller's work.
+    private static final ExecutorService SHARED_EXECUTOR =
+            Executors.newCachedThreadPool(
+                    new ThreadFactory() {
+                        private final AtomicInteger threadCounter = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            String name = "mongodb-jdbc-worker-" + threadCounter.incrementAndGet();
+                            Thread t = new Thread(r, name);
+                            t.setDaemon(true);
+                            return t;
+                        }
+                    });
+    // Runs the asynchronous query executions by default.
+    private static final Executor DEFAULT_ASYNC_EXECUTOR = newDefaultAsyncExecutor();
+    private volatile Executor asyncExecutor = DEFAULT_ASYNC_EXECUTOR;
     private String logDirPath;
     private boolean extJsonMode;
     private UuidRepresentation uuidRepresentation;
     private String appName;
     private MongoSQLTranslate mongosqlTranslate;
+    private TranslationCache translationCache;
+    private SchemaCatalogCache schemaCatalogCache;
+    private ResultSchemaCache resultSchemaCache;
+    private MongoConnectionTuning connectionTuning;
 
     private int serverMajorVersion;
     private int serverMinorVersion;
@@ -108,6 +134,27 @@ public class MongoConnection implements Connection {
             MongoConnectionProperties connectionProperties,
             char[] x509Passphrase)
             throws Exception {
+        this(mongoClient, null, connectionProperties, x509Passphrase);
+    }
+
+    /**
+     * Creates a connection using a cached client. The settings of the client are reused and, once
+     * a connection using it was validated, so is the verdict of that validation.
+     */
+    MongoConnection(
+            MongoClientState clientState,
+            MongoConnectionProperties connectionProperties,
+            char[] x509Passphrase)
+            throws Exception {
+        this(clientState.getClient(), clientState, connectionProperties, x509Passphrase);
+    }
+
+    private MongoConnection(
+            MongoClient mongoClient,
+            MongoClientState clientState,
+            MongoConnectionProperties connectionProperties,
+            char[] x509Passphrase)
+            throws Exception {
         this.connectionId = connectionCounter.incrementAndGet();
         initConnectionLogger(
                 connectionId,
@@ -120,7 +167,15 @@ public class MongoConnection implements Connection {
 
         this.x509Passphrase = x509Passphrase;
         this.tlsCaFile = connectionProperties.getTlsCaFile();
-        this.mongoClientSettings = createMongoClientSettings(connectionProperties);
+        // Building the settings may read certificates or log in with JAAS, it is only done once
+        // per cached client.
+        if (clientState != null) {
+            this.mongoClientSettings = clientState.getSettings();
+            this.clientMetrics = clientState.getMetrics();
+        } else {
+            this.clientMetrics = new MongoClientMetrics();
+            this.mongoClientSettings = createMongoClientSettings(connectionProperties);
+        }
 
         if (mongoClient == null) {
             this.mongoClient =
@@ -133,6 +188,32 @@ public class MongoConnection implements Connection {
         } else {
             this.mongoClient = mongoClient;
         }
+        this.clientState =
+                (clientState != null)
+                        ? clientState
+                        : new MongoClientState(
+                                this.mongoClient,
+                                this.mongoClientSettings,
+                                this.clientMetrics,
+                                mongoClient == null);
+
+        MongoConnectionTuning tuning = connectionProperties.getConnectionTuning();
+        if (tuning.getTranslationCacheSize() > 0) {
+            this.translationCache =
+                    TranslationCache.forClient(this.mongoClient, tuning.getTranslationCacheSize());
+        }
+        if (tuning.getSchemaCacheTtl() > 0) {
+            this.schemaCatalogCache =
+                    SchemaCatalogCache.forClient(this.mongoClient, tuning.getSchemaCacheTtl());
+            if (tuning.getTranslationCacheSize() > 0) {
+                this.resultSchemaCache =
+                        ResultSchemaCache.forClient(
+                                this.mongoClient,
+                                tuning.getTranslationCacheSize(),
+                                tuning.getSchemaCacheTtl());
+            }
+        }
+        this.clientState.retain();
     }
 
     public MongoConnection(MongoClient mongoClient, MongoConnectionProperties connectionProperties)
@@ -142,7 +223,7 @@ public class MongoConnection implements Connection {
 
     public MongoConnection(MongoConnectionProperties connectionProperties, char[] x509Passphrase)
             throws Exception {
-        this(null, connectionProperties, x509Passphrase);
+        this((MongoClient) null, connectionProperties, x509Passphrase);
     }
 
     public MongoConnection(MongoConnectionProperties connectionProperties) throws Exception {
@@ -158,6 +239,7 @@ public class MongoConnection implements Connection {
                 connectionProperties.getConnectionString().getUuidRepresentation();
         this.appName = buildAppName(connectionProperties);
         this.mongosqlTranslate = new MongoSQLTranslate(this.logger);
+        this.connectionTuning = connectionProperties.getConnectionTuning();
 
         this.isClosed = false;
     }
@@ -182,7 +264,11 @@ public class MongoConnection implements Connection {
         MongoClientSettings.Builder settingsBuilder =
                 MongoClientSettings.builder()
                         .applicationName(this.appName)
-                        .applyConnectionString(connectionProperties.getConnectionString());
+                        .applyConnectionString(connectionProperties.getConnectionString())
+                        .addCommandListener(clientMetrics)
+                        .applyToConnectionPoolSettings(
+                                pool -> pool.addConnectionPoolListener(clientMetrics));
+        connectionProperties.getClientTuning().apply(settingsBuilder);
 
         MongoCredential credential = connectionProperties.getConnectionString().getCredential();
 
@@ -288,6 +374,72 @@ public class MongoConnection implements Connection {
         return mongosqlTranslate;
     }
 
+    /**
+     * Returns the translation cache shared by the connections using the same MongoClient.
+     *
+     * @return the translation cache or null if it is disabled.
+     */
+    public TranslationCache getTranslationCache() {
+        return translationCache;
+    }
+
+    /**
+     * Returns the __sql_schemas cache shared by the connections using the same MongoClient.
+     *
+     * @return the schema cache or null if it is disabled.
+     */
+    public SchemaCatalogCache getSchemaCatalogCache() {
+        return schemaCatalogCache;
+    }
+
+    /**
+     * Returns the Atlas Data Federation result schema cache shared by the connections using the
+     * same MongoClient.
+     *
+     * @return the result schema cache or null if it is disabled.
+     */
+    public ResultSchemaCache getResultSchemaCache() {
+        return resultSchemaCache;
+    }
+
+    static ExecutorService getSharedExecutor() {
+        return SHARED_EXECUTOR;
+    }
+
+    /**
+     * @return an executor running each task on a new virtual thread when the JVM supports them,
+     *     otherwise the shared executor.
+     */
+    private static Executor newDefaultAsyncExecutor() {
+        try {
+            return (Executor)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return SHARED_EXECUTOR;
+        }
+    }
+
+    /**
+     * Returns the executor running the asynchronous query executions of the statements of this
+     * connection. By default, they run on virtual threads when the JVM supports them, otherwise on
+     * a cached pool of daemon threads shared by all connections.
+     *
+     * @return the executor of the asynchronous query executions.
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Sets the executor running the asynchronous query executions of the statements of this
+     * connection.
+     *
+     * @param executor The executor, or null to use the default one.
+     */
+    public void setAsyncExecutor(Executor executor) {
+        asyncExecutor = (executor != null) ? executor : DEFAULT_ASYNC_EXECUTOR;
+    }
+
     protected MongoClusterType getClusterType() {
         return clusterType;
     }
@@ -296,6 +448,94 @@ public class MongoConnection implements Connection {
         return mongoClient;
     }
 
+    MongoClientState getClientState() {
+        return clientState;
+    }
+
+    /**
+     * Returns the connection pool and command metrics of the MongoClient of this connection, shared
+     * by all the connections using it. The metrics stay empty if the client was not created by the
+     * driver.
+     *
+     * @return the metrics of the client.
+     */
+    public MongoClientMetrics getClientMetrics() {
+        return clientMetrics;
+    }
+
+    /**
+     * Warms up the client and the caches of this connection for the given queries, so that their
+     * first executions don't pay for the catalog fetch and the translation. On a direct cluster
+     * connection, the namespaces, catalog and translation of each query are cached. Against Atlas
+     * Data Federation, its result set schema is cached. The caches are shared by all the
+     * connections using the same client. The queries are not run.
+     *
+     * <p>The translation of a query with parameters depends on the types of the values bound, so
+     * its template queries are warmed up for each type of value which can be bound into a
+     * translation, all of its parameters being of the same type. All the queries are tried even if
+     * some fail. Then, if the client was created by the driver, this
+     * waits, up to the server selection timeout, for its connection pool to open the minpoolsize
+     * connections.
+     *
+     * @param queries The SQL queries.
+     * @return the number of queries warmed up.
+     * @throws SQLException if some queries failed, with the first failure as cause and the others
+     *     suppressed.
+     */
+    public int warmUp(Collection<String> queries) throws SQLException {
+        checkConnection();
+        int warmedUp = 0;
+        SQLException failure = null;
+        for (String sql : queries) {
+            // Each query has its own statement, as a qualified query switches the database of its
+            // statement.
+            try (MongoPreparedStatement statement =
+                    (MongoPreparedStatement) prepareStatement(sql)) {
+                statement.warmUp();
+                warmedUp++;
+            } catch (SQLException | RuntimeException e) {
+                SQLException error = new SQLException("Failed to warm up query: " + sql, e);
+                if (failure == null) {
+                    failure = error;
+                } else {
+                    failure.addSuppressed(error);
+                }
+            }
+        }
+        awaitMinPoolSize();
+        logger.log(
+                Level.INFO,
+                "Warmed up " + warmedUp + " of " + queries.size() + " queries: " + clientMetrics);
+        if (failure != null) {
+            throw failure;
+        }
+        return warmedUp;
+    }
+
+    /**
+     * Waits, up to the server selection timeout, for the connection pool of the client to hold
+     * its minimum number of connections.
+     */
+    private void awaitMinPoolSize() throws SQLException {
+        if (!clientState.ownsClient()) {
+            return;
+        }
+        int minSize = mongoClientSettings.getConnectionPoolSettings().getMinSize();
+        long deadline =
+                System.nanoTime()
+                        + mongoClientSettings
+                                .getClusterSettings()
+                                .getServerSelectionTimeout(TimeUnit.NANOSECONDS);
+        while (clientMetrics.getConnectionCount() < minSize && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while warming up the connection pool.", e);
+            }
+        }
+    }
+
     @DisableAutoLogging
     public MongoLogger getLogger() {
         return logger;
@@ -358,14 +598,27 @@ public class MongoConnection implements Connection {
 
     @Override
     public Statement createStatement() throws SQLException {
+        return createStatement(ResultSet.TYPE_FORWARD_ONLY);
+    }
+
+    private Statement createStatement(int resultSetType) throws SQLException {
         checkConnection();
         try {
-            return new MongoStatement(this, currentDB);
+            return new MongoStatement(this, currentDB, resultSetType);
         } catch (IllegalArgumentException e) {
             throw new SQLException(e);
         }
     }
 
+    /**
+     * Scroll insensitive result sets keep the rows already read, spilling them to disk beyond the
+     * scrollwindowbytes property. Scroll sensitive result sets are not supported.
+     */
+    static boolean isSupportedResultSetType(int resultSetType) {
+        return resultSetType == ResultSet.TYPE_FORWARD_ONLY
+                || resultSetType == ResultSet.TYPE_SCROLL_INSENSITIVE;
+    }
+
     protected int getDefaultConnectionValidationTimeoutSeconds() {
         return this.mongoClientSettings.getSocketSettings().getConnectTimeout(TimeUnit.SECONDS);
     }
@@ -374,6 +627,30 @@ public class MongoConnection implements Connection {
         return extJsonMode;
     }
 
+    int getPrefetchBatches() {
+        return connectionTuning.getPrefetchBatches();
+    }
+
+    long getPrefetchMaxBytes() {
+        return connectionTuning.getPrefetchMaxBytes();
+    }
+
+    long getScrollWindowBytes() {
+        return connectionTuning.getScrollWindowBytes();
+    }
+
+    int getParallelPartitions() {
+        return connectionTuning.getParallelPartitions();
+    }
+
+    long getFetchTargetBytes() {
+        return connectionTuning.getFetchTargetBytes();
+    }
+
+    long getFetchMaxBytes() {
+        return connectionTuning.getFetchMaxBytes();
+    }
+
     UuidRepresentation getUuidRepresentation() {
         return uuidRepresentation;
     }
@@ -409,8 +686,14 @@ public class MongoConnection implements Connection {
 
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return newPreparedStatement(sql, ResultSet.TYPE_FORWARD_ONLY);
+    }
+
+    private PreparedStatement newPreparedStatement(String sql, int resultSetType)
+            throws SQLException {
         try {
-            return new MongoPreparedStatement(sql, new MongoStatement(this, currentDB));
+            return new MongoPreparedStatement(
+                    sql, new MongoStatement(this, currentDB, resultSetType));
         } catch (IllegalArgumentException e) {
             throw new SQLException(e);
         }
@@ -448,13 +731,12 @@ public class MongoConnection implements Connection {
 
     @Override
     public void close() {
-        if (isClosed()) {
-            return;
-        }
-
         // Decrement fileHandlerCount and delete entry
         // if no more connections are using it.
         synchronized (this) {
+            if (isClosed()) {
+                return;
+            }
             if ((null != handlerCount) && handlerCount.containsKey(logDirPath)) {
                 handlerCount.put(logDirPath, handlerCount.get(logDirPath) - 1);
                 if (handlerCount.get(logDirPath) == 0) {
@@ -465,9 +747,10 @@ public class MongoConnection implements Connection {
                     handlerCount.remove(logDirPath);
                 }
             }
+            isClosed = true;
         }
-
-        isClosed = true;
+        // The client is closed once no connection uses it.
+        clientState.release();
     }
 
     @Override
@@ -524,9 +807,9 @@ public class MongoConnection implements Connection {
     @Override
     public Statement createStatement(int resultSetType, int resultSetConcurrency)
             throws SQLException {
-        if (resultSetType == ResultSet.TYPE_FORWARD_ONLY
+        if (isSupportedResultSetType(resultSetType)
                 && resultSetConcurrency == ResultSet.CONCUR_READ_ONLY) {
-            return createStatement();
+            return createStatement(resultSetType);
         } else {
             throw new SQLFeatureNotSupportedException(
                     Thread.currentThread().getStackTrace()[1].toString());
@@ -536,9 +819,9 @@ public class MongoConnection implements Connection {
     @Override
     public PreparedStatement prepareStatement(
             String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        if (resultSetType == ResultSet.TYPE_FORWARD_ONLY
+        if (isSupportedResultSetType(resultSetType)
                 && resultSetConcurrency == ResultSet.CONCUR_READ_ONLY) {
-            return prepareStatement(sql);
+            return newPreparedStatement(sql, resultSetType);
         } else {
             throw new SQLFeatureNotSupportedException(
                     Thread.currentThread().getStackTrace()[1].toString());
@@ -570,9 +853,9 @@ public class MongoConnection implements Connection {
     public Statement createStatement(
             int resultSetType, int resultSetConcurrency, int resultSetHoldability)
             throws SQLException {
-        if (resultSetType == ResultSet.TYPE_FORWARD_ONLY
+        if (isSupportedResultSetType(resultSetType)
                 && resultSetConcurrency == ResultSet.CONCUR_READ_ONLY) {
-            return createStatement();
+            return createStatement(resultSetType);
         } else {
             throw new SQLFeatureNotSupportedException(
                     Thread.currentThread().getStackTrace()[1].toString());
@@ -678,6 +961,7 @@ public class MongoConnection implements Connection {
         @Override
         public Void call() throws SQLException, MongoSQLException, MongoSerializationException {
             MongoClusterType actualClusterType = determineClusterType();
+            String mongosqlTranslateVersion = null;
             String serverInfo =
                     "Connecting to cluster type "
                             + actualClusterType.toString()
@@ -710,7 +994,7 @@ public class MongoConnection implements Connection {
                                                                 .getStackTrace())
                                                 .map(StackTraceElement::toString));
                     }
-                    String mongosqlTranslateVersion =
+                    mongosqlTranslateVersion =
                             mongosqlTranslate.getMongosqlTranslateVersion().version;
                     if (!mongosqlTranslate.checkDriverVersion().compatible) {
                         throw new SQLException(
@@ -737,10 +1021,43 @@ public class MongoConnection implements Connection {
                 // no resultSet returned
                 throw new SQLException("Connection error");
             }
+            clientState.setServerInfo(
+                    new MongoClientState.ServerInfo(
+                            clusterType,
+                            serverVersion,
+                            serverMajorVersion,
+                            serverMinorVersion,
+                            mongosqlTranslateVersion));
             return null;
         }
     }
 
+    /**
+     * Validates a new connection. When another connection using the same client was already
+     * validated, its verdict is reused and the connection is established without any round trip
+     * to the server, unless the complete validation is enabled with validationmode=full.
+     *
+     * @param timeout The validation timeout.
+     */
+    protected void validateNewConnection(int timeout)
+            throws SQLException, InterruptedException, ExecutionException, TimeoutException {
+        MongoClientState.ServerInfo serverInfo = clientState.getServerInfo();
+        if (serverInfo == null || connectionTuning.getFullValidation()) {
+            testConnection(timeout);
+            return;
+        }
+        checkValidationInput(timeout);
+        serverVersion = serverInfo.serverVersion;
+        serverMajorVersion = serverInfo.serverMajorVersion;
+        serverMinorVersion = serverInfo.serverMinorVersion;
+        if (serverInfo.mongosqlTranslateVersion != null) {
+            appName = appName + "|libmongosqltranslate+" + serverInfo.mongosqlTranslateVersion;
+        }
+        clusterType = serverInfo.clusterType;
+        logger.log(
+                Level.FINE, "Connection established from the cached client state: " + serverInfo);
+    }
+
     /**
      * Executes a dummy query to test the connection.
      *
@@ -748,6 +1065,33 @@ public class MongoConnection implements Connection {
      */
     protected void testConnection(int timeout)
             throws SQLException, InterruptedException, ExecutionException, TimeoutException {
+        checkValidationInput(timeout);
+
+        // We use createStatement to test the connection. Since we are not allowed
+        // to set the timeout adhoc on the calls, we use Executor to run a blocked call with timeout.
+        awaitValidation(SHARED_EXECUTOR.submit(new ConnValidation()), timeout);
+    }
+
+    /**
+     * Sends a ping to the server to test the connection. The cluster type and the compatibility
+     * with the server were already checked by {@link #testConnection} when the connection was
+     * established, so only the connectivity and the authentication need to be checked again.
+     *
+     * @param timeout The ping timeout.
+     */
+    protected void pingConnection(int timeout)
+            throws SQLException, InterruptedException, ExecutionException, TimeoutException {
+        checkValidationInput(timeout);
+
+        awaitValidation(
+                SHARED_EXECUTOR.submit(
+                        () ->
+                                getDatabase(currentDB)
+                                        .runCommand(new BsonDocument("ping", new BsonInt32(1)))),
+                timeout);
+    }
+
+    private void checkValidationInput(int timeout) throws SQLException {
         if (timeout < 0) {
             throw new SQLException("Input is invalid.");
         }
@@ -755,12 +1099,10 @@ public class MongoConnection implements Connection {
         if (isClosed) {
             throw new SQLException("Connection is closed.");
         }
+    }
 
-        // We use createStatement to test the connection. Since we are not allowed
-        // to set the timeout adhoc on the calls, we use Executor to run a blocked call with timeout.
-        ExecutorService executor = Executors.newCachedThreadPool();
-        Future<Void> future = executor.submit(new ConnValidation());
-
+    private static void awaitValidation(Future<?> future, int timeout)
+            throws InterruptedException, ExecutionException, TimeoutException {
         try {
             if (timeout > 0) {
                 future.get(timeout, TimeUnit.SECONDS);
@@ -769,14 +1111,23 @@ public class MongoConnection implements Connection {
             }
         } finally {
             future.cancel(true);
-            executor.shutdown();
         }
     }
 
+    /**
+     * Checks that the connection is still usable. By default, only a ping is sent to the server.
+     * The complete validation performed when establishing the connection, which also runs a test
+     * query, can be enabled with the validationmode=full property.
+     */
     @Override
     public boolean isValid(int timeout) throws SQLException {
         try {
-            testConnection(timeout);
+            // The cluster type is only set once the connection passed the complete validation.
+            if (connectionTuning.getFullValidation() || clusterType == null) {
+                testConnection(timeout);
+            } else {
+                pingConnection(timeout);
+            }
         } catch (InterruptedException | ExecutionException | TimeoutException ex) {
             // Only propagate the SQLException
             return false;
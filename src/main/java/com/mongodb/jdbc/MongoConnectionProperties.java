@@ -17,7 +17,12 @@
 package com.mongodb.jdbc;
 
 import com.mongodb.ConnectionString;
+import com.mongodb.jdbc.utils.DigestUtils;
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.logging.Level;
 
 public class MongoConnectionProperties {
@@ -33,6 +38,8 @@ public class MongoConnectionProperties {
     private final String gssApiLoginContextName;
     private final String gssApiServerAuth;
     private String tlsCaFile;
+    private final MongoConnectionTuning connectionTuning;
+    private final MongoClientTuning clientTuning;
 
     public MongoConnectionProperties(
             ConnectionString connectionString,
@@ -47,6 +54,38 @@ public class MongoConnectionProperties {
             String gssApiServerAuth,
             String tlsCaFile,
             String x509PemPath) {
+        this(
+                connectionString,
+                database,
+                logLevel,
+                logDir,
+                clientInfo,
+                extJsonMode,
+                jaasConfigPath,
+                gssNativeMode,
+                gssApiLoginContextName,
+                gssApiServerAuth,
+                tlsCaFile,
+                x509PemPath,
+                MongoConnectionTuning.DEFAULT,
+                MongoClientTuning.DEFAULT);
+    }
+
+    public MongoConnectionProperties(
+            ConnectionString connectionString,
+            String database,
+            Level logLevel,
+            File logDir,
+            String clientInfo,
+            boolean extJsonMode,
+            String jaasConfigPath,
+            String gssNativeMode,
+            String gssApiLoginContextName,
+            String gssApiServerAuth,
+            String tlsCaFile,
+            String x509PemPath,
+            MongoConnectionTuning connectionTuning,
+            MongoClientTuning clientTuning) {
         this.connectionString = connectionString;
         this.database = database;
         this.logLevel = logLevel;
@@ -59,6 +98,9 @@ public class MongoConnectionProperties {
         this.gssApiLoginContextName = gssApiLoginContextName;
         this.gssApiServerAuth = gssApiServerAuth;
         this.tlsCaFile = tlsCaFile;
+        this.connectionTuning =
+                (connectionTuning != null) ? connectionTuning : MongoConnectionTuning.DEFAULT;
+        this.clientTuning = (clientTuning != null) ? clientTuning : MongoClientTuning.DEFAULT;
     }
 
     public ConnectionString getConnectionString() {
@@ -109,11 +151,29 @@ public class MongoConnectionProperties {
         return gssApiServerAuth;
     }
 
+    public MongoConnectionTuning getConnectionTuning() {
+        return connectionTuning;
+    }
+
+    public MongoClientTuning getClientTuning() {
+        return clientTuning;
+    }
+
     /*
      * Generate a unique key for the connection properties. This key is used to identify the connection properties in the
      * connection cache. Properties that do not differentiate a specific client such as the log level are not included in the key.
      */
-    public Integer generateKey() {
+    public String generateKey() {
+        return generateKey(null);
+    }
+
+    /**
+     * @param x509Passphrase The passphrase of the X.509 private key, or null if there is none. Only
+     *     its digest is part of the key, so that a connection with another passphrase doesn't reuse
+     *     a client authenticated with the right one.
+     * @return the key of the cached client of the connections with these properties.
+     */
+    public String generateKey(char[] x509Passphrase) {
         StringBuilder keyBuilder = new StringBuilder();
         keyBuilder.append(connectionString.toString());
         if (clientInfo != null) {
@@ -122,6 +182,40 @@ public class MongoConnectionProperties {
         if (tlsCaFile != null) {
             keyBuilder.append(":tlsCaFile=").append(tlsCaFile);
         }
-        return keyBuilder.toString().hashCode();
+        // The cached clients are reused with their settings, which depend on these properties.
+        if (x509PemPath != null) {
+            keyBuilder.append(":x509PemPath=").append(x509PemPath);
+        }
+        if (x509Passphrase != null) {
+            keyBuilder.append(":x509Passphrase=").append(digest(x509Passphrase));
+        }
+        if (jaasConfigPath != null) {
+            keyBuilder.append(":jaasConfigPath=").append(jaasConfigPath);
+        }
+        if (gssNativeMode != null) {
+            keyBuilder.append(":gssNativeMode=").append(gssNativeMode);
+        }
+        if (gssApiLoginContextName != null) {
+            keyBuilder.append(":gssApiLoginContextName=").append(gssApiLoginContextName);
+        }
+        if (gssApiServerAuth != null) {
+            keyBuilder.append(":gssApiServerAuth=").append(gssApiServerAuth);
+        }
+        keyBuilder.append(":").append(clientTuning);
+        // The whole key is used, two settings with the same hash code must not share a client.
+        return keyBuilder.toString();
+    }
+
+    /** @return the hex encoded SHA-256 digest of the UTF-8 bytes of a secret. */
+    private static String digest(char[] secret) {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(secret));
+        try {
+            return DigestUtils.sha256Hex(bytes);
+        } finally {
+            // The encoded secret is not left on the heap.
+            if (bytes.hasArray()) {
+                Arrays.fill(bytes.array(), (byte) 0);
+            }
+        }
     }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static com.mongodb.jdbc.MongoDriver.MongoJDBCProperty.*;
+import static com.mongodb.jdbc.PropertyParser.getInt;
+import static com.mongodb.jdbc.PropertyParser.getLong;
+
+import com.mongodb.jdbc.mongosql.SchemaCatalogCache;
+import com.mongodb.jdbc.mongosql.TranslationCache;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * The caching, validation and fetch settings of a connection, set with the translationcachesize,
+ * schemacachettl, validationmode, prefetchbatches, prefetchmaxbytes, scrollwindowbytes,
+ * parallelpartitions, fetchtargetbytes and fetchmaxbytes properties. The settings which are not
+ * set keep their defaults.
+ */
+public final class MongoConnectionTuning {
+    /** The settings with no property set. */
+    public static final MongoConnectionTuning DEFAULT =
+            new MongoConnectionTuning(
+                    TranslationCache.DEFAULT_MAX_SIZE,
+                    SchemaCatalogCache.DEFAULT_TTL_SECONDS,
+                    false,
+                    0,
+                    PrefetchCursor.DEFAULT_MAX_BYTES,
+                    RowStore.DEFAULT_WINDOW_BYTES,
+                    0,
+                    0,
+                    AdaptiveFetchCursor.DEFAULT_MAX_BYTES);
+
+    private final int translationCacheSize;
+    private final long schemaCacheTtl;
+    private final boolean fullValidation;
+    private final int prefetchBatches;
+    private final long prefetchMaxBytes;
+    private final long scrollWindowBytes;
+    private final int parallelPartitions;
+    private final long fetchTargetBytes;
+    private final long fetchMaxBytes;
+
+    private MongoConnectionTuning(
+            int translationCacheSize,
+            long schemaCacheTtl,
+            boolean fullValidation,
+            int prefetchBatches,
+            long prefetchMaxBytes,
+            long scrollWindowBytes,
+            int parallelPartitions,
+            long fetchTargetBytes,
+            long fetchMaxBytes) {
+        this.translationCacheSize = translationCacheSize;
+        this.schemaCacheTtl = schemaCacheTtl;
+        this.fullValidation = fullValidation;
+        this.prefetchBatches = prefetchBatches;
+        this.prefetchMaxBytes = prefetchMaxBytes;
+        this.scrollWindowBytes = scrollWindowBytes;
+        this.parallelPartitions = parallelPartitions;
+        this.fetchTargetBytes = fetchTargetBytes;
+        this.fetchMaxBytes = fetchMaxBytes;
+    }
+
+    /**
+     * Parses and validates the settings.
+     *
+     * @param info The connection properties.
+     * @return the settings.
+     * @throws SQLException if a value is invalid.
+     */
+    static MongoConnectionTuning fromOptions(Properties info) throws SQLException {
+        int translationCacheSize =
+                getInt(
+                        info,
+                        TRANSLATION_CACHE_SIZE,
+                        0,
+                        TranslationCache.DEFAULT_MAX_SIZE,
+                        "a positive integer or 0 to disable the cache");
+        long schemaCacheTtl =
+                getLong(
+                        info,
+                        SCHEMA_CACHE_TTL,
+                        0,
+                        SchemaCatalogCache.DEFAULT_TTL_SECONDS,
+                        "a number of seconds or 0 to disable the cache");
+        int prefetchBatches =
+                getInt(
+                        info,
+                        PREFETCH_BATCHES,
+                        0,
+                        0,
+                        "a positive integer or 0 to disable prefetching");
+        long prefetchMaxBytes =
+                getLong(
+                        info,
+                        PREFETCH_MAX_BYTES,
+                        1,
+                        PrefetchCursor.DEFAULT_MAX_BYTES,
+                        "a positive number of bytes");
+        long scrollWindowBytes =
+                getLong(
+                        info,
+                        SCROLL_WINDOW_BYTES,
+                        0,
+                        RowStore.DEFAULT_WINDOW_BYTES,
+                        "a positive number of bytes or 0");
+        int parallelPartitions =
+                getInt(
+                        info,
+                        PARALLEL_PARTITIONS,
+                        0,
+                        0,
+                        "a positive integer or 0 to disable parallel scans");
+        long fetchTargetBytes =
+                getLong(
+                        info,
+                        FETCH_TARGET_BYTES,
+                        0,
+                        0,
+                        "a positive number of bytes or 0 to disable the adaptive fetch size");
+        long fetchMaxBytes =
+                getLong(
+                        info,
+                        FETCH_MAX_BYTES,
+                        1,
+                        AdaptiveFetchCursor.DEFAULT_MAX_BYTES,
+                        "a positive number of bytes");
+        return new MongoConnectionTuning(
+                translationCacheSize,
+                schemaCacheTtl,
+                parseValidationMode(info),
+                prefetchBatches,
+                prefetchMaxBytes,
+                scrollWindowBytes,
+                parallelPartitions,
+                fetchTargetBytes,
+                fetchMaxBytes);
+    }
+
+    /** @return true if the validation mode is full, false if it is ping or not set. */
+    private static boolean parseValidationMode(Properties info) throws SQLException {
+        String validationModeVal = info.getProperty(VALIDATION_MODE.getPropertyName());
+        if (validationModeVal == null) {
+            return false;
+        }
+        validationModeVal = validationModeVal.trim().toLowerCase();
+        if (validationModeVal.equals(MongoDriver.FULL_VALIDATION)) {
+            return true;
+        } else if (!validationModeVal.equals(MongoDriver.PING_VALIDATION)) {
+            throw new SQLException(
+                    "Invalid "
+                            + VALIDATION_MODE.getPropertyName()
+                            + " property value: "
+                            + validationModeVal
+                            + ". Valid values are: '"
+                            + MongoDriver.PING_VALIDATION
+                            + "', '"
+                            + MongoDriver.FULL_VALIDATION
+                            + "'.");
+        }
+        return false;
+    }
+
+    public int getTranslationCacheSize() {
+        return translationCacheSize;
+    }
+
+    public long getSchemaCacheTtl() {
+        return schemaCacheTtl;
+    }
+
+    public boolean getFullValidation() {
+        return fullValidation;
+    }
+
+    public int getPrefetchBatches() {
+        return prefetchBatches;
+    }
+
+    public long getPrefetchMaxBytes() {
+        return prefetchMaxBytes;
+    }
+
+    public long getScrollWindowBytes() {
+        return scrollWindowBytes;
+    }
+
+    public int getParallelPartitions() {
+        return parallelPartitions;
+    }
+
+    public long getFetchTargetBytes() {
+        return fetchTargetBytes;
+    }
+
+    /** @return the maximum size of the rows held by a result set with an adaptive fetch size. */
+    public long getFetchMaxBytes() {
+        return fetchMaxBytes;
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.DataSource;
+import javax.sql.PooledConnection;
+
+/**
+ * DataSource creating connections through the MongoDriver. The connections with the same url and
+ * properties share a cached MongoClient.
+ *
+ * <p>As a ConnectionPoolDataSource, it creates MongoPooledConnections, whose prepared statements
+ * are cached. See MongoPooledDataSource for a DataSource pooling them.
+ */
+public class MongoDataSource implements DataSource, ConnectionPoolDataSource {
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+
+    private static final MongoDriver DRIVER = new MongoDriver();
+
+    private String url;
+    private final Properties properties = new Properties();
+    private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+    private int loginTimeout;
+    private PrintWriter logWriter;
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    public String getUrl() {
+        return url;
+    }
+
+    /** @param url The jdbc:mongodb:// or jdbc:mongodb+srv:// url of the connections. */
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getDatabase() {
+        return properties.getProperty(MongoDriver.MongoJDBCProperty.DATABASE.getPropertyName());
+    }
+
+    public void setDatabase(String database) {
+        setProperty(MongoDriver.MongoJDBCProperty.DATABASE.getPropertyName(), database);
+    }
+
+    public String getUser() {
+        return properties.getProperty(MongoDriver.USER);
+    }
+
+    public void setUser(String user) {
+        setProperty(MongoDriver.USER, user);
+    }
+
+    public void setPassword(String password) {
+        setProperty(MongoDriver.PASSWORD, password);
+    }
+
+    /**
+     * Sets a connection property, as given to the MongoDriver.
+     *
+     * @param name The name of the property.
+     * @param value The value of the property, or null to remove it.
+     */
+    public synchronized void setProperty(String name, String value) {
+        if (value == null) {
+            properties.remove(name);
+        } else {
+            properties.setProperty(name, value);
+        }
+    }
+
+    /** @return a copy of the connection properties. */
+    public synchronized Properties getProperties() {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * @param statementCacheSize The maximum number of idle prepared statements kept by each pooled
+     *     connection, or 0 to disable the statement cache.
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid statement cache size : "
+                            + statementCacheSize
+                            + ". It must be a positive number or 0 to disable the cache.");
+        }
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /** @return the number of prepared statements reused from the cache of a pooled connection. */
+    public long getStatementCacheHitCount() {
+        return statementCacheHits.get();
+    }
+
+    /** @return the number of prepared statements not found in the cache of a pooled connection. */
+    public long getStatementCacheMissCount() {
+        return statementCacheMisses.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(getProperties());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(withCredentials(username, password));
+    }
+
+    @Override
+    public PooledConnection getPooledConnection() throws SQLException {
+        return newPooledConnection(connect(getProperties()));
+    }
+
+    @Override
+    public PooledConnection getPooledConnection(String user, String password)
+            throws SQLException {
+        return newPooledConnection(connect(withCredentials(user, password)));
+    }
+
+    private MongoPooledConnection newPooledConnection(MongoConnection connection)
+            throws SQLException {
+        return new MongoPooledConnection(
+                connection, statementCacheSize, statementCacheHits, statementCacheMisses);
+    }
+
+    private Properties withCredentials(String user, String password) {
+        Properties info = getProperties();
+        if (user != null) {
+            info.setProperty(MongoDriver.USER, user);
+        }
+        if (password != null) {
+            info.setProperty(MongoDriver.PASSWORD, password);
+        }
+        return info;
+    }
+
+    /**
+     * Warms up the client of the data source and its caches for the given queries. A connection is
+     * opened, warmed up and closed. Its client stays cached for the clientidletimeout, with the
+     * catalogs and translations of the queries.
+     *
+     * @param queries The SQL queries.
+     * @return the number of queries warmed up.
+     * @throws SQLException if the connection failed, or some queries failed.
+     * @see MongoConnection#warmUp(Collection)
+     */
+    public int warmUp(Collection<String> queries) throws SQLException {
+        try (MongoConnection connection = connect(getProperties())) {
+            return connection.warmUp(queries);
+        }
+    }
+
+    /**
+     * Warms up the client of the data source and its caches for the queries of a file.
+     *
+     * @param file The file holding the SQL queries, see {@link #readQueries(Path)}.
+     * @return the number of queries warmed up.
+     * @throws SQLException if the file can't be read, the connection failed, or some queries
+     *     failed.
+     */
+    public int warmUp(Path file) throws SQLException {
+        return warmUp(readQueries(file));
+    }
+
+    /**
+     * Reads SQL queries from a UTF-8 file. The queries are separated by semicolons, and the lines
+     * starting with -- are comments.
+     *
+     * @param file The file.
+     * @return the queries.
+     * @throws SQLException if the file can't be read.
+     */
+    static List<String> readQueries(Path file) throws SQLException {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Failed to read the queries of " + file, e);
+        }
+        List<String> queries = new ArrayList<>();
+        StringBuilder query = new StringBuilder();
+        // The quote character of the literal or identifier being read, 0 outside of them.
+        char quote = 0;
+        for (String line : lines) {
+            if (quote == 0 && line.trim().startsWith("--")) {
+                continue;
+            }
+            for (char c : line.toCharArray()) {
+                if (quote != 0) {
+                    // A doubled quote is read as two literals, which is equivalent here.
+                    quote = (c == quote) ? 0 : quote;
+                } else if (c == '\'' || c == '"' || c == '`') {
+                    quote = c;
+                } else if (c == ';') {
+                    addQuery(queries, query);
+                    continue;
+                }
+                query.append(c);
+            }
+            query.append('\n');
+        }
+        addQuery(queries, query);
+        return queries;
+    }
+
+    private static void addQuery(List<String> queries, StringBuilder query) {
+        String sql = query.toString().trim();
+        if (!sql.isEmpty()) {
+            queries.add(sql);
+        }
+        query.setLength(0);
+    }
+
+    /** Creates a physical connection with the given properties. */
+    MongoConnection connect(Properties info) throws SQLException {
+        if (url == null) {
+            throw new SQLException("The url of the data source is not set.");
+        }
+        Connection connection = DRIVER.connect(url, info);
+        if (connection == null) {
+            throw new SQLException("Invalid url of the data source : " + url);
+        }
+        return (MongoConnection) connection;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        this.logWriter = out;
+    }
+
+    /**
+     * The login timeout is not used, the timeouts of the connections are set in the url, with the
+     * connectTimeoutMS and serverSelectionTimeoutMS options.
+     */
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        this.loginTimeout = seconds;
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return loginTimeout;
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    // java.sql.Wrapper impl
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return (T) this;
+    }
+}
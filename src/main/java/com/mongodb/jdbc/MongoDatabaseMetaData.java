@@ -1136,12 +1136,13 @@ public class MongoDatabaseMetaData implements DatabaseMetaData {
     //--------------------------JDBC 2.0-----------------------------
     @Override
     public boolean supportsResultSetType(int type) throws SQLException {
-        return type == ResultSet.TYPE_FORWARD_ONLY;
+        return MongoConnection.isSupportedResultSetType(type);
     }
 
     @Override
     public boolean supportsResultSetConcurrency(int type, int concurrency) throws SQLException {
-        return type == ResultSet.TYPE_FORWARD_ONLY && concurrency == ResultSet.CONCUR_READ_ONLY;
+        return MongoConnection.isSupportedResultSetType(type)
+                && concurrency == ResultSet.CONCUR_READ_ONLY;
     }
 
     @Override
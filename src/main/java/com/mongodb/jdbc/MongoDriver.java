@@ -24,10 +24,8 @@ import com.mongodb.AuthenticationMechanism;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.MongoConfigurationException;
-import com.mongodb.client.MongoClient;
 import com.mongodb.jdbc.utils.NativeLoader;
 import java.io.*;
-import java.lang.ref.WeakReference;
 import java.net.URLEncoder;
 import java.nio.file.Paths;
 import java.sql.Connection;
@@ -42,10 +40,7 @@ import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -94,19 +89,38 @@ public class MongoDriver implements Driver {
      * a Properties Object.
      */
     public enum MongoJDBCProperty {
+        CLIENT_IDLE_TIMEOUT("clientidletimeout"),
         CLIENT_INFO("clientinfo"),
         DATABASE("database"),
         EXT_JSON_MODE("extjsonmode"),
+        FETCH_TARGET_BYTES("fetchtargetbytes"),
+        FETCH_MAX_BYTES("fetchmaxbytes"),
         DISABLE_CLIENT_CACHE("disableclientcache"),
         LOG_DIR("logdir"),
         LOG_LEVEL("loglevel"),
+        PARALLEL_PARTITIONS("parallelpartitions"),
+        PREFETCH_BATCHES("prefetchbatches"),
+        PREFETCH_MAX_BYTES("prefetchmaxbytes"),
+        SCHEMA_CACHE_TTL("schemacachettl"),
+        SCROLL_WINDOW_BYTES("scrollwindowbytes"),
         TLS_CA_FILE("tlscafile"),
+        TRANSLATION_CACHE_SIZE("translationcachesize"),
+        VALIDATION_MODE("validationmode"),
         X509_PEM_PATH("x509pempath"),
         // Kerberos related properties
         JAAS_CONFIG_PATH("jaasconfigpath"),
         GSS_NATIVE_MODE("gssnativemode"),
         GSSAPI_LOGIN_CONTEXT_NAME("gssapilogincontextname"),
-        GSSAPI_SERVER_AUTH("gssapiserverauth");
+        GSSAPI_SERVER_AUTH("gssapiserverauth"),
+        // MongoClient connection pool, server selection and socket settings
+        LOCAL_THRESHOLD_MS("localthresholdms"),
+        MAX_CONNECTING("maxconnecting"),
+        MAX_IDLE_TIME_MS("maxidletimems"),
+        MAX_POOL_SIZE("maxpoolsize"),
+        MIN_POOL_SIZE("minpoolsize"),
+        SERVER_SELECTION_TIMEOUT_MS("serverselectiontimeoutms"),
+        SOCKET_RECEIVE_BUFFER_SIZE("socketreceivebuffersize"),
+        SOCKET_SEND_BUFFER_SIZE("socketsendbuffersize");
 
         private final String propertyName;
 
@@ -145,14 +159,14 @@ public class MongoDriver implements Driver {
                     });
     static final String RELAXED = "RELAXED";
     static final String EXTENDED = "EXTENDED";
+    static final String PING_VALIDATION = "ping";
+    static final String FULL_VALIDATION = "full";
 
     public static final String LOG_TO_CONSOLE = "console";
     protected static final String CONNECTION_ERROR_SQLSTATE = "08000";
     public static final String AUTHENTICATION_ERROR_SQLSTATE = "28000";
 
-    private static ConcurrentHashMap<Integer, WeakReference<MongoClient>> mongoClientCache =
-            new ConcurrentHashMap<>();
-    private static final ReadWriteLock mongoClientCacheLock = new ReentrantReadWriteLock();
+    private static final MongoClientCache clientCache = new MongoClientCache();
 
     public static String getVersion() {
         return VERSION != null ? VERSION : MAJOR_VERSION + "." + MINOR_VERSION;
@@ -197,22 +211,17 @@ public class MongoDriver implements Driver {
         }
     }
 
+    /** @return the cache of the clients shared by the connections. */
+    public static MongoClientCache getClientCache() {
+        return clientCache;
+    }
+
     static int getClientCacheSizeForTest() {
-        mongoClientCacheLock.readLock().lock();
-        try {
-            return mongoClientCache.size();
-        } finally {
-            mongoClientCacheLock.readLock().unlock();
-        }
+        return clientCache.size();
     }
 
     static void clearClientCacheForTest() {
-        mongoClientCacheLock.readLock().lock();
-        try {
-            mongoClientCache.clear();
-        } finally {
-            mongoClientCacheLock.readLock().unlock();
-        }
+        clientCache.clear();
     }
 
     static {
@@ -323,7 +332,14 @@ public class MongoDriver implements Driver {
         try {
             MongoConnection conn = getUnvalidatedConnection(url, lowerCaseprops);
             if (conn != null) {
-                conn.testConnection(conn.getDefaultConnectionValidationTimeoutSeconds());
+                try {
+                    conn.validateNewConnection(
+                            conn.getDefaultConnectionValidationTimeoutSeconds());
+                } catch (Exception e) {
+                    // Release the client of the connection.
+                    conn.close();
+                    throw e;
+                }
                 return conn;
             } else {
                 throw new SQLException("Connection setup failed but no errors where reported.");
@@ -354,13 +370,19 @@ public class MongoDriver implements Driver {
         public final DriverPropertyInfo[] driverInfo;
         public final String tlsCaFile;
         public final char[] x509Passphrase;
+        public final MongoClientTuning clientTuning;
 
         MongoConnectionConfig(
-                ConnectionString cs, DriverPropertyInfo[] di, String tcf, char[] x509pass) {
+                ConnectionString cs,
+                DriverPropertyInfo[] di,
+                String tcf,
+                char[] x509pass,
+                MongoClientTuning tuning) {
             connectionString = cs;
             driverInfo = di;
             tlsCaFile = tcf;
             x509Passphrase = x509pass;
+            clientTuning = tuning;
         }
     }
 
@@ -389,7 +411,8 @@ public class MongoDriver implements Driver {
                     connectionConfig.connectionString,
                     info,
                     connectionConfig.tlsCaFile,
-                    connectionConfig.x509Passphrase);
+                    connectionConfig.x509Passphrase,
+                    connectionConfig.clientTuning);
         } catch (Exception e) {
             throw new SQLException("Failed to create connection. Root cause: " + e.getMessage(), e);
         }
@@ -433,7 +456,11 @@ public class MongoDriver implements Driver {
     }
 
     private MongoConnection createConnection(
-            ConnectionString cs, Properties info, String tlsCaFile, char[] x509Passphrase)
+            ConnectionString cs,
+            Properties info,
+            String tlsCaFile,
+            char[] x509Passphrase,
+            MongoClientTuning clientTuning)
             throws Exception {
         // Database from the properties must be present
         String database = info.getProperty(DATABASE.getPropertyName());
@@ -516,7 +543,9 @@ public class MongoDriver implements Driver {
                         info.getProperty(GSSAPI_LOGIN_CONTEXT_NAME.getPropertyName()),
                         info.getProperty(GSSAPI_SERVER_AUTH.getPropertyName()),
                         tlsCaFile,
-                        info.getProperty(X509_PEM_PATH.getPropertyName()));
+                        info.getProperty(X509_PEM_PATH.getPropertyName()),
+                        MongoConnectionTuning.fromOptions(info),
+                        clientTuning);
 
         String disableCacheVal =
                 info.getProperty(DISABLE_CLIENT_CACHE.getPropertyName(), "false").toLowerCase();
@@ -527,51 +556,27 @@ public class MongoDriver implements Driver {
             return new MongoConnection(mongoConnectionProperties, x509Passphrase);
         }
 
-        Integer key = mongoConnectionProperties.generateKey();
-
-        mongoClientCacheLock.readLock().lock();
-        try {
-            WeakReference<MongoClient> clientRef = mongoClientCache.get(key);
-            MongoClient client = (clientRef != null) ? clientRef.get() : null;
-
-            if (client != null) {
-                return new MongoConnection(client, mongoConnectionProperties, x509Passphrase);
-            }
-        } finally {
-            mongoClientCacheLock.readLock().unlock();
-        }
+        long clientIdleTimeout =
+                PropertyParser.getLong(
+                        info,
+                        CLIENT_IDLE_TIMEOUT,
+                        0,
+                        MongoClientCache.DEFAULT_IDLE_TIMEOUT_SECONDS,
+                        "a positive number of seconds or 0 to close the client with its last"
+                                + " connection");
 
-        // Acquire write lock to create and cache a new MongoClient if it wasn't found
-        mongoClientCacheLock.writeLock().lock();
-        try {
-            WeakReference<MongoClient> clientRef = mongoClientCache.get(key);
-            MongoClient client = (clientRef != null) ? clientRef.get() : null;
-            // Check for client again to handle race conditions
-            if (client != null) {
-                return new MongoConnection(client, mongoConnectionProperties, x509Passphrase);
-            }
-            MongoConnection newConnection =
-                    new MongoConnection(mongoConnectionProperties, x509Passphrase);
-            mongoClientCache.put(key, new WeakReference<>(newConnection.getMongoClient()));
-            return newConnection;
-        } finally {
-            mongoClientCacheLock.writeLock().unlock();
-        }
+        return clientCache.connect(
+                mongoConnectionProperties.generateKey(x509Passphrase),
+                clientIdleTimeout,
+                clientState ->
+                        (clientState != null)
+                                ? new MongoConnection(
+                                        clientState, mongoConnectionProperties, x509Passphrase)
+                                : new MongoConnection(mongoConnectionProperties, x509Passphrase));
     }
 
     public static void closeAllClients() {
-        mongoClientCacheLock.writeLock().lock();
-        try {
-            for (WeakReference<MongoClient> clientRef : mongoClientCache.values()) {
-                MongoClient client = clientRef.get();
-                if (client != null) {
-                    client.close();
-                }
-            }
-            mongoClientCache.clear();
-        } finally {
-            mongoClientCacheLock.writeLock().unlock();
-        }
+        clientCache.closeAll();
     }
 
     @Override
@@ -709,9 +714,14 @@ public class MongoDriver implements Driver {
                         mandatoryConnectionProperties.toArray(
                                 new DriverPropertyInfo[mandatoryConnectionProperties.size()]),
                         null,
+                        null,
                         null);
             }
 
+            // The client settings which are JDBC properties are not part of the new URI.
+            MongoClientTuning clientTuning =
+                    MongoClientTuning.fromOptions(result.normalizedOptions);
+
             // If we are here, we must have all the required connection information. So we have a valid URI state,
             // go ahead and construct it and prompt for nothing.
             ConnectionString c =
@@ -728,7 +738,8 @@ public class MongoDriver implements Driver {
                     c,
                     new DriverPropertyInfo[] {},
                     result.normalizedOptions.getProperty(TLS_CA_FILE.getPropertyName()),
-                    x509Passphrase);
+                    x509Passphrase,
+                    clientTuning);
         } catch (Exception e) {
             if ((e instanceof SQLException)) {
                 throw e;
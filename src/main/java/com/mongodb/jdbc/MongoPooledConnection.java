@@ -0,0 +1,575 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Wrapper;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+import javax.sql.StatementEvent;
+import javax.sql.StatementEventListener;
+
+/**
+ * A physical MongoConnection handing out logical connections, one at a time.
+ *
+ * <p>Closing a logical connection closes the statements created through it, restores the state of
+ * the physical connection (its catalog and asynchronous executor) and notifies the listeners, so
+ * that a pool can hand the connection out again. The prepared statements are kept in a cache keyed
+ * by their SQL when they are closed, and reused by the next prepareStatement of the same SQL once
+ * their parameters and settings are reset: their template translations stay cached with them.
+ *
+ * <p>The application only gets logical objects: the statements, result sets and database metadata
+ * return the logical connection or statement they were created through, and unwrap to themselves,
+ * so that the physical connection can't be closed or kept behind the back of the pool.
+ */
+public class MongoPooledConnection implements PooledConnection {
+    // The SQLState class of the connection exceptions, after which the connection is unusable.
+    private static final String CONNECTION_EXCEPTION_CLASS = "08";
+    private static final String CONNECTION_DOES_NOT_EXIST_SQL_STATE = "08003";
+
+    private final MongoConnection connection;
+    private final String initialCatalog;
+    private final int statementCacheSize;
+    private final AtomicLong statementCacheHits;
+    private final AtomicLong statementCacheMisses;
+    // The idle cached statements by SQL, the least recently used first.
+    private final LinkedHashMap<Pair<String, String>, MongoPreparedStatement> statementCache =
+            new LinkedHashMap<>();
+    private final List<ConnectionEventListener> connectionListeners =
+            new CopyOnWriteArrayList<>();
+    private final List<StatementEventListener> statementListeners = new CopyOnWriteArrayList<>();
+    private LogicalConnection logicalConnection;
+    private boolean closed;
+
+    /**
+     * @param connection The physical connection.
+     * @param statementCacheSize The maximum number of idle prepared statements kept, or 0 to close
+     *     the prepared statements when they are closed.
+     */
+    public MongoPooledConnection(MongoConnection connection, int statementCacheSize)
+            throws SQLException {
+        this(connection, statementCacheSize, new AtomicLong(), new AtomicLong());
+    }
+
+    MongoPooledConnection(
+            MongoConnection connection,
+            int statementCacheSize,
+            AtomicLong statementCacheHits,
+            AtomicLong statementCacheMisses)
+            throws SQLException {
+        this.connection = connection;
+        this.initialCatalog = connection.getCatalog();
+        this.statementCacheSize = statementCacheSize;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    /**
+     * Returns a new logical connection. The previous logical connection, if still open, is closed
+     * without notifying the listeners.
+     */
+    @Override
+    public synchronized Connection getConnection() throws SQLException {
+        if (closed || connection.isClosed()) {
+            throw new SQLException("Pooled connection is closed.");
+        }
+        if (logicalConnection != null) {
+            logicalConnection.close(false);
+        }
+        logicalConnection = new LogicalConnection();
+        return logicalConnection.proxy;
+    }
+
+    /** Closes the physical connection and the cached statements. */
+    @Override
+    public void close() {
+        List<MongoPreparedStatement> cached;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (logicalConnection != null) {
+                logicalConnection.close(false);
+            }
+            cached = new ArrayList<>(statementCache.values());
+            statementCache.clear();
+        }
+        for (MongoPreparedStatement statement : cached) {
+            closeQuietly(statement);
+        }
+        connection.close();
+    }
+
+    @Override
+    public void addConnectionEventListener(ConnectionEventListener listener) {
+        connectionListeners.add(listener);
+    }
+
+    @Override
+    public void removeConnectionEventListener(ConnectionEventListener listener) {
+        connectionListeners.remove(listener);
+    }
+
+    @Override
+    public void addStatementEventListener(StatementEventListener listener) {
+        statementListeners.add(listener);
+    }
+
+    @Override
+    public void removeStatementEventListener(StatementEventListener listener) {
+        statementListeners.remove(listener);
+    }
+
+    /** @return the physical connection. */
+    MongoConnection getPhysicalConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns the physical object under a logical connection, statement or result set, which the
+     * application can't unwrap to.
+     *
+     * @param logical The logical object, or a physical object which is returned as is.
+     * @param iface The class of the physical object.
+     * @return the physical object.
+     * @throws SQLException if the physical object is not an instance of the class.
+     */
+    static <T> T unwrapPhysical(Wrapper logical, Class<T> iface) throws SQLException {
+        Object physical = logical;
+        if (Proxy.isProxyClass(logical.getClass())
+                && Proxy.getInvocationHandler(logical) instanceof LogicalHandler) {
+            physical = ((LogicalHandler) Proxy.getInvocationHandler(logical)).getPhysical();
+        }
+        if (!iface.isInstance(physical)) {
+            throw new SQLException("Not a wrapper for " + iface.getName() + ".");
+        }
+        return iface.cast(physical);
+    }
+
+    /** @return the number of idle statements in the statement cache. */
+    synchronized int getCachedStatementCount() {
+        return statementCache.size();
+    }
+
+    /**
+     * Checks out a prepared statement of the cache, or prepares a new one on a miss. The statements
+     * are keyed by the catalog they were prepared on with their SQL, as a statement runs its
+     * unqualified queries on the database it was created for.
+     */
+    private synchronized MongoPreparedStatement checkOutStatement(Pair<String, String> key)
+            throws SQLException {
+        if (statementCacheSize > 0) {
+            MongoPreparedStatement statement = statementCache.remove(key);
+            if (statement != null) {
+                statementCacheHits.incrementAndGet();
+                return statement;
+            }
+            statementCacheMisses.incrementAndGet();
+        }
+        return (MongoPreparedStatement) connection.prepareStatement(key.right());
+    }
+
+    private void checkInStatement(Pair<String, String> key, MongoPreparedStatement statement) {
+        MongoPreparedStatement evicted = null;
+        synchronized (this) {
+            if (!closed && statementCacheSize > 0) {
+                try {
+                    if (!statement.isClosed() && statement.isPoolable()) {
+                        statement.reset();
+                        // A statement of the same SQL already cached is replaced.
+                        evicted = statementCache.put(key, statement);
+                        if (evicted == null && statementCache.size() > statementCacheSize) {
+                            Iterator<Map.Entry<Pair<String, String>, MongoPreparedStatement>>
+                                    eldest =
+                                    statementCache.entrySet().iterator();
+                            evicted = eldest.next().getValue();
+                            eldest.remove();
+                        }
+                        statement = null;
+                    }
+                } catch (SQLException e) {
+                    // Not reusable, it is closed below.
+                }
+            }
+        }
+        if (statement != null) {
+            closeQuietly(statement);
+        }
+        if (evicted != null) {
+            closeQuietly(evicted);
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // The statement is not used anymore.
+        }
+    }
+
+    private static boolean isConnectionException(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith(CONNECTION_EXCEPTION_CLASS);
+    }
+
+    private void fireConnectionClosed() {
+        ConnectionEvent event = new ConnectionEvent(this);
+        for (ConnectionEventListener listener : connectionListeners) {
+            listener.connectionClosed(event);
+        }
+    }
+
+    private void fireConnectionErrorOccurred(SQLException e) {
+        ConnectionEvent event = new ConnectionEvent(this, e);
+        for (ConnectionEventListener listener : connectionListeners) {
+            listener.connectionErrorOccurred(event);
+        }
+    }
+
+    /**
+     * Answers the Wrapper methods of a logical object with the object itself.
+     *
+     * @return the result of the method, or null if it is not a Wrapper method.
+     */
+    private static Object invokeWrapper(Object proxy, Method method, Object[] args)
+            throws SQLException {
+        if (method.getName().equals("isWrapperFor")) {
+            return ((Class<?>) args[0]).isInstance(proxy);
+        }
+        if (method.getName().equals("unwrap")) {
+            Class<?> iface = (Class<?>) args[0];
+            if (!iface.isInstance(proxy)) {
+                throw new SQLException("Not a wrapper for " + iface.getName() + ".");
+            }
+            return proxy;
+        }
+        return null;
+    }
+
+    /**
+     * Invokes a method of the target of a logical object, unwrapping the exceptions it throws.
+     */
+    private Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException && isConnectionException((SQLException) cause)) {
+                fireConnectionErrorOccurred((SQLException) cause);
+            }
+            throw cause;
+        }
+    }
+
+    /** The handler of a logical object, the proxy of a physical object. */
+    private interface LogicalHandler extends InvocationHandler {
+        Object getPhysical();
+    }
+
+    /** The connection handed to the application, closing it returns it to the pool. */
+    private final class LogicalConnection implements LogicalHandler {
+        private final Connection proxy =
+                (Connection)
+                        Proxy.newProxyInstance(
+                                MongoPooledConnection.class.getClassLoader(),
+                                new Class<?>[] {Connection.class},
+                                this);
+        private final List<LogicalStatement> statements = new ArrayList<>();
+        private volatile boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Logical" + connection;
+                case "close":
+                    close(true);
+                    return null;
+                case "isClosed":
+                    return closed || connection.isClosed();
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed.");
+            }
+            Object wrapperResult = invokeWrapper(proxy, method, args);
+            if (wrapperResult != null) {
+                return wrapperResult;
+            }
+            if (method.getName().equals("prepareStatement") && isCacheable(args)) {
+                Pair<String, String> key = new Pair<>(connection.getCatalog(), (String) args[0]);
+                return register(new LogicalStatement(this, checkOutStatement(key), key));
+            }
+            Object result = invokeTarget(connection, method, args);
+            if (result instanceof Statement) {
+                return register(new LogicalStatement(this, (Statement) result, null));
+            }
+            if (result instanceof DatabaseMetaData) {
+                return new LogicalChild(result, DatabaseMetaData.class, this.proxy).proxy;
+            }
+            return result;
+        }
+
+        @Override
+        public Object getPhysical() {
+            return connection;
+        }
+
+        /** @return true for the prepareStatement calls creating forward only statements. */
+        private boolean isCacheable(Object[] args) {
+            return args.length == 1
+                    || (args.length == 3
+                            && (Integer) args[1] == ResultSet.TYPE_FORWARD_ONLY
+                            && (Integer) args[2] == ResultSet.CONCUR_READ_ONLY);
+        }
+
+        private synchronized Statement register(LogicalStatement statement) {
+            statements.add(statement);
+            return statement.proxy;
+        }
+
+        private synchronized void unregister(LogicalStatement statement) {
+            statements.remove(statement);
+        }
+
+        /**
+         * Closes the statements of the connection and resets the physical connection.
+         *
+         * @param notify Whether the listeners are notified that the connection can be reused.
+         */
+        void close(boolean notify) {
+            List<LogicalStatement> open;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                open = new ArrayList<>(statements);
+                statements.clear();
+            }
+            for (LogicalStatement statement : open) {
+                statement.close();
+            }
+            synchronized (MongoPooledConnection.this) {
+                if (logicalConnection == this) {
+                    logicalConnection = null;
+                }
+            }
+            if (connection.isClosed()) {
+                if (notify) {
+                    fireConnectionErrorOccurred(
+                            new SQLException(
+                                    "The physical connection is closed.",
+                                    CONNECTION_DOES_NOT_EXIST_SQL_STATE));
+                }
+                return;
+            }
+            try {
+                connection.setCatalog(initialCatalog);
+                connection.setAsyncExecutor(null);
+            } catch (SQLException e) {
+                fireConnectionErrorOccurred(e);
+                return;
+            }
+            if (notify) {
+                fireConnectionClosed();
+            }
+        }
+    }
+
+    /**
+     * A statement created through a logical connection. Closing a cached prepared statement
+     * returns it to the statement cache.
+     */
+    private final class LogicalStatement implements LogicalHandler {
+        private final LogicalConnection owner;
+        private final Statement statement;
+        // The catalog and SQL of a prepared statement which can be cached, null otherwise.
+        private final Pair<String, String> cacheKey;
+        private final Statement proxy;
+        // The last result set returned, returned again as long as it is the current one.
+        private LogicalChild resultSet;
+        private volatile boolean closed;
+
+        LogicalStatement(
+                LogicalConnection owner, Statement statement, Pair<String, String> cacheKey) {
+            this.owner = owner;
+            this.statement = statement;
+            this.cacheKey = cacheKey;
+            this.proxy =
+                    (Statement)
+                            Proxy.newProxyInstance(
+                                    MongoPooledConnection.class.getClassLoader(),
+                                    new Class<?>[] {
+                                        (statement instanceof PreparedStatement)
+                                                ? PreparedStatement.class
+                                                : Statement.class
+                                    },
+                                    this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Logical" + statement;
+                case "close":
+                    owner.unregister(this);
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed.");
+            }
+            if (method.getName().equals("getConnection")) {
+                return owner.proxy;
+            }
+            Object wrapperResult = invokeWrapper(proxy, method, args);
+            if (wrapperResult != null) {
+                return wrapperResult;
+            }
+            try {
+                Object result = invokeTarget(statement, method, args);
+                if (result instanceof ResultSet) {
+                    return wrap((ResultSet) result);
+                }
+                return result;
+            } catch (SQLException e) {
+                if (statement instanceof PreparedStatement) {
+                    StatementEvent event =
+                            new StatementEvent(
+                                    MongoPooledConnection.this, (PreparedStatement) proxy, e);
+                    for (StatementEventListener listener : statementListeners) {
+                        listener.statementErrorOccurred(event);
+                    }
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public Object getPhysical() {
+            return statement;
+        }
+
+        /** @return the logical result set of a result set of the statement. */
+        private synchronized ResultSet wrap(ResultSet result) {
+            if (resultSet == null || resultSet.target != result) {
+                resultSet = new LogicalChild(result, ResultSet.class, proxy);
+            }
+            return (ResultSet) resultSet.proxy;
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (cacheKey != null) {
+                checkInStatement(cacheKey, (MongoPreparedStatement) statement);
+            } else {
+                closeQuietly(statement);
+            }
+            if (statement instanceof PreparedStatement) {
+                StatementEvent event =
+                        new StatementEvent(MongoPooledConnection.this, (PreparedStatement) proxy);
+                for (StatementEventListener listener : statementListeners) {
+                    listener.statementClosed(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * A result set of a logical statement, or the database metadata of a logical connection,
+     * returning the logical statement or connection it was created through.
+     */
+    private final class LogicalChild implements LogicalHandler {
+        private final Object target;
+        // The logical statement of a result set, or the logical connection of the metadata.
+        private final Object parent;
+        private final Object proxy;
+
+        LogicalChild(Object target, Class<?> iface, Object parent) {
+            this.target = target;
+            this.parent = parent;
+            this.proxy =
+                    Proxy.newProxyInstance(
+                            MongoPooledConnection.class.getClassLoader(),
+                            new Class<?>[] {iface},
+                            this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Logical" + target;
+                case "getStatement":
+                case "getConnection":
+                    return parent;
+                default:
+                    break;
+            }
+            Object wrapperResult = invokeWrapper(proxy, method, args);
+            if (wrapperResult != null) {
+                return wrapperResult;
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        @Override
+        public Object getPhysical() {
+            return target;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+
+/**
+ * DataSource pooling MongoPooledConnections.
+ *
+ * <p>The connections of the pool share one cached MongoClient, which pools the network
+ * connections: a pooled connection only holds the per-connection state of the driver and its
+ * cached prepared statements, and is cheap to keep idle. A connection closed by the application is
+ * reset and handed out again, the most recently used first. An idle connection is validated with
+ * a ping before it is handed out again, and a connection failing with a connection exception is
+ * discarded.
+ *
+ * <p>The pool reports its active and idle connections and the time spent waiting for a
+ * connection.
+ */
+public class MongoPooledDataSource extends MongoDataSource implements AutoCloseable {
+    public static final int DEFAULT_MAX_POOL_SIZE = 10;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 30_000;
+    public static final int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+    private int minPoolSize;
+    private long maxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
+    private int validationTimeoutSeconds = DEFAULT_VALIDATION_TIMEOUT_SECONDS;
+    // Created with the first connection, the pool size can't be changed afterwards.
+    private volatile Semaphore permits;
+    private final Deque<MongoPooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong longestWaitNanos = new AtomicLong();
+    private volatile boolean closed;
+
+    private final ConnectionEventListener listener =
+            new ConnectionEventListener() {
+                @Override
+                public void connectionClosed(ConnectionEvent event) {
+                    release((MongoPooledConnection) event.getSource(), true);
+                }
+
+                @Override
+                public void connectionErrorOccurred(ConnectionEvent event) {
+                    MongoPooledConnection connection = (MongoPooledConnection) event.getSource();
+                    // The connection is discarded, it won't notify the pool anymore.
+                    connection.removeConnectionEventListener(this);
+                    release(connection, false);
+                }
+            };
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /** @param maxPoolSize The maximum number of connections, active or idle. */
+    public synchronized void setMaxPoolSize(int maxPoolSize) {
+        if (maxPoolSize < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid max pool size : " + maxPoolSize + ". It must be a positive number.");
+        }
+        if (permits != null) {
+            throw new IllegalStateException(
+                    "The max pool size can't be changed once the pool is started.");
+        }
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    /**
+     * @param minPoolSize The number of connections opened by warmUp. The pool does not close its
+     *     idle connections, so they stay available unless they fail.
+     */
+    public void setMinPoolSize(int minPoolSize) {
+        if (minPoolSize < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid min pool size : " + minPoolSize + ". It must be a positive number.");
+        }
+        this.minPoolSize = minPoolSize;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /** @param maxWaitMillis How long getConnection waits for a connection when the pool is full. */
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        if (maxWaitMillis < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid max wait : "
+                            + maxWaitMillis
+                            + ". It must be a positive number of milliseconds.");
+        }
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    /**
+     * @param validationTimeoutSeconds How long the validation of an idle connection waits for the
+     *     server before the connection is discarded, or 0 to hand out the idle connections without
+     *     validating them.
+     */
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        if (validationTimeoutSeconds < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid validation timeout : "
+                            + validationTimeoutSeconds
+                            + ". It must be a positive number of seconds or 0.");
+        }
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * Returns an idle connection of the pool, or a new connection if none is idle and the pool is
+     * not full. Otherwise, waits for a connection to be closed for up to the max wait. The idle
+     * connections which are not valid anymore are discarded.
+     *
+     * @throws SQLTimeoutException if no connection was available within the max wait.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkOpen();
+        Semaphore permits = getPermits();
+        requestCount.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTimeoutException(
+                        "Timed out after "
+                                + maxWaitMillis
+                                + " ms waiting for a connection, the "
+                                + maxPoolSize
+                                + " connections of the pool are in use.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection.", e);
+        } finally {
+            long waitNanos = System.nanoTime() - start;
+            totalWaitNanos.addAndGet(waitNanos);
+            longestWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+        try {
+            Connection connection = null;
+            MongoPooledConnection pooled;
+            while (connection == null && (pooled = idleConnections.pollFirst()) != null) {
+                if (!isValid(pooled)) {
+                    pooled.close();
+                    continue;
+                }
+                try {
+                    connection = pooled.getConnection();
+                } catch (SQLException e) {
+                    // Closed while idle, for instance when the pool was closed.
+                    pooled.close();
+                }
+            }
+            if (connection == null) {
+                pooled = (MongoPooledConnection) getPooledConnection();
+                pooled.addConnectionEventListener(listener);
+                connection = pooled.getConnection();
+            }
+            activeConnections.incrementAndGet();
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the pool to its min pool size, at least one connection, and warms up the queries. The
+     * translations and catalogs are cached once for the client of the pool, and the queries are
+     * prepared on each connection to fill their statement caches, with the bindings of the
+     * parameters into the translations of their template queries. The connections are then idle
+     * in the pool.
+     *
+     * @param queries The SQL queries.
+     * @return the number of queries warmed up.
+     * @throws SQLException if a connection failed, or some queries failed.
+     * @see MongoConnection#warmUp(Collection)
+     */
+    @Override
+    public int warmUp(Collection<String> queries) throws SQLException {
+        checkOpen();
+        List<Connection> connections = new ArrayList<>();
+        try {
+            do {
+                connections.add(getConnection());
+            } while (connections.size() < Math.min(minPoolSize, maxPoolSize));
+            int warmedUp = 0;
+            SQLException failure = null;
+            try {
+                warmedUp =
+                        MongoPooledConnection.unwrapPhysical(
+                                        connections.get(0), MongoConnection.class)
+                                .warmUp(queries);
+            } catch (SQLException e) {
+                failure = e;
+            }
+            for (Connection connection : connections) {
+                for (String sql : queries) {
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        MongoPooledConnection.unwrapPhysical(
+                                        statement, MongoPreparedStatement.class)
+                                .warmUpTemplates();
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return warmedUp;
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    /** Connections with other credentials than the ones of the data source are not pooled. */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException(
+                Thread.currentThread().getStackTrace()[1].toString());
+    }
+
+    private synchronized Semaphore getPermits() {
+        if (permits == null) {
+            permits = new Semaphore(maxPoolSize, true);
+        }
+        return permits;
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("The data source is closed.");
+        }
+    }
+
+    /**
+     * Pings the server through an idle connection, which may have lost the server while idle.
+     *
+     * @return true if the connection can be handed out.
+     */
+    private boolean isValid(MongoPooledConnection connection) {
+        if (validationTimeoutSeconds == 0) {
+            return true;
+        }
+        try {
+            return connection.getPhysicalConnection().isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(MongoPooledConnection connection, boolean reusable) {
+        activeConnections.decrementAndGet();
+        if (reusable && !closed) {
+            idleConnections.addFirst(connection);
+            // Closed meanwhile, the connection wasn't closed with the idle ones.
+            if (closed && idleConnections.remove(connection)) {
+                connection.close();
+            }
+        } else {
+            connection.close();
+        }
+        permits.release();
+    }
+
+    /**
+     * Closes the idle connections and prevents new ones. The active connections are closed when
+     * the application closes them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        MongoPooledConnection connection;
+        while ((connection = idleConnections.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /** @return the number of connections in use by the application. */
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    /** @return the number of connections waiting in the pool. */
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    /** @return the number of getConnection calls. */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /** @return the number of getConnection calls which timed out waiting for a connection. */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /** @return the total time getConnection calls waited for a connection, in milliseconds. */
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+    }
+
+    /** @return the longest time a getConnection call waited for a connection, in milliseconds. */
+    public long getLongestWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(longestWaitNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "MongoPooledDataSource{maxPoolSize="
+                + maxPoolSize
+                + ", minPoolSize="
+                + minPoolSize
+                + ", active="
+                + getActiveConnections()
+                + ", idle="
+                + getIdleConnections()
+                + ", requests="
+                + getRequestCount()
+                + ", timeouts="
+                + getTimeoutCount()
+                + ", totalWaitMs="
+                + getTotalWaitMillis()
+                + ", longestWaitMs="
+                + getLongestWaitMillis()
+                + ", statementCacheHits="
+                + getStatementCacheHitCount()
+                + ", statementCacheMisses="
+                + getStatementCacheMissCount()
+                + "}";
+    }
+}
@@ -18,6 +18,8 @@ package com.mongodb.jdbc;
 
 import com.mongodb.jdbc.logging.AutoLoggable;
 import com.mongodb.jdbc.logging.MongoLogger;
+import com.mongodb.jdbc.mongosql.MongoSQLException;
+import com.mongodb.jdbc.mongosql.TranslateResult;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -40,12 +42,45 @@ import java.sql.SQLWarning;
 import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import org.bson.BsonBoolean;
+import org.bson.BsonDateTime;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.types.Decimal128;
 
 @AutoLoggable
 public class MongoPreparedStatement implements PreparedStatement {
+    // A value of each type which has a sentinel, to warm up the template queries.
+    private static final BsonValue[] WARM_UP_SAMPLES = {
+        new BsonString(""),
+        new BsonInt32(0),
+        new BsonInt64(0),
+        new BsonDouble(0),
+        new BsonDecimal128(Decimal128.POSITIVE_ZERO),
+        new BsonDateTime(0)
+    };
     private String sql;
     private MongoStatement statement;
+    private final ParameterizedQuery query;
+    // The values bound to the parameters, null when a parameter is not set.
+    private final BsonValue[] parameters;
+    // Whether the parameter values can be bound into the translation of a template query.
+    private final Map<String, Boolean> bindableTemplates = new HashMap<>();
     protected MongoLogger logger;
 
     public MongoPreparedStatement(String sql, MongoStatement statement) throws SQLException {
@@ -56,6 +91,194 @@ public class MongoPreparedStatement implements PreparedStatement {
                         statement.getStatementId());
         this.sql = sql;
         this.statement = statement;
+        this.query = new ParameterizedQuery(sql);
+        this.parameters = new BsonValue[query.getParameterCount()];
+        // Prepared statements are poolable by default.
+        statement.setPoolable(true);
+    }
+
+    /**
+     * Clears the parameters and restores the settings the statement was created with, so that it
+     * can be reused from a statement cache. The translations of its template queries are kept.
+     */
+    void reset() throws SQLException {
+        statement.reset();
+        clearParameters();
+    }
+
+    private void setParameter(int parameterIndex, BsonValue value) throws SQLException {
+        statement.checkClosed();
+        if (parameterIndex < 1 || parameterIndex > parameters.length) {
+            throw new SQLException(
+                    "Parameter index out of range: "
+                            + parameterIndex
+                            + ". The query has "
+                            + parameters.length
+                            + " parameter(s).");
+        }
+        parameters[parameterIndex - 1] = value;
+    }
+
+    private BsonValue[] getBoundParameters() throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] == null) {
+                throw new SQLException("No value specified for parameter " + (i + 1) + ".");
+            }
+        }
+        return parameters.clone();
+    }
+
+    private static BsonValue toBsonDecimal128(int parameterIndex, BigDecimal x)
+            throws SQLException {
+        try {
+            return new BsonDecimal128(new Decimal128(x));
+        } catch (NumberFormatException e) {
+            throw new SQLException(
+                    "Invalid value for parameter " + parameterIndex + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converts a date to a BSON date. If a calendar is specified, the date's wall clock time is
+     * interpreted in the calendar's time zone instead of the default one.
+     */
+    private static BsonValue toBsonDateTime(java.util.Date x, Calendar cal) {
+        if (x == null) {
+            return BsonNull.VALUE;
+        }
+        if (cal == null) {
+            return new BsonDateTime(x.getTime());
+        }
+        Calendar local = Calendar.getInstance();
+        local.setTime(x);
+        Calendar target = (Calendar) cal.clone();
+        target.clear();
+        for (int field :
+                new int[] {
+                    Calendar.ERA,
+                    Calendar.YEAR,
+                    Calendar.MONTH,
+                    Calendar.DAY_OF_MONTH,
+                    Calendar.HOUR_OF_DAY,
+                    Calendar.MINUTE,
+                    Calendar.SECOND,
+                    Calendar.MILLISECOND
+                }) {
+            target.set(field, local.get(field));
+        }
+        return new BsonDateTime(target.getTimeInMillis());
+    }
+
+    /**
+     * Executes the query with the bound parameter values.
+     *
+     * <p>On a direct cluster connection, the query is translated with a sentinel in place of each
+     * parameter and the values are substituted into the translated pipeline. The translation of
+     * the template query is cached, so executing it again with new values only costs the
+     * aggregation. If the sentinels can't be located in the pipeline, the values are inlined in
+     * the query which is then translated as is.
+     */
+    private ResultSet executeParameterizedQuery(BsonValue[] values)
+            throws MongoSQLException, MongoSerializationException, SQLException {
+        String templateSql = query.toTemplateSql(values);
+        MongoConnection conn = (MongoConnection) statement.getConnection();
+        if (conn.getClusterType() == MongoConnection.MongoClusterType.AtlasDataFederation) {
+            // The result schema only depends on the types of the values.
+            return statement.executeAtlasDataFederationQuery(query.toSql(values), templateSql);
+        } else if (conn.getClusterType() == MongoConnection.MongoClusterType.Enterprise) {
+            if (!Boolean.FALSE.equals(bindableTemplates.get(templateSql))) {
+                TranslateResult template = statement.translateDirectClusterQuery(templateSql);
+                List<BsonDocument> pipeline = query.bind(template.pipeline, values);
+                bindableTemplates.put(templateSql, pipeline != null);
+                if (pipeline != null) {
+                    logger.log(Level.FINE, "Parameters bound into the translated pipeline");
+                    return statement.executeTranslatedQuery(template, pipeline);
+                }
+            }
+            logger.log(Level.FINE, "Parameters inlined in the query");
+            return statement.executeTranslatedQuery(
+                    statement.translateDirectClusterQuery(query.toSql(values)));
+        } else {
+            throw new SQLException("Unsupported cluster type: " + conn.getClusterType());
+        }
+    }
+
+    /**
+     * Prepares the execution of the query without running it, see {@link MongoStatement#warmUp}.
+     * The parameter types are only known once the values are bound, so a query with parameters is
+     * warmed up through its template query for each type which has a sentinel, all of its
+     * parameters being of that type.
+     *
+     * @throws SQLException if the query could not be warmed up for any of the types.
+     */
+    void warmUp() throws SQLException {
+        if (parameters.length == 0) {
+            statement.warmUp(sql);
+            return;
+        }
+        SQLException failure = null;
+        boolean warmedUp = false;
+        for (BsonValue sample : WARM_UP_SAMPLES) {
+            try {
+                warmUpTemplate(sample);
+                warmedUp = true;
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (!warmedUp) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Checks, on a direct cluster connection, whether the parameter values can be bound into the
+     * translations of the template queries of the warm-up types. Unlike {@link #warmUp}, it is
+     * meant for a statement of a query already warmed up on the client, whose translations are
+     * cached. The templates which fail to translate are skipped.
+     */
+    void warmUpTemplates() throws SQLException {
+        MongoConnection conn = (MongoConnection) statement.getConnection();
+        if (conn.getClusterType() != MongoConnection.MongoClusterType.Enterprise) {
+            // The result schemas are cached for the client, the statement has nothing to warm.
+            return;
+        }
+        for (int i = 0; parameters.length > 0 && i < WARM_UP_SAMPLES.length; i++) {
+            try {
+                warmUpTemplate(WARM_UP_SAMPLES[i]);
+            } catch (SQLException e) {
+                logger.log(Level.FINE, "Template query not warmed up: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Warms up the template query with the given value bound to all the parameters. On a direct
+     * cluster connection, the template is translated and whether the values can be bound into its
+     * translation is recorded. Against Atlas Data Federation, its result schema is cached.
+     */
+    private void warmUpTemplate(BsonValue sample) throws SQLException {
+        BsonValue[] values = new BsonValue[parameters.length];
+        Arrays.fill(values, sample);
+        String templateSql = query.toTemplateSql(values);
+        MongoConnection conn = (MongoConnection) statement.getConnection();
+        if (conn.getClusterType() != MongoConnection.MongoClusterType.Enterprise) {
+            statement.warmUp(templateSql);
+        } else if (!bindableTemplates.containsKey(templateSql)) {
+            statement.executeQuery(
+                    templateSql,
+                    () -> {
+                        TranslateResult template =
+                                statement.translateDirectClusterQuery(templateSql);
+                        bindableTemplates.put(
+                                templateSql, query.bind(template.pipeline, values) != null);
+                        return null;
+                    });
+        }
     }
 
     @Override
@@ -66,18 +289,51 @@ public class MongoPreparedStatement implements PreparedStatement {
 
     @Override
     public void clearParameters() throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        Arrays.fill(parameters, null);
     }
 
     @Override
     public boolean execute() throws SQLException {
-        return statement.execute(sql);
+        executeQuery();
+        return true;
     }
 
     @Override
     public ResultSet executeQuery() throws SQLException {
-        return statement.executeQuery(sql);
+        if (query.getParameterCount() == 0) {
+            return statement.executeQuery(sql);
+        }
+        BsonValue[] values = getBoundParameters();
+        return statement.executeQuery(sql, () -> executeParameterizedQuery(values));
+    }
+
+    /**
+     * Executes the query with the bound parameter values asynchronously on the executor of the
+     * connection.
+     *
+     * @return the future result set of the query.
+     * @see #executeQueryAsync(Executor)
+     */
+    public CompletableFuture<ResultSet> executeQueryAsync() throws SQLException {
+        return executeQueryAsync(((MongoConnection) statement.getConnection()).getAsyncExecutor());
+    }
+
+    /**
+     * Executes the query with the bound parameter values asynchronously. The values are the ones
+     * bound when this method is called, the parameters can be changed while the query runs.
+     *
+     * @param executor The executor running the execution.
+     * @return the future result set of the query.
+     * @see MongoStatement#executeQueryAsync(String, Executor)
+     */
+    public CompletableFuture<ResultSet> executeQueryAsync(Executor executor) throws SQLException {
+        if (query.getParameterCount() == 0) {
+            return statement.executeAsync(() -> statement.executeQuery(sql), executor);
+        }
+        BsonValue[] values = getBoundParameters();
+        return statement.executeAsync(
+                () -> statement.executeQuery(sql, () -> executeParameterizedQuery(values)),
+                executor);
     }
 
     @Override
@@ -195,6 +451,16 @@ public class MongoPreparedStatement implements PreparedStatement {
         return statement.getFetchSize();
     }
 
+    /** @see MongoStatement#setFetchTargetBytes(long) */
+    public void setFetchTargetBytes(long bytes) throws SQLException {
+        statement.setFetchTargetBytes(bytes);
+    }
+
+    /** @see MongoStatement#getFetchTargetBytes() */
+    public long getFetchTargetBytes() throws SQLException {
+        return statement.getFetchTargetBytes();
+    }
+
     @Override
     public int getResultSetConcurrency() throws SQLException {
         return statement.getResultSetConcurrency();
@@ -298,12 +564,12 @@ public class MongoPreparedStatement implements PreparedStatement {
     @Override
     public ResultSetMetaData getMetaData() throws SQLException {
         // This is not an efficient way to do this... at all.
-        ResultSet rs = executeQuery("select * from (" + sql + ") orig_query limit 1");
+        String boundSql =
+                (query.getParameterCount() == 0) ? sql : query.toSql(getBoundParameters());
+        ResultSet rs = executeQuery("select * from (" + boundSql + ") orig_query limit 1");
         return rs.getMetaData();
     }
 
-    // Supporting any of these set methods will require adding that functionality to ADF or
-    // having a SQL parser in Java.
     @Override
     public ParameterMetaData getParameterMetaData() throws SQLException {
         throw new SQLFeatureNotSupportedException(
@@ -336,8 +602,8 @@ public class MongoPreparedStatement implements PreparedStatement {
 
     @Override
     public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(
+                parameterIndex, (x == null) ? BsonNull.VALUE : toBsonDecimal128(parameterIndex, x));
     }
 
     @Override
@@ -380,14 +646,12 @@ public class MongoPreparedStatement implements PreparedStatement {
 
     @Override
     public void setBoolean(int parameterIndex, boolean x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, BsonBoolean.valueOf(x));
     }
 
     @Override
     public void setByte(int parameterIndex, byte x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, new BsonInt32(x));
     }
 
     @Override
@@ -436,38 +700,32 @@ public class MongoPreparedStatement implements PreparedStatement {
 
     @Override
     public void setDate(int parameterIndex, Date x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, toBsonDateTime(x, null));
     }
 
     @Override
     public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, toBsonDateTime(x, cal));
     }
 
     @Override
     public void setDouble(int parameterIndex, double x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, new BsonDouble(x));
     }
 
     @Override
     public void setFloat(int parameterIndex, float x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, new BsonDouble(x));
     }
 
     @Override
     public void setInt(int parameterIndex, int x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, new BsonInt32(x));
     }
 
     @Override
     public void setLong(int parameterIndex, long x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, new BsonInt64(x));
     }
 
     @Override
@@ -503,39 +761,52 @@ public class MongoPreparedStatement implements PreparedStatement {
 
     @Override
     public void setNString(int parameterIndex, String value) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setString(parameterIndex, value);
     }
 
     @Override
     public void setNull(int parameterIndex, int sqlType) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, BsonNull.VALUE);
     }
 
     @Override
     public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, BsonNull.VALUE);
     }
 
     @Override
     public void setObject(int parameterIndex, Object x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        if (x == null) {
+            setNull(parameterIndex, Types.NULL);
+        } else if (x instanceof Boolean) {
+            setBoolean(parameterIndex, (Boolean) x);
+        } else if (x instanceof Byte || x instanceof Short || x instanceof Integer) {
+            setInt(parameterIndex, ((Number) x).intValue());
+        } else if (x instanceof Long) {
+            setLong(parameterIndex, (Long) x);
+        } else if (x instanceof Float || x instanceof Double) {
+            setDouble(parameterIndex, ((Number) x).doubleValue());
+        } else if (x instanceof BigDecimal) {
+            setBigDecimal(parameterIndex, (BigDecimal) x);
+        } else if (x instanceof String) {
+            setString(parameterIndex, (String) x);
+        } else if (x instanceof java.util.Date) {
+            setParameter(parameterIndex, toBsonDateTime((java.util.Date) x, null));
+        } else {
+            throw new SQLFeatureNotSupportedException(
+                    "Unsupported parameter type: " + x.getClass().getName());
+        }
     }
 
     @Override
     public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setObject(parameterIndex, x);
     }
 
     @Override
     public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength)
             throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setObject(parameterIndex, x);
     }
 
     @Override
@@ -552,8 +823,7 @@ public class MongoPreparedStatement implements PreparedStatement {
 
     @Override
     public void setShort(int parameterIndex, short x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, new BsonInt32(x));
     }
 
     @Override
@@ -564,32 +834,27 @@ public class MongoPreparedStatement implements PreparedStatement {
 
     @Override
     public void setString(int parameterIndex, String x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, (x == null) ? BsonNull.VALUE : new BsonString(x));
     }
 
     @Override
     public void setTime(int parameterIndex, Time x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, toBsonDateTime(x, null));
     }
 
     @Override
     public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, toBsonDateTime(x, cal));
     }
 
     @Override
     public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, toBsonDateTime(x, null));
     }
 
     @Override
     public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        setParameter(parameterIndex, toBsonDateTime(x, cal));
     }
 
     @Override
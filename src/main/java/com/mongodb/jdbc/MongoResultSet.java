@@ -17,14 +17,19 @@
 package com.mongodb.jdbc;
 
 import com.google.common.base.Preconditions;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.ServerCursor;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.jdbc.logging.AutoLoggable;
 import com.mongodb.jdbc.logging.MongoLogger;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.UnsupportedEncodingException;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -36,6 +41,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.RowId;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
 import java.sql.SQLType;
 import java.sql.SQLWarning;
 import java.sql.SQLXML;
@@ -43,40 +49,66 @@ import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
-import javax.sql.rowset.serial.SerialBlob;
-import javax.sql.rowset.serial.SerialClob;
-import javax.sql.rowset.serial.SerialException;
 import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
 import org.bson.BsonBinarySubType;
+import org.bson.BsonBoolean;
+import org.bson.BsonDateTime;
 import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonReaderMark;
+import org.bson.BsonString;
 import org.bson.BsonType;
 import org.bson.BsonValue;
+import org.bson.ByteBuf;
+import org.bson.RawBsonDocument;
 import org.bson.UuidRepresentation;
+import org.bson.codecs.DecoderContext;
 import org.bson.internal.UuidHelper;
+import org.bson.io.ByteBufferBsonInput;
 import org.bson.types.Decimal128;
 
 @AutoLoggable
 public class MongoResultSet implements ResultSet {
-    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
-
-    // dateFormat cannot be static due to a threading bug in the library.
-    protected SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    // String dates are parsed as UTC instants, like "2020-01-01T00:00:00.000Z".
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_INSTANT;
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
 
     // The current row
     protected BsonDocument current;
-    // cursor over all rows
-    protected MongoCursor<BsonDocument> cursor;
+    // cursor over all rows. Statement cursors return RawBsonDocuments, whose fields are only
+    // decoded when a getter reads them.
+    protected MongoCursor<? extends BsonDocument> cursor;
 
     // The one-indexed number of the current row. Will be zero until
     // next() is called for the first time.
     protected int rowNum = 0;
+    // The rows already read from the cursor when the result set is scrollable, null when it is
+    // forward only. The cursor is read on demand, when the result set moves beyond these rows.
+    private RowStore rows;
+    // The maximum number of rows read from the cursor, 0 for no limit, and the rows read so far.
+    private long maxRows;
+    private long cursorRows;
 
     protected boolean closed = false;
     protected MongoStatement statement;
@@ -89,6 +121,14 @@ public class MongoResultSet implements ResultSet {
 
     private MongoJsonSchema jsonSchema;
 
+    // The columns, resolved once from the metadata so that the getters don't have to look them up
+    // for every cell. Indexed by column index - 1.
+    private ColumnAccessor[] columns;
+    // The distinct datasources of the columns.
+    private DatasourceFields[] datasources;
+    // The column indexes of the labels already resolved.
+    private final Map<String, Integer> columnIndexByLabel = new HashMap<>();
+
     /**
      * Constructor for a MongoResultset tied to a connection and statement.
      *
@@ -101,7 +141,7 @@ public class MongoResultSet implements ResultSet {
      */
     public MongoResultSet(
             MongoStatement statement,
-            MongoCursor<BsonDocument> cursor,
+            MongoCursor<? extends BsonDocument> cursor,
             MongoJsonSchema resultSetchema,
             List<List<String>> selectOrder,
             boolean extJsonMode,
@@ -117,6 +157,8 @@ public class MongoResultSet implements ResultSet {
         logger.setQueryDiagnostics(statement.getQueryDiagnostics());
         this.extJsonMode = extJsonMode;
         this.uuidRepresentation = uuidRepresentation;
+        this.rows = statement.createRowStore();
+        this.maxRows = statement.getLargeMaxRows();
         setUpResultset(
                 cursor,
                 resultSetchema,
@@ -135,14 +177,16 @@ public class MongoResultSet implements ResultSet {
      * @throws SQLException
      */
     public MongoResultSet(
-            MongoLogger parentLogger, MongoCursor<BsonDocument> cursor, MongoJsonSchema schema)
+            MongoLogger parentLogger,
+            MongoCursor<? extends BsonDocument> cursor,
+            MongoJsonSchema schema)
             throws SQLException {
         this.logger = new MongoLogger(this.getClass().getCanonicalName(), parentLogger);
         setUpResultset(cursor, schema, null, false, parentLogger, null);
     }
 
     private void setUpResultset(
-            MongoCursor<BsonDocument> cursor,
+            MongoCursor<? extends BsonDocument> cursor,
             MongoJsonSchema schema,
             List<List<String>> selectOrder,
             boolean sortFieldsAlphabetically,
@@ -151,8 +195,6 @@ public class MongoResultSet implements ResultSet {
             throws SQLException {
         Preconditions.checkNotNull(cursor);
         this.jsonSchema = schema;
-        // dateFormat is not thread safe, so we do not want to make it a static field.
-        dateFormat.setTimeZone(UTC);
         // Only sort the columns alphabetically for SQL statement result sets and not for database metadata result sets.
         // The JDBC specification provides the order for each database metadata result set.
         // Because a lot BI tools will access database metadata columns by index, the specification order must be respected.
@@ -166,6 +208,33 @@ public class MongoResultSet implements ResultSet {
                         parentLogger,
                         statementId,
                         logger.getQueryDiagnostics());
+        compileColumnAccessors();
+    }
+
+    private void compileColumnAccessors() throws SQLException {
+        int columnCount = rsMetaData.getColumnCount();
+        columns = new ColumnAccessor[columnCount];
+        List<DatasourceFields> datasourceList = new ArrayList<>();
+        Map<String, DatasourceFields> datasourcesByName = new HashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            MongoColumnInfo columnInfo = rsMetaData.getColumnInfo(i + 1);
+            DatasourceFields datasource =
+                    datasourcesByName.computeIfAbsent(
+                            columnInfo.getTableName(),
+                            name -> {
+                                DatasourceFields d =
+                                        new DatasourceFields(name, datasourceList.size());
+                                datasourceList.add(d);
+                                return d;
+                            });
+            columns[i] =
+                    new ColumnAccessor(
+                            datasource.index,
+                            datasource.addField(columnInfo.getColumnName()),
+                            columnInfo.getColumnName(),
+                            columnInfo.getJDBCType());
+        }
+        datasources = datasourceList.toArray(new DatasourceFields[0]);
     }
 
     // This is only used for testing, and that is why it has package level access, and the
@@ -179,7 +248,7 @@ public class MongoResultSet implements ResultSet {
         if (current == null) {
             throw new SQLException("No current row in the result set. Make sure to call next().");
         }
-        if (i > rsMetaData.getColumnCount()) {
+        if (i < 1 || i > columns.length) {
             throw new SQLException("Index out of bounds: '" + i + "'.");
         }
     }
@@ -187,27 +256,167 @@ public class MongoResultSet implements ResultSet {
     @Override
     public boolean next() throws SQLException {
         checkClosed();
+        return moveNext();
+    }
+
+    private boolean moveNext() throws SQLException {
+        checkCancelled(null);
+        if (rows != null) {
+            return moveTo(rowNum + 1);
+        }
         try {
             boolean result;
-            result = cursor.hasNext();
-            logger.log(Level.FINER, "cursor.hasNext()? " + String.valueOf(result));
+            result = cursorHasNext();
+            boolean logRows = logger.isLoggable(Level.FINER);
+            if (logRows) {
+                logger.log(Level.FINER, "cursor.hasNext()? " + String.valueOf(result));
+            }
             if (result) {
-                logger.log(Level.FINEST, "Getting row " + (rowNum + 1));
+                if (logRows) {
+                    logger.log(Level.FINEST, "Getting row " + (rowNum + 1));
+                }
                 long startTime = System.nanoTime();
-                current = cursor.next();
-                long endTime = System.nanoTime();
-                logger.log(
-                        Level.FINER,
-                        "Moved to next row in "
-                                + ((endTime - startTime) / 1000000d)
-                                + " milliseconds");
+                setCurrent(cursorNext());
+                if (logRows) {
+                    long endTime = System.nanoTime();
+                    logger.log(
+                            Level.FINER,
+                            "Moved to next row in "
+                                    + ((endTime - startTime) / 1000000d)
+                                    + " milliseconds");
+                }
+                if (rowNum == 0 && statement != null) {
+                    statement.recordFirstRow();
+                }
                 ++rowNum;
             }
             return result;
         } catch (Exception e) {
+            checkCancelled(e);
+            checkTimedOut(e);
+            checkConnectionFailed(e);
+            throw new SQLException(
+                    "Failed to get next result from cursor. Root cause: " + e.getMessage(), e);
+        }
+    }
+
+    /** @return true if the cursor has another row within the max rows of the statement. */
+    private boolean cursorHasNext() {
+        return (maxRows == 0 || cursorRows < maxRows) && cursor.hasNext();
+    }
+
+    /**
+     * Reads the next row of the cursor. The cursor is closed, which kills it on the server, as soon
+     * as the max rows of the statement are read.
+     */
+    private BsonDocument cursorNext() {
+        BsonDocument row = cursor.next();
+        if (++cursorRows == maxRows) {
+            logger.log(Level.FINE, "Max rows reached, closing the cursor: " + maxRows);
+            cursor.close();
+        }
+        return row;
+    }
+
+    /**
+     * Fails if the statement of the result set was cancelled, closing the cursor.
+     *
+     * @param cause The failure of the cursor caused by the cancellation, if any.
+     */
+    private void checkCancelled(Exception cause) throws SQLException {
+        if (statement != null && statement.isCancelled()) {
+            cursor.close();
+            throw statement.cancelledException(cause);
+        }
+    }
+
+    /**
+     * Fails with a timeout if the cursor failed because the query timeout of the statement, which
+     * also bounds the getMores, expired.
+     *
+     * @param cause The failure of the cursor.
+     */
+    private void checkTimedOut(Exception cause) throws SQLTimeoutException {
+        if (cause instanceof MongoExecutionTimeoutException) {
+            throw new SQLTimeoutException(cause);
+        }
+    }
+
+    /**
+     * Fails with a connection exception if the cursor failed to reach the server.
+     *
+     * @param cause The failure of the cursor.
+     */
+    private void checkConnectionFailed(Exception cause) throws SQLException {
+        if (MongoStatement.isConnectionFailure(cause)) {
+            throw MongoStatement.connectionException(cause);
+        }
+    }
+
+    private void setCurrent(BsonDocument row) {
+        current = row;
+        for (DatasourceFields datasource : datasources) {
+            datasource.clear();
+        }
+    }
+
+    /**
+     * Reads the next row of the cursor into the row store of a scrollable result set, without
+     * moving to it.
+     *
+     * @return false if the cursor has no more rows.
+     */
+    private boolean fetchRow() throws SQLException {
+        checkCancelled(null);
+        try {
+            if (!cursorHasNext()) {
+                return false;
+            }
+            rows.add(cursorNext());
+        } catch (RuntimeException e) {
+            checkCancelled(e);
+            checkTimedOut(e);
+            checkConnectionFailed(e);
             throw new SQLException(
                     "Failed to get next result from cursor. Root cause: " + e.getMessage(), e);
         }
+        if (rows.size() == 1 && statement != null) {
+            statement.recordFirstRow();
+        }
+        return true;
+    }
+
+    /**
+     * Moves a scrollable result set to a row, reading the cursor up to it if needed.
+     *
+     * @param row The one-indexed number of the row. The result set is positioned before the first
+     *     row if it is 0 or less, and after the last row if it is greater than the number of rows.
+     * @return true if the result set is on a row.
+     */
+    private boolean moveTo(int row) throws SQLException {
+        while (rows.size() < row && fetchRow()) {}
+        if (row <= 0 || row > rows.size()) {
+            setCurrent(null);
+            // Without rows, the result set is neither before the first row nor after the last.
+            rowNum = (row <= 0 || rows.size() == 0) ? 0 : rows.size() + 1;
+            return false;
+        }
+        setCurrent(rows.get(row - 1));
+        rowNum = row;
+        return true;
+    }
+
+    private void fetchAllRows() throws SQLException {
+        while (fetchRow()) {}
+    }
+
+    /** Throws if the result set is forward only, reporting the method which was called. */
+    private void checkScrollable() throws SQLException {
+        checkClosed();
+        if (rows == null) {
+            throw new SQLFeatureNotSupportedException(
+                    Thread.currentThread().getStackTrace()[2].toString());
+        }
     }
 
     @Override
@@ -217,37 +426,282 @@ public class MongoResultSet implements ResultSet {
         }
         cursor.close();
         closed = true;
-        if (statement != null && !statement.isClosed && statement.isCloseOnCompletion()) {
+        if (cursor instanceof PrefetchCursor || cursor instanceof AdaptiveFetchCursor) {
+            logger.log(Level.FINE, "Result set closed: " + cursor);
+        }
+        if (rows != null) {
+            logger.log(Level.FINE, "Result set closed: " + rows);
+            rows.close();
+        }
+        if (statement != null
+                && !statement.isClosed
+                && statement.isCloseOnCompletion()
+                && !statement.hasOpenPartitions()) {
             statement.close();
         }
     }
 
+    /**
+     * Creates a batch to read the rows of this result set by column with {@link
+     * #fetchColumns(ColumnBatch)}. The kind of each column is derived from its type in the result
+     * set metadata.
+     *
+     * @param capacity The maximum number of rows fetched in the batch.
+     * @return the new batch.
+     */
+    public ColumnBatch createColumnBatch(int capacity) throws SQLException {
+        checkClosed();
+        String[] labels = new String[columns.length];
+        String[] typeNames = new String[columns.length];
+        int[] jdbcTypes = new int[columns.length];
+        boolean[] nullable = new boolean[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            MongoColumnInfo columnInfo = rsMetaData.getColumnInfo(i + 1);
+            labels[i] = columnInfo.getColumnAlias();
+            typeNames[i] = columnInfo.getBsonTypeName();
+            jdbcTypes[i] = columns[i].jdbcType;
+            nullable[i] = columnInfo.getNullability() != ResultSetMetaData.columnNoNulls;
+        }
+        try {
+            return new ColumnBatch(labels, typeNames, jdbcTypes, nullable, capacity);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Moves the cursor forward by up to the capacity of the batch and copies the values of the rows
+     * into it, replacing its previous content. The values are converted like with the getter
+     * matching the kind of their column. The result set is left on the last row copied.
+     *
+     * @param batch A batch created by {@link #createColumnBatch(int)} for this result set.
+     * @return the number of rows copied, 0 when there are no more rows.
+     */
+    public int fetchColumns(ColumnBatch batch) throws SQLException {
+        checkClosed();
+        if (batch.getColumnCount() != columns.length) {
+            throw new SQLException(
+                    "The batch has "
+                            + batch.getColumnCount()
+                            + " columns, the result set has "
+                            + columns.length
+                            + ".");
+        }
+        batch.reset();
+        return fetchRows(batch.getCapacity(), new ColumnBatchVisitor(batch));
+    }
+
+    /**
+     * Moves the cursor forward by up to maxRows rows and passes the values of the rows to the
+     * visitor, column by column. The values of a raw row are offered raw first, so that they can
+     * be copied without creating BsonValues. The result set is left on the last row visited.
+     *
+     * @param maxRows The maximum number of rows visited.
+     * @param visitor The visitor of the values.
+     * @return the number of rows visited, 0 when there are no more rows.
+     */
+    int fetchRows(int maxRows, RowVisitor visitor) throws SQLException {
+        checkClosed();
+        int row = 0;
+        while (row < maxRows && moveNext()) {
+            for (int i = 0; i < columns.length; i++) {
+                ColumnAccessor column = columns[i];
+                DatasourceFields datasource = datasources[column.datasource];
+                BsonType type = datasource.seek(current, column);
+                if (type == BsonType.END_OF_DOCUMENT
+                        || type == BsonType.NULL
+                        || type == BsonType.UNDEFINED) {
+                    visitor.visitNull(i, row);
+                    continue;
+                }
+                if (type != null && visitor.visitRaw(i, row, type, datasource)) {
+                    continue;
+                }
+                BsonValue value = datasource.get(current, column);
+                if (checkNull(value)) {
+                    visitor.visitNull(i, row);
+                } else {
+                    visitor.visitValue(i, row, value);
+                }
+            }
+            visitor.endRow(row);
+            row++;
+        }
+        return row;
+    }
+
+    /**
+     * Receives the values of the rows read by {@link #fetchRows(int, RowVisitor)}. Columns are
+     * numbered from 0.
+     */
+    interface RowVisitor {
+        /**
+         * Offers a value of a raw row, which is neither null nor missing, to be copied without
+         * creating a BsonValue.
+         *
+         * @param type The BSON type of the value.
+         * @param value The value, its reader is positioned on it.
+         * @return false if the value must be passed to visitValue instead, the value must then
+         *     not have been read.
+         */
+        boolean visitRaw(int column, int row, BsonType type, RawValue value) throws SQLException;
+
+        /** Receives a value which is neither null nor missing. */
+        void visitValue(int column, int row, BsonValue value) throws SQLException;
+
+        /** Receives a null, undefined or missing value. */
+        void visitNull(int column, int row);
+
+        /** Called once all the values of a row were visited. */
+        void endRow(int row);
+    }
+
+    /** A value of a raw row, read from the row's bytes. */
+    interface RawValue {
+        /** @return the reader, positioned on the value. */
+        BsonBinaryReader getReader();
+
+        /**
+         * @param type STRING or BINARY, the BSON type of the value.
+         * @return a read-only view over the UTF-8 bytes of a string, without its terminating NUL,
+         *     or the data of a binary.
+         */
+        ByteBuffer getContent(BsonType type);
+    }
+
+    /** Copies the values into a column batch, converted to the kind of their column. */
+    private final class ColumnBatchVisitor implements RowVisitor {
+        private final ColumnBatch batch;
+
+        ColumnBatchVisitor(ColumnBatch batch) {
+            this.batch = batch;
+        }
+
+        /** Copies the values whose BSON type is the one of their column kind. */
+        @Override
+        public boolean visitRaw(int i, int row, BsonType type, RawValue value) {
+            BsonBinaryReader reader = value.getReader();
+            switch (batch.kind(i)) {
+                case LONG:
+                    if (type == BsonType.INT32) {
+                        batch.longs(i)[row] = reader.readInt32();
+                        return true;
+                    }
+                    if (type == BsonType.INT64) {
+                        batch.longs(i)[row] = reader.readInt64();
+                        return true;
+                    }
+                    return false;
+                case DOUBLE:
+                    if (type == BsonType.DOUBLE) {
+                        batch.doubles(i)[row] = reader.readDouble();
+                        return true;
+                    }
+                    return false;
+                case BOOLEAN:
+                    if (type == BsonType.BOOLEAN) {
+                        batch.booleans(i)[row] = reader.readBoolean();
+                        return true;
+                    }
+                    return false;
+                case TIMESTAMP:
+                    if (type == BsonType.DATE_TIME) {
+                        batch.longs(i)[row] = reader.readDateTime();
+                        return true;
+                    }
+                    return false;
+                default:
+                    if (type == BsonType.STRING) {
+                        batch.strings(i)[row] = reader.readString();
+                        return true;
+                    }
+                    return false;
+            }
+        }
+
+        @Override
+        public void visitValue(int i, int row, BsonValue value) throws SQLException {
+            switch (batch.kind(i)) {
+                case LONG:
+                    batch.longs(i)[row] = getLong(value);
+                    break;
+                case DOUBLE:
+                    batch.doubles(i)[row] = getDouble(value);
+                    break;
+                case BOOLEAN:
+                    batch.booleans(i)[row] = getBoolean(value);
+                    break;
+                case TIMESTAMP:
+                    batch.longs(i)[row] = getEpochMillis(value);
+                    break;
+                default:
+                    batch.strings(i)[row] = getString(value);
+            }
+        }
+
+        @Override
+        public void visitNull(int i, int row) {
+            batch.setNull(i, row);
+        }
+
+        @Override
+        public void endRow(int row) {
+            batch.setRowCount(row + 1);
+        }
+    }
+
+    /** @return the server cursors still open for this result set. */
+    List<ServerCursor> getServerCursors() {
+        if (cursor instanceof PrefetchCursor) {
+            return ((PrefetchCursor) cursor).getServerCursors();
+        }
+        ServerCursor serverCursor = cursor.getServerCursor();
+        return (serverCursor != null)
+                ? Collections.singletonList(serverCursor)
+                : Collections.emptyList();
+    }
+
+    /**
+     * Returns the cursor reading the rows ahead of the application when prefetching is enabled, to
+     * monitor its queue depth and the time spent waiting for batches. The rows must only be read
+     * through the result set.
+     *
+     * @return the prefetching cursor or null if prefetching is disabled.
+     */
+    public PrefetchCursor getPrefetchCursor() {
+        return (cursor instanceof PrefetchCursor) ? (PrefetchCursor) cursor : null;
+    }
+
     @Override
     public boolean isLast() throws SQLException {
         checkClosed();
-        return !cursor.hasNext();
+        if (rows != null) {
+            return current != null && rowNum == rows.size() && !fetchRow();
+        }
+        return !cursorHasNext();
     }
 
     private BsonValue getBsonValue(int columnIndex) throws SQLException {
         checkBounds(columnIndex);
-        MongoColumnInfo columnInfo = rsMetaData.getColumnInfo(columnIndex);
-        BsonDocument datasource = this.current.get(columnInfo.getTableName()).asDocument();
-        return datasource.get(columnInfo.getColumnName());
+        ColumnAccessor column = columns[columnIndex - 1];
+        return datasources[column.datasource].get(current, column);
     }
 
     private BsonValue getBsonValue(String columnLabel) throws SQLException {
-        int columnIndex;
-        if (rsMetaData.hasColumnWithLabel(columnLabel)) {
+        Integer columnIndex = columnIndexByLabel.get(columnLabel);
+        if (columnIndex == null) {
+            if (!rsMetaData.hasColumnWithLabel(columnLabel)) {
+                throw new SQLException(String.format("column label '%s' not found", columnLabel));
+            }
             try {
-                columnIndex = rsMetaData.getColumnPositionFromLabel(columnLabel);
-                return getBsonValue(columnIndex + 1);
+                columnIndex = rsMetaData.getColumnPositionFromLabel(columnLabel) + 1;
             } catch (Exception e) {
                 throw new SQLException(
                         "Failed to get BSON value. Root cause: " + e.getMessage(), e);
             }
-        } else {
-            throw new SQLException(String.format("column label '%s' not found", columnLabel));
+            columnIndexByLabel.put(columnLabel, columnIndex);
         }
+        return getBsonValue(columnIndex);
     }
 
     private void checkClosed() throws SQLException {
@@ -274,7 +728,7 @@ public class MongoResultSet implements ResultSet {
             wasNull = true;
             return true;
         }
-        switch (BsonTypeInfo.getBsonTypeInfoFromBsonValue(obj).getBsonType()) {
+        switch (obj.getBsonType()) {
             case NULL:
             case UNDEFINED:
                 wasNull = true;
@@ -294,7 +748,7 @@ public class MongoResultSet implements ResultSet {
         throw new SQLException("The " + from + " type cannot be converted to blob.");
     }
 
-    private byte[] getBytes(BsonValue o) throws SQLException {
+    byte[] getBytes(BsonValue o) throws SQLException {
         if (checkNull(o)) {
             return null;
         }
@@ -334,63 +788,75 @@ public class MongoResultSet implements ResultSet {
         return new ByteArrayInputStream(bytes);
     }
 
+    /**
+     * Returns a read-only view over the content of a value of the current row when the row is raw
+     * and the value has the given type, so that it can be streamed without being copied. The view
+     * covers the UTF-8 bytes of a string, or the data of a binary.
+     *
+     * @return the view, or null if the value must be read from its BsonValue.
+     */
+    private ByteBuffer getRawContent(int columnIndex, BsonType type) throws SQLException {
+        checkBounds(columnIndex);
+        ColumnAccessor column = columns[columnIndex - 1];
+        DatasourceFields datasource = datasources[column.datasource];
+        if (datasource.seek(current, column) != type) {
+            return null;
+        }
+        wasNull = false;
+        return datasource.getContent(type);
+    }
+
     @Override
     public java.io.InputStream getAsciiStream(int columnIndex) throws SQLException {
-        final String encoding = "ASCII";
-        try {
-            return getNewByteArrayInputStream(getString(columnIndex).getBytes(encoding));
-        } catch (UnsupportedEncodingException e) {
-            throw new SQLException("The JVM claims not to support the encoding: " + encoding + ".");
+        ByteBuffer utf8 = getRawContent(columnIndex, BsonType.STRING);
+        if (utf8 != null) {
+            return ByteBufferInputStream.ascii(utf8);
         }
+        String s = getString(columnIndex);
+        return (s == null) ? null : new ByteArrayInputStream(s.getBytes(StandardCharsets.US_ASCII));
     }
 
     @Override
     public java.io.InputStream getAsciiStream(String columnLabel) throws SQLException {
-        final String encoding = "ASCII";
-        try {
-            return getNewByteArrayInputStream(getString(columnLabel).getBytes(encoding));
-        } catch (UnsupportedEncodingException e) {
-            throw new SQLException("The JVM claims not to support the encoding: " + encoding + ".");
-        }
+        return getAsciiStream(findColumn(columnLabel));
     }
 
     @Deprecated
     @Override
     public java.io.InputStream getUnicodeStream(int columnIndex) throws SQLException {
-        final String encoding = "UTF-8";
-        try {
-            return getNewByteArrayInputStream(getString(columnIndex).getBytes(encoding));
-        } catch (UnsupportedEncodingException e) {
-            throw new SQLException("The JVM claims not to support the encoding: " + encoding + ".");
+        ByteBuffer utf8 = getRawContent(columnIndex, BsonType.STRING);
+        if (utf8 != null) {
+            return new ByteBufferInputStream(utf8);
         }
+        String s = getString(columnIndex);
+        return (s == null) ? null : new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
     }
 
     @Deprecated
     @Override
     public java.io.InputStream getUnicodeStream(String columnLabel) throws SQLException {
-        final String encoding = "UTF-8";
-        try {
-            return getNewByteArrayInputStream(getString(columnLabel).getBytes(encoding));
-        } catch (UnsupportedEncodingException e) {
-            throw new SQLException("The JVM claims not to support the encoding: " + encoding + ".");
-        }
+        return getUnicodeStream(findColumn(columnLabel));
     }
 
     @Override
     public java.io.InputStream getBinaryStream(int columnIndex) throws SQLException {
+        ByteBuffer data = getRawContent(columnIndex, BsonType.BINARY);
+        if (data != null) {
+            return new ByteBufferInputStream(data);
+        }
         return getNewByteArrayInputStream(getBytes(columnIndex));
     }
 
     @Override
     public java.io.InputStream getBinaryStream(String columnLabel) throws SQLException {
-        return getNewByteArrayInputStream(getBytes(columnLabel));
+        return getBinaryStream(findColumn(columnLabel));
     }
 
     private String handleStringConversionFailure(String from) throws SQLException {
         throw new SQLException("The " + from + " type cannot be converted to string.");
     }
 
-    private String getString(BsonValue o) throws SQLException {
+    String getString(BsonValue o) throws SQLException {
         if (checkNull(o)) {
             return null;
         }
@@ -413,7 +879,7 @@ public class MongoResultSet implements ResultSet {
         throw new SQLException("The " + from + " type cannot be converted to boolean.");
     }
 
-    private boolean getBoolean(BsonValue o) throws SQLException {
+    boolean getBoolean(BsonValue o) throws SQLException {
         if (checkNull(o)) {
             return false;
         }
@@ -494,7 +960,7 @@ public class MongoResultSet implements ResultSet {
         return getShort(out);
     }
 
-    private int getInt(BsonValue o) throws SQLException {
+    int getInt(BsonValue o) throws SQLException {
         if (checkNull(o)) {
             return 0;
         }
@@ -517,7 +983,7 @@ public class MongoResultSet implements ResultSet {
         throw new SQLException("The " + from + " type cannot be converted to integral type.");
     }
 
-    private long getLong(BsonValue o) throws SQLException {
+    long getLong(BsonValue o) throws SQLException {
         if (checkNull(o)) {
             return 0L;
         }
@@ -585,7 +1051,7 @@ public class MongoResultSet implements ResultSet {
         throw new SQLException("The " + from + " type cannot be converted to double.");
     }
 
-    private double getDouble(BsonValue o) throws SQLException {
+    double getDouble(BsonValue o) throws SQLException {
         if (checkNull(o)) {
             return 0.0;
         }
@@ -751,8 +1217,7 @@ public class MongoResultSet implements ResultSet {
     @Override
     public Object getObject(int columnIndex) throws SQLException {
         BsonValue out = getBsonValue(columnIndex);
-        int columnType = rsMetaData.getColumnType(columnIndex);
-        return getObject(out, columnType);
+        return getObject(out, columns[columnIndex - 1].jdbcType);
     }
 
     @Override
@@ -782,13 +1247,62 @@ public class MongoResultSet implements ResultSet {
         return getObject(findColumn(columnLabel), map);
     }
 
+    /**
+     * Returns the value converted to the given type. The java.time types Instant, OffsetDateTime,
+     * LocalDateTime and LocalDate are supported, the local types are in UTC. The types returned by
+     * the other getters are converted like these getters do. Otherwise, the value must be a
+     * BsonValue of the given type.
+     */
     @Override
     public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
         BsonValue out = getBsonValue(columnIndex);
         if (checkNull(out)) {
             return null;
         }
-        return type.cast(out);
+        return type.cast(convertObject(out, type));
+    }
+
+    private Object convertObject(BsonValue o, Class<?> type) throws SQLException {
+        if (type == Instant.class) {
+            return Instant.ofEpochMilli(getEpochMillis(o));
+        } else if (type == OffsetDateTime.class) {
+            return OffsetDateTime.ofInstant(
+                    Instant.ofEpochMilli(getEpochMillis(o)), ZoneOffset.UTC);
+        } else if (type == LocalDateTime.class) {
+            long millis = getEpochMillis(o);
+            return LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(millis, 1000L),
+                    (int) Math.floorMod(millis, 1000L) * 1_000_000,
+                    ZoneOffset.UTC);
+        } else if (type == LocalDate.class) {
+            return LocalDate.ofEpochDay(Math.floorDiv(getEpochMillis(o), MILLIS_PER_DAY));
+        } else if (type == Timestamp.class) {
+            return getTimestamp(o);
+        } else if (type == Date.class) {
+            return getDate(o);
+        } else if (type == Time.class) {
+            return getTime(o);
+        } else if (type == String.class) {
+            return getString(o);
+        } else if (type == Long.class) {
+            return getLong(o);
+        } else if (type == Integer.class) {
+            return getInt(o);
+        } else if (type == Double.class) {
+            return getDouble(o);
+        } else if (type == Boolean.class) {
+            return getBoolean(o);
+        } else if (type == BigDecimal.class) {
+            return getBigDecimal(o);
+        } else if (type.isInstance(o)) {
+            return o;
+        }
+        throw new SQLException(
+                "The "
+                        + BsonTypeInfo.getBsonTypeInfoFromBsonValue(o).getBsonName()
+                        + " type cannot be converted to "
+                        + type.getName()
+                        + ".");
     }
 
     @Override
@@ -801,14 +1315,20 @@ public class MongoResultSet implements ResultSet {
     @Override
     public int findColumn(String columnLabel) throws SQLException {
         checkClosed();
+        Integer columnIndex = columnIndexByLabel.get(columnLabel);
+        if (columnIndex != null) {
+            return columnIndex;
+        }
         if (!rsMetaData.hasColumnWithLabel(columnLabel)) {
             throw new SQLException("No such column: '" + columnLabel + "'.");
         }
         try {
-            return rsMetaData.getColumnPositionFromLabel(columnLabel) + 1;
+            columnIndex = rsMetaData.getColumnPositionFromLabel(columnLabel) + 1;
         } catch (Exception e) {
             throw new SQLException("Failed to find column. Root cause: " + e.getMessage(), e);
         }
+        columnIndexByLabel.put(columnLabel, columnIndex);
+        return columnIndex;
     }
 
     // --------------------------JDBC 2.0-----------------------------------
@@ -819,14 +1339,17 @@ public class MongoResultSet implements ResultSet {
 
     @Override
     public java.io.Reader getCharacterStream(int columnIndex) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        ByteBuffer utf8 = getRawContent(columnIndex, BsonType.STRING);
+        if (utf8 != null) {
+            return new InputStreamReader(new ByteBufferInputStream(utf8), StandardCharsets.UTF_8);
+        }
+        String s = getString(columnIndex);
+        return (s == null) ? null : new StringReader(s);
     }
 
     @Override
     public java.io.Reader getCharacterStream(String columnLabel) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        return getCharacterStream(findColumn(columnLabel));
     }
 
     private BigDecimal handleBigDecimalConversionFailure(String from) throws SQLException {
@@ -886,14 +1409,14 @@ public class MongoResultSet implements ResultSet {
 
     @Override
     public boolean isBeforeFirst() throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkScrollable();
+        return rowNum == 0 && (rows.size() > 0 || fetchRow());
     }
 
     @Override
     public boolean isAfterLast() throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkScrollable();
+        return rows.size() > 0 && rowNum > rows.size();
     }
 
     @Override
@@ -904,50 +1427,64 @@ public class MongoResultSet implements ResultSet {
 
     @Override
     public void beforeFirst() throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkScrollable();
+        moveTo(0);
     }
 
     @Override
     public void afterLast() throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkScrollable();
+        fetchAllRows();
+        moveTo(rows.size() + 1);
     }
 
     @Override
     public boolean first() throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkScrollable();
+        return moveTo(1);
     }
 
     @Override
     public boolean last() throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkScrollable();
+        fetchAllRows();
+        return moveTo(rows.size());
     }
 
     @Override
     public int getRow() throws SQLException {
         checkClosed();
+        if (rows != null && current == null) {
+            return 0;
+        }
         return rowNum;
     }
 
     @Override
     public boolean absolute(int row) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkScrollable();
+        if (row < 0) {
+            // Negative rows are counted from the end of the result set.
+            fetchAllRows();
+            return moveTo(rows.size() + 1 + row);
+        }
+        return moveTo(row);
     }
 
     @Override
-    public boolean relative(int rows) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+    public boolean relative(int count) throws SQLException {
+        checkScrollable();
+        long row = (long) rowNum + count;
+        return moveTo((int) Math.max(Math.min(row, Integer.MAX_VALUE), 0));
     }
 
     @Override
     public boolean previous() throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkScrollable();
+        if (rowNum == 0) {
+            return false;
+        }
+        return moveTo(rowNum - 1);
     }
 
     // ---------------------------------------------------------------------
@@ -981,7 +1518,7 @@ public class MongoResultSet implements ResultSet {
     @Override
     public int getType() throws SQLException {
         checkClosed();
-        return ResultSet.TYPE_FORWARD_ONLY;
+        return (rows != null) ? ResultSet.TYPE_SCROLL_INSENSITIVE : ResultSet.TYPE_FORWARD_ONLY;
     }
 
     @Override
@@ -1304,21 +1841,20 @@ public class MongoResultSet implements ResultSet {
         if (bytes == null) {
             return null;
         }
-        try {
-            return new SerialBlob(bytes);
-        } catch (SerialException e) {
-            throw new SQLException(e);
-        }
+        return new MongoBlob(ByteBuffer.wrap(bytes));
     }
 
     @Override
     public Blob getBlob(String columnLabel) throws SQLException {
-        BsonValue out = getBsonValue(columnLabel);
-        return getNewBlob(getBytes(out));
+        return getBlob(findColumn(columnLabel));
     }
 
     @Override
     public Blob getBlob(int columnIndex) throws SQLException {
+        ByteBuffer data = getRawContent(columnIndex, BsonType.BINARY);
+        if (data != null) {
+            return new MongoBlob(data);
+        }
         BsonValue out = getBsonValue(columnIndex);
         return getNewBlob(getBytes(out));
     }
@@ -1327,17 +1863,20 @@ public class MongoResultSet implements ResultSet {
         if (checkNull(o)) {
             return null;
         }
-        return new SerialClob(getString(o).toCharArray());
+        return new MongoClob(getString(o));
     }
 
     @Override
     public Clob getClob(String columnLabel) throws SQLException {
-        BsonValue out = getBsonValue(columnLabel);
-        return getClob(out);
+        return getClob(findColumn(columnLabel));
     }
 
     @Override
     public Clob getClob(int columnIndex) throws SQLException {
+        ByteBuffer utf8 = getRawContent(columnIndex, BsonType.STRING);
+        if (utf8 != null) {
+            return new MongoClob(utf8);
+        }
         BsonValue out = getBsonValue(columnIndex);
         return getClob(out);
     }
@@ -1360,44 +1899,40 @@ public class MongoResultSet implements ResultSet {
                 Thread.currentThread().getStackTrace()[1].toString());
     }
 
-    private java.util.Date handleUtilDateConversionFailure(String from) throws SQLException {
-        throw new SQLException("The " + from + " type cannot be converted to java.util.Date");
+    private long handleDateConversionFailure(String from) throws SQLException {
+        throw new SQLException("The " + from + " type cannot be converted to a date.");
     }
 
-    private java.util.Date getUtilDate(BsonValue o) throws SQLException {
-        if (checkNull(o)) {
-            return null;
-        }
-        BsonTypeInfo bsonType = BsonTypeInfo.getBsonTypeInfoFromBsonValue(o);
+    /**
+     * Returns the milliseconds since the epoch of a value which is not null. Numbers are already
+     * milliseconds since the epoch, this is what $convert does.
+     */
+    long getEpochMillis(BsonValue o) throws SQLException {
         switch (o.getBsonType()) {
             case DATE_TIME:
-                return new java.util.Date(o.asDateTime().getValue());
+                return o.asDateTime().getValue();
             case DECIMAL128:
-                return new Date(o.asDecimal128().longValue());
+                return o.asDecimal128().longValue();
             case DOUBLE:
-                return new Date((long) o.asDouble().getValue());
+                return (long) o.asDouble().getValue();
             case INT32:
-                return new Date(o.asInt32().getValue());
+                return o.asInt32().getValue();
             case INT64:
-                return new Date(o.asInt64().getValue());
-            case UNDEFINED:
-                // this is consistent with $convert in mongodb.
-            case NULL:
-                return null;
+                return o.asInt64().getValue();
             case STRING:
                 try {
-                    return dateFormat.parse(o.asString().getValue());
-                } catch (ParseException e) {
+                    return Instant.from(DATE_FORMAT.parse(o.asString().getValue())).toEpochMilli();
+                } catch (DateTimeException | ArithmeticException e) {
                     throw new SQLException(e);
                 }
             default:
-                return handleUtilDateConversionFailure(bsonType.getBsonName());
+                return handleDateConversionFailure(
+                        BsonTypeInfo.getBsonTypeInfoFromBsonValue(o).getBsonName());
         }
     }
 
     private Date getDate(BsonValue o) throws SQLException {
-        java.util.Date utilDate = getUtilDate(o);
-        return (utilDate == null) ? null : new Date(utilDate.getTime());
+        return checkNull(o) ? null : new Date(getEpochMillis(o));
     }
 
     @Override
@@ -1414,27 +1949,18 @@ public class MongoResultSet implements ResultSet {
 
     @Override
     public Date getDate(int columnIndex, Calendar cal) throws SQLException {
-        Date d = getDate(columnIndex);
-        if (d == null) {
-            return null;
-        }
-        cal.setTime(d);
-        return new Date(cal.getTime().getTime());
+        // BSON dates are UTC instants, the calendar's time zone does not apply to them.
+        return getDate(columnIndex);
     }
 
     @Override
     public Date getDate(String columnLabel, Calendar cal) throws SQLException {
-        Date d = getDate(columnLabel);
-        if (d == null) {
-            return null;
-        }
-        cal.setTime(d);
-        return new Date(cal.getTime().getTime());
+        // BSON dates are UTC instants, the calendar's time zone does not apply to them.
+        return getDate(columnLabel);
     }
 
     protected Time getTime(BsonValue o) throws SQLException {
-        java.util.Date utilDate = getUtilDate(o);
-        return (utilDate == null) ? null : new Time(utilDate.getTime());
+        return checkNull(o) ? null : new Time(getEpochMillis(o));
     }
 
     @Override
@@ -1451,27 +1977,18 @@ public class MongoResultSet implements ResultSet {
 
     @Override
     public Time getTime(int columnIndex, Calendar cal) throws SQLException {
-        Time d = getTime(columnIndex);
-        if (d == null) {
-            return null;
-        }
-        cal.setTime(d);
-        return new Time(cal.getTime().getTime());
+        // BSON dates are UTC instants, the calendar's time zone does not apply to them.
+        return getTime(columnIndex);
     }
 
     @Override
     public Time getTime(String columnLabel, Calendar cal) throws SQLException {
-        Time d = getTime(columnLabel);
-        if (d == null) {
-            return null;
-        }
-        cal.setTime(d);
-        return new Time(cal.getTime().getTime());
+        // BSON dates are UTC instants, the calendar's time zone does not apply to them.
+        return getTime(columnLabel);
     }
 
     protected Timestamp getTimestamp(BsonValue o) throws SQLException {
-        java.util.Date utilDate = getUtilDate(o);
-        return (utilDate == null) ? null : new Timestamp(utilDate.getTime());
+        return checkNull(o) ? null : new Timestamp(getEpochMillis(o));
     }
 
     @Override
@@ -1488,22 +2005,14 @@ public class MongoResultSet implements ResultSet {
 
     @Override
     public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
-        Timestamp d = getTimestamp(columnIndex);
-        if (d == null) {
-            return null;
-        }
-        cal.setTime(d);
-        return new Timestamp(cal.getTime().getTime());
+        // BSON dates are UTC instants, the calendar's time zone does not apply to them.
+        return getTimestamp(columnIndex);
     }
 
     @Override
     public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
-        Timestamp d = getTimestamp(columnLabel);
-        if (d == null) {
-            return null;
-        }
-        cal.setTime(d);
-        return new Timestamp(cal.getTime().getTime());
+        // BSON dates are UTC instants, the calendar's time zone does not apply to them.
+        return getTimestamp(columnLabel);
     }
 
     // -------------------------- JDBC 3.0 ----------------------------------------
@@ -1677,12 +2186,12 @@ public class MongoResultSet implements ResultSet {
 
     @Override
     public java.io.Reader getNCharacterStream(int columnIndex) throws SQLException {
-        return new java.io.StringReader(getString(columnIndex));
+        return getCharacterStream(columnIndex);
     }
 
     @Override
     public java.io.Reader getNCharacterStream(String columnLabel) throws SQLException {
-        return new java.io.StringReader(getString(columnLabel));
+        return getCharacterStream(columnLabel);
     }
 
     @Override
@@ -1907,4 +2416,161 @@ public class MongoResultSet implements ResultSet {
     public <T> T unwrap(Class<T> iface) throws SQLException {
         return (T) this;
     }
+
+    /** A column of the result set, resolved to its location in the rows. */
+    private static final class ColumnAccessor {
+        // The index of the column's datasource in the datasources array.
+        private final int datasource;
+        // The position of the column's field among the fields read in its datasource.
+        private final int slot;
+        private final String field;
+        private final int jdbcType;
+
+        ColumnAccessor(int datasource, int slot, String field, int jdbcType) {
+            this.datasource = datasource;
+            this.slot = slot;
+            this.field = field;
+            this.jdbcType = jdbcType;
+        }
+    }
+
+    /**
+     * The fields of a datasource read by the columns, and their location in the datasource
+     * document of the current row.
+     *
+     * <p>When the row is a RawBsonDocument, the datasource document is scanned once, on the first
+     * access to one of its columns, to mark where the value of each field starts. Each value is
+     * then only decoded when its column is read, without scanning the document again.
+     */
+    private static final class DatasourceFields implements RawValue {
+        private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+        private final String name;
+        private final int index;
+        private final Map<String, Integer> slots = new HashMap<>();
+        // The datasource document of the current row, null until one of its columns is read.
+        private BsonDocument document;
+        // Only set for raw documents.
+        private BsonBinaryReader reader;
+        private ByteBuf bytes;
+        private BsonReaderMark[] marks;
+
+        DatasourceFields(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        int addField(String field) {
+            return slots.computeIfAbsent(field, f -> slots.size());
+        }
+
+        void clear() {
+            document = null;
+            reader = null;
+            bytes = null;
+        }
+
+        BsonValue get(BsonDocument row, ColumnAccessor column) {
+            BsonType type = seek(row, column);
+            if (type == null) {
+                return document.get(column.field);
+            }
+            return (type == BsonType.END_OF_DOCUMENT) ? null : readValue(reader);
+        }
+
+        /**
+         * Positions the reader on the value of the column when the row is raw, so that the value
+         * can be read without creating a BsonValue.
+         *
+         * @return the BSON type of the value, END_OF_DOCUMENT if the row has no value for the
+         *     column, or null if the row is not raw.
+         */
+        BsonType seek(BsonDocument row, ColumnAccessor column) {
+            if (document == null) {
+                document = row.get(name).asDocument();
+                if (document instanceof RawBsonDocument) {
+                    markFields((RawBsonDocument) document);
+                }
+            }
+            if (reader == null) {
+                return null;
+            }
+            BsonReaderMark mark = marks[column.slot];
+            if (mark == null) {
+                return BsonType.END_OF_DOCUMENT;
+            }
+            mark.reset();
+            return reader.getCurrentBsonType();
+        }
+
+        private void markFields(RawBsonDocument raw) {
+            if (marks == null) {
+                marks = new BsonReaderMark[slots.size()];
+            } else {
+                Arrays.fill(marks, null);
+            }
+            bytes = raw.getByteBuffer();
+            reader = new BsonBinaryReader(new ByteBufferBsonInput(bytes));
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                Integer slot = slots.get(reader.readName());
+                if (slot != null) {
+                    marks[slot] = reader.getMark();
+                }
+                reader.skipValue();
+            }
+        }
+
+        @Override
+        public BsonBinaryReader getReader() {
+            return reader;
+        }
+
+        /**
+         * Returns a read-only view over the content of the string or binary value on which seek
+         * positioned the reader: the UTF-8 bytes of a string, without its terminating NUL, or the
+         * data of a binary.
+         */
+        @Override
+        public ByteBuffer getContent(BsonType type) {
+            int position = reader.getBsonInput().getPosition();
+            int length = bytes.getInt(position);
+            position += 4;
+            if (type == BsonType.STRING) {
+                length--;
+            } else {
+                byte subType = bytes.get(position++);
+                if (subType == BsonBinarySubType.OLD_BINARY.getValue()) {
+                    // The old binary subtype repeats the length of the data.
+                    length = bytes.getInt(position);
+                    position += 4;
+                }
+            }
+            ByteBuffer content = bytes.asNIO().duplicate();
+            content.limit(position + length).position(position);
+            return content.slice().asReadOnlyBuffer();
+        }
+
+        private static BsonValue readValue(BsonBinaryReader reader) {
+            switch (reader.getCurrentBsonType()) {
+                case INT32:
+                    return new BsonInt32(reader.readInt32());
+                case INT64:
+                    return new BsonInt64(reader.readInt64());
+                case DOUBLE:
+                    return new BsonDouble(reader.readDouble());
+                case STRING:
+                    return new BsonString(reader.readString());
+                case BOOLEAN:
+                    return BsonBoolean.valueOf(reader.readBoolean());
+                case DATE_TIME:
+                    return new BsonDateTime(reader.readDateTime());
+                case NULL:
+                    reader.readNull();
+                    return BsonNull.VALUE;
+                default:
+                    return MongoBsonValue.CODEC.decode(reader, DECODER_CONTEXT);
+            }
+        }
+    }
 }
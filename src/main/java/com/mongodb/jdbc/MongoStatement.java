@@ -18,6 +18,9 @@ package com.mongodb.jdbc;
 
 import com.google.common.base.Preconditions;
 import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.ServerCursor;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.MongoIterable;
@@ -28,42 +31,89 @@ import com.mongodb.jdbc.mongosql.GetNamespacesResult;
 import com.mongodb.jdbc.mongosql.MongoSQLException;
 import com.mongodb.jdbc.mongosql.MongoSQLTranslate;
 import com.mongodb.jdbc.mongosql.TranslateResult;
+import com.mongodb.jdbc.mongosql.TranslationCache;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
 import java.util.logging.Level;
 import org.apache.commons.text.StringEscapeUtils;
+import org.bson.BsonArray;
 import org.bson.BsonDocument;
 import org.bson.BsonInt32;
+import org.bson.BsonInt64;
 import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
 
 @AutoLoggable
 public class MongoStatement implements Statement {
     private static final BsonInt32 BSON_ONE_INT_VALUE = new BsonInt32(1);
+    // The SQLState of the failures caused by Statement.cancel: "Operation canceled".
+    static final String CANCELLED_SQL_STATE = "HY008";
+    // The collection name of the cursors of the aggregations run on a database.
+    private static final String DATABASE_AGGREGATE_COLLECTION = "$cmd.aggregate";
 
     // Likely, the actual mongo sql command will not
     // need a database or collection, since those
     // must be parsed from the query.
     private MongoDatabase currentDB;
-    private MongoResultSet resultSet;
+    // The database of the statement at its creation, restored by reset.
+    private MongoDatabase initialDB;
+    private volatile MongoResultSet resultSet;
+    // The result sets of the partitions of the last query run by executePartitionedQuery.
+    private final List<MongoResultSet> partitionResultSets = new CopyOnWriteArrayList<>();
     private MongoConnection conn;
     protected boolean isClosed = false;
     protected boolean closeOnCompletion = false;
+    private boolean poolable = false;
     private int fetchSize = 0;
+    private long fetchTargetBytes;
+    private long maxRows = 0;
+    // The comment tagging the operations of the current execution, so that cancel can find them.
+    private volatile String operationComment;
+    private volatile boolean cancelled;
+    // The namespace of the cursors of the current execution.
+    private volatile MongoDatabase cursorDatabase;
+    private volatile String cursorCollection;
     private int maxQuerySec = 0;
+    // The deadline of the current execution, set by the query timeout.
+    private QueryDeadline deadline = new QueryDeadline(0);
     private MongoLogger logger;
     private int statementId;
+    private long executionStartNanos;
+    private final int resultSetType;
     String cursorName;
 
     public MongoStatement(MongoConnection conn, String databaseName) throws SQLException {
+        this(conn, databaseName, ResultSet.TYPE_FORWARD_ONLY);
+    }
+
+    /**
+     * @param resultSetType TYPE_FORWARD_ONLY or TYPE_SCROLL_INSENSITIVE. The rows of scroll
+     *     insensitive result sets are kept in a RowStore while they are read.
+     */
+    MongoStatement(MongoConnection conn, String databaseName, int resultSetType)
+            throws SQLException {
         Preconditions.checkNotNull(conn);
         Preconditions.checkNotNull(databaseName);
         this.statementId = conn.getNextStatementId();
         logger = new MongoLogger(this.getClass().getCanonicalName(), conn.getLogger(), statementId);
         this.conn = conn;
+        this.resultSetType = resultSetType;
+        this.fetchTargetBytes = conn.getFetchTargetBytes();
 
         try {
             currentDB = conn.getDatabase(databaseName);
+            initialDB = currentDB;
         } catch (IllegalArgumentException e) {
             throw new SQLException("Database name %s is invalid", databaseName);
         }
@@ -95,11 +145,14 @@ public class MongoStatement implements Statement {
         }
     }
 
-    private BsonDocument constructSQLGetResultSchemaDocument(String sql) {
+    private BsonDocument constructSQLGetResultSchemaDocument(String sql, long maxTimeMS) {
         BsonDocument command = new BsonDocument();
         command.put("sqlGetResultSchema", BSON_ONE_INT_VALUE);
         command.put("query", new BsonString(sql));
         command.put("schemaVersion", BSON_ONE_INT_VALUE);
+        if (maxTimeMS > 0) {
+            command.put("maxTimeMS", new BsonInt64(maxTimeMS));
+        }
         return command;
     }
 
@@ -135,12 +188,38 @@ public class MongoStatement implements Statement {
     @Override
     public int getMaxRows() throws SQLException {
         checkClosed();
-        return 0;
+        return (int) Math.min(maxRows, Integer.MAX_VALUE);
     }
 
     @Override
     public void setMaxRows(int max) throws SQLException {
-        checkClosed();
+        setLargeMaxRows(max);
+    }
+
+    /**
+     * Limits the rows of a pipeline to the max rows of the statement, merging the limit with the
+     * last stage of the pipeline if it is a $limit.
+     *
+     * @param pipeline The pipeline of a query.
+     * @param maxRows The maximum number of rows, or 0 for no limit.
+     * @return the limited pipeline, or the same pipeline if there is no limit.
+     */
+    static List<BsonDocument> limit(List<BsonDocument> pipeline, long maxRows) {
+        if (maxRows <= 0) {
+            return pipeline;
+        }
+        List<BsonDocument> limited = new ArrayList<>(pipeline);
+        if (!limited.isEmpty()) {
+            BsonDocument last = limited.get(limited.size() - 1);
+            if (last.size() == 1 && last.isNumber("$limit")) {
+                if (last.getNumber("$limit").longValue() <= maxRows) {
+                    return pipeline;
+                }
+                limited.remove(limited.size() - 1);
+            }
+        }
+        limited.add(new BsonDocument("$limit", new BsonInt64(maxRows)));
+        return limited;
     }
 
     @Override
@@ -162,6 +241,14 @@ public class MongoStatement implements Statement {
 
     // Close any existing resultsets associated with this statement.
     protected void closeExistingResultSet() {
+        for (MongoResultSet partition : partitionResultSets) {
+            try {
+                partition.close();
+            } catch (SQLException ignored) {
+                // The cursor might have already been closed by the server.
+            }
+        }
+        partitionResultSets.clear();
         try {
             if (resultSet != null) {
                 resultSet.close();
@@ -199,23 +286,78 @@ public class MongoStatement implements Statement {
     }
 
     private ResultSet executeAtlasDataFederationQuery(String sql) throws SQLException {
-        BsonDocument getSchemaCmd = constructSQLGetResultSchemaDocument(sql);
+        return executeAtlasDataFederationQuery(sql, sql);
+    }
 
-        BsonDocument sqlStage = constructQueryDocument(sql);
-        MongoIterable<BsonDocument> iterable =
-                currentDB
-                        .aggregate(Collections.singletonList(sqlStage), BsonDocument.class)
-                        .maxTime(maxQuerySec, TimeUnit.SECONDS);
+    /**
+     * Executes a query against Atlas Data Federation.
+     *
+     * @param sql The SQL query.
+     * @param schemaCacheKey The key of the result schema in the cache. Queries only differing by
+     *     their literal values can share the same result schema.
+     */
+    ResultSet executeAtlasDataFederationQuery(String sql, String schemaCacheKey)
+            throws SQLException {
+        ResultSchemaCache resultSchemaCache = conn.getResultSchemaCache();
+        MongoDatabase db = currentDB;
+        MongoJsonSchemaResult schemaResult =
+                (resultSchemaCache != null)
+                        ? resultSchemaCache.get(db.getName(), schemaCacheKey)
+                        : null;
+
+        // The result schema is fetched concurrently with the opening of the cursor so that the
+        // two round trips overlap.
+        Future<MongoJsonSchemaResult> schemaFuture = null;
+        if (schemaResult == null) {
+            BsonDocument getSchemaCmd =
+                    constructSQLGetResultSchemaDocument(
+                            sql, deadline.remainingMillis("result schema"));
+            schemaFuture =
+                    MongoConnection.getSharedExecutor()
+                            .submit(
+                                    () ->
+                                            db.withCodecRegistry(MongoDriver.REGISTRY)
+                                                    .runCommand(
+                                                            getSchemaCmd,
+                                                            MongoJsonSchemaResult.class));
+        } else {
+            logger.log(Level.FINE, "Result schema cache hit: " + resultSchemaCache);
+        }
 
-        if (fetchSize != 0) {
-            iterable = iterable.batchSize(fetchSize);
+        MongoCursor<RawBsonDocument> cursor;
+        try {
+            BsonDocument sqlStage = constructQueryDocument(sql);
+            // The max rows are applied by a $limit stage after the $sql stage.
+            List<BsonDocument> pipeline = limit(Collections.singletonList(sqlStage), maxRows);
+            // The rows are kept in their raw form, only the columns which are read get decoded.
+            cursorDatabase = db;
+            cursorCollection = DATABASE_AGGREGATE_COLLECTION;
+            MongoIterable<RawBsonDocument> iterable =
+                    db.aggregate(pipeline, RawBsonDocument.class)
+                            .maxTime(deadline.remainingMillis("aggregate"), TimeUnit.MILLISECONDS)
+                            .comment(operationComment);
+            cursor = openCursor(iterable);
+            deadline.endPhase("aggregate");
+        } catch (SQLException | RuntimeException e) {
+            if (schemaFuture != null) {
+                schemaFuture.cancel(true);
+            }
+            throw e;
+        }
+
+        if (schemaFuture != null) {
+            try {
+                schemaResult = awaitResultSchema(schemaFuture);
+                deadline.endPhase("result schema");
+            } catch (SQLException | RuntimeException e) {
+                cursor.close();
+                throw e;
+            }
+            if (resultSchemaCache != null) {
+                resultSchemaCache.put(db.getName(), schemaCacheKey, schemaResult);
+            }
         }
 
-        MongoCursor<BsonDocument> cursor = iterable.cursor();
-        MongoJsonSchemaResult schemaResult =
-                currentDB
-                        .withCodecRegistry(MongoDriver.REGISTRY)
-                        .runCommand(getSchemaCmd, MongoJsonSchemaResult.class);
         MongoJsonSchema resultsetSchema = schemaResult.schema.mongoJsonSchema;
         List<List<String>> selectOrder = schemaResult.selectOrder;
         logger.setResultSetSchema(resultsetSchema);
@@ -232,14 +374,139 @@ public class MongoStatement implements Statement {
         return resultSet;
     }
 
+    /**
+     * Opens the cursor of a query. When prefetching is enabled on the connection, its batches are
+     * read ahead on a background thread. When the fetch size is adaptive, the size of its batches
+     * follows the rows read.
+     */
+    private MongoCursor<RawBsonDocument> openCursor(MongoIterable<RawBsonDocument> iterable) {
+        return prefetch(adaptFetchSize(withBatchSize(iterable).cursor(), prefetchReadAhead()));
+    }
+
+    /**
+     * @return the number of batches a prefetched result set holds besides the one being read: the
+     *     queued batches and the one being fetched, or 0 if prefetching is disabled.
+     */
+    private int prefetchReadAhead() {
+        int prefetchBatches = conn.getPrefetchBatches();
+        return (prefetchBatches > 0) ? prefetchBatches + 1 : 0;
+    }
+
+    /**
+     * @return the iterable with the fetch size of the statement, or with the size of the first
+     *     batch when the fetch size is adaptive.
+     */
+    private MongoIterable<RawBsonDocument> withBatchSize(MongoIterable<RawBsonDocument> iterable) {
+        if (fetchSize != 0) {
+            return iterable.batchSize(fetchSize);
+        } else if (fetchTargetBytes > 0) {
+            return iterable.batchSize(AdaptiveFetchCursor.FIRST_BATCH_SIZE);
+        }
+        return iterable;
+    }
+
+    /** @return the cursor, reading its batches ahead if prefetching is enabled. */
+    private MongoCursor<RawBsonDocument> prefetch(MongoCursor<RawBsonDocument> cursor) {
+        int prefetchBatches = conn.getPrefetchBatches();
+        if (prefetchBatches > 0) {
+            return new PrefetchCursor(
+                    cursor,
+                    prefetchBatches,
+                    conn.getPrefetchMaxBytes(),
+                    MongoConnection.getSharedExecutor());
+        }
+        return cursor;
+    }
+
+    /**
+     * Adjusts the batch sizes of a cursor if the fetch size is adaptive. The fetchmaxbytes of the
+     * connection caps the rows held by the result set, which are the batch being read and the
+     * batches read ahead.
+     *
+     * @param cursor The cursor.
+     * @param readAhead The number of batches read ahead of the result set, 0 if the application
+     *     reads the cursor directly.
+     * @return the cursor with adaptive batch sizes, or the cursor itself.
+     */
+    private MongoCursor<RawBsonDocument> adaptFetchSize(
+            MongoCursor<RawBsonDocument> cursor, int readAhead) {
+        if (fetchSize != 0 || fetchTargetBytes <= 0) {
+            return cursor;
+        }
+        IntConsumer batchSizeSetter = AdaptiveFetchCursor.batchSizeSetter(cursor);
+        if (batchSizeSetter == null) {
+            logger.log(Level.FINE, "The adaptive fetch size is not supported by the cursor");
+            return cursor;
+        }
+        // The rate of a cursor read ahead is the one of the background fetch, it is not measured.
+        return new AdaptiveFetchCursor(
+                cursor,
+                batchSizeSetter,
+                fetchTargetBytes,
+                conn.getFetchMaxBytes() / (readAhead + 1),
+                readAhead == 0);
+    }
+
+    private MongoJsonSchemaResult awaitResultSchema(Future<MongoJsonSchemaResult> schemaFuture)
+            throws SQLException {
+        try {
+            return schemaFuture.get();
+        } catch (InterruptedException e) {
+            schemaFuture.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while getting the result set schema", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    /** Records the time elapsed between the start of the query execution and its first row. */
+    void recordFirstRow() {
+        long timeToFirstRowMs = (System.nanoTime() - executionStartNanos) / 1000000;
+        logger.setTimeToFirstRow(timeToFirstRowMs);
+        logger.log(Level.FINE, "Time to first row: " + timeToFirstRowMs + " ms");
+    }
+
     private ResultSet executeDirectClusterQuery(String sql)
             throws MongoSQLException, MongoSerializationException, SQLException {
+        return executeTranslatedQuery(translateDirectClusterQuery(sql));
+    }
+
+    /**
+     * Translates a query for a direct cluster connection, switching to the database of the query
+     * if it is qualified.
+     *
+     * @param sql The SQL query.
+     * @return the translation of the query.
+     */
+    TranslateResult translateDirectClusterQuery(String sql)
+            throws MongoSQLException, MongoSerializationException, SQLException {
         MongoSQLTranslate mongoSQLTranslate = conn.getMongosqlTranslate();
-        String dbName = currentDB.getName();
+        TranslationCache translationCache = conn.getTranslationCache();
+        final String defaultDbName = currentDB.getName();
+        String dbName = defaultDbName;
 
         // Retrieve the namespaces for the query
         GetNamespacesResult namespaceResult =
-                mongoSQLTranslate.getNamespaces(currentDB.getName(), sql);
+                (translationCache != null) ? translationCache.getNamespaces(dbName, sql) : null;
+        if (namespaceResult == null) {
+            namespaceResult =
+                    deadline.runNative(
+                            "namespaces",
+                            () -> mongoSQLTranslate.getNamespaces(defaultDbName, sql),
+                            MongoConnection.getSharedExecutor());
+            if (translationCache != null) {
+                translationCache.putNamespaces(dbName, sql, namespaceResult);
+            }
+        } else {
+            deadline.endPhase("namespaces");
+        }
 
         logger.log(Level.FINE, "Namespaces: " + namespaceResult);
         List<GetNamespacesResult.Namespace> namespaces = namespaceResult.namespaces;
@@ -253,67 +520,502 @@ public class MongoStatement implements Statement {
 
         // Translate the SQL query
         BsonDocument catalogDoc =
-                mongoSQLTranslate.buildCatalogDocument(currentDB, dbName, namespaces);
+                mongoSQLTranslate.buildCatalogDocument(
+                        currentDB,
+                        dbName,
+                        namespaces,
+                        conn.getSchemaCatalogCache(),
+                        deadline.remainingMillis("catalog"));
+        deadline.endPhase("catalog");
         logger.log(Level.FINE, "Query catalog: " + catalogDoc);
         logger.setNamespacesSchema(catalogDoc);
-        TranslateResult translateResponse = mongoSQLTranslate.translate(sql, dbName, catalogDoc);
+        TranslateResult translateResponse = null;
+        String catalogFingerprint = null;
+        if (translationCache != null) {
+            // The catalog is part of the key so that a schema change is never served a stale plan
+            catalogFingerprint = TranslationCache.fingerprint(catalogDoc);
+            translateResponse = translationCache.get(dbName, sql, catalogFingerprint);
+            logger.log(
+                    Level.FINE,
+                    "Translation cache "
+                            + (translateResponse != null ? "hit: " : "miss: ")
+                            + translationCache);
+        }
+        if (translateResponse == null) {
+            String translateDbName = dbName;
+            translateResponse =
+                    deadline.runNative(
+                            "translate",
+                            () -> mongoSQLTranslate.translate(sql, translateDbName, catalogDoc),
+                            MongoConnection.getSharedExecutor());
+            if (translationCache != null) {
+                translationCache.put(dbName, sql, catalogFingerprint, translateResponse);
+            }
+        } else {
+            deadline.endPhase("translate");
+        }
         logger.setPipeline(translateResponse.pipeline);
         logger.setResultSetSchema(translateResponse.resultSetSchema);
         logger.log(Level.FINE, "Translate response: " + translateResponse);
 
-        MongoIterable<BsonDocument> iterable = null;
-        if (translateResponse.targetCollection != null
-                && !translateResponse.targetCollection.isEmpty()) {
-            iterable =
-                    currentDB
-                            .getCollection(translateResponse.targetCollection)
-                            .aggregate(translateResponse.pipeline, BsonDocument.class)
-                            .maxTime(maxQuerySec, TimeUnit.SECONDS);
+        return translateResponse;
+    }
+
+    /**
+     * Runs the pipeline of a translated query on the current database.
+     *
+     * @param translateResponse The translation of the query.
+     * @return the result set of the query.
+     */
+    ResultSet executeTranslatedQuery(TranslateResult translateResponse) throws SQLException {
+        return executeTranslatedQuery(translateResponse, translateResponse.pipeline);
+    }
+
+    /**
+     * Runs a pipeline in place of the one of a translated query on the current database.
+     *
+     * @param translateResponse The translation of the query.
+     * @param pipeline The pipeline to run, with the same result set schema as the translation's.
+     * @return the result set of the query.
+     */
+    ResultSet executeTranslatedQuery(TranslateResult translateResponse, List<BsonDocument> pipeline)
+            throws SQLException {
+        pipeline = limit(pipeline, maxRows);
+        if (pipeline != translateResponse.pipeline) {
+            logger.setPipeline(pipeline);
+        }
+        List<BsonDocument> ranges =
+                partitionRanges(translateResponse, pipeline, conn.getParallelPartitions());
+        MongoCursor<RawBsonDocument> cursor;
+        if (ranges.isEmpty()) {
+            cursor = openCursor(aggregate(translateResponse.targetCollection, pipeline));
         } else {
-            // If there are no target collection execute the pipeline against the DB directly
-            iterable =
-                    currentDB
-                            .aggregate(translateResponse.pipeline, BsonDocument.class)
-                            .maxTime(maxQuerySec, TimeUnit.SECONDS);
+            // The rows of the partitions are merged as their batches arrive.
+            int maxBatches = Math.max(conn.getPrefetchBatches(), 2 * ranges.size());
+            // The merged result set holds the queued batches and one being fetched per partition.
+            List<MongoCursor<RawBsonDocument>> cursors =
+                    openPartitionCursors(
+                            translateResponse.targetCollection,
+                            pipeline,
+                            ranges,
+                            maxBatches + ranges.size());
+            cursor =
+                    new PrefetchCursor(
+                            cursors,
+                            maxBatches,
+                            conn.getPrefetchMaxBytes(),
+                            MongoConnection.getSharedExecutor());
         }
+        deadline.endPhase("aggregate");
 
-        if (fetchSize != 0) {
-            iterable = iterable.batchSize(fetchSize);
+        resultSet = newResultSet(translateResponse, cursor);
+        return resultSet;
+    }
+
+    private MongoResultSet newResultSet(
+            TranslateResult translateResponse, MongoCursor<RawBsonDocument> cursor)
+            throws SQLException {
+        return new MongoResultSet(
+                this,
+                cursor,
+                translateResponse.resultSetSchema,
+                translateResponse.selectOrder,
+                conn.getExtJsonMode(),
+                conn.getUuidRepresentation());
+    }
+
+    /**
+     * @param collectionName The collection to run the pipeline on, or null or empty to run it on
+     *     the current database.
+     * @param pipeline The pipeline to run.
+     * @return the iterable over the results of the pipeline.
+     */
+    private MongoIterable<RawBsonDocument> aggregate(
+            String collectionName, List<BsonDocument> pipeline) throws SQLTimeoutException {
+        // The time limit covers the getMores of the cursor as well.
+        long maxTimeMS = deadline.remainingMillis("aggregate");
+        cursorDatabase = currentDB;
+        // The rows are kept in their raw form, only the columns which are read get decoded.
+        if (collectionName != null && !collectionName.isEmpty()) {
+            cursorCollection = collectionName;
+            return currentDB
+                    .getCollection(collectionName)
+                    .aggregate(pipeline, RawBsonDocument.class)
+                    .maxTime(maxTimeMS, TimeUnit.MILLISECONDS)
+                    .comment(operationComment);
         }
+        // If there are no target collection execute the pipeline against the DB directly
+        cursorCollection = DATABASE_AGGREGATE_COLLECTION;
+        return currentDB
+                .aggregate(pipeline, RawBsonDocument.class)
+                .maxTime(maxTimeMS, TimeUnit.MILLISECONDS)
+                .comment(operationComment);
+    }
 
-        resultSet =
-                new MongoResultSet(
-                        this,
-                        iterable.cursor(),
-                        translateResponse.resultSetSchema,
-                        translateResponse.selectOrder,
-                        conn.getExtJsonMode(),
-                        conn.getUuidRepresentation());
+    /**
+     * Splits the target collection of a translated query into _id ranges which can be scanned
+     * concurrently.
+     *
+     * @param translateResponse The translation of the query.
+     * @param pipeline The pipeline to run.
+     * @param partitions The number of ranges wanted.
+     * @return the $match filters of the ranges, or an empty list if the query must run as a whole.
+     */
+    private List<BsonDocument> partitionRanges(
+            TranslateResult translateResponse, List<BsonDocument> pipeline, int partitions)
+            throws SQLTimeoutException {
+        if (partitions <= 1
+                || translateResponse.targetCollection == null
+                || translateResponse.targetCollection.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!PartitionedScan.isPartitionable(pipeline)) {
+            logger.log(Level.FINE, "The query can't be partitioned: its rows depend on each other");
+            return Collections.emptyList();
+        }
+        List<BsonDocument> ranges =
+                PartitionedScan.sampleRanges(
+                        currentDB.getCollection(translateResponse.targetCollection),
+                        partitions,
+                        deadline.remainingMillis("sampling"));
+        deadline.endPhase("sampling");
+        logger.log(
+                Level.FINE,
+                ranges.isEmpty()
+                        ? "The query can't be partitioned: the _id values can't be split"
+                        : "Query partitioned in " + ranges.size() + " _id ranges: " + ranges);
+        return ranges;
+    }
 
-        return resultSet;
+    /**
+     * Opens the cursors of the partitions of a query concurrently.
+     *
+     * @param collectionName The collection scanned by the pipeline.
+     * @param pipeline The pipeline to run.
+     * @param ranges The $match filters of the partitions.
+     * @param readAhead The number of batches read ahead of the result set of the cursors.
+     * @return the cursor of each partition.
+     */
+    private List<MongoCursor<RawBsonDocument>> openPartitionCursors(
+            String collectionName,
+            List<BsonDocument> pipeline,
+            List<BsonDocument> ranges,
+            int readAhead)
+            throws SQLException {
+        // The cursors opened by the partition tasks, guarded by its own lock. Once abandoned, a
+        // task closes the cursor it opens, so that no server cursor outlives a failed open.
+        List<MongoCursor<RawBsonDocument>> opened = new ArrayList<>(ranges.size());
+        AtomicBoolean abandoned = new AtomicBoolean();
+        List<Future<MongoCursor<RawBsonDocument>>> futures = new ArrayList<>(ranges.size());
+        for (BsonDocument range : ranges) {
+            MongoIterable<RawBsonDocument> iterable =
+                    withBatchSize(
+                            aggregate(collectionName, PartitionedScan.restrict(pipeline, range)));
+            futures.add(
+                    MongoConnection.getSharedExecutor()
+                            .submit(
+                                    () -> {
+                                        MongoCursor<RawBsonDocument> cursor = iterable.cursor();
+                                        synchronized (opened) {
+                                            if (abandoned.get()) {
+                                                cursor.close();
+                                            } else {
+                                                opened.add(cursor);
+                                            }
+                                        }
+                                        return cursor;
+                                    }));
+        }
+
+        List<MongoCursor<RawBsonDocument>> cursors = new ArrayList<>(ranges.size());
+        try {
+            for (Future<MongoCursor<RawBsonDocument>> future : futures) {
+                cursors.add(adaptFetchSize(future.get(), readAhead));
+            }
+            return cursors;
+        } catch (InterruptedException | ExecutionException e) {
+            synchronized (opened) {
+                abandoned.set(true);
+                for (MongoCursor<RawBsonDocument> cursor : opened) {
+                    cursor.close();
+                }
+            }
+            // The tasks which did not start are cancelled, the running ones close their cursor.
+            for (Future<MongoCursor<RawBsonDocument>> future : futures) {
+                future.cancel(false);
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while opening the partition cursors", e);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    /**
+     * Executes a query as partitions reading disjoint _id ranges of its target collection. The
+     * partitions are independent result sets, which can be read concurrently, for instance by one
+     * thread each. Their rows are in no particular order.
+     *
+     * <p>Only the queries on a direct cluster connection which neither sort, group nor limit their
+     * rows can be partitioned. For any other query, or when the collection has too few distinct
+     * _id values, a single result set holding all the rows is returned.
+     *
+     * @param sql The SQL query.
+     * @param partitions The number of partitions wanted.
+     * @return the result sets of the partitions. They are all closed when the statement is closed
+     *     or executes another query.
+     */
+    public List<ResultSet> executePartitionedQuery(String sql, int partitions)
+            throws SQLException {
+        if (partitions < 1) {
+            throw new SQLException(
+                    "Invalid number of partitions : " + partitions + ". It must be positive.");
+        }
+        ResultSet result =
+                executeQuery(
+                        sql,
+                        () -> {
+                            if (conn.getClusterType()
+                                    != MongoConnection.MongoClusterType.Enterprise) {
+                                return executeQueryForClusterType(sql);
+                            }
+                            TranslateResult translateResponse = translateDirectClusterQuery(sql);
+                            // A query limited by the max rows is not partitioned.
+                            List<BsonDocument> ranges =
+                                    partitionRanges(
+                                            translateResponse,
+                                            limit(translateResponse.pipeline, maxRows),
+                                            partitions);
+                            if (ranges.isEmpty()) {
+                                return executeTranslatedQuery(translateResponse);
+                            }
+                            for (MongoCursor<RawBsonDocument> cursor :
+                                    openPartitionCursors(
+                                            translateResponse.targetCollection,
+                                            translateResponse.pipeline,
+                                            ranges,
+                                            prefetchReadAhead())) {
+                                partitionResultSets.add(
+                                        newResultSet(translateResponse, prefetch(cursor)));
+                            }
+                            deadline.endPhase("aggregate");
+                            resultSet = partitionResultSets.get(0);
+                            return resultSet;
+                        });
+        return partitionResultSets.isEmpty()
+                ? Collections.singletonList(result)
+                : new ArrayList<>(partitionResultSets);
+    }
+
+    /** @return true if some of the partitions of the last query are still open. */
+    boolean hasOpenPartitions() throws SQLException {
+        for (MongoResultSet partition : partitionResultSets) {
+            if (!partition.isClosed()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public ResultSet executeQuery(String sql) throws SQLException {
+        return executeQuery(sql, () -> executeQueryForClusterType(sql));
+    }
+
+    /**
+     * Executes a query asynchronously on the executor of the connection.
+     *
+     * @param sql The SQL query.
+     * @return the future result set of the query.
+     * @see #executeQueryAsync(String, Executor)
+     * @see MongoConnection#setAsyncExecutor(Executor)
+     */
+    public CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+        return executeQueryAsync(sql, conn.getAsyncExecutor());
+    }
+
+    /**
+     * Executes a query asynchronously. The whole execution, from the translation of the query to
+     * the opening of its cursor, runs on the executor. The statement must not be used until the
+     * future completes, and the result set is closed as usual by the next execution or the closing
+     * of the statement.
+     *
+     * <p>Cancelling the future cancels the statement: the execution is skipped if it has not
+     * started yet, otherwise its server operations are killed.
+     *
+     * @param sql The SQL query.
+     * @param executor The executor running the execution.
+     * @return the future result set of the query.
+     */
+    public CompletableFuture<ResultSet> executeQueryAsync(String sql, Executor executor)
+            throws SQLException {
+        return executeAsync(() -> executeQuery(sql), executor);
+    }
+
+    /**
+     * Runs a query execution asynchronously.
+     *
+     * @param execution The execution, returning the result set of the query.
+     * @param executor The executor running the execution.
+     * @return the future result set of the query.
+     */
+    CompletableFuture<ResultSet> executeAsync(Callable<ResultSet> execution, Executor executor)
+            throws SQLException {
+        checkClosed();
+        Preconditions.checkNotNull(executor);
+        // Claimed by the task when it starts, or by the cancellation if it comes first.
+        AtomicBoolean started = new AtomicBoolean();
+        CompletableFuture<ResultSet> future =
+                new CompletableFuture<ResultSet>() {
+                    @Override
+                    public boolean cancel(boolean mayInterruptIfRunning) {
+                        boolean cancelled = super.cancel(mayInterruptIfRunning);
+                        // The statement is only cancelled if this execution runs, otherwise the
+                        // operations of the previous execution would be killed.
+                        if (cancelled && !started.compareAndSet(false, true)) {
+                            cancelAsyncExecution();
+                        }
+                        return cancelled;
+                    }
+                };
+        Runnable task =
+                () -> {
+                    if (!started.compareAndSet(false, true)) {
+                        // Cancelled before it started.
+                        return;
+                    }
+                    try {
+                        ResultSet result = execution.call();
+                        if (!future.complete(result)) {
+                            // Cancelled while it ran, the result set is never read.
+                            result.close();
+                        }
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(
+                    new SQLException("The asynchronous execution was rejected by the executor", e));
+        }
+        return future;
+    }
+
+    private void cancelAsyncExecution() {
+        try {
+            cancel();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Failed to cancel the statement: " + e.getMessage());
+        }
+    }
+
+    private ResultSet executeQueryForClusterType(String sql)
+            throws MongoSQLException, MongoSerializationException, SQLException {
+        if (conn.getClusterType() == MongoConnection.MongoClusterType.AtlasDataFederation) {
+            return executeAtlasDataFederationQuery(sql);
+        } else if (conn.getClusterType() == MongoConnection.MongoClusterType.Enterprise) {
+            return executeDirectClusterQuery(sql);
+        } else {
+            throw new SQLException("Unsupported cluster type: " + conn.clusterType);
+        }
+    }
+
+    /**
+     * Prepares the execution of a query without running it. On a direct cluster connection, its
+     * namespaces, catalog and translation are cached. Against Atlas Data Federation, its result set
+     * schema is cached.
+     *
+     * @param sql The SQL query.
+     */
+    void warmUp(String sql) throws SQLException {
+        executeQuery(
+                sql,
+                () -> {
+                    if (conn.getClusterType() == MongoConnection.MongoClusterType.Enterprise) {
+                        translateDirectClusterQuery(sql);
+                    } else if (conn.getClusterType()
+                            == MongoConnection.MongoClusterType.AtlasDataFederation) {
+                        ResultSchemaCache resultSchemaCache = conn.getResultSchemaCache();
+                        if (resultSchemaCache != null
+                                && resultSchemaCache.get(currentDB.getName(), sql) == null) {
+                            MongoJsonSchemaResult schemaResult =
+                                    currentDB
+                                            .withCodecRegistry(MongoDriver.REGISTRY)
+                                            .runCommand(
+                                                    constructSQLGetResultSchemaDocument(
+                                                            sql,
+                                                            deadline.remainingMillis(
+                                                                    "result schema")),
+                                                    MongoJsonSchemaResult.class);
+                            deadline.endPhase("result schema");
+                            resultSchemaCache.put(currentDB.getName(), sql, schemaResult);
+                        }
+                    } else {
+                        throw new SQLException("Unsupported cluster type: " + conn.clusterType);
+                    }
+                    return null;
+                });
+    }
+
+    /** The execution of a query, which may call into the translation library. */
+    interface QueryExecution {
+        ResultSet execute() throws MongoSQLException, MongoSerializationException, SQLException;
+    }
+
+    /**
+     * Runs a query execution, taking care of the result set and diagnostics bookkeeping and of the
+     * error mapping.
+     *
+     * @param sql The SQL query, for logging purposes.
+     * @param execution The query execution.
+     * @return the result set of the query.
+     */
+    ResultSet executeQuery(String sql, QueryExecution execution) throws SQLException {
         checkClosed();
         closeExistingResultSet();
         logger.setSqlQuery(sql);
+        logger.setTimeToFirstRow(null);
         long startTime = System.nanoTime();
+        executionStartNanos = startTime;
         logger.log(Level.INFO, StringEscapeUtils.escapeJava(sql));
+        operationComment = "mongo-jdbc-" + statementId + "-" + UUID.randomUUID();
+        cancelled = false;
+        deadline = new QueryDeadline(maxQuerySec);
         ResultSet result = null;
         try {
-            if (conn.getClusterType() == MongoConnection.MongoClusterType.AtlasDataFederation) {
-                result = executeAtlasDataFederationQuery(sql);
-            } else if (conn.getClusterType() == MongoConnection.MongoClusterType.Enterprise) {
-                result = executeDirectClusterQuery(sql);
-            } else {
-                throw new SQLException("Unsupported cluster type: " + conn.clusterType);
-            }
+            result = execution.execute();
         } catch (MongoExecutionTimeoutException e) {
             throw new SQLTimeoutException(e);
         } catch (MongoSQLException | MongoSerializationException e) {
             throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            if (cancelled) {
+                throw cancelledException(e);
+            }
+            if (isConnectionFailure(e)) {
+                throw connectionException(e);
+            }
+            throw e;
+        } finally {
+            // The phase times tell which phase used up the query timeout.
+            Map<String, Long> phaseTimes = deadline.getPhaseTimesMillis();
+            logger.setPhaseTimes(phaseTimes);
+            logger.log(Level.FINE, "Query phase times in ms: " + phaseTimes);
+        }
+        if (cancelled) {
+            // The statement was cancelled before its operations reached the server.
+            closeExistingResultSet();
+            throw cancelledException(null);
         }
         long endTime = System.nanoTime();
         logger.log(
@@ -371,6 +1073,29 @@ public class MongoStatement implements Statement {
         return fetchSize;
     }
 
+    /**
+     * Sets the size of the batches aimed at by the adaptive fetch size, overriding the
+     * fetchtargetbytes property of the connection. The adaptive fetch size is only used when no
+     * fetch size is set with {@link #setFetchSize(int)}.
+     *
+     * @param bytes The size in bytes of the batches aimed at, or 0 to let the server choose the
+     *     batch size.
+     */
+    public void setFetchTargetBytes(long bytes) throws SQLException {
+        checkClosed();
+        if (bytes < 0) {
+            throw new SQLException(
+                    "Invalid fetch target bytes: " + bytes + ". It must be >= 0.");
+        }
+        fetchTargetBytes = bytes;
+    }
+
+    /** @return the size in bytes of the batches aimed at by the adaptive fetch size, or 0. */
+    public long getFetchTargetBytes() throws SQLException {
+        checkClosed();
+        return fetchTargetBytes;
+    }
+
     @Override
     public int getResultSetConcurrency() throws SQLException {
         checkClosed();
@@ -380,7 +1105,15 @@ public class MongoStatement implements Statement {
     @Override
     public int getResultSetType() throws SQLException {
         checkClosed();
-        return ResultSet.TYPE_FORWARD_ONLY;
+        return resultSetType;
+    }
+
+    /** @return a store for the rows of a result set, or null if result sets are forward only. */
+    RowStore createRowStore() {
+        if (resultSetType != ResultSet.TYPE_SCROLL_INSENSITIVE) {
+            return null;
+        }
+        return new RowStore(conn.getScrollWindowBytes());
     }
 
     @Override
@@ -401,10 +1134,113 @@ public class MongoStatement implements Statement {
                 Thread.currentThread().getStackTrace()[1].toString());
     }
 
+    /**
+     * Cancels the current execution of the statement, from another thread. The operations of the
+     * execution still running on the server are killed, as well as its open cursors. The query
+     * execution or the result set reads then fail with the CANCELLED_SQL_STATE SQLState.
+     */
     @Override
     public void cancel() throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkClosed();
+        String comment = operationComment;
+        if (comment == null) {
+            return;
+        }
+        cancelled = true;
+        logger.log(Level.INFO, "Cancelling the operations tagged " + comment);
+        try {
+            killOperations(comment);
+        } catch (RuntimeException e) {
+            // The server may not allow listing or killing operations, the cursors are still killed.
+            logger.log(Level.WARNING, "Failed to kill the operations: " + e.getMessage());
+        }
+        try {
+            killCursors();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to kill the cursors: " + e.getMessage());
+        }
+    }
+
+    /** Kills the operations in progress tagged with the comment, including their getMores. */
+    private void killOperations(String comment) {
+        BsonString tag = new BsonString(comment);
+        BsonDocument currentOp =
+                new BsonDocument("currentOp", BSON_ONE_INT_VALUE)
+                        .append(
+                                "$or",
+                                new BsonArray(
+                                        Arrays.asList(
+                                                new BsonDocument("command.comment", tag),
+                                                new BsonDocument(
+                                                        "cursor.originatingCommand.comment",
+                                                        tag))));
+        MongoDatabase admin = conn.getDatabase("admin");
+        BsonDocument result = admin.runCommand(currentOp, BsonDocument.class);
+        for (BsonValue operation : result.getArray("inprog", new BsonArray())) {
+            BsonValue opid = operation.asDocument().get("opid");
+            if (opid != null) {
+                logger.log(Level.FINE, "Killing operation " + opid);
+                admin.runCommand(
+                        new BsonDocument("killOp", BSON_ONE_INT_VALUE).append("op", opid),
+                        BsonDocument.class);
+            }
+        }
+    }
+
+    /** Kills the cursors of the current result sets still open on the server. */
+    private void killCursors() {
+        List<MongoResultSet> resultSets = new ArrayList<>(partitionResultSets);
+        MongoResultSet current = resultSet;
+        if (current != null && !resultSets.contains(current)) {
+            resultSets.add(current);
+        }
+        BsonArray cursorIds = new BsonArray();
+        for (MongoResultSet rs : resultSets) {
+            for (ServerCursor serverCursor : rs.getServerCursors()) {
+                cursorIds.add(new BsonInt64(serverCursor.getId()));
+            }
+        }
+        MongoDatabase db = cursorDatabase;
+        if (!cursorIds.isEmpty() && db != null) {
+            logger.log(Level.FINE, "Killing cursors " + cursorIds);
+            db.runCommand(
+                    new BsonDocument("killCursors", new BsonString(cursorCollection))
+                            .append("cursors", cursorIds),
+                    BsonDocument.class);
+        }
+    }
+
+    /** @return true if the current execution of the statement was cancelled. */
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @param cause The failure caused by the cancellation, if any.
+     * @return the exception reporting the cancellation of the statement.
+     */
+    SQLException cancelledException(Throwable cause) {
+        return new SQLException("The statement was cancelled.", CANCELLED_SQL_STATE, cause);
+    }
+
+    /**
+     * @param e A failure of an operation.
+     * @return true if the server could not be reached, the connection is then unusable.
+     */
+    static boolean isConnectionFailure(Throwable e) {
+        return e instanceof MongoSocketException || e instanceof MongoTimeoutException;
+    }
+
+    /**
+     * @param cause A failure to reach the server.
+     * @return the exception reporting it with the connection exception SQLState, after which a
+     *     pool discards the connection.
+     */
+    static SQLException connectionException(Throwable cause) {
+        return new SQLException(
+                "Failed to reach the server. Root cause: " + cause.getMessage(),
+                MongoDriver.CONNECTION_ERROR_SQLSTATE,
+                cause);
     }
 
     @Override
@@ -495,12 +1331,29 @@ public class MongoStatement implements Statement {
     @Override
     public void setPoolable(boolean poolable) throws SQLException {
         checkClosed();
+        this.poolable = poolable;
     }
 
     @Override
     public boolean isPoolable() throws SQLException {
         checkClosed();
-        return false;
+        return poolable;
+    }
+
+    /**
+     * Closes the result sets of the statement and restores the settings it was created with, so
+     * that it can be reused from a statement cache.
+     */
+    void reset() throws SQLException {
+        checkClosed();
+        closeExistingResultSet();
+        closeOnCompletion = false;
+        fetchSize = 0;
+        fetchTargetBytes = conn.getFetchTargetBytes();
+        maxRows = 0;
+        maxQuerySec = 0;
+        cursorName = null;
+        currentDB = initialDB;
     }
 
     // --------------------------JDBC 4.1 -----------------------------
@@ -527,14 +1380,17 @@ public class MongoStatement implements Statement {
 
     @Override
     public void setLargeMaxRows(long max) throws SQLException {
-        throw new SQLFeatureNotSupportedException(
-                Thread.currentThread().getStackTrace()[1].toString());
+        checkClosed();
+        if (max < 0) {
+            throw new SQLException("Invalid max rows: " + max + ". Max rows must be >= 0.");
+        }
+        maxRows = max;
     }
 
     @Override
     public long getLargeMaxRows() throws SQLException {
         checkClosed();
-        return 0;
+        return maxRows;
     }
 
     @Override
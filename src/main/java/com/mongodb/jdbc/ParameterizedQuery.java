@@ -0,0 +1,310 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.bson.BsonArray;
+import org.bson.BsonDateTime;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.types.Decimal128;
+
+/**
+ * A SQL query containing '?' parameter markers.
+ *
+ * <p>The values bound to the parameters can either be inlined in the query as SQL literals, or be
+ * substituted into a pipeline translated once from a template query. In the template query, each
+ * parameter is replaced by a unique literal of the same type as its bound value, the sentinel,
+ * which is then looked for in the pipeline. Boolean and null values are always inlined since they
+ * can't have a unique value.
+ */
+class ParameterizedQuery {
+    private static final String LITERAL = "$literal";
+    private static final int INT_SENTINEL_BASE = 1_987_000_000;
+    private static final long LONG_SENTINEL_BASE = 8_987_000_000_000_000_000L;
+    private static final double DOUBLE_SENTINEL_BASE = 98765.4321;
+    // 2100-01-01T00:00:00.123Z
+    private static final long DATE_SENTINEL_BASE = 4_102_444_800_123L;
+    private static final String STRING_SENTINEL_PREFIX = "__mongodb_jdbc_param_";
+
+    private final String sql;
+    // The SQL text around the parameter markers, there is one more segment than parameters.
+    private final List<String> segments;
+    // Offsets the sentinels to make sure that they don't collide with the literals of the query.
+    private final int sentinelSalt;
+
+    ParameterizedQuery(String sql) {
+        this.sql = sql;
+        this.segments = split(sql);
+        int salt = 0;
+        while (collidesWithQuery(salt)) {
+            salt++;
+        }
+        this.sentinelSalt = salt;
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    int getParameterCount() {
+        return segments.size() - 1;
+    }
+
+    /**
+     * @param parameters The values bound to the parameters.
+     * @return the query with all the parameter values inlined as SQL literals.
+     * @throws SQLException If a value can't be written as a SQL literal.
+     */
+    String toSql(BsonValue[] parameters) throws SQLException {
+        StringBuilder sb = new StringBuilder(segments.get(0));
+        for (int i = 0; i < parameters.length; i++) {
+            sb.append(toSqlLiteral(parameters[i])).append(segments.get(i + 1));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param parameters The values bound to the parameters.
+     * @return the query with each parameter replaced by a sentinel of the type of its value, or by
+     *     the value itself for the types which can't have a sentinel. Two sets of parameter values
+     *     with the same types produce the same template query.
+     * @throws SQLException If a value can't be written as a SQL literal.
+     */
+    String toTemplateSql(BsonValue[] parameters) throws SQLException {
+        StringBuilder sb = new StringBuilder(segments.get(0));
+        for (int i = 0; i < parameters.length; i++) {
+            BsonValue sentinel = getSentinel(i, parameters[i], sentinelSalt);
+            sb.append(toSqlLiteral(sentinel != null ? sentinel : parameters[i]))
+                    .append(segments.get(i + 1));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Substitutes the values bound to the parameters to their sentinels in a pipeline translated
+     * from the template query.
+     *
+     * @param pipeline The pipeline translated from the template query.
+     * @param parameters The values bound to the parameters.
+     * @return the pipeline with the parameter values, or null if the sentinels could not all be
+     *     found as literal values in the pipeline. In this case, the values must be inlined in the
+     *     query instead.
+     */
+    List<BsonDocument> bind(List<BsonDocument> pipeline, BsonValue[] parameters) {
+        Map<BsonValue, BsonValue> substitutions = new HashMap<>();
+        for (int i = 0; i < parameters.length; i++) {
+            BsonValue sentinel = getSentinel(i, parameters[i], sentinelSalt);
+            if (sentinel != null) {
+                substitutions.put(sentinel, parameters[i]);
+            }
+        }
+        if (substitutions.isEmpty()) {
+            return pipeline;
+        }
+
+        Set<BsonValue> found = new HashSet<>();
+        List<BsonDocument> boundPipeline = new ArrayList<>(pipeline.size());
+        try {
+            for (BsonDocument stage : pipeline) {
+                boundPipeline.add(bind(stage, substitutions, found).asDocument());
+            }
+        } catch (UnboundSentinelException e) {
+            return null;
+        }
+        return (found.size() == substitutions.size()) ? boundPipeline : null;
+    }
+
+    private static BsonValue bind(
+            BsonValue value, Map<BsonValue, BsonValue> substitutions, Set<BsonValue> found)
+            throws UnboundSentinelException {
+        if (value.isDocument()) {
+            BsonDocument doc = value.asDocument();
+            if (doc.size() == 1 && doc.containsKey(LITERAL)) {
+                BsonValue substitution = substitutions.get(doc.get(LITERAL));
+                if (substitution != null) {
+                    found.add(doc.get(LITERAL));
+                    return new BsonDocument(LITERAL, substitution);
+                }
+            }
+            BsonDocument boundDoc = new BsonDocument();
+            for (Map.Entry<String, BsonValue> entry : doc.entrySet()) {
+                boundDoc.append(entry.getKey(), bind(entry.getValue(), substitutions, found));
+            }
+            return boundDoc;
+        } else if (value.isArray()) {
+            BsonArray boundArray = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                boundArray.add(bind(element, substitutions, found));
+            }
+            return boundArray;
+        } else if (substitutions.containsKey(value)) {
+            // Outside of a $literal, the value could be interpreted as a field path or a
+            // projection flag once substituted.
+            throw new UnboundSentinelException();
+        }
+        return value;
+    }
+
+    /**
+     * Writes a value as a SQL literal.
+     *
+     * @param value The value.
+     * @return the SQL literal.
+     * @throws SQLException If the value has no SQL literal representation.
+     */
+    static String toSqlLiteral(BsonValue value) throws SQLException {
+        switch (value.getBsonType()) {
+            case NULL:
+                return "NULL";
+            case BOOLEAN:
+                return value.asBoolean().getValue() ? "TRUE" : "FALSE";
+            case INT32:
+                return numericLiteral(Integer.toString(value.asInt32().getValue()));
+            case INT64:
+                return numericLiteral(Long.toString(value.asInt64().getValue()));
+            case DOUBLE:
+                double d = value.asDouble().getValue();
+                if (Double.isNaN(d) || Double.isInfinite(d)) {
+                    throw new SQLException("Unsupported parameter value: " + d);
+                }
+                return numericLiteral(Double.toString(d));
+            case DECIMAL128:
+                // Quoted, so its sign can't be read as part of the preceding token.
+                return "CAST('" + value.asDecimal128().getValue() + "' AS DECIMAL)";
+            case STRING:
+                return "'" + value.asString().getValue().replace("'", "''") + "'";
+            case DATE_TIME:
+                return "CAST('"
+                        + Instant.ofEpochMilli(value.asDateTime().getValue())
+                        + "' AS TIMESTAMP)";
+            default:
+                throw new SQLException("Unsupported parameter type: " + value.getBsonType());
+        }
+    }
+
+    /**
+     * Wraps a negative number in parentheses, otherwise its sign would form a line comment with a
+     * preceding minus, as in "a -?".
+     */
+    private static String numericLiteral(String number) {
+        return number.startsWith("-") ? "(" + number + ")" : number;
+    }
+
+    private static BsonValue getSentinel(int index, BsonValue value, int salt) {
+        int offset = index + salt * 1000;
+        switch (value.getBsonType()) {
+            case INT32:
+                return new BsonInt32(INT_SENTINEL_BASE + offset);
+            case INT64:
+                return new BsonInt64(LONG_SENTINEL_BASE + offset);
+            case DOUBLE:
+                return new BsonDouble(DOUBLE_SENTINEL_BASE + offset);
+            case DECIMAL128:
+                return new BsonDecimal128(
+                        new Decimal128(
+                                new BigDecimal(Double.toString(DOUBLE_SENTINEL_BASE))
+                                        .add(BigDecimal.valueOf(offset))));
+            case STRING:
+                return new BsonString(STRING_SENTINEL_PREFIX + offset + "__");
+            case DATE_TIME:
+                return new BsonDateTime(DATE_SENTINEL_BASE + offset);
+            default:
+                return null;
+        }
+    }
+
+    private boolean collidesWithQuery(int salt) {
+        BsonValue[] sampleValues = {
+            new BsonInt32(0),
+            new BsonInt64(0),
+            new BsonDouble(0),
+            new BsonDecimal128(Decimal128.POSITIVE_ZERO),
+            new BsonString(""),
+            new BsonDateTime(0)
+        };
+        for (int i = 0; i < getParameterCount(); i++) {
+            for (BsonValue sample : sampleValues) {
+                try {
+                    if (sql.contains(toSqlLiteral(getSentinel(i, sample, salt)))) {
+                        return true;
+                    }
+                } catch (SQLException e) {
+                    // All the sentinels have a literal representation.
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits the query around its parameter markers. Question marks inside string literals, quoted
+     * identifiers and comments are not parameter markers.
+     */
+    private static List<String> split(String sql) {
+        List<String> segments = new ArrayList<>();
+        int segmentStart = 0;
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                // Skip the quoted text. A doubled quote is an escaped quote.
+                i++;
+                while (i < sql.length()) {
+                    if (sql.charAt(i) == c) {
+                        if (i + 1 < sql.length() && sql.charAt(i + 1) == c) {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                    i++;
+                }
+            } else if (c == '-' && sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = (end < 0) ? sql.length() : end;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = (end < 0) ? sql.length() : end + 1;
+            } else if (c == '?') {
+                segments.add(sql.substring(segmentStart, i));
+                segmentStart = i + 1;
+            }
+            i++;
+        }
+        segments.add(sql.substring(segmentStart));
+        return segments;
+    }
+
+    private static class UnboundSentinelException extends Exception {
+        private static final long serialVersionUID = 1L;
+    }
+}
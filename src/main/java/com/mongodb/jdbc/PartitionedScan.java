@@ -0,0 +1,218 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+/**
+ * Splits the pipeline of a query into partitions reading disjoint _id ranges of its target
+ * collection, so that the partitions can run concurrently.
+ *
+ * <p>Only the pipelines computing each of their results from a single document of the collection
+ * can be split: their results are then the union of the results of the partitions. The pipelines
+ * sorting, grouping, limiting or adding documents are run as a whole. The order of the results of
+ * a partitioned query is not defined.
+ *
+ * <p>The ranges are computed from a sample of the _id values of the collection, so that they hold
+ * similar numbers of documents.
+ */
+final class PartitionedScan {
+    static final int SAMPLES_PER_PARTITION = 10;
+
+    // The stages which compute each of their output documents from a single input document.
+    private static final Set<String> ROW_WISE_STAGES =
+            new HashSet<>(
+                    Arrays.asList(
+                            "$match",
+                            "$project",
+                            "$addFields",
+                            "$set",
+                            "$unset",
+                            "$replaceRoot",
+                            "$replaceWith",
+                            "$unwind",
+                            "$lookup",
+                            "$redact"));
+
+    private PartitionedScan() {}
+
+    /**
+     * @return true if the results of the pipeline are the union of its results on any ranges, and
+     *     its stages can follow the $match stage of a range. The stages which must come first,
+     *     like $geoNear, $search or a $match with a $text query, are not row-wise stages or are
+     *     checked for.
+     */
+    static boolean isPartitionable(List<BsonDocument> pipeline) {
+        for (BsonDocument stage : pipeline) {
+            if (stage.size() != 1 || !ROW_WISE_STAGES.contains(stage.getFirstKey())) {
+                return false;
+            }
+            if (stage.containsKey("$match") && hasTextQuery(stage.get("$match"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return true if the filter holds a $text query, possibly nested in logical operators. */
+    private static boolean hasTextQuery(BsonValue filter) {
+        if (filter.isDocument()) {
+            for (Map.Entry<String, BsonValue> entry : filter.asDocument().entrySet()) {
+                if ("$text".equals(entry.getKey()) || hasTextQuery(entry.getValue())) {
+                    return true;
+                }
+            }
+        } else if (filter.isArray()) {
+            for (BsonValue value : filter.asArray()) {
+                if (hasTextQuery(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Samples the _id values of a collection to split it into ranges.
+     *
+     * @param collection The collection to split.
+     * @param partitions The number of ranges wanted.
+     * @param maxTimeMS The time limit of the sampling on the server, or 0 for no limit.
+     * @return the $match filters of the ranges. There are fewer ranges than partitions when the
+     *     collection has few distinct _id values, and none when it can't be split.
+     */
+    static List<BsonDocument> sampleRanges(
+            MongoCollection<?> collection, int partitions, long maxTimeMS) {
+        List<BsonDocument> sampling =
+                Arrays.asList(
+                        new BsonDocument(
+                                "$sample",
+                                new BsonDocument(
+                                        "size",
+                                        new BsonInt32(partitions * SAMPLES_PER_PARTITION))),
+                        new BsonDocument("$project", new BsonDocument("_id", new BsonInt32(1))),
+                        new BsonDocument("$sort", new BsonDocument("_id", new BsonInt32(1))));
+        List<BsonValue> samples = new ArrayList<>();
+        AggregateIterable<BsonDocument> sample = collection.aggregate(sampling, BsonDocument.class);
+        if (maxTimeMS > 0) {
+            sample = sample.maxTime(maxTimeMS, TimeUnit.MILLISECONDS);
+        }
+        for (BsonDocument document : sample) {
+            samples.add(document.get("_id"));
+        }
+        return ranges(samples, partitions);
+    }
+
+    /**
+     * Splits sorted _id samples into ranges.
+     *
+     * <p>Query operators only compare values of the same type, so the boundaries must all be of
+     * the same type. The first range also holds the documents whose _id has another type.
+     *
+     * @param samples The sampled _id values, sorted.
+     * @param partitions The number of ranges wanted.
+     * @return the $match filters of the ranges, or an empty list if the samples can't be split.
+     */
+    static List<BsonDocument> ranges(List<BsonValue> samples, int partitions) {
+        List<BsonValue> boundaries = new ArrayList<>();
+        for (int i = 1; i < partitions && !samples.isEmpty(); i++) {
+            BsonValue boundary = samples.get(i * samples.size() / partitions);
+            if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(boundary)) {
+                boundaries.add(boundary);
+            }
+        }
+        if (boundaries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        BsonValue types = typesOf(boundaries.get(0));
+        for (BsonValue boundary : boundaries) {
+            if (types == null || !types.equals(typesOf(boundary))) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<BsonDocument> ranges = new ArrayList<>();
+        ranges.add(
+                new BsonDocument(
+                        "$or",
+                        new BsonArray(
+                                Arrays.asList(
+                                        idFilter(new BsonDocument("$lt", boundaries.get(0))),
+                                        idFilter(
+                                                new BsonDocument(
+                                                        "$not",
+                                                        new BsonDocument("$type", types)))))));
+        for (int i = 0; i < boundaries.size(); i++) {
+            BsonDocument range = new BsonDocument("$gte", boundaries.get(i));
+            if (i + 1 < boundaries.size()) {
+                range.put("$lt", boundaries.get(i + 1));
+            }
+            ranges.add(idFilter(range));
+        }
+        return ranges;
+    }
+
+    /**
+     * @return the $type operand matching the types query operators compare with a value, or null
+     *     if _id ranges of this type are not supported.
+     */
+    private static BsonValue typesOf(BsonValue value) {
+        switch (value.getBsonType()) {
+            case INT32:
+            case INT64:
+            case DOUBLE:
+            case DECIMAL128:
+                return new BsonString("number");
+            case STRING:
+            case SYMBOL:
+                return new BsonArray(
+                        Arrays.asList(new BsonString("string"), new BsonString("symbol")));
+            case OBJECT_ID:
+                return new BsonString("objectId");
+            case DATE_TIME:
+                return new BsonString("date");
+            default:
+                return null;
+        }
+    }
+
+    private static BsonDocument idFilter(BsonDocument condition) {
+        return new BsonDocument("_id", condition);
+    }
+
+    /** @return the pipeline restricted to the documents of a range. */
+    static List<BsonDocument> restrict(List<BsonDocument> pipeline, BsonDocument range) {
+        List<BsonDocument> restricted = new ArrayList<>(pipeline.size() + 1);
+        restricted.add(new BsonDocument("$match", range));
+        restricted.addAll(pipeline);
+        return restricted;
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.bson.RawBsonDocument;
+
+/**
+ * MongoCursor reading the batches of another cursor ahead of the consumer, on a background thread.
+ * The getMore round trips and the decoding of the server replies into documents then overlap with
+ * the processing of the rows already fetched.
+ *
+ * <p>Up to maxBatches batches are buffered, as long as their total size stays under maxBytes. A
+ * single batch larger than the budget is still buffered so that the fetch always progresses.
+ *
+ * <p>It can also read several cursors at once, each on its own thread, to merge the partitions of
+ * a query. The batches of the cursors are then returned in the order they are fetched.
+ */
+public class PrefetchCursor implements MongoCursor<RawBsonDocument> {
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final List<MongoCursor<RawBsonDocument>> cursors;
+    private final int maxBatches;
+    private final long maxBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    // The fields below are guarded by the lock.
+    private final ArrayDeque<Batch> queue = new ArrayDeque<>();
+    private long bufferedBytes;
+    private int maxQueueDepth;
+    private int runningFetches;
+    private boolean closed;
+    private RuntimeException failure;
+
+    // The batch being read by the consumer.
+    private List<RawBsonDocument> current;
+    private int position;
+
+    private final AtomicLong fetchedBatches = new AtomicLong();
+    private final AtomicLong fetchedRows = new AtomicLong();
+    private final AtomicLong stallCount = new AtomicLong();
+    private final AtomicLong stallNanos = new AtomicLong();
+
+    /**
+     * Starts prefetching the batches of the cursor.
+     *
+     * @param cursor The cursor to read ahead. It is closed with this cursor.
+     * @param maxBatches The maximum number of batches buffered ahead of the consumer.
+     * @param maxBytes The maximum total size of the buffered batches.
+     * @param executor The executor running the background fetch.
+     */
+    public PrefetchCursor(
+            MongoCursor<RawBsonDocument> cursor,
+            int maxBatches,
+            long maxBytes,
+            ExecutorService executor) {
+        this(Collections.singletonList(cursor), maxBatches, maxBytes, executor);
+    }
+
+    /**
+     * Starts prefetching the batches of several cursors concurrently, one task per cursor.
+     *
+     * @param cursors The cursors to read ahead. They are closed with this cursor.
+     * @param maxBatches The maximum number of batches buffered ahead of the consumer.
+     * @param maxBytes The maximum total size of the buffered batches.
+     * @param executor The executor running the background fetches.
+     */
+    public PrefetchCursor(
+            List<MongoCursor<RawBsonDocument>> cursors,
+            int maxBatches,
+            long maxBytes,
+            ExecutorService executor) {
+        if (cursors.isEmpty() || maxBatches <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "The prefetch batches and bytes must be positive: "
+                            + maxBatches
+                            + ", "
+                            + maxBytes);
+        }
+        this.cursors = new ArrayList<>(cursors);
+        this.maxBatches = maxBatches;
+        this.maxBytes = maxBytes;
+        this.runningFetches = cursors.size();
+        for (MongoCursor<RawBsonDocument> cursor : this.cursors) {
+            executor.submit(() -> fetch(cursor));
+        }
+    }
+
+    /** Reads an underlying cursor, one server batch at a time, until it is exhausted. */
+    private void fetch(MongoCursor<RawBsonDocument> cursor) {
+        try {
+            List<RawBsonDocument> rows = new ArrayList<>();
+            long bytes = 0;
+            while (cursor.hasNext()) {
+                RawBsonDocument row = cursor.next();
+                rows.add(row);
+                bytes += row.getByteBuffer().remaining();
+                // A batch ends with the documents returned by the server or with the byte budget.
+                if (cursor.available() == 0 || bytes >= maxBytes) {
+                    if (!offer(new Batch(rows, bytes))) {
+                        return;
+                    }
+                    rows = new ArrayList<>();
+                    bytes = 0;
+                }
+            }
+            if (!rows.isEmpty() && !offer(new Batch(rows, bytes))) {
+                return;
+            }
+            finish(null);
+        } catch (RuntimeException e) {
+            finish(e);
+        }
+    }
+
+    private boolean offer(Batch batch) {
+        lock.lock();
+        try {
+            while (!closed
+                    && !queue.isEmpty()
+                    && (queue.size() >= maxBatches || bufferedBytes + batch.bytes > maxBytes)) {
+                notFull.await();
+            }
+            if (closed) {
+                return false;
+            }
+            queue.add(batch);
+            bufferedBytes += batch.bytes;
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+            fetchedBatches.incrementAndGet();
+            fetchedRows.addAndGet(batch.rows.size());
+            notEmpty.signal();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(new MongoInterruptedException("Interrupted while prefetching a batch", e));
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void finish(RuntimeException e) {
+        lock.lock();
+        try {
+            runningFetches--;
+            // Once closed, the failures of the fetch are the result of closing the cursor.
+            if (!closed && failure == null) {
+                failure = e;
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves to the next buffered batch.
+     *
+     * @param wait Whether to wait for a batch while the fetches are running.
+     * @return whether there is a next batch, false if none is buffered yet when not waiting.
+     */
+    private boolean nextBatch(boolean wait) {
+        lock.lock();
+        try {
+            current = null;
+            position = 0;
+            if (closed) {
+                throw new IllegalStateException("Cursor has been closed");
+            }
+            // A failure is reported once the rows fetched before it are consumed, without waiting
+            // for the other cursors.
+            if (queue.isEmpty() && runningFetches > 0 && failure == null) {
+                if (!wait) {
+                    return false;
+                }
+                long stallStart = System.nanoTime();
+                try {
+                    while (queue.isEmpty() && runningFetches > 0 && failure == null && !closed) {
+                        notEmpty.await();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MongoInterruptedException(
+                            "Interrupted while waiting for the next batch", e);
+                } finally {
+                    stallCount.incrementAndGet();
+                    stallNanos.addAndGet(System.nanoTime() - stallStart);
+                }
+            }
+            Batch batch = queue.poll();
+            if (batch == null) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return false;
+            }
+            bufferedBytes -= batch.bytes;
+            notFull.signal();
+            current = batch.rows;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return (current != null && position < current.size()) || nextBatch(true);
+    }
+
+    @Override
+    public RawBsonDocument next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.get(position++);
+    }
+
+    @Override
+    public int available() {
+        return (current != null) ? current.size() - position : 0;
+    }
+
+    @Override
+    public RawBsonDocument tryNext() {
+        // Only the batches already fetched are read, without waiting for the next one.
+        if ((current != null && position < current.size()) || nextBatch(false)) {
+            return current.get(position++);
+        }
+        return null;
+    }
+
+    /** @return the server cursor of the first underlying cursor. */
+    @Override
+    public ServerCursor getServerCursor() {
+        return cursors.get(0).getServerCursor();
+    }
+
+    /** @return the server address of the first underlying cursor. */
+    @Override
+    public ServerAddress getServerAddress() {
+        return cursors.get(0).getServerAddress();
+    }
+
+    /** @return the server cursors of the underlying cursors which are still open on the server. */
+    public List<ServerCursor> getServerCursors() {
+        List<ServerCursor> serverCursors = new ArrayList<>();
+        for (MongoCursor<RawBsonDocument> cursor : cursors) {
+            ServerCursor serverCursor = cursor.getServerCursor();
+            if (serverCursor != null) {
+                serverCursors.add(serverCursor);
+            }
+        }
+        return serverCursors;
+    }
+
+    /** Stops the background fetch, drops the buffered batches and closes the underlying cursors. */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            bufferedBytes = 0;
+            current = null;
+            notFull.signal();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        // The driver cursors support being closed while a getMore is in progress.
+        for (MongoCursor<RawBsonDocument> cursor : cursors) {
+            cursor.close();
+        }
+    }
+
+    /** @return the number of underlying cursors read concurrently. */
+    public int getCursorCount() {
+        return cursors.size();
+    }
+
+    /** @return the number of batches buffered ahead of the consumer. */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return the largest number of batches which were buffered at once. */
+    public int getMaxQueueDepth() {
+        lock.lock();
+        try {
+            return maxQueueDepth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return the total size of the buffered batches, in bytes. */
+    public long getBufferedBytes() {
+        lock.lock();
+        try {
+            return bufferedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getFetchedBatches() {
+        return fetchedBatches.get();
+    }
+
+    public long getFetchedRows() {
+        return fetchedRows.get();
+    }
+
+    /** @return how many times the consumer had to wait for a batch. */
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    /** @return the total time the consumer waited for batches, in milliseconds. */
+    public long getStallTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(stallNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "PrefetchCursor{cursors="
+                + cursors.size()
+                + ", queueDepth="
+                + getQueueDepth()
+                + ", maxQueueDepth="
+                + getMaxQueueDepth()
+                + ", bufferedBytes="
+                + getBufferedBytes()
+                + ", fetchedBatches="
+                + getFetchedBatches()
+                + ", fetchedRows="
+                + getFetchedRows()
+                + ", stalls="
+                + getStallCount()
+                + ", stallTimeMillis="
+                + getStallTimeMillis()
+                + "}";
+    }
+
+    private static class Batch {
+        private final List<RawBsonDocument> rows;
+        private final long bytes;
+
+        Batch(List<RawBsonDocument> rows, long bytes) {
+            this.rows = rows;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.sql.SQLException;
+import java.util.Properties;
+
+/** Parses and validates the numeric properties of the driver. */
+final class PropertyParser {
+    private PropertyParser() {}
+
+    /**
+     * @param options The connection properties.
+     * @param property The property to parse.
+     * @param min The minimum valid value.
+     * @param requirement The description of the valid values, for the error message.
+     * @return the value of the property, or null if it is not set.
+     * @throws SQLException if the value is not an integer of at least min.
+     */
+    static Integer parseInt(
+            Properties options, MongoDriver.MongoJDBCProperty property, int min, String requirement)
+            throws SQLException {
+        Long value = parseLong(options, property, min, Integer.MAX_VALUE, requirement);
+        return (value != null) ? value.intValue() : null;
+    }
+
+    /**
+     * @param options The connection properties.
+     * @param property The property to parse.
+     * @param min The minimum valid value.
+     * @param max The maximum valid value.
+     * @param requirement The description of the valid values, for the error message.
+     * @return the value of the property, or null if it is not set.
+     * @throws SQLException if the value is not an integer between min and max.
+     */
+    static Long parseLong(
+            Properties options,
+            MongoDriver.MongoJDBCProperty property,
+            long min,
+            long max,
+            String requirement)
+            throws SQLException {
+        String value = options.getProperty(property.getPropertyName());
+        if (value == null) {
+            return null;
+        }
+        long number;
+        try {
+            number = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            number = min - 1;
+        }
+        if (number < min || number > max) {
+            throw new SQLException(
+                    "Invalid "
+                            + property.getPropertyName()
+                            + " property value : "
+                            + value
+                            + ". It must be "
+                            + requirement
+                            + ".");
+        }
+        return number;
+    }
+
+    /** @return the value of the property, or defaultValue if it is not set. */
+    static int getInt(
+            Properties options,
+            MongoDriver.MongoJDBCProperty property,
+            int min,
+            int defaultValue,
+            String requirement)
+            throws SQLException {
+        Integer value = parseInt(options, property, min, requirement);
+        return (value != null) ? value : defaultValue;
+    }
+
+    /** @return the value of the property, or defaultValue if it is not set. */
+    static long getLong(
+            Properties options,
+            MongoDriver.MongoJDBCProperty property,
+            long min,
+            long defaultValue,
+            String requirement)
+            throws SQLException {
+        Long value = parseLong(options, property, min, Long.MAX_VALUE, requirement);
+        return (value != null) ? value : defaultValue;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import com.mongodb.jdbc.mongosql.MongoSQLException;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The deadline of a query execution, set by the query timeout of its statement.
+ *
+ * <p>The execution goes through phases, one after the other: getting the namespaces of the query,
+ * fetching its schema catalog, translating it, sampling its partitions and opening its cursor. The
+ * deadline is checked before each phase, the server commands are given the remaining time as
+ * their maxTimeMS and the calls into the translation library, which can't be interrupted, are
+ * abandoned once the deadline has passed. The time spent in each phase is recorded.
+ */
+final class QueryDeadline {
+    /** A call into the translation library. */
+    interface NativeCall<T> {
+        T call() throws MongoSQLException, MongoSerializationException;
+    }
+
+    private final int timeoutSeconds;
+    private final long deadlineNanos;
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private long phaseStartNanos;
+
+    /** @param timeoutSeconds The query timeout, or 0 for no timeout. */
+    QueryDeadline(int timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+        this.phaseStartNanos = System.nanoTime();
+        this.deadlineNanos = phaseStartNanos + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+    }
+
+    boolean hasTimeout() {
+        return timeoutSeconds > 0;
+    }
+
+    /**
+     * Checks that the deadline has not passed before a phase.
+     *
+     * @param phase The phase about to start.
+     * @return the time left in milliseconds, to be used as maxTimeMS, or 0 if there is no timeout.
+     * @throws SQLTimeoutException if the deadline has passed.
+     */
+    long remainingMillis(String phase) throws SQLTimeoutException {
+        if (!hasTimeout()) {
+            return 0;
+        }
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw timeoutException("before", phase);
+        }
+        // Never 0, which would mean no limit.
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+    }
+
+    /**
+     * Records the time elapsed since the end of the previous phase as the time of a phase. A phase
+     * run several times accumulates its times.
+     *
+     * @param phase The phase which just ended.
+     */
+    void endPhase(String phase) {
+        long now = System.nanoTime();
+        phaseNanos.merge(phase, now - phaseStartNanos, Long::sum);
+        phaseStartNanos = now;
+    }
+
+    /**
+     * Runs a call into the translation library as a phase. When there is a timeout, the call runs
+     * on the executor and is abandoned if it doesn't return before the deadline. It can't be
+     * interrupted, so it goes on in the background until it returns.
+     *
+     * @param phase The phase of the call.
+     * @param call The call.
+     * @param executor The executor to run the call on when there is a timeout.
+     * @return the result of the call.
+     */
+    <T> T runNative(String phase, NativeCall<T> call, ExecutorService executor)
+            throws MongoSQLException, MongoSerializationException, SQLException {
+        long remainingMillis = remainingMillis(phase);
+        try {
+            if (remainingMillis == 0) {
+                return call.call();
+            }
+            Future<T> future = executor.submit(call::call);
+            try {
+                return future.get(remainingMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw timeoutException("during", phase);
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted during " + phase, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof MongoSQLException) {
+                    throw (MongoSQLException) cause;
+                } else if (cause instanceof MongoSerializationException) {
+                    throw (MongoSerializationException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new SQLException(cause);
+            }
+        } finally {
+            endPhase(phase);
+        }
+    }
+
+    /** @return the time of each phase in milliseconds, in the order they ran. */
+    Map<String, Long> getPhaseTimesMillis() {
+        Map<String, Long> phaseTimes = new LinkedHashMap<>();
+        phaseNanos.forEach(
+                (phase, nanos) -> phaseTimes.put(phase, TimeUnit.NANOSECONDS.toMillis(nanos)));
+        return Collections.unmodifiableMap(phaseTimes);
+    }
+
+    private SQLTimeoutException timeoutException(String when, String phase) {
+        return new SQLTimeoutException(
+                "The query timeout of "
+                        + timeoutSeconds
+                        + " seconds expired "
+                        + when
+                        + " "
+                        + phase
+                        + ". Phase times in ms: "
+                        + getPhaseTimesMillis());
+    }
+
+    @Override
+    public String toString() {
+        return "QueryDeadline{timeoutSeconds="
+                + timeoutSeconds
+                + ", phaseTimesMs="
+                + getPhaseTimesMillis()
+                + "}";
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import com.mongodb.client.MongoClient;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of the sqlGetResultSchema responses of Atlas Data Federation, by database and
+ * SQL text. Data Federation does not notify schema changes, so entries expire after a TTL.
+ *
+ * <p>One cache is shared by all the connections using the same MongoClient.
+ */
+public class ResultSchemaCache {
+    private static final Map<MongoClient, ResultSchemaCache> CLIENT_CACHES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<Map.Entry<String, String>, CachedSchema> schemas;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Returns the cache associated with the given client, creating it if needed. The settings of a
+     * shared cache are set by the first connection creating it.
+     *
+     * @param client The MongoClient the cache is associated with.
+     * @param maxSize The maximum number of result schemas kept in the cache.
+     * @param ttlSeconds How long a result schema stays valid.
+     * @return the cache associated with the client.
+     */
+    public static ResultSchemaCache forClient(MongoClient client, int maxSize, long ttlSeconds) {
+        return CLIENT_CACHES.computeIfAbsent(
+                client, c -> new ResultSchemaCache(maxSize, ttlSeconds));
+    }
+
+    public ResultSchemaCache(int maxSize, long ttlSeconds) {
+        if (maxSize <= 0 || ttlSeconds <= 0) {
+            throw new IllegalArgumentException(
+                    "The cache size and TTL must be positive: " + maxSize + ", " + ttlSeconds);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.schemas =
+                new LinkedHashMap<Map.Entry<String, String>, CachedSchema>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<Map.Entry<String, String>, CachedSchema> eldest) {
+                        if (size() > ResultSchemaCache.this.maxSize) {
+                            evictionCount.incrementAndGet();
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+    }
+
+    /**
+     * Looks up a result schema and updates the hit and miss counters.
+     *
+     * @return the cached result schema or null if there is none or it expired.
+     */
+    public synchronized MongoJsonSchemaResult get(String dbName, String sql) {
+        Map.Entry<String, String> key = new AbstractMap.SimpleImmutableEntry<>(dbName, sql);
+        CachedSchema cached = schemas.get(key);
+        if (cached != null && System.nanoTime() - cached.loadedAt >= ttlNanos) {
+            schemas.remove(key);
+            cached = null;
+        }
+        if (cached == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return cached.schema;
+    }
+
+    public synchronized void put(String dbName, String sql, MongoJsonSchemaResult schema) {
+        schemas.put(
+                new AbstractMap.SimpleImmutableEntry<>(dbName, sql),
+                new CachedSchema(schema, System.nanoTime()));
+    }
+
+    public synchronized void clear() {
+        schemas.clear();
+    }
+
+    public synchronized int size() {
+        return schemas.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultSchemaCache{size="
+                + size()
+                + ", maxSize="
+                + maxSize
+                + ", hits="
+                + getHitCount()
+                + ", misses="
+                + getMissCount()
+                + ", evictions="
+                + getEvictionCount()
+                + "}";
+    }
+
+    private static class CachedSchema {
+        private final MongoJsonSchemaResult schema;
+        private final long loadedAt;
+
+        CachedSchema(MongoJsonSchemaResult schema, long loadedAt) {
+            this.schema = schema;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.Arrays;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+/**
+ * The rows of a scrollable result set, in the order they were read from the cursor.
+ *
+ * <p>The most recent rows are kept on heap, as long as their total size stays under the window
+ * size. Older rows are spilled to a temporary file, through a write buffer, and are found again
+ * through an index of their offsets. A spilled row is read back from the file each time it is
+ * read. The file is not memory-mapped, so its disk space is released as soon as the store is
+ * closed. The heap used by the store is then bounded by the window size, the write buffer and the
+ * index, which takes 8 bytes per spilled row.
+ */
+final class RowStore {
+    static final long DEFAULT_WINDOW_BYTES = 16L * 1024 * 1024;
+    static final int DEFAULT_WRITE_BUFFER_SIZE = 256 * 1024;
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private final long windowBytes;
+    private final int writeBufferSize;
+
+    // The rows on heap, which are the last rows added, in a circular buffer.
+    private RawBsonDocument[] window = new RawBsonDocument[16];
+    private int windowStart;
+    private int windowCount;
+    private long windowSize;
+
+    // The offset of each spilled row in the spill file. The rows before spilledRows are all
+    // spilled.
+    private long[] offsets = new long[1024];
+    private int spilledRows;
+    private long spilledBytes;
+    // The spilled rows not written to the file yet, which start at fileSize.
+    private ByteBuffer writeBuffer;
+    private FileChannel file;
+    private long fileSize;
+
+    /** @param windowBytes The maximum total size of the rows kept on heap. */
+    RowStore(long windowBytes) {
+        this(windowBytes, DEFAULT_WRITE_BUFFER_SIZE);
+    }
+
+    RowStore(long windowBytes, int writeBufferSize) {
+        this.windowBytes = windowBytes;
+        this.writeBufferSize = writeBufferSize;
+    }
+
+    /** @return the number of rows in the store. */
+    int size() {
+        return spilledRows + windowCount;
+    }
+
+    /** Adds a row at the end of the store, spilling the oldest rows on heap if needed. */
+    void add(BsonDocument row) throws SQLException {
+        RawBsonDocument raw =
+                (row instanceof RawBsonDocument)
+                        ? (RawBsonDocument) row
+                        : new RawBsonDocument(row, CODEC);
+        int size = raw.getByteBuffer().remaining();
+        while (windowCount > 0 && windowSize + size > windowBytes) {
+            spillOldest();
+        }
+        if (windowCount == window.length) {
+            RawBsonDocument[] grown = new RawBsonDocument[window.length * 2];
+            for (int i = 0; i < windowCount; i++) {
+                grown[i] = window[(windowStart + i) % window.length];
+            }
+            window = grown;
+            windowStart = 0;
+        }
+        window[(windowStart + windowCount) % window.length] = raw;
+        windowCount++;
+        windowSize += size;
+    }
+
+    /**
+     * @param row The 0-based number of the row.
+     * @return the row, read from the spill file if it is no longer on heap.
+     */
+    RawBsonDocument get(int row) throws SQLException {
+        if (row >= spilledRows) {
+            return window[(windowStart + row - spilledRows) % window.length];
+        }
+        long offset = offsets[row];
+        if (offset >= fileSize) {
+            // Still in the write buffer.
+            ByteBuffer buffered = writeBuffer.duplicate();
+            buffered.order(ByteOrder.LITTLE_ENDIAN);
+            buffered.position((int) (offset - fileSize));
+            // A BSON document starts with its size.
+            byte[] bytes = new byte[buffered.getInt(buffered.position())];
+            buffered.get(bytes);
+            return new RawBsonDocument(bytes);
+        }
+        try {
+            ByteBuffer size = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(size, offset);
+            ByteBuffer bytes = ByteBuffer.allocate(size.getInt(0));
+            readFully(bytes, offset);
+            return new RawBsonDocument(bytes.array());
+        } catch (IOException e) {
+            throw new SQLException(
+                    "Failed to read the result set rows from disk. Root cause: " + e.getMessage(),
+                    e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (file.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of the spill file.");
+            }
+        }
+    }
+
+    private void spillOldest() throws SQLException {
+        RawBsonDocument row = window[windowStart];
+        window[windowStart] = null;
+        windowStart = (windowStart + 1) % window.length;
+        windowCount--;
+
+        ByteBuffer bytes = row.getByteBuffer().asNIO();
+        int size = bytes.remaining();
+        windowSize -= size;
+        if (spilledRows == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        try {
+            if (file == null) {
+                Path path = Files.createTempFile("mongo-jdbc-rows", ".tmp");
+                file =
+                        FileChannel.open(
+                                path,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE,
+                                StandardOpenOption.DELETE_ON_CLOSE);
+                writeBuffer = ByteBuffer.allocate(writeBufferSize);
+            }
+            if (writeBuffer.remaining() < size) {
+                flush();
+            }
+            if (size > writeBuffer.capacity()) {
+                // A row larger than the write buffer is written directly.
+                offsets[spilledRows] = fileSize;
+                writeFully(bytes);
+            } else {
+                offsets[spilledRows] = fileSize + writeBuffer.position();
+                writeBuffer.put(bytes);
+            }
+        } catch (IOException e) {
+            throw new SQLException(
+                    "Failed to spill the result set rows to disk. Root cause: " + e.getMessage(),
+                    e);
+        }
+        spilledRows++;
+        spilledBytes += size;
+    }
+
+    /** Writes the buffered rows to the end of the spill file. */
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        writeFully(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            fileSize += file.write(bytes, fileSize);
+        }
+    }
+
+    /** @return the number of rows spilled to disk. */
+    int getSpilledRows() {
+        return spilledRows;
+    }
+
+    /** @return the total size of the rows spilled to disk. */
+    long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    /** @return the total size of the rows kept on heap. */
+    long getWindowSize() {
+        return windowSize;
+    }
+
+    /** Drops the rows and deletes the spill file. */
+    void close() throws SQLException {
+        window = new RawBsonDocument[0];
+        windowCount = 0;
+        windowSize = 0;
+        writeBuffer = null;
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw new SQLException(
+                        "Failed to delete the result set spill file. Root cause: "
+                                + e.getMessage(),
+                        e);
+            } finally {
+                file = null;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RowStore{rows="
+                + size()
+                + ", windowSize="
+                + windowSize
+                + ", spilledRows="
+                + spilledRows
+                + ", spilledBytes="
+                + spilledBytes
+                + "}";
+    }
+}
@@ -19,11 +19,13 @@ package com.mongodb.jdbc.logging;
 import com.mongodb.jdbc.MongoJsonSchema;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.bson.BsonArray;
 import org.bson.BsonDocument;
+import org.bson.BsonInt64;
 
 public class MongoLogger {
     private static final String ENTRY_PREFIX = ">> ";
@@ -96,6 +98,14 @@ public class MongoLogger {
         this.connectionId = parentLogger.connectionId;
     }
 
+    /**
+     * @param level The log level.
+     * @return true if a message logged with the given level would be output.
+     */
+    public boolean isLoggable(Level level) {
+        return (null != logger) && logger.isLoggable(level);
+    }
+
     /**
      * Log a method entry. This is a convenience method that can be used to log entry to a method. A
      * LogRecord with message "{@literal >>} callSignature", log level FINER, and the given
@@ -253,7 +263,17 @@ public class MongoLogger {
         this.getQueryDiagnostics().setSqlQuery(sql);
     }
 
+    public void setTimeToFirstRow(Long timeToFirstRowMs) {
+        this.getQueryDiagnostics().setTimeToFirstRowMs(timeToFirstRowMs);
+    }
+
     public void setPipeline(List<BsonDocument> pipeline) {
         this.getQueryDiagnostics().setPipeline(new BsonArray(pipeline));
     }
+
+    public void setPhaseTimes(Map<String, Long> phaseTimesMs) {
+        BsonDocument phaseTimes = new BsonDocument();
+        phaseTimesMs.forEach((phase, ms) -> phaseTimes.append(phase, new BsonInt64(ms)));
+        this.getQueryDiagnostics().setPhaseTimesMs(phaseTimes);
+    }
 }
@@ -34,6 +34,8 @@ public class QueryDiagnostics {
     @BsonProperty private BsonDocument queryCatalog;
     @BsonProperty private MongoJsonSchema resultSetSchema;
     @BsonProperty private BsonArray pipeline;
+    @BsonProperty private Long timeToFirstRowMs;
+    @BsonProperty private BsonDocument phaseTimesMs;
 
     public void setSqlQuery(String sqlQuery) {
         this.sqlQuery = sqlQuery;
@@ -51,6 +53,14 @@ public class QueryDiagnostics {
         this.pipeline = pipeline;
     }
 
+    public void setTimeToFirstRowMs(Long timeToFirstRowMs) {
+        this.timeToFirstRowMs = timeToFirstRowMs;
+    }
+
+    public void setPhaseTimesMs(BsonDocument phaseTimesMs) {
+        this.phaseTimesMs = phaseTimesMs;
+    }
+
     public String getSqlQuery() {
         return sqlQuery;
     }
@@ -67,6 +77,14 @@ public class QueryDiagnostics {
         return pipeline;
     }
 
+    public Long getTimeToFirstRowMs() {
+        return timeToFirstRowMs;
+    }
+
+    public BsonDocument getPhaseTimesMs() {
+        return phaseTimesMs;
+    }
+
     @Override
     public String toString() {
         return BsonUtils.toString(CODEC, this, JSON_WRITER_NO_INDENT_SETTINGS);
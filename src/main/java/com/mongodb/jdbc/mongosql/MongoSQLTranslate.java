@@ -25,15 +25,16 @@ import com.mongodb.client.model.Field;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
 import com.mongodb.jdbc.MongoDriver;
-import com.mongodb.jdbc.MongoJsonSchema;
 import com.mongodb.jdbc.MongoJsonSchemaResult;
 import com.mongodb.jdbc.MongoSerializationException;
 import com.mongodb.jdbc.logging.AutoLoggable;
 import com.mongodb.jdbc.logging.MongoLogger;
 import com.mongodb.jdbc.utils.BsonUtils;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import org.bson.*;
@@ -198,22 +199,136 @@ public class MongoSQLTranslate {
             String dbName,
             List<GetNamespacesResult.Namespace> collections)
             throws MongoSQLException {
+        return buildCatalogDocument(mongoDatabase, dbName, collections, null);
+    }
+
+    /**
+     * Builds a catalog document containing the schema information for the specified collections,
+     * only fetching from the server the schemas which are not in the cache.
+     *
+     * @param collections The list of collections to retrieve the schemas for.
+     * @param dbName The name of the database where the collections must be.
+     * @param mongoDatabase The current database for this connection.
+     * @param schemaCache The schema cache to use, or null to always fetch the schemas.
+     * @return the schema catalog for all the specified collections. The catalog document format is
+     *     : { "dbName": { "collection1" : "Schema1", "collection2" : "Schema2", ... }}
+     */
+    public BsonDocument buildCatalogDocument(
+            MongoDatabase mongoDatabase,
+            String dbName,
+            List<GetNamespacesResult.Namespace> collections,
+            SchemaCatalogCache schemaCache)
+            throws MongoSQLException {
+        return buildCatalogDocument(mongoDatabase, dbName, collections, schemaCache, 0);
+    }
+
+    /**
+     * Builds a catalog document containing the schema information for the specified collections,
+     * only fetching from the server the schemas which are not in the cache.
+     *
+     * @param collections The list of collections to retrieve the schemas for.
+     * @param dbName The name of the database where the collections must be.
+     * @param mongoDatabase The current database for this connection.
+     * @param schemaCache The schema cache to use, or null to always fetch the schemas.
+     * @param maxTimeMS The time limit of the schemas fetch on the server, or 0 for no limit.
+     * @return the schema catalog for all the specified collections. The catalog document format is
+     *     : { "dbName": { "collection1" : "Schema1", "collection2" : "Schema2", ... }}
+     */
+    public BsonDocument buildCatalogDocument(
+            MongoDatabase mongoDatabase,
+            String dbName,
+            List<GetNamespacesResult.Namespace> collections,
+            SchemaCatalogCache schemaCache,
+            long maxTimeMS)
+            throws MongoSQLException {
 
         // There is no collection tied to the query
         // For example "SELECT 1"
         if (collections == null || collections.isEmpty()) {
-            MongoJsonSchema emptyObjectSchema = MongoJsonSchema.createEmptyObjectSchema();
             // Create a catalog with an empty collection name and an empty schema
             // {"test": {"": {}}}
             return new BsonDocument(dbName, new BsonDocument("", new BsonDocument()));
         }
 
+        List<String> collectionNames =
+                collections
+                        .stream()
+                        .map(ns -> ns.collection)
+                        .distinct()
+                        .collect(Collectors.toList());
+
+        Map<String, BsonValue> schemas =
+                (schemaCache != null)
+                        ? schemaCache.getSchemas(mongoDatabase, collectionNames)
+                        : new LinkedHashMap<>();
+        List<String> uncachedCollections =
+                collectionNames
+                        .stream()
+                        .filter(c -> !schemas.containsKey(c))
+                        .collect(Collectors.toList());
+        if (schemaCache != null) {
+            logger.log(
+                    Level.FINE,
+                    "Schemas found in cache: "
+                            + schemas.keySet()
+                            + ", to fetch: "
+                            + uncachedCollections
+                            + ". "
+                            + schemaCache);
+        }
+
+        if (!uncachedCollections.isEmpty()) {
+            long cacheVersion = (schemaCache != null) ? schemaCache.getVersion(mongoDatabase) : 0;
+            BsonDocument fetchedSchemas =
+                    fetchSchemas(mongoDatabase, dbName, uncachedCollections, maxTimeMS);
+            if (schemaCache != null) {
+                schemaCache.putSchemas(mongoDatabase, cacheVersion, fetchedSchemas);
+            }
+            schemas.putAll(fetchedSchemas);
+        }
+
+        if (schemas.isEmpty()) {
+            logger.log(
+                    Level.SEVERE,
+                    "No schema information found for any of the requested collections. Will use empty schemas. Hint: Generate schemas for your collections.");
+            for (String collectionName : collectionNames) {
+                schemas.put(collectionName, new BsonDocument());
+            }
+        }
+
+        // Check that all expected collections are present in the result
+        List<String> missingCollections =
+                collectionNames
+                        .stream()
+                        .filter(c -> !schemas.containsKey(c))
+                        .collect(Collectors.toList());
+
+        if (!missingCollections.isEmpty()) {
+            throw new MongoSQLException(
+                    "Could not retrieve schema for collections: " + missingCollections);
+        }
+
+        BsonDocument catalogSchemas = new BsonDocument();
+        for (String collectionName : collectionNames) {
+            catalogSchemas.append(collectionName, schemas.get(collectionName));
+        }
+        return new BsonDocument(dbName, catalogSchemas);
+    }
+
+    /**
+     * Fetches the schemas of the specified collections from the __sql_schemas collection.
+     *
+     * @return the schemas found, by collection name. Collections without a schema are absent.
+     */
+    private BsonDocument fetchSchemas(
+            MongoDatabase mongoDatabase,
+            String dbName,
+            List<String> collectionNames,
+            long maxTimeMS)
+            throws MongoSQLException {
         // Create an aggregation pipeline to fetch the schema information for the specified collections.
         // The pipeline uses $in to query all the specified collections and projects them into the desired format:
         // "dbName": { "collection1" : "Schema1", "collection2" : "Schema2", ... }
-        List<String> collectionNames =
-                collections.stream().map(ns -> ns.collection).collect(Collectors.toList());
-
         // Filter documents where _id is in the list of collection names
         Bson matchStage =
                 Aggregates.match(
@@ -272,6 +387,9 @@ public class MongoSQLTranslate {
         MongoCollection<BsonDocument> collection =
                 mongoDatabase.getCollection(SQL_SCHEMAS_COLLECTION, BsonDocument.class);
         AggregateIterable<BsonDocument> result = collection.aggregate(pipeline);
+        if (maxTimeMS > 0) {
+            result = result.maxTime(maxTimeMS, TimeUnit.MILLISECONDS);
+        }
 
         BsonDocument catalog = null;
         boolean foundResult = false;
@@ -284,33 +402,8 @@ public class MongoSQLTranslate {
             catalog = doc;
             foundResult = true;
         }
-        if (!foundResult) {
-            logger.log(
-                    Level.SEVERE,
-                    "No schema information found for any of the requested collections. Will use empty schemas. Hint: Generate schemas for your collections.");
-            BsonDocument schemas = new BsonDocument();
-            for (String collectionName : collectionNames) {
-                schemas.append(collectionName, new BsonDocument());
-            }
-            catalog = new BsonDocument(dbName, schemas);
-        }
-
-        // Check that all expected collections are present in the result
-        BsonDocument resultCollections = catalog.getDocument(dbName);
-        List<String> returnedCollections = new ArrayList<>(resultCollections.keySet());
-        List<String> missingCollections =
-                collections
-                        .stream()
-                        .map(ns -> ns.collection)
-                        .filter(c -> !returnedCollections.contains(c))
-                        .collect(Collectors.toList());
-
-        if (!missingCollections.isEmpty()) {
-            throw new MongoSQLException(
-                    "Could not retrieve schema for collections: " + missingCollections);
-        }
 
-        return catalog;
+        return foundResult ? catalog.getDocument(dbName) : new BsonDocument();
     }
 
     /**
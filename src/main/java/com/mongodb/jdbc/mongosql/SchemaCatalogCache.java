@@ -0,0 +1,312 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc.mongosql;
+
+import static com.mongodb.jdbc.mongosql.MongoSQLTranslate.SQL_SCHEMAS_COLLECTION;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Cache of the collection schemas stored in the __sql_schemas collection of each database.
+ *
+ * <p>When a database is first used, a change stream is opened on its __sql_schemas collection and
+ * every change evicts the schema of the modified collection. If change streams are not available
+ * (standalone server, missing privileges, ...), cached schemas expire after the configured TTL
+ * instead.
+ *
+ * <p>One cache is shared by all the connections using the same MongoClient. The cache is only held
+ * weakly by the client registry so that the change stream watchers stop once no connection uses
+ * the cache anymore.
+ */
+public class SchemaCatalogCache {
+    public static final long DEFAULT_TTL_SECONDS = 300;
+    private static final long WATCH_MAX_AWAIT_MS = 5000;
+
+    private static final Map<MongoClient, WeakReference<SchemaCatalogCache>> CLIENT_CACHES =
+            new WeakHashMap<>();
+
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, DatabaseSchemas> databases = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * Returns the cache associated with the given client, creating it if needed. The TTL of a
+     * shared cache is set by the first connection creating it.
+     *
+     * @param client The MongoClient the cache is associated with.
+     * @param ttlSeconds How long a schema stays valid when its changes can't be watched.
+     * @return the cache associated with the client.
+     */
+    public static SchemaCatalogCache forClient(MongoClient client, long ttlSeconds) {
+        synchronized (CLIENT_CACHES) {
+            WeakReference<SchemaCatalogCache> ref = CLIENT_CACHES.get(client);
+            SchemaCatalogCache cache = (ref != null) ? ref.get() : null;
+            if (cache == null) {
+                cache = new SchemaCatalogCache(ttlSeconds);
+                CLIENT_CACHES.put(client, new WeakReference<>(cache));
+            }
+            return cache;
+        }
+    }
+
+    public SchemaCatalogCache(long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("The cache TTL must be positive: " + ttlSeconds);
+        }
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Looks up the cached schemas of the given collections and updates the hit and miss counters.
+     *
+     * @param mongoDatabase The database the collections belong to.
+     * @param collectionNames The collections to look up.
+     * @return the cached schemas, by collection name. Collections without a valid cached schema are
+     *     absent from the result.
+     */
+    public Map<String, BsonValue> getSchemas(
+            MongoDatabase mongoDatabase, Collection<String> collectionNames) {
+        DatabaseSchemas dbSchemas = getDatabaseSchemas(mongoDatabase);
+        Map<String, BsonValue> schemas = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        for (String collectionName : collectionNames) {
+            CachedSchema cached = dbSchemas.schemas.get(collectionName);
+            if (cached != null && (dbSchemas.watched || now - cached.loadedAt < ttlNanos)) {
+                schemas.put(collectionName, cached.schema);
+                hitCount.incrementAndGet();
+            } else {
+                missCount.incrementAndGet();
+            }
+        }
+        return schemas;
+    }
+
+    /**
+     * Returns a token to pass to {@link #putSchemas} after fetching the schemas from the server.
+     * It prevents caching a schema fetched before a concurrent change was notified.
+     *
+     * @param mongoDatabase The database the schemas will be fetched from.
+     * @return the current version of the database schemas.
+     */
+    public long getVersion(MongoDatabase mongoDatabase) {
+        return getDatabaseSchemas(mongoDatabase).version.get();
+    }
+
+    /**
+     * Caches the schemas fetched from the server, unless a change was notified since the given
+     * version was read.
+     *
+     * @param mongoDatabase The database the schemas were fetched from.
+     * @param version The value returned by {@link #getVersion} before fetching the schemas.
+     * @param schemas The schemas, by collection name.
+     */
+    public void putSchemas(
+            MongoDatabase mongoDatabase, long version, Map<String, BsonValue> schemas) {
+        DatabaseSchemas dbSchemas = getDatabaseSchemas(mongoDatabase);
+        long now = System.nanoTime();
+        synchronized (dbSchemas) {
+            if (dbSchemas.version.get() != version) {
+                return;
+            }
+            for (Map.Entry<String, BsonValue> schema : schemas.entrySet()) {
+                dbSchemas.schemas.put(schema.getKey(), new CachedSchema(schema.getValue(), now));
+            }
+        }
+    }
+
+    /** Evicts all the cached schemas. */
+    public void clear() {
+        for (DatabaseSchemas dbSchemas : databases.values()) {
+            dbSchemas.invalidateAll();
+        }
+    }
+
+    /**
+     * @param dbName The database name.
+     * @return true if the __sql_schemas collection of the database is watched by a change stream.
+     */
+    public boolean isWatched(String dbName) {
+        DatabaseSchemas dbSchemas = databases.get(dbName);
+        return dbSchemas != null && dbSchemas.watched;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaCatalogCache{hits="
+                + getHitCount()
+                + ", misses="
+                + getMissCount()
+                + ", invalidations="
+                + getInvalidationCount()
+                + "}";
+    }
+
+    private DatabaseSchemas getDatabaseSchemas(MongoDatabase mongoDatabase) {
+        DatabaseSchemas dbSchemas =
+                databases.computeIfAbsent(mongoDatabase.getName(), n -> new DatabaseSchemas());
+        if (!dbSchemas.watched && System.nanoTime() - dbSchemas.nextWatchAttempt >= 0) {
+            synchronized (dbSchemas) {
+                if (!dbSchemas.watched && System.nanoTime() - dbSchemas.nextWatchAttempt >= 0) {
+                    // Retry opening the change stream at most once per TTL period.
+                    dbSchemas.nextWatchAttempt = System.nanoTime() + ttlNanos;
+                    watch(mongoDatabase, dbSchemas);
+                }
+            }
+        }
+        return dbSchemas;
+    }
+
+    private void watch(MongoDatabase mongoDatabase, DatabaseSchemas dbSchemas) {
+        MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> cursor;
+        try {
+            // The cursor is opened synchronously so that no change happening after this point
+            // can be missed.
+            cursor =
+                    mongoDatabase
+                            .getCollection(SQL_SCHEMAS_COLLECTION, BsonDocument.class)
+                            .watch()
+                            .maxAwaitTime(WATCH_MAX_AWAIT_MS, TimeUnit.MILLISECONDS)
+                            .cursor();
+        } catch (RuntimeException e) {
+            // Change streams are not available, rely on the TTL.
+            return;
+        }
+        if (cursor == null) {
+            return;
+        }
+        // Schemas cached before the stream was opened may be stale.
+        dbSchemas.invalidateAll();
+        dbSchemas.watched = true;
+
+        Thread watcher =
+                new Thread(
+                        new Watcher(new WeakReference<>(this), dbSchemas, cursor),
+                        "mongodb-jdbc-schema-watcher-" + mongoDatabase.getName());
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static class Watcher implements Runnable {
+        // The watcher must not keep the cache alive, otherwise it would never stop.
+        private final WeakReference<SchemaCatalogCache> cacheRef;
+        private final DatabaseSchemas dbSchemas;
+        private final MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> cursor;
+
+        Watcher(
+                WeakReference<SchemaCatalogCache> cacheRef,
+                DatabaseSchemas dbSchemas,
+                MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> cursor) {
+            this.cacheRef = cacheRef;
+            this.dbSchemas = dbSchemas;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    ChangeStreamDocument<BsonDocument> event = cursor.tryNext();
+                    SchemaCatalogCache cache = cacheRef.get();
+                    if (cache == null) {
+                        return;
+                    }
+                    if (event == null) {
+                        continue;
+                    }
+                    cache.invalidationCount.incrementAndGet();
+                    BsonDocument documentKey = event.getDocumentKey();
+                    BsonValue id = (documentKey != null) ? documentKey.get("_id") : null;
+                    if (id != null && id.isString()) {
+                        dbSchemas.invalidate(id.asString().getValue());
+                    } else {
+                        // drop, rename, invalidate, ...
+                        dbSchemas.invalidateAll();
+                    }
+                    if (event.getOperationType() == OperationType.INVALIDATE) {
+                        // The server closed the stream.
+                        return;
+                    }
+                }
+            } catch (RuntimeException e) {
+                // The stream failed or the client was closed. Fall through to the TTL mode.
+            } finally {
+                dbSchemas.watched = false;
+                dbSchemas.invalidateAll();
+                try {
+                    cursor.close();
+                } catch (RuntimeException e) {
+                    // Ignore, the cursor is already unusable.
+                }
+            }
+        }
+    }
+
+    private static class DatabaseSchemas {
+        private final ConcurrentHashMap<String, CachedSchema> schemas = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+        private volatile boolean watched = false;
+        private volatile long nextWatchAttempt = System.nanoTime();
+
+        private synchronized void invalidate(String collectionName) {
+            version.incrementAndGet();
+            schemas.remove(collectionName);
+        }
+
+        private synchronized void invalidateAll() {
+            version.incrementAndGet();
+            schemas.clear();
+        }
+    }
+
+    private static class CachedSchema {
+        private final BsonValue schema;
+        private final long loadedAt;
+
+        CachedSchema(BsonValue schema, long loadedAt) {
+            this.schema = schema;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
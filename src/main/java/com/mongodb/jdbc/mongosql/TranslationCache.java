@@ -0,0 +1,227 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc.mongosql;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.jdbc.MongoSerializationException;
+import com.mongodb.jdbc.utils.BsonUtils;
+import com.mongodb.jdbc.utils.DigestUtils;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bson.BsonDocument;
+
+/**
+ * Bounded LRU cache of translation results for the direct cluster query path.
+ *
+ * <p>Namespaces only depend on the database and the SQL text, so they are cached by (database,
+ * sql). Translations also depend on the schemas of the collections referenced by the query, so
+ * they are cached by (database, sql, catalog fingerprint). A schema change produces a new
+ * fingerprint and therefore a miss, the stale entry ages out of the LRU.
+ *
+ * <p>One cache is shared by all the connections using the same MongoClient.
+ */
+public class TranslationCache {
+    public static final int DEFAULT_MAX_SIZE = 100;
+
+    private static final Map<MongoClient, TranslationCache> CLIENT_CACHES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int maxSize;
+    private final LruMap<Key, GetNamespacesResult> namespaces;
+    private final LruMap<Key, TranslateResult> translations;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Returns the cache associated with the given client, creating it if needed. The size of a
+     * shared cache is set by the first connection creating it.
+     *
+     * @param client The MongoClient the cache is associated with.
+     * @param maxSize The maximum number of translations kept in the cache.
+     * @return the cache associated with the client.
+     */
+    public static TranslationCache forClient(MongoClient client, int maxSize) {
+        return CLIENT_CACHES.computeIfAbsent(client, c -> new TranslationCache(maxSize));
+    }
+
+    public TranslationCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The cache size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.namespaces = new LruMap<>(maxSize, null);
+        this.translations = new LruMap<>(maxSize, evictionCount);
+    }
+
+    /**
+     * Computes a fingerprint of a catalog document. Two catalogs with the same fingerprint
+     * describe the same schemas.
+     *
+     * @param catalog The catalog document.
+     * @return the hex encoded SHA-256 digest of the catalog bytes.
+     * @throws MongoSerializationException If the catalog can't be serialized.
+     */
+    public static String fingerprint(BsonDocument catalog) throws MongoSerializationException {
+        return DigestUtils.sha256Hex(BsonUtils.serialize(catalog));
+    }
+
+    public GetNamespacesResult getNamespaces(String dbName, String sql) {
+        synchronized (namespaces) {
+            return namespaces.get(new Key(dbName, sql, null));
+        }
+    }
+
+    public void putNamespaces(String dbName, String sql, GetNamespacesResult result) {
+        synchronized (namespaces) {
+            namespaces.put(new Key(dbName, sql, null), result);
+        }
+    }
+
+    /**
+     * Looks up a translation and updates the hit and miss counters.
+     *
+     * @return the cached translation or null if there is none.
+     */
+    public TranslateResult get(String dbName, String sql, String catalogFingerprint) {
+        TranslateResult result;
+        synchronized (translations) {
+            result = translations.get(new Key(dbName, sql, catalogFingerprint));
+        }
+        if (result == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return result;
+    }
+
+    public void put(
+            String dbName, String sql, String catalogFingerprint, TranslateResult result) {
+        synchronized (translations) {
+            translations.put(new Key(dbName, sql, catalogFingerprint), result);
+        }
+    }
+
+    public void clear() {
+        synchronized (namespaces) {
+            namespaces.clear();
+        }
+        synchronized (translations) {
+            translations.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (translations) {
+            return translations.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TranslationCache{size="
+                + size()
+                + ", maxSize="
+                + maxSize
+                + ", hits="
+                + getHitCount()
+                + ", misses="
+                + getMissCount()
+                + ", evictions="
+                + getEvictionCount()
+                + "}";
+    }
+
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+        private final AtomicLong evictionCount;
+
+        LruMap(int maxSize, AtomicLong evictionCount) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+            this.evictionCount = evictionCount;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > maxSize) {
+                if (evictionCount != null) {
+                    evictionCount.incrementAndGet();
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Key {
+        private final String dbName;
+        private final String sql;
+        private final String catalogFingerprint;
+        private final int hash;
+
+        Key(String dbName, String sql, String catalogFingerprint) {
+            this.dbName = dbName;
+            this.sql = sql;
+            this.catalogFingerprint = catalogFingerprint;
+            this.hash = Objects.hash(dbName, sql, catalogFingerprint);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash
+                    && Objects.equals(dbName, other.dbName)
+                    && Objects.equals(sql, other.sql)
+                    && Objects.equals(catalogFingerprint, other.catalogFingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
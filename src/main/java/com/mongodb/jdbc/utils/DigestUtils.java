@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc.utils;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/** Utility class for the digests used as cache keys. */
+public class DigestUtils {
+    private DigestUtils() {}
+
+    /**
+     * @param bytes The bytes to digest.
+     * @return the hex encoded SHA-256 digest of the bytes.
+     */
+    public static String sha256Hex(byte[] bytes) {
+        return sha256Hex(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * @param bytes The bytes to digest, from the position to the limit of the buffer.
+     * @return the hex encoded SHA-256 digest of the bytes.
+     */
+    public static String sha256Hex(ByteBuffer bytes) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(bytes);
+            byte[] digest = messageDigest.digest();
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is available on every Java platform.
+            throw new IllegalStateException(e);
+        }
+    }
+}
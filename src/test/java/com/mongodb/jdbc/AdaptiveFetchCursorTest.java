@@ -0,0 +1,210 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.internal.MongoBatchCursorAdapter;
+import com.mongodb.internal.operation.BatchCursor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFetchCursorTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static RawBsonDocument row(int i) {
+        return new RawBsonDocument(
+                new BsonDocument("i", new BsonInt32(i)), new BsonDocumentCodec());
+    }
+
+    @Test
+    void testBatchSizeGrowsTowardsTheTarget() {
+        AdaptiveFetchCursor cursor =
+                new AdaptiveFetchCursor(mock(MongoCursor.class), size -> {}, 100_000, 1_000_000);
+        // 100 rows of 100 bytes read quickly: the batch grows by MAX_GROWTH at most.
+        assertEquals(400, cursor.nextBatchSize(100, 10_000, FAST));
+        // Larger rows lead to smaller batches.
+        assertEquals(10, cursor.nextBatchSize(100, 1_000_000, FAST));
+    }
+
+    @Test
+    void testBatchSizeFollowsTheConsumer() {
+        AdaptiveFetchCursor cursor =
+                new AdaptiveFetchCursor(mock(MongoCursor.class), size -> {}, 100_000, 1_000_000);
+        // 100 rows read in 2 seconds: a batch of 1 second holds 50 rows, but never less than the
+        // first batch.
+        assertEquals(
+                AdaptiveFetchCursor.FIRST_BATCH_SIZE,
+                cursor.nextBatchSize(100, 10_000, TimeUnit.SECONDS.toNanos(2)));
+        // 100 rows read in 500 ms: a batch of 1 second holds 200 rows.
+        assertEquals(
+                200, cursor.nextBatchSize(100, 10_000, TimeUnit.MILLISECONDS.toNanos(500)));
+
+        // Read ahead by a background fetch, the consumption rate is not measured.
+        cursor =
+                new AdaptiveFetchCursor(
+                        mock(MongoCursor.class), size -> {}, 100_000, 1_000_000, false);
+        assertEquals(400, cursor.nextBatchSize(100, 10_000, TimeUnit.SECONDS.toNanos(2)));
+    }
+
+    @Test
+    void testMaxBytesIsAHardLimit() {
+        AdaptiveFetchCursor cursor =
+                new AdaptiveFetchCursor(mock(MongoCursor.class), size -> {}, 100_000, 50_000);
+        assertEquals(50, cursor.nextBatchSize(100, 100_000, FAST));
+        // Rows larger than the limit are fetched one at a time.
+        assertEquals(1, cursor.nextBatchSize(1, 100_000, FAST));
+    }
+
+    @Test
+    void testGetMoresUseTheAdaptedBatchSize() {
+        SizedCursor source = new SizedCursor(10_000);
+        int rowSize = row(0).getByteBuffer().remaining();
+        AdaptiveFetchCursor cursor =
+                new AdaptiveFetchCursor(
+                        source, source::setBatchSize, 1000L * rowSize, Long.MAX_VALUE);
+
+        int count = 0;
+        while (cursor.hasNext()) {
+            assertEquals(count++, cursor.next().getInt32("i").getValue());
+        }
+        assertEquals(10_000, count);
+        assertFalse(cursor.hasNext());
+        // The batches grow from the first batch size up to the target of 1000 rows.
+        assertEquals(AdaptiveFetchCursor.FIRST_BATCH_SIZE, (int) source.batchSizes.get(0));
+        assertEquals(400, (int) source.batchSizes.get(1));
+        assertEquals(1000, (int) source.batchSizes.get(2));
+        assertEquals(1000, cursor.getBatchSize());
+
+        cursor.close();
+        assertTrue(source.closed);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTryNextDoesNotWait() {
+        MongoCursor<RawBsonDocument> source = mock(MongoCursor.class);
+        when(source.tryNext()).thenReturn(null);
+        AdaptiveFetchCursor cursor = new AdaptiveFetchCursor(source, size -> {}, 100, 1000);
+        assertNull(cursor.tryNext());
+        verify(source, never()).hasNext();
+
+        // The batch sizes are adapted when the rows are read with tryNext.
+        SizedCursor sized = new SizedCursor(10_000);
+        int rowSize = row(0).getByteBuffer().remaining();
+        cursor =
+                new AdaptiveFetchCursor(
+                        sized, sized::setBatchSize, 1000L * rowSize, Long.MAX_VALUE);
+        int count = 0;
+        RawBsonDocument row;
+        while ((row = cursor.tryNext()) != null) {
+            assertEquals(count++, row.getInt32("i").getValue());
+        }
+        assertEquals(10_000, count);
+        assertEquals(400, (int) sized.batchSizes.get(1));
+        assertEquals(1000, cursor.getBatchSize());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchSizeIsSetOnDriverCursors() {
+        BatchCursor<RawBsonDocument> batchCursor = mock(BatchCursor.class);
+        IntConsumer setter =
+                AdaptiveFetchCursor.batchSizeSetter(new MongoBatchCursorAdapter<>(batchCursor));
+        assertNotNull(setter);
+        setter.accept(42);
+        verify(batchCursor).setBatchSize(42);
+
+        assertNull(AdaptiveFetchCursor.batchSizeSetter(new SizedCursor(0)));
+    }
+
+    /** Returns batches of the last batch size set, starting with FIRST_BATCH_SIZE. */
+    private static class SizedCursor implements MongoCursor<RawBsonDocument> {
+        private final int rows;
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private int batchSize = AdaptiveFetchCursor.FIRST_BATCH_SIZE;
+        private int next;
+        private int batchEnd;
+        private boolean closed;
+
+        SizedCursor(int rows) {
+            this.rows = rows;
+        }
+
+        void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < batchEnd) {
+                return true;
+            }
+            if (next == rows) {
+                return false;
+            }
+            batchSizes.add(batchSize);
+            batchEnd = Math.min(rows, next + batchSize);
+            return true;
+        }
+
+        @Override
+        public RawBsonDocument next() {
+            hasNext();
+            return row(next++);
+        }
+
+        @Override
+        public int available() {
+            return batchEnd - next;
+        }
+
+        @Override
+        public RawBsonDocument tryNext() {
+            return hasNext() ? next() : null;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public ServerCursor getServerCursor() {
+            return null;
+        }
+
+        @Override
+        public ServerAddress getServerAddress() {
+            return null;
+        }
+    }
+}
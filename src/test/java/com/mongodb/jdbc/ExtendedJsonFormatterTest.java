@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonBoolean;
+import org.bson.BsonDateTime;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonJavaScript;
+import org.bson.BsonMaxKey;
+import org.bson.BsonMinKey;
+import org.bson.BsonNull;
+import org.bson.BsonObjectId;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonString;
+import org.bson.BsonSymbol;
+import org.bson.BsonTimestamp;
+import org.bson.BsonUndefined;
+import org.bson.BsonValue;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class ExtendedJsonFormatterTest {
+
+    /** Formats a value with the driver's JsonWriter, nesting the scalars in a document. */
+    private static String formatWithJsonWriter(BsonValue value, boolean extended) {
+        boolean scalar =
+                value.isNumber() || value.isBoolean() || value.isString() || value.isNull();
+        BsonValue written = scalar ? new BsonDocument("v", value) : value;
+        StringWriter w = new StringWriter();
+        MongoBsonValue.CODEC.encode(
+                new NoCheckStateJsonWriter(
+                        w,
+                        extended
+                                ? ExtendedJsonFormatter.EXTENDED_SETTINGS
+                                : ExtendedJsonFormatter.RELAXED_SETTINGS),
+                written,
+                MongoBsonValue.ENCODER_CONTEXT);
+        String json = w.toString();
+        return scalar ? json.substring(6, json.length() - 1) : json;
+    }
+
+    private static void assertSameOutput(BsonValue value) {
+        for (boolean extended : new boolean[] {false, true}) {
+            assertEquals(
+                    formatWithJsonWriter(value, extended),
+                    ExtendedJsonFormatter.format(value, extended),
+                    "extended: " + extended);
+        }
+    }
+
+    private static List<BsonValue> scalars() {
+        List<BsonValue> values = new ArrayList<>();
+        for (int i : new int[] {0, -1, 42, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            values.add(new BsonInt32(i));
+        }
+        for (long l : new long[] {0L, -1L, 1L << 40, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            values.add(new BsonInt64(l));
+        }
+        for (double d :
+                new double[] {
+                    0.0,
+                    -0.0,
+                    1.0,
+                    -1.5,
+                    1e20,
+                    1e-7,
+                    Double.MIN_VALUE,
+                    Double.MAX_VALUE,
+                    Double.NaN,
+                    Double.POSITIVE_INFINITY,
+                    Double.NEGATIVE_INFINITY
+                }) {
+            values.add(new BsonDouble(d));
+        }
+        values.add(BsonBoolean.TRUE);
+        values.add(BsonBoolean.FALSE);
+        values.add(BsonNull.VALUE);
+        for (long millis :
+                new long[] {
+                    0L,
+                    -1L,
+                    1608916394000L,
+                    1608916394123L,
+                    1608916394500L,
+                    253402300799999L,
+                    253402300800000L,
+                    Long.MIN_VALUE
+                }) {
+            values.add(new BsonDateTime(millis));
+        }
+        values.add(new BsonObjectId(new ObjectId("5fe61e8a2b9e4a1f5c3d7e9b")));
+        values.add(new BsonDecimal128(Decimal128.parse("3.14159265358979323846")));
+        values.add(new BsonDecimal128(Decimal128.NaN));
+        values.add(new BsonDecimal128(Decimal128.NEGATIVE_ZERO));
+        values.add(new BsonBinary(new byte[] {1, 2, 3}));
+        values.add(new BsonRegularExpression("^a.*\"b", "i"));
+        values.add(new BsonTimestamp(1, 2));
+        values.add(new BsonMinKey());
+        values.add(new BsonMaxKey());
+        values.add(new BsonSymbol("sym"));
+        values.add(new BsonJavaScript("function() {}"));
+        values.add(new BsonString("plain"));
+        values.add(new BsonString("quote \" backslash \\ tab \t new line \n é 中  "));
+        return values;
+    }
+
+    @Test
+    void testScalars() {
+        for (BsonValue value : scalars()) {
+            assertSameOutput(value);
+        }
+    }
+
+    @Test
+    void testStringEscaping() {
+        StringBuilder chars = new StringBuilder();
+        for (char c = 0; c < Character.MAX_VALUE; c++) {
+            chars.append(c);
+            if (chars.length() == 1024) {
+                assertSameOutput(new BsonString(chars.toString()));
+                chars.setLength(0);
+            }
+        }
+        assertSameOutput(new BsonString(chars.toString()));
+    }
+
+    @Test
+    void testDocumentsAndArrays() {
+        List<BsonValue> values = scalars();
+        BsonDocument document = new BsonDocument();
+        for (int i = 0; i < values.size(); i++) {
+            document.put("field\"" + i, values.get(i));
+        }
+        BsonArray array = new BsonArray(values);
+        document.put("array", array);
+        document.put("nested", new BsonDocument("document", document.clone()));
+        document.put("empty", new BsonDocument());
+        document.put("emptyArray", new BsonArray());
+        document.put("undefined", new BsonUndefined());
+
+        assertSameOutput(document);
+        assertSameOutput(array);
+        assertSameOutput(new BsonArray(Arrays.asList(document, array)));
+    }
+}
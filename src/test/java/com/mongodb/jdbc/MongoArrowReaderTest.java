@@ -0,0 +1,227 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@MockitoSettings(strictness = Strictness.WARN)
+class MongoArrowReaderTest extends MongoMock {
+    private MongoStatement mongoStatement;
+
+    @BeforeAll
+    void initMocks() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @BeforeEach
+    void setup() throws NoSuchFieldException, SQLException {
+        resetMockObjs();
+        mongoStatement = new MongoStatement(mongoConnection, "test");
+    }
+
+    private MongoResultSet resultSet(List<BsonDocument> rows) throws SQLException {
+        return new MongoResultSet(
+                mongoStatement,
+                new BsonExplicitCursor(rows),
+                generateMongoJsonSchemaAllTypes(),
+                null,
+                false,
+                UuidRepresentation.STANDARD);
+    }
+
+    @Test
+    void testBatchesMatchTheGetters() throws Exception {
+        List<BsonDocument> rows =
+                Arrays.asList(generateRowAllTypes(), generateRowAllTypes(), generateRowAllTypes());
+        // The raw values matching their field type are copied without creating BsonValues.
+        List<BsonDocument> rawRows = new ArrayList<>();
+        for (BsonDocument row : rows) {
+            rawRows.add(new RawBsonDocument(row, new BsonDocumentCodec()));
+        }
+        MongoResultSet rowWise = resultSet(rows);
+        ResultSetMetaData metaData = rowWise.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        try (BufferAllocator allocator = new RootAllocator();
+                MongoArrowReader reader =
+                        new MongoArrowReader(resultSet(rawRows), allocator, 2)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            List<Field> fields = root.getSchema().getFields();
+            assertEquals(columnCount, fields.size());
+            for (int c = 1; c <= columnCount; c++) {
+                Field field = fields.get(c - 1);
+                assertEquals(metaData.getColumnLabel(c), field.getName());
+                assertEquals(
+                        metaData.getColumnTypeName(c),
+                        field.getMetadata().get(MongoArrowReader.BSON_TYPE_METADATA));
+            }
+
+            for (int expectedRows : new int[] {2, 1}) {
+                assertTrue(reader.loadNextBatch());
+                assertEquals(expectedRows, root.getRowCount());
+                for (int r = 0; r < expectedRows; r++) {
+                    assertTrue(rowWise.next());
+                    for (int c = 1; c <= columnCount; c++) {
+                        assertValue(rowWise, c, root.getVector(c - 1), r);
+                    }
+                }
+            }
+            // Every type of vector was written.
+            Set<Types.MinorType> types = EnumSet.noneOf(Types.MinorType.class);
+            for (FieldVector vector : root.getFieldVectors()) {
+                types.add(vector.getMinorType());
+            }
+            assertEquals(
+                    EnumSet.of(
+                            Types.MinorType.INT,
+                            Types.MinorType.BIGINT,
+                            Types.MinorType.FLOAT8,
+                            Types.MinorType.BIT,
+                            Types.MinorType.TIMESTAMPMILLITZ,
+                            Types.MinorType.VARBINARY,
+                            Types.MinorType.VARCHAR,
+                            Types.MinorType.NULL),
+                    types);
+
+            assertFalse(reader.loadNextBatch());
+            assertEquals(0, root.getRowCount());
+            assertFalse(rowWise.next());
+        }
+    }
+
+    private static void assertValue(MongoResultSet rowWise, int c, FieldVector vector, int r)
+            throws SQLException {
+        String message = rowWise.getMetaData().getColumnLabel(c);
+        Object expected;
+        Object actual = vector.isNull(r) ? null : vector.getObject(r);
+        switch (vector.getMinorType()) {
+            case INT:
+                expected = rowWise.getInt(c);
+                actual = vector.isNull(r) ? 0 : ((IntVector) vector).get(r);
+                break;
+            case BIGINT:
+                expected = rowWise.getLong(c);
+                actual = vector.isNull(r) ? 0L : ((BigIntVector) vector).get(r);
+                break;
+            case FLOAT8:
+                expected = rowWise.getDouble(c);
+                actual = vector.isNull(r) ? 0.0 : ((Float8Vector) vector).get(r);
+                break;
+            case BIT:
+                expected = rowWise.getBoolean(c);
+                actual = !vector.isNull(r) && ((BitVector) vector).get(r) == 1;
+                break;
+            case TIMESTAMPMILLITZ:
+                Timestamp timestamp = rowWise.getTimestamp(c);
+                expected = (timestamp == null) ? null : timestamp.getTime();
+                actual = vector.isNull(r) ? null : ((TimeStampMilliTZVector) vector).get(r);
+                break;
+            case VARBINARY:
+                expected = rowWise.getBytes(c);
+                actual = ((VarBinaryVector) vector).get(r);
+                assertArrayEquals((byte[]) expected, (byte[]) actual, message);
+                assertEquals(rowWise.wasNull(), vector.isNull(r), message);
+                return;
+            case VARCHAR:
+                expected = rowWise.getString(c);
+                byte[] utf8 = ((VarCharVector) vector).get(r);
+                actual = (utf8 == null) ? null : new String(utf8, StandardCharsets.UTF_8);
+                break;
+            default:
+                expected = rowWise.getObject(c);
+        }
+        assertEquals(expected, actual, message);
+        assertEquals(rowWise.wasNull(), vector.isNull(r), message);
+    }
+
+    @Test
+    void testArrowTypes() {
+        assertEquals(
+                "Int(32, true)", MongoArrowReader.toArrowType(BsonTypeInfo.BSON_INT).toString());
+        assertEquals(
+                "Int(64, true)", MongoArrowReader.toArrowType(BsonTypeInfo.BSON_LONG).toString());
+        assertEquals(
+                "Timestamp(MILLISECOND, UTC)",
+                MongoArrowReader.toArrowType(BsonTypeInfo.BSON_DATE).toString());
+        // Decimals are kept as strings to preserve their precision.
+        assertEquals("Utf8", MongoArrowReader.toArrowType(BsonTypeInfo.BSON_DECIMAL).toString());
+        assertEquals("Utf8", MongoArrowReader.toArrowType(BsonTypeInfo.BSON_OBJECT).toString());
+    }
+
+    @Test
+    void testClosingTheReaderClosesTheResultSet() throws Exception {
+        MongoResultSet rs = resultSet(Arrays.asList(generateRowAllTypes()));
+        try (BufferAllocator allocator = new RootAllocator()) {
+            assertThrows(SQLException.class, () -> new MongoArrowReader(rs, allocator, 0));
+            MongoArrowReader reader = new MongoArrowReader(rs, allocator);
+            assertEquals(MongoArrowReader.DEFAULT_BATCH_SIZE, reader.getBatchSize());
+            assertTrue(reader.loadNextBatch());
+            reader.close();
+            assertTrue(rs.isClosed());
+            // The vectors are released with the reader.
+            assertEquals(0, allocator.getAllocatedMemory());
+        }
+
+        // The failures of the result set are reported as IOExceptions.
+        MongoResultSet failing = resultSet(Arrays.asList(generateRowAllTypes()));
+        try (BufferAllocator allocator = new RootAllocator();
+                MongoArrowReader reader = new MongoArrowReader(failing, allocator)) {
+            failing.close();
+            IOException e = assertThrows(IOException.class, reader::loadNextBatch);
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+    }
+}
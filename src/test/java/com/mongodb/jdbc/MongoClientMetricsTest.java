@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MongoClientMetricsTest {
+    private static final ServerId SERVER_ID = new ServerId(new ClusterId(), new ServerAddress());
+
+    @Test
+    void testPoolMetrics() {
+        MongoClientMetrics metrics = new MongoClientMetrics();
+        ConnectionId c1 = new ConnectionId(SERVER_ID, 1, null);
+        ConnectionId c2 = new ConnectionId(SERVER_ID, 2, null);
+        metrics.connectionCreated(new ConnectionCreatedEvent(c1));
+        metrics.connectionCreated(new ConnectionCreatedEvent(c2));
+
+        // Three operations wait for a connection, two get one and one times out.
+        for (long op = 1; op <= 3; op++) {
+            metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(SERVER_ID, op));
+        }
+        assertEquals(3, metrics.getWaitQueueDepth());
+        metrics.connectionCheckedOut(
+                new ConnectionCheckedOutEvent(c1, 1, TimeUnit.MILLISECONDS.toNanos(2)));
+        metrics.connectionCheckedOut(
+                new ConnectionCheckedOutEvent(c2, 2, TimeUnit.MILLISECONDS.toNanos(6)));
+        metrics.connectionCheckOutFailed(
+                new ConnectionCheckOutFailedEvent(
+                        SERVER_ID,
+                        3,
+                        ConnectionCheckOutFailedEvent.Reason.TIMEOUT,
+                        TimeUnit.MILLISECONDS.toNanos(100)));
+
+        assertEquals(2, metrics.getConnectionCount());
+        assertEquals(2, metrics.getInUseCount());
+        assertEquals(0, metrics.getWaitQueueDepth());
+        assertEquals(3, metrics.getMaxWaitQueueDepth());
+        assertEquals(2, metrics.getCheckOutCount());
+        assertEquals(1, metrics.getCheckOutFailureCount());
+        assertEquals(4.0, metrics.getAverageCheckOutMillis(), 0.001);
+        assertEquals(6.0, metrics.getMaxCheckOutMillis(), 0.001);
+
+        metrics.connectionCheckedIn(new ConnectionCheckedInEvent(c1, 1));
+        metrics.connectionClosed(
+                new ConnectionClosedEvent(c2, ConnectionClosedEvent.Reason.POOL_CLOSED));
+        assertEquals(1, metrics.getInUseCount());
+        assertEquals(1, metrics.getConnectionCount());
+    }
+}
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.*;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.MongoCredential;
+import com.mongodb.MongoTimeoutException;
 import com.mongodb.client.internal.MongoClientImpl;
 import com.mongodb.jdbc.oidc.JdbcOidcCallback;
 import java.lang.reflect.Field;
@@ -29,6 +30,11 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.sql.Statement;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,6 +70,9 @@ class MongoConnectionTest extends MongoMock {
         when(mockConnectionProperties.getConnectionString())
                 .thenReturn(new ConnectionString(localhost));
         when(mockConnectionProperties.getDatabase()).thenReturn("test");
+        when(mockConnectionProperties.getClientTuning()).thenReturn(MongoClientTuning.DEFAULT);
+        when(mockConnectionProperties.getConnectionTuning())
+                .thenReturn(MongoConnectionTuning.DEFAULT);
     }
 
     private String getApplicationName(MongoConnection connection) {
@@ -121,6 +130,24 @@ class MongoConnectionTest extends MongoMock {
         testExceptionAfterConnectionClosed(ti::test);
     }
 
+    @Test
+    void testIsValidOnlyPings() throws Exception {
+        mongoConnection.clusterType = MongoConnection.MongoClusterType.Enterprise;
+        clearInvocations(mongoDatabase);
+        BsonDocument ping = new BsonDocument("ping", new BsonInt32(1));
+        when(mongoDatabase.runCommand(ping)).thenReturn(new Document("ok", 1.0));
+
+        assertTrue(mongoConnection.isValid(0));
+        verify(mongoDatabase).runCommand(ping);
+        // No buildInfo and no test query.
+        verify(mongoDatabase, never()).runCommand(any(Bson.class), eq(BuildInfo.class));
+        verify(mongoDatabase, never()).aggregate(any(), eq(RawBsonDocument.class));
+
+        when(mongoDatabase.runCommand(ping)).thenThrow(new MongoTimeoutException("timeout"));
+        assertFalse(mongoConnection.isValid(0));
+        assertThrows(SQLException.class, () -> mongoConnection.isValid(-1));
+    }
+
     @Test
     void testCheckConnection() {
         // When initiated
@@ -21,10 +21,10 @@ import static com.mongodb.jdbc.utils.X509AuthenticationTest.TEST_PEM_DIR;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.mongodb.AuthenticationMechanism;
-import com.mongodb.client.MongoClient;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import java.io.File;
 import java.io.IOException;
-import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -33,9 +33,10 @@ import java.sql.DriverPropertyInfo;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.logging.Level;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -774,40 +775,37 @@ class MongoDriverTest {
                 "x509Passphrase should match the provided value.");
     }
 
-    private int getClientCacheSize() throws NoSuchFieldException, IllegalAccessException {
-        Field cacheField = MongoDriver.class.getDeclaredField("mongoClientCache");
-        cacheField.setAccessible(true);
-        ConcurrentHashMap<Integer, WeakReference<MongoClient>> cache =
-                (ConcurrentHashMap<Integer, WeakReference<MongoClient>>) cacheField.get(null);
-
-        Field lockField = MongoDriver.class.getDeclaredField("mongoClientCacheLock");
-        lockField.setAccessible(true);
-        ReadWriteLock lock = (ReadWriteLock) lockField.get(null);
+    @Test
+    void testCachedClientsAreKeyedByTheX509Passphrase() throws Exception {
+        clearClientCache();
+        String dir = getClass().getClassLoader().getResource(TEST_PEM_DIR).getPath();
+        String url = basicURL + "/?authMechanism=MONGODB-X509";
+        Properties p = new Properties();
+        p.setProperty(DATABASE.getPropertyName(), "test");
+        p.setProperty(X509_PEM_PATH.getPropertyName(), dir + "/pkcs8_encrypted.pem");
+        p.setProperty("password", "pencil");
 
-        lock.readLock().lock();
+        MongoDriver d = new MongoDriver();
+        MongoConnection conn = d.getUnvalidatedConnection(url, p);
         try {
-            return cache.size();
+            // The settings of the cached client are not reused with another passphrase.
+            p.setProperty("password", "wrong");
+            assertThrows(SQLException.class, () -> d.getUnvalidatedConnection(url, p));
+            p.remove("password");
+            assertThrows(SQLException.class, () -> d.getUnvalidatedConnection(url, p));
+            assertEquals(1, getClientCacheSize());
         } finally {
-            lock.readLock().unlock();
+            conn.close();
+            clearClientCache();
         }
     }
 
-    private void clearClientCache() throws NoSuchFieldException, IllegalAccessException {
-        Field cacheField = MongoDriver.class.getDeclaredField("mongoClientCache");
-        cacheField.setAccessible(true);
-        ConcurrentHashMap<Integer, WeakReference<MongoClient>> cache =
-                (ConcurrentHashMap<Integer, WeakReference<MongoClient>>) cacheField.get(null);
-
-        Field lockField = MongoDriver.class.getDeclaredField("mongoClientCacheLock");
-        lockField.setAccessible(true);
-        ReadWriteLock lock = (ReadWriteLock) lockField.get(null);
+    private int getClientCacheSize() {
+        return MongoDriver.getClientCache().size();
+    }
 
-        lock.writeLock().lock();
-        try {
-            cache.clear();
-        } finally {
-            lock.writeLock().unlock();
-        }
+    private void clearClientCache() {
+        MongoDriver.getClientCache().clear();
     }
 
     void testDisableClientCacheAux(String value)
@@ -864,6 +862,275 @@ class MongoDriverTest {
         testNoDisableClientCacheAux("0");
     }
 
+    @Test
+    void testCachedClientStateIsReused() throws Exception {
+        MongoDriver d = new MongoDriver();
+        clearClientCache();
+        Properties p = new Properties();
+        p.setProperty(DATABASE.getPropertyName(), "test");
+
+        MongoConnection conn1 = d.getUnvalidatedConnection(basicURL, p);
+        MongoConnection conn2 = d.getUnvalidatedConnection(basicURL, p);
+        assertSame(conn1.getClientState(), conn2.getClientState());
+        assertSame(conn1.getMongoClient(), conn2.getMongoClient());
+        assertEquals(1, getClientCacheSize());
+
+        // Once a connection was validated, the next ones are established without round trip.
+        conn1.getClientState()
+                .setServerInfo(
+                        new MongoClientState.ServerInfo(
+                                MongoConnection.MongoClusterType.Enterprise, "8.0.4", 8, 0, "1.2"));
+        conn2.validateNewConnection(0);
+        assertEquals(MongoConnection.MongoClusterType.Enterprise, conn2.getClusterType());
+        assertEquals("8.0.4", conn2.getServerVersion());
+        assertEquals(8, conn2.getServerMajorVersion());
+
+        // The properties which change the client settings use other clients.
+        p.setProperty(X509_PEM_PATH.getPropertyName(), "other.pem");
+        MongoConnection conn3 = d.getUnvalidatedConnection(basicURL, p);
+        assertNotSame(conn1.getClientState(), conn3.getClientState());
+        assertEquals(2, getClientCacheSize());
+    }
+
+    @Test
+    void testIdleClientsAreEvicted() throws Exception {
+        MongoDriver d = new MongoDriver();
+        clearClientCache();
+        MongoClientCache cache = MongoDriver.getClientCache();
+        long hits = cache.getHitCount();
+        long evictions = cache.getEvictionCount();
+        Properties p = new Properties();
+        p.setProperty(DATABASE.getPropertyName(), "test");
+        p.setProperty(CLIENT_IDLE_TIMEOUT.getPropertyName(), "0");
+
+        MongoConnection conn1 = d.getUnvalidatedConnection(basicURL, p);
+        MongoConnection conn2 = d.getUnvalidatedConnection(basicURL, p);
+        assertEquals(hits + 1, cache.getHitCount());
+
+        // The client is kept while a connection uses it.
+        conn1.close();
+        conn1.close();
+        assertTrue(conn2.getClientState().isReferenced());
+        MongoConnection conn3 = d.getUnvalidatedConnection(basicURL, p);
+        assertSame(conn2.getMongoClient(), conn3.getMongoClient());
+        conn2.close();
+        conn3.close();
+        assertFalse(conn3.getClientState().isReferenced());
+
+        // Then it is evicted, and the next connection uses a new client.
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (cache.getEvictionCount() == evictions && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(evictions + 1, cache.getEvictionCount());
+        assertEquals(0, getClientCacheSize());
+        MongoConnection conn4 = d.getUnvalidatedConnection(basicURL, p);
+        assertNotSame(conn3.getMongoClient(), conn4.getMongoClient());
+        conn4.close();
+    }
+
+    @Test
+    void testConnectionsToACachedClientAreCreatedConcurrently() throws Exception {
+        MongoClientCache cache = new MongoClientCache();
+        MongoConnectionProperties properties =
+                new MongoConnectionProperties(
+                        new ConnectionString("mongodb://localhost"),
+                        "test",
+                        null,
+                        null,
+                        null,
+                        false,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null);
+        MongoClientCache.ConnectionFactory factory =
+                state ->
+                        (state != null)
+                                ? new MongoConnection(state, properties, null)
+                                : new MongoConnection(properties, null);
+        MongoConnection conn1 = cache.connect("key", 0, factory);
+
+        // A connection being created doesn't block the other connections to the same client.
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MongoConnection> slow =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return cache.connect(
+                                        "key",
+                                        0,
+                                        state -> {
+                                            creating.countDown();
+                                            release.await();
+                                            return factory.create(state);
+                                        });
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+        assertTrue(creating.await(10, TimeUnit.SECONDS));
+        // The client stays reserved while the connection is created.
+        conn1.close();
+        assertTrue(conn1.getClientState().isReferenced());
+        MongoConnection conn2 =
+                CompletableFuture.supplyAsync(
+                                () -> {
+                                    try {
+                                        return cache.connect("key", 0, factory);
+                                    } catch (Exception e) {
+                                        throw new IllegalStateException(e);
+                                    }
+                                })
+                        .get(10, TimeUnit.SECONDS);
+        assertSame(conn1.getMongoClient(), conn2.getMongoClient());
+        release.countDown();
+        MongoConnection conn3 = slow.get(10, TimeUnit.SECONDS);
+        assertSame(conn1.getMongoClient(), conn3.getMongoClient());
+
+        // A failed connection releases its reservation.
+        assertThrows(
+                SQLException.class,
+                () ->
+                        cache.connect(
+                                "key",
+                                0,
+                                state -> {
+                                    throw new SQLException("failed");
+                                }));
+        conn2.close();
+        conn3.close();
+        assertFalse(conn3.getClientState().isReferenced());
+        assertEquals(3, cache.getHitCount());
+        cache.closeAll();
+    }
+
+    @Test
+    void testClientTuningProperties() throws Exception {
+        MongoDriver d = new MongoDriver();
+        clearClientCache();
+        Properties p = new Properties();
+        p.setProperty(DATABASE.getPropertyName(), "test");
+        p.setProperty(MAX_POOL_SIZE.getPropertyName(), "50");
+        p.setProperty(MIN_POOL_SIZE.getPropertyName(), "5");
+        p.setProperty(MAX_CONNECTING.getPropertyName(), "4");
+        p.setProperty(MAX_IDLE_TIME_MS.getPropertyName(), "60000");
+        p.setProperty(SERVER_SELECTION_TIMEOUT_MS.getPropertyName(), "2000");
+        p.setProperty(LOCAL_THRESHOLD_MS.getPropertyName(), "20");
+        p.setProperty(SOCKET_RECEIVE_BUFFER_SIZE.getPropertyName(), "65536");
+        p.setProperty(SOCKET_SEND_BUFFER_SIZE.getPropertyName(), "32768");
+
+        MongoDriver.MongoConnectionConfig config = MongoDriver.getConnectionSettings(basicURL, p);
+        // The properties are applied to the client settings, not passed in the connection string.
+        assertNull(config.connectionString.getMaxConnectionPoolSize());
+
+        MongoConnection conn = d.getUnvalidatedConnection(basicURL, p);
+        MongoClientSettings settings = conn.getClientState().getSettings();
+        assertEquals(50, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(5, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(4, settings.getConnectionPoolSettings().getMaxConnecting());
+        assertEquals(
+                60000,
+                settings.getConnectionPoolSettings()
+                        .getMaxConnectionIdleTime(TimeUnit.MILLISECONDS));
+        assertEquals(
+                2000,
+                settings.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(20, settings.getClusterSettings().getLocalThreshold(TimeUnit.MILLISECONDS));
+        assertEquals(65536, settings.getSocketSettings().getReceiveBufferSize());
+        assertEquals(32768, settings.getSocketSettings().getSendBufferSize());
+        assertNotNull(conn.getClientMetrics());
+
+        // The same settings can be given in the url, and other settings use another client.
+        Properties p2 = new Properties();
+        p2.setProperty(DATABASE.getPropertyName(), "test");
+        MongoConnection conn2 = d.getUnvalidatedConnection(basicURL + "/?maxPoolSize=20", p2);
+        assertEquals(
+                20,
+                conn2.getClientState().getSettings().getConnectionPoolSettings().getMaxSize());
+        assertNotSame(conn.getMongoClient(), conn2.getMongoClient());
+        conn.close();
+        conn2.close();
+    }
+
+    @Test
+    void testInvalidClientTuningProperties() {
+        String[][] invalid = {
+            {MAX_POOL_SIZE.getPropertyName(), "-1"},
+            {MAX_POOL_SIZE.getPropertyName(), "ten"},
+            {MAX_CONNECTING.getPropertyName(), "0"},
+            {MAX_IDLE_TIME_MS.getPropertyName(), "-5"},
+            {SERVER_SELECTION_TIMEOUT_MS.getPropertyName(), "1.5"},
+            {SOCKET_RECEIVE_BUFFER_SIZE.getPropertyName(), "4294967296"},
+            // Greater than the default max pool size of 100.
+            {MIN_POOL_SIZE.getPropertyName(), "101"},
+        };
+        for (String[] property : invalid) {
+            Properties p = new Properties();
+            p.setProperty(DATABASE.getPropertyName(), "test");
+            p.setProperty(property[0], property[1]);
+            SQLException e =
+                    assertThrows(
+                            SQLException.class,
+                            () -> MongoDriver.getConnectionSettings(basicURL, p));
+            assertTrue(
+                    e.getMessage().startsWith("Invalid " + property[0] + " property value"),
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    void testInvalidClientIdleTimeout() {
+        MongoDriver d = new MongoDriver();
+        Properties p = new Properties();
+        p.setProperty(DATABASE.getPropertyName(), "test");
+        p.setProperty(CLIENT_IDLE_TIMEOUT.getPropertyName(), "-1");
+        SQLException e =
+                assertThrows(SQLException.class, () -> d.getUnvalidatedConnection(basicURL, p));
+        assertTrue(e.getMessage().contains(CLIENT_IDLE_TIMEOUT.getPropertyName()));
+    }
+
+    @Test
+    void testConnectionTuning() throws SQLException {
+        Properties p = new Properties();
+        MongoConnectionTuning defaults = MongoConnectionTuning.fromOptions(p);
+        assertEquals(
+                MongoConnectionTuning.DEFAULT.getTranslationCacheSize(),
+                defaults.getTranslationCacheSize());
+        assertEquals(PrefetchCursor.DEFAULT_MAX_BYTES, defaults.getPrefetchMaxBytes());
+        assertEquals(AdaptiveFetchCursor.DEFAULT_MAX_BYTES, defaults.getFetchMaxBytes());
+        assertFalse(defaults.getFullValidation());
+
+        p.setProperty(PREFETCH_BATCHES.getPropertyName(), " 4 ");
+        p.setProperty(FETCH_TARGET_BYTES.getPropertyName(), "1048576");
+        p.setProperty(VALIDATION_MODE.getPropertyName(), "FULL");
+        MongoConnectionTuning tuning = MongoConnectionTuning.fromOptions(p);
+        assertEquals(4, tuning.getPrefetchBatches());
+        assertEquals(1048576, tuning.getFetchTargetBytes());
+        assertTrue(tuning.getFullValidation());
+
+        for (String[] property :
+                new String[][] {
+                    {TRANSLATION_CACHE_SIZE.getPropertyName(), "-1"},
+                    {PREFETCH_MAX_BYTES.getPropertyName(), "0"},
+                    {FETCH_MAX_BYTES.getPropertyName(), "-1"},
+                    {PARALLEL_PARTITIONS.getPropertyName(), "many"},
+                    {VALIDATION_MODE.getPropertyName(), "none"}
+                }) {
+            Properties invalid = new Properties();
+            invalid.setProperty(property[0], property[1]);
+            SQLException e =
+                    assertThrows(
+                            SQLException.class, () -> MongoConnectionTuning.fromOptions(invalid));
+            assertTrue(
+                    e.getMessage().startsWith("Invalid " + property[0] + " property value"),
+                    e.getMessage());
+        }
+    }
+
     @Test
     void testNullPropValue() throws Exception {
         // Create a new Properties object.
@@ -18,6 +18,7 @@ package com.mongodb.jdbc;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 import com.mongodb.ConnectionString;
@@ -235,9 +236,14 @@ public abstract class MongoMock {
         when(mongoConnection.getDatabase(anyString())).thenReturn(mongoDatabase);
         when(mongoDatabase.withCodecRegistry(any())).thenReturn(mongoDatabase);
         when(mongoDatabase.aggregate(any(), eq(BsonDocument.class))).thenReturn(aggregateIterable);
+        // Statements read the rows as RawBsonDocuments.
+        doReturn(aggregateIterable)
+                .when(mongoDatabase)
+                .aggregate(any(), eq(RawBsonDocument.class));
         // Mock aggregateIterable
         when(aggregateIterable.batchSize(anyInt())).thenReturn(aggregateIterable);
         when(aggregateIterable.maxTime(anyLong(), any())).thenReturn(aggregateIterable);
+        when(aggregateIterable.comment(anyString())).thenReturn(aggregateIterable);
         when(aggregateIterable.cursor()).thenReturn(mongoCursor);
 
         // Mock MongoCursor
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the throughput and latency of short requests, each getting a connection, running a
+ * prepared query and closing the connection, with connections from the DriverManager and from a
+ * MongoPooledDataSource.
+ *
+ * <p>This is not a unit test, it needs a local mongod or any Enterprise cluster. Run it with the
+ * test classpath:
+ *
+ * <pre>
+ * java -cp &lt;test classpath&gt; com.mongodb.jdbc.MongoPooledDataSourceBenchmark \
+ *     uri database sql [threads] [requestsPerThread]
+ * </pre>
+ */
+public class MongoPooledDataSourceBenchmark {
+    /** Gets a connection. */
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private final String sql;
+    private final int threads;
+    private final int requestsPerThread;
+
+    MongoPooledDataSourceBenchmark(String sql, int threads, int requestsPerThread) {
+        this.sql = sql;
+        this.threads = threads;
+        this.requestsPerThread = requestsPerThread;
+    }
+
+    private long request(ConnectionSource source) throws SQLException {
+        long rows = 0;
+        try (Connection connection = source.get();
+                PreparedStatement statement = connection.prepareStatement(sql);
+                ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /** Runs the requests on all the threads and prints the requests/s and latency percentiles. */
+    private void run(String name, ConnectionSource source) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                long[] latencies = new long[requestsPerThread];
+                                for (int r = 0; r < requestsPerThread; r++) {
+                                    long requestStart = System.nanoTime();
+                                    request(source);
+                                    latencies[r] = System.nanoTime() - requestStart;
+                                }
+                                return latencies;
+                            }));
+        }
+        long[] latencies = new long[threads * requestsPerThread];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(
+                    futures.get(t).get(), 0, latencies, t * requestsPerThread, requestsPerThread);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        Arrays.sort(latencies);
+        System.out.printf(
+                "%-12s %10.0f requests/s  p50 %8.2f ms  p99 %8.2f ms%n",
+                name,
+                latencies.length / seconds,
+                latencies[latencies.length / 2] / 1e6,
+                latencies[(int) (latencies.length * 0.99)] / 1e6);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println(
+                    "Usage: MongoPooledDataSourceBenchmark uri database sql [threads]"
+                            + " [requestsPerThread]");
+            System.exit(1);
+        }
+        String uri = args[0];
+        String database = args[1];
+        int threads = (args.length > 3) ? Integer.parseInt(args[3]) : 8;
+        int requestsPerThread = (args.length > 4) ? Integer.parseInt(args[4]) : 500;
+        MongoPooledDataSourceBenchmark benchmark =
+                new MongoPooledDataSourceBenchmark(args[2], threads, requestsPerThread);
+
+        Properties properties = new Properties();
+        properties.setProperty("database", database);
+        ConnectionSource driverManager = () -> DriverManager.getConnection(uri, properties);
+
+        try (MongoPooledDataSource dataSource = new MongoPooledDataSource()) {
+            dataSource.setUrl(uri);
+            dataSource.setDatabase(database);
+            dataSource.setMaxPoolSize(threads);
+
+            System.out.println(
+                    "Threads: " + threads + ", requests per thread: " + requestsPerThread);
+            // Warm up both paths once, then measure.
+            benchmark.run("warmup", driverManager);
+            benchmark.run("warmup", dataSource::getConnection);
+            benchmark.run("driver", driverManager);
+            benchmark.run("pool", dataSource::getConnection);
+            System.out.println(dataSource);
+        }
+    }
+}
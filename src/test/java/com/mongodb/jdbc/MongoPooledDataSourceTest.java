@@ -0,0 +1,437 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.ServerAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Wrapper;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.PooledConnection;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@MockitoSettings(strictness = Strictness.WARN)
+class MongoPooledDataSourceTest extends MongoMock {
+    private static final String SQL = "select * from foo where a = ?";
+
+    /** Creates its physical connections on the mocked client. */
+    private static class TestDataSource extends MongoPooledDataSource {
+        private final AtomicInteger physicalConnections = new AtomicInteger();
+
+        @Override
+        MongoConnection connect(Properties info) throws SQLException {
+            try {
+                physicalConnections.incrementAndGet();
+                MongoConnection connection =
+                        new MongoConnection(
+                                mongoClient,
+                                new MongoConnectionProperties(
+                                        uri, database, null, null, null, false, null, null, null,
+                                        null, null, null));
+                connection.clusterType = MongoConnection.MongoClusterType.AtlasDataFederation;
+                return connection;
+            } catch (Exception e) {
+                throw new SQLException(e);
+            }
+        }
+    }
+
+    private TestDataSource dataSource;
+
+    private static <T> T physical(Wrapper logical, Class<T> iface) throws SQLException {
+        return MongoPooledConnection.unwrapPhysical(logical, iface);
+    }
+
+    @BeforeAll
+    protected void initMocks() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @BeforeEach
+    void setupTest() throws NoSuchFieldException {
+        resetMockObjs();
+        dataSource = new TestDataSource();
+        dataSource.setMaxPoolSize(2);
+    }
+
+    @Test
+    void testConnectionsAreReused() throws SQLException {
+        Connection conn1 = dataSource.getConnection();
+        MongoConnection physical = physical(conn1, MongoConnection.class);
+        assertEquals(1, dataSource.getActiveConnections());
+        conn1.close();
+        assertTrue(conn1.isClosed());
+        assertThrows(SQLException.class, conn1::createStatement);
+        assertEquals(0, dataSource.getActiveConnections());
+        assertEquals(1, dataSource.getIdleConnections());
+
+        Connection conn2 = dataSource.getConnection();
+        assertNotSame(conn1, conn2);
+        assertSame(physical, physical(conn2, MongoConnection.class));
+        assertFalse(physical.isClosed());
+        assertEquals(1, dataSource.physicalConnections.get());
+        assertEquals(2, dataSource.getRequestCount());
+
+        // Closing a logical connection twice returns it once.
+        conn1.close();
+        assertEquals(1, dataSource.getActiveConnections());
+        assertEquals(0, dataSource.getIdleConnections());
+        conn2.close();
+    }
+
+    @Test
+    void testStateIsResetOnReturn() throws SQLException {
+        Connection conn1 = dataSource.getConnection();
+        conn1.setCatalog("other");
+        Statement statement = conn1.createStatement();
+        assertSame(conn1, statement.getConnection());
+        conn1.close();
+        // The statements are closed with their connection.
+        assertTrue(statement.isClosed());
+
+        Connection conn2 = dataSource.getConnection();
+        assertEquals(database, conn2.getCatalog());
+        conn2.close();
+    }
+
+    @Test
+    void testPhysicalObjectsAreNotExposed() throws SQLException {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        Connection conn = dataSource.getConnection();
+        MongoConnection physical = physical(conn, MongoConnection.class);
+        assertSame(conn, conn.unwrap(Connection.class));
+        assertTrue(conn.isWrapperFor(Connection.class));
+        assertFalse(conn.isWrapperFor(MongoConnection.class));
+        assertThrows(SQLException.class, () -> conn.unwrap(MongoConnection.class));
+
+        PreparedStatement ps = conn.prepareStatement("select * from foo");
+        assertSame(ps, ps.unwrap(PreparedStatement.class));
+        assertThrows(SQLException.class, () -> ps.unwrap(MongoPreparedStatement.class));
+
+        // The result sets and the metadata lead back to the logical objects.
+        ResultSet rs = ps.executeQuery();
+        assertSame(ps, rs.getStatement());
+        assertSame(rs, ps.getResultSet());
+        assertSame(rs, rs.unwrap(ResultSet.class));
+        assertThrows(SQLException.class, () -> rs.unwrap(MongoResultSet.class));
+        DatabaseMetaData metaData = conn.getMetaData();
+        assertSame(conn, metaData.getConnection());
+        assertThrows(SQLException.class, () -> metaData.unwrap(MongoDatabaseMetaData.class));
+
+        Statement statement = conn.createStatement();
+        ResultSet rs2 = statement.executeQuery("select * from foo");
+        assertSame(statement, rs2.getStatement());
+        assertThrows(SQLException.class, () -> statement.unwrap(MongoStatement.class));
+
+        // Closing the connection of a result set returns the physical connection to the pool.
+        rs.getStatement().getConnection().close();
+        assertTrue(conn.isClosed());
+        assertTrue(rs.isClosed());
+        assertFalse(physical.isClosed());
+        assertEquals(1, dataSource.getIdleConnections());
+    }
+
+    @Test
+    void testPreparedStatementsAreCached() throws SQLException {
+        Connection conn = dataSource.getConnection();
+        PreparedStatement ps1 = conn.prepareStatement(SQL);
+        MongoPreparedStatement cached = physical(ps1, MongoPreparedStatement.class);
+        assertTrue(ps1.isPoolable());
+        ps1.setMaxRows(5);
+        ps1.setInt(1, 42);
+        ps1.close();
+        assertTrue(ps1.isClosed());
+        assertThrows(SQLException.class, () -> ps1.setInt(1, 1));
+        assertFalse(cached.isClosed());
+
+        PreparedStatement ps2 = conn.prepareStatement(SQL);
+        assertSame(cached, physical(ps2, MongoPreparedStatement.class));
+        // The settings and parameters of the previous use are reset.
+        assertEquals(0, ps2.getMaxRows());
+        assertThrows(SQLException.class, ps2::executeQuery);
+        assertEquals(1, dataSource.getStatementCacheHitCount());
+        assertEquals(1, dataSource.getStatementCacheMissCount());
+
+        // A statement of the same SQL in use is not shared.
+        PreparedStatement ps3 = conn.prepareStatement(SQL);
+        assertNotSame(cached, physical(ps3, MongoPreparedStatement.class));
+
+        // Non poolable statements are not cached.
+        ps3.setPoolable(false);
+        MongoPreparedStatement notCached = physical(ps3, MongoPreparedStatement.class);
+        ps3.close();
+        assertTrue(notCached.isClosed());
+
+        // The cached statements survive their connection and are closed with the pool.
+        conn.close();
+        assertFalse(cached.isClosed());
+        dataSource.close();
+        assertTrue(cached.isClosed());
+    }
+
+    @Test
+    void testPreparedStatementsAreCachedPerCatalog() throws SQLException {
+        Connection conn1 = dataSource.getConnection();
+        conn1.setCatalog("other");
+        PreparedStatement ps1 = conn1.prepareStatement(SQL);
+        MongoPreparedStatement other = physical(ps1, MongoPreparedStatement.class);
+        ps1.close();
+        conn1.close();
+
+        // The statement prepared on another catalog is not reused for the initial one.
+        Connection conn2 = dataSource.getConnection();
+        PreparedStatement ps2 = conn2.prepareStatement(SQL);
+        assertNotSame(other, physical(ps2, MongoPreparedStatement.class));
+        ps2.close();
+
+        conn2.setCatalog("other");
+        PreparedStatement ps3 = conn2.prepareStatement(SQL);
+        assertSame(other, physical(ps3, MongoPreparedStatement.class));
+        ps3.close();
+        conn2.close();
+        assertEquals(1, dataSource.getStatementCacheHitCount());
+        assertEquals(2, dataSource.getStatementCacheMissCount());
+    }
+
+    @Test
+    void testPooledConnectionsWithoutCredentials() throws SQLException {
+        PooledConnection pooled = dataSource.getPooledConnection(null, null);
+        pooled.close();
+    }
+
+    @Test
+    void testStatementCacheEvictsTheLeastRecentlyUsed() throws Exception {
+        dataSource.setStatementCacheSize(1);
+        Connection conn = dataSource.getConnection();
+        PreparedStatement ps1 = conn.prepareStatement("select * from foo");
+        MongoPreparedStatement first = physical(ps1, MongoPreparedStatement.class);
+        ps1.close();
+        PreparedStatement ps2 = conn.prepareStatement("select * from bar");
+        MongoPreparedStatement second = physical(ps2, MongoPreparedStatement.class);
+        ps2.close();
+        assertTrue(first.isClosed());
+        assertFalse(second.isClosed());
+        conn.close();
+    }
+
+    @Test
+    void testWaitForAConnection() throws Exception {
+        dataSource.setMaxWaitMillis(50);
+        Connection conn1 = dataSource.getConnection();
+        Connection conn2 = dataSource.getConnection();
+        assertThrows(SQLTimeoutException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getTimeoutCount());
+        assertTrue(dataSource.getLongestWaitMillis() >= 50);
+
+        // A waiting request gets the first connection returned.
+        dataSource.setMaxWaitMillis(10_000);
+        CompletableFuture<Connection> waiting =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return dataSource.getConnection();
+                            } catch (SQLException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+        Thread.sleep(50);
+        assertFalse(waiting.isDone());
+        MongoConnection physical = physical(conn1, MongoConnection.class);
+        conn1.close();
+        Connection conn3 = waiting.get(10, TimeUnit.SECONDS);
+        assertSame(physical, physical(conn3, MongoConnection.class));
+        assertEquals(2, dataSource.physicalConnections.get());
+
+        conn2.close();
+        conn3.close();
+        assertEquals(2, dataSource.getIdleConnections());
+        dataSource.close();
+        assertEquals(0, dataSource.getIdleConnections());
+        assertTrue(physical.isClosed());
+        assertThrows(SQLException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void testConnectionErrorsDiscardTheConnection() throws SQLException {
+        Connection conn = dataSource.getConnection();
+        MongoConnection physical = physical(conn, MongoConnection.class);
+        // The physical connection is closed under the logical connection.
+        physical.close();
+        SQLException e = assertThrows(SQLException.class, conn::createStatement);
+        assertEquals("Connection is closed.", e.getMessage());
+        conn.close();
+        assertEquals(0, dataSource.getActiveConnections());
+        assertEquals(0, dataSource.getIdleConnections());
+
+        Connection conn2 = dataSource.getConnection();
+        assertNotSame(physical, physical(conn2, MongoConnection.class));
+        conn2.close();
+    }
+
+    @Test
+    void testIdleConnectionsAreValidated() throws SQLException {
+        Connection conn1 = dataSource.getConnection();
+        MongoConnection physical = physical(conn1, MongoConnection.class);
+        conn1.close();
+
+        // The server can't be reached anymore, the idle connection is discarded.
+        when(mongoDatabase.runCommand(any(Bson.class)))
+                .thenThrow(new MongoSocketException("unreachable", new ServerAddress()));
+        Connection conn2 = dataSource.getConnection();
+        assertNotSame(physical, physical(conn2, MongoConnection.class));
+        assertTrue(physical.isClosed());
+        assertEquals(2, dataSource.physicalConnections.get());
+        conn2.close();
+
+        // Without validation, the idle connection is handed out as is.
+        dataSource.setValidationTimeoutSeconds(0);
+        Connection conn3 = dataSource.getConnection();
+        assertEquals(2, dataSource.physicalConnections.get());
+        conn3.close();
+    }
+
+    @Test
+    void testConnectionFailuresDiscardTheConnection() throws SQLException {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenThrow(new MongoSocketException("unreachable", new ServerAddress()));
+        Connection conn = dataSource.getConnection();
+        MongoConnection physical = physical(conn, MongoConnection.class);
+        Statement statement = conn.createStatement();
+        SQLException e =
+                assertThrows(SQLException.class, () -> statement.executeQuery("select * from foo"));
+        assertEquals(MongoDriver.CONNECTION_ERROR_SQLSTATE, e.getSQLState());
+        // The connection is discarded as soon as it failed.
+        assertTrue(physical.isClosed());
+        assertEquals(0, dataSource.getActiveConnections());
+        assertEquals(0, dataSource.getIdleConnections());
+        conn.close();
+        assertEquals(0, dataSource.getIdleConnections());
+    }
+
+    @Test
+    void testReadQueries() throws Exception {
+        Path file = Files.createTempFile("warmup", ".sql");
+        try {
+            Files.write(
+                    file,
+                    Arrays.asList(
+                            "-- The queries of the dashboard",
+                            "select * from foo;",
+                            "select 'a;b' as \"c;d\"",
+                            "  from bar; select * from foo where a = ?",
+                            ""),
+                    StandardCharsets.UTF_8);
+            assertEquals(
+                    Arrays.asList(
+                            "select * from foo",
+                            "select 'a;b' as \"c;d\"\n  from bar",
+                            "select * from foo where a = ?"),
+                    MongoDataSource.readQueries(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testWarmUp() throws SQLException {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        List<String> queries =
+                Arrays.asList(
+                        "select * from warm_up_foo",
+                        "select * from warm_up_bar",
+                        "select * from warm_up_foo where a = ?");
+        dataSource.setMinPoolSize(2);
+        // The query with a parameter is warmed up through its template query of each type of
+        // value which has a sentinel.
+        assertEquals(3, dataSource.warmUp(queries));
+        verify(mongoDatabase, times(8)).runCommand(any(), eq(MongoJsonSchemaResult.class));
+        assertEquals(2, dataSource.physicalConnections.get());
+        assertEquals(0, dataSource.getActiveConnections());
+        assertEquals(2, dataSource.getIdleConnections());
+        assertEquals(6, dataSource.getStatementCacheMissCount());
+
+        // The result set schemas are cached, and so are the prepared statements.
+        assertEquals(3, dataSource.warmUp(queries));
+        verify(mongoDatabase, times(8)).runCommand(any(), eq(MongoJsonSchemaResult.class));
+        assertEquals(2, dataSource.physicalConnections.get());
+        assertEquals(6, dataSource.getStatementCacheHitCount());
+
+        // The first execution of the query with a parameter uses the cached result set schema.
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement ps = conn.prepareStatement(queries.get(2))) {
+            ps.setInt(1, 42);
+            ps.executeQuery().close();
+        }
+        verify(mongoDatabase, times(8)).runCommand(any(), eq(MongoJsonSchemaResult.class));
+
+        // The other queries are warmed up even if one fails.
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenThrow(new MongoException("failed"))
+                .thenReturn(generateSchema());
+        SQLException e =
+                assertThrows(
+                        SQLException.class,
+                        () ->
+                                dataSource.warmUp(
+                                        Arrays.asList(
+                                                "select * from warm_up_fails",
+                                                "select * from warm_up_baz")));
+        assertTrue(e.getMessage().contains("warm_up_fails"));
+        verify(mongoDatabase, times(10)).runCommand(any(), eq(MongoJsonSchemaResult.class));
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.jdbc.logging.MongoLogger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+/**
+ * Measures the per-cell cost of the MongoResultSet getters over in-memory rows, so that no network
+ * or decoding of the wire protocol is included.
+ *
+ * <p>This is not a unit test, run it with the test classpath:
+ *
+ * <pre>
+ * java -cp &lt;test classpath&gt; com.mongodb.jdbc.MongoResultSetBenchmark [rows] [iterations]
+ * </pre>
+ */
+public class MongoResultSetBenchmark {
+    private static final String DATASOURCE = "foo";
+    private static final int COLUMNS_PER_TYPE = 5;
+    private static final String[] TYPES = {"int", "string", "double", "date"};
+
+    private final List<RawBsonDocument> rows = new ArrayList<>();
+    private final MongoJsonSchema schema;
+    private final MongoLogger logger = new MongoLogger(Logger.getLogger("benchmark"), 0);
+    private final String[] labels;
+    private long blackhole;
+
+    MongoResultSetBenchmark(int rowCount) {
+        MongoJsonSchema datasourceSchema = MongoJsonSchema.createEmptyObjectSchema();
+        labels = new String[TYPES.length * COLUMNS_PER_TYPE];
+        for (int t = 0; t < TYPES.length; t++) {
+            for (int c = 0; c < COLUMNS_PER_TYPE; c++) {
+                String label = TYPES[t] + c;
+                labels[t * COLUMNS_PER_TYPE + c] = label;
+                datasourceSchema.properties.put(
+                        label, MongoJsonSchema.createScalarSchema(TYPES[t]));
+                datasourceSchema.required.add(label);
+            }
+        }
+        schema = MongoJsonSchema.createEmptyObjectSchema();
+        schema.properties.put(DATASOURCE, datasourceSchema);
+        schema.required.add(DATASOURCE);
+
+        for (int r = 0; r < rowCount; r++) {
+            BsonDocument datasource = new BsonDocument();
+            for (int c = 0; c < COLUMNS_PER_TYPE; c++) {
+                datasource.put("int" + c, new BsonInt32(r + c));
+                datasource.put("string" + c, new BsonString("value-" + r + "-" + c));
+                datasource.put("double" + c, new BsonDouble(r * 1.5 + c));
+                datasource.put("date" + c, new BsonDateTime(1_700_000_000_000L + r * 1000L + c));
+            }
+            rows.add(
+                    new RawBsonDocument(
+                            new BsonDocument(DATASOURCE, datasource), new BsonDocumentCodec()));
+        }
+    }
+
+    private MongoResultSet newResultSet() throws SQLException {
+        return new MongoResultSet(logger, new ListCursor(rows), schema);
+    }
+
+    /** Reads every cell of every row and returns the time spent per cell, in nanoseconds. */
+    private double run(String name, int iterations, CellReader reader) throws SQLException {
+        long cells = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try (MongoResultSet rs = newResultSet()) {
+                while (rs.next()) {
+                    for (int column = 1; column <= labels.length; column++) {
+                        blackhole += reader.read(rs, column);
+                    }
+                    cells += labels.length;
+                }
+            }
+        }
+        double nsPerCell = (System.nanoTime() - start) / (double) cells;
+        if (name != null) {
+            System.out.printf("%-28s %8.1f ns/cell%n", name, nsPerCell);
+        }
+        return nsPerCell;
+    }
+
+    /** Reads every row by batches of columns and returns the time spent per cell, in ns. */
+    private double runColumnar(String name, int iterations, int batchSize) throws SQLException {
+        long cells = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try (MongoResultSet rs = newResultSet()) {
+                ColumnBatch batch = rs.createColumnBatch(batchSize);
+                int rowCount;
+                while ((rowCount = rs.fetchColumns(batch)) > 0) {
+                    for (int column = 1; column <= labels.length; column++) {
+                        switch (batch.getKind(column)) {
+                            case LONG:
+                            case TIMESTAMP:
+                                blackhole += batch.getLongs(column)[rowCount - 1];
+                                break;
+                            case DOUBLE:
+                                blackhole += (long) batch.getDoubles(column)[rowCount - 1];
+                                break;
+                            default:
+                                blackhole += batch.getStrings(column)[rowCount - 1].length();
+                        }
+                    }
+                    cells += (long) rowCount * labels.length;
+                }
+            }
+        }
+        double nsPerCell = (System.nanoTime() - start) / (double) cells;
+        if (name != null) {
+            System.out.printf("%-28s %8.1f ns/cell%n", name, nsPerCell);
+        }
+        return nsPerCell;
+    }
+
+    private Map<String, CellReader> benchmarks() {
+        Map<String, CellReader> benchmarks = new LinkedHashMap<>();
+        benchmarks.put("getObject(int)", (rs, c) -> rs.getObject(c).hashCode());
+        benchmarks.put("getString(int)", (rs, c) -> rs.getString(c).length());
+        benchmarks.put(
+                "typed getters(int)",
+                (rs, c) -> {
+                    switch ((c - 1) / COLUMNS_PER_TYPE) {
+                        case 0:
+                            return rs.getInt(c);
+                        case 1:
+                            return rs.getString(c).length();
+                        case 2:
+                            return (long) rs.getDouble(c);
+                        default:
+                            return rs.getTimestamp(c).getTime();
+                    }
+                });
+        benchmarks.put("getString(String)", (rs, c) -> rs.getString(labels[c - 1]).length());
+        return benchmarks;
+    }
+
+    private void runAll(int iterations, boolean print) throws SQLException {
+        for (Map.Entry<String, CellReader> benchmark : benchmarks().entrySet()) {
+            run(print ? benchmark.getKey() : null, iterations, benchmark.getValue());
+        }
+        runColumnar(print ? "fetchColumns(1024)" : null, iterations, 1024);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rowCount = (args.length > 0) ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = (args.length > 1) ? Integer.parseInt(args[1]) : 20;
+        MongoResultSetBenchmark benchmark = new MongoResultSetBenchmark(rowCount);
+
+        System.out.println(
+                "Rows: " + rowCount + ", columns: " + benchmark.labels.length + ", warming up...");
+        for (int i = 0; i < 5; i++) {
+            benchmark.runAll(iterations, false);
+        }
+        benchmark.runAll(iterations, true);
+        if (benchmark.blackhole == 42) {
+            System.out.println();
+        }
+    }
+
+    private interface CellReader {
+        long read(MongoResultSet rs, int column) throws SQLException;
+    }
+
+    private static class ListCursor implements MongoCursor<RawBsonDocument> {
+        private final List<RawBsonDocument> rows;
+        private int position = 0;
+
+        ListCursor(List<RawBsonDocument> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public boolean hasNext() {
+            return position < rows.size();
+        }
+
+        @Override
+        public RawBsonDocument next() {
+            return rows.get(position++);
+        }
+
+        @Override
+        public int available() {
+            return rows.size() - position;
+        }
+
+        @Override
+        public RawBsonDocument tryNext() {
+            return hasNext() ? next() : null;
+        }
+
+        @Override
+        public ServerCursor getServerCursor() {
+            return null;
+        }
+
+        @Override
+        public ServerAddress getServerAddress() {
+            return null;
+        }
+    }
+}
@@ -17,24 +17,44 @@
 package com.mongodb.jdbc;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.mongodb.client.MongoCursor;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.bson.BsonArray;
 import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
 import org.bson.BsonDateTime;
 import org.bson.BsonDocument;
 import org.bson.BsonDouble;
@@ -42,8 +62,10 @@ import org.bson.BsonInt32;
 import org.bson.BsonNull;
 import org.bson.BsonString;
 import org.bson.BsonUndefined;
+import org.bson.RawBsonDocument;
 import org.bson.UuidRepresentation;
 import org.bson.codecs.BsonDateTimeCodec;
+import org.bson.codecs.BsonDocumentCodec;
 import org.bson.codecs.Codec;
 import org.bson.codecs.DecoderContext;
 import org.bson.json.JsonReader;
@@ -712,6 +734,38 @@ class MongoResultSetTest extends MongoMock {
         assertEquals(new Timestamp(3L), mongoResultSet.getTimestamp(ANY_OF_INT_STRING_COL));
     }
 
+    @Test
+    void testGetObjectWithClass() throws Exception {
+        Instant date = Instant.parse("2020-12-25T17:13:14Z");
+        assertEquals(date, mongoResultSetAllTypes.getObject(ALL_DATE_COL_LABEL, Instant.class));
+        assertEquals(
+                OffsetDateTime.ofInstant(date, ZoneOffset.UTC),
+                mongoResultSetAllTypes.getObject(ALL_DATE_COL_LABEL, OffsetDateTime.class));
+        assertEquals(
+                LocalDateTime.of(2020, 12, 25, 17, 13, 14),
+                mongoResultSetAllTypes.getObject(ALL_DATE_COL_LABEL, LocalDateTime.class));
+        assertEquals(
+                LocalDate.of(2020, 12, 25),
+                mongoResultSetAllTypes.getObject(ALL_DATE_COL_LABEL, LocalDate.class));
+        assertEquals(
+                new Timestamp(date.toEpochMilli()),
+                mongoResultSetAllTypes.getObject(ALL_DATE_COL_LABEL, Timestamp.class));
+        // The calendar does not change the instant of a BSON date.
+        assertEquals(
+                new Timestamp(date.toEpochMilli()),
+                mongoResultSetAllTypes.getTimestamp(
+                        ALL_DATE_COL_LABEL, Calendar.getInstance(TimeZone.getTimeZone("PST"))));
+
+        assertEquals(Instant.ofEpochMilli(4), mongoResultSet.getObject(INT_COL, Instant.class));
+        assertEquals(Long.valueOf(4), mongoResultSet.getObject(INT_COL_LABEL, Long.class));
+        assertEquals("4", mongoResultSet.getObject(INT_COL_LABEL, String.class));
+        assertNull(mongoResultSet.getObject(NULL_COL_LABEL, Instant.class));
+        assertThrows(
+                SQLException.class,
+                () -> mongoResultSet.getObject(STRING_COL_LABEL, LocalDate.class));
+        assertThrows(SQLException.class, () -> mongoResultSet.getObject(INT_COL, UUID.class));
+    }
+
     @Test
     void testGetObject() throws Exception {
         // test that the index and label versions of getObject have matching results
@@ -1169,6 +1223,329 @@ class MongoResultSetTest extends MongoMock {
         assertFalse(mockResultSet.isLast());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRawRowsAreDecodedLazily() throws Exception {
+        BsonDocument row = generateRowAllTypes();
+        MongoCursor<RawBsonDocument> rawCursor = mock(MongoCursor.class);
+        when(rawCursor.hasNext()).thenReturn(true, false);
+        when(rawCursor.next()).thenReturn(new RawBsonDocument(row, new BsonDocumentCodec()));
+        MongoResultSet rawResultSet =
+                new MongoResultSet(
+                        mongoStatement,
+                        rawCursor,
+                        generateMongoJsonSchemaAllTypes(),
+                        null,
+                        false,
+                        UuidRepresentation.STANDARD);
+        MongoResultSet decodedResultSet =
+                new MongoResultSet(
+                        mongoStatement,
+                        new BsonExplicitCursor(Collections.singletonList(row)),
+                        generateMongoJsonSchemaAllTypes(),
+                        null,
+                        false,
+                        UuidRepresentation.STANDARD);
+
+        assertTrue(rawResultSet.next());
+        assertTrue(decodedResultSet.next());
+        assertTrue(rawResultSet.getCurrent() instanceof RawBsonDocument);
+        for (int i = 1; i <= rawResultSet.getMetaData().getColumnCount(); i++) {
+            assertEquals(decodedResultSet.getString(i), rawResultSet.getString(i));
+            assertEquals(decodedResultSet.wasNull(), rawResultSet.wasNull());
+        }
+        // The columns can be read again, in any order and by label.
+        for (int i = rawResultSet.getMetaData().getColumnCount(); i >= 1; i--) {
+            String label = rawResultSet.getMetaData().getColumnLabel(i);
+            assertEquals(decodedResultSet.getString(i), rawResultSet.getString(label));
+            assertEquals(i, rawResultSet.findColumn(label));
+        }
+        assertFalse(rawResultSet.next());
+    }
+
+    @Test
+    void testFetchColumns() throws Exception {
+        List<BsonDocument> rows =
+                Arrays.asList(generateRowAllTypes(), generateRowAllTypes(), generateRowAllTypes());
+        // The raw values matching their column kind are copied without creating BsonValues.
+        List<BsonDocument> rawRows = new ArrayList<>();
+        for (BsonDocument row : rows) {
+            rawRows.add(new RawBsonDocument(row, new BsonDocumentCodec()));
+        }
+        MongoResultSet columnar =
+                new MongoResultSet(
+                        mongoStatement,
+                        new BsonExplicitCursor(rawRows),
+                        generateMongoJsonSchemaAllTypes(),
+                        null,
+                        false,
+                        UuidRepresentation.STANDARD);
+        MongoResultSet rowWise =
+                new MongoResultSet(
+                        mongoStatement,
+                        new BsonExplicitCursor(rows),
+                        generateMongoJsonSchemaAllTypes(),
+                        null,
+                        false,
+                        UuidRepresentation.STANDARD);
+        int columnCount = columnar.getMetaData().getColumnCount();
+        ColumnBatch batch = columnar.createColumnBatch(2);
+        assertEquals(columnCount, batch.getColumnCount());
+
+        for (int expectedRows : new int[] {2, 1, 0}) {
+            assertEquals(expectedRows, columnar.fetchColumns(batch));
+            assertEquals(expectedRows, batch.getRowCount());
+            for (int r = 0; r < expectedRows; r++) {
+                assertTrue(rowWise.next());
+                for (int c = 1; c <= columnCount; c++) {
+                    switch (batch.getKind(c)) {
+                        case LONG:
+                            assertEquals(rowWise.getLong(c), batch.getLongs(c)[r]);
+                            break;
+                        case DOUBLE:
+                            assertEquals(rowWise.getDouble(c), batch.getDoubles(c)[r]);
+                            break;
+                        case BOOLEAN:
+                            assertEquals(rowWise.getBoolean(c), batch.getBooleans(c)[r]);
+                            break;
+                        case TIMESTAMP:
+                            Timestamp timestamp = rowWise.getTimestamp(c);
+                            assertEquals(
+                                    timestamp == null ? 0L : timestamp.getTime(),
+                                    batch.getLongs(c)[r]);
+                            break;
+                        default:
+                            assertEquals(rowWise.getString(c), batch.getStrings(c)[r]);
+                    }
+                    assertEquals(rowWise.wasNull(), batch.isNull(c, r));
+                }
+            }
+        }
+        assertFalse(rowWise.next());
+
+        ResultSetMetaData metaData = columnar.getMetaData();
+        for (int c = 1; c <= columnCount; c++) {
+            assertEquals(metaData.getColumnLabel(c), batch.getColumnLabel(c));
+            assertEquals(metaData.getColumnTypeName(c), batch.getColumnTypeName(c));
+            assertEquals(
+                    metaData.isNullable(c) != ResultSetMetaData.columnNoNulls,
+                    batch.isNullable(c));
+        }
+
+        int stringColumn = rowWise.findColumn(ALL_STRING_COL_LABEL);
+        assertEquals(ColumnBatch.ColumnKind.STRING, batch.getKind(stringColumn));
+        assertThrows(SQLException.class, () -> batch.getLongs(stringColumn));
+        assertThrows(SQLException.class, () -> batch.getKind(columnCount + 1));
+        assertThrows(SQLException.class, () -> columnar.createColumnBatch(0));
+    }
+
+    @Test
+    void testScrollInsensitive() throws Exception {
+        List<BsonDocument> rows = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            BsonDocument row = generateRowAllTypes();
+            row.getDocument("all").put(ALL_INT_COL_LABEL, new BsonInt32(i));
+            rows.add(new RawBsonDocument(row, new BsonDocumentCodec()));
+        }
+        MongoStatement scrollStatement =
+                (MongoStatement)
+                        mongoConnection.createStatement(
+                                ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, scrollStatement.getResultSetType());
+        MongoResultSet rs =
+                new MongoResultSet(
+                        scrollStatement,
+                        new BsonExplicitCursor(rows),
+                        generateMongoJsonSchemaAllTypes(),
+                        null,
+                        false,
+                        UuidRepresentation.STANDARD);
+        assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, rs.getType());
+
+        assertTrue(rs.isBeforeFirst());
+        assertTrue(rs.next());
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(ALL_INT_COL_LABEL));
+        assertTrue(rs.previous());
+        assertEquals(1, rs.getInt(ALL_INT_COL_LABEL));
+        assertTrue(rs.isFirst());
+        assertFalse(rs.previous());
+        assertTrue(rs.isBeforeFirst());
+        assertEquals(0, rs.getRow());
+
+        assertTrue(rs.absolute(4));
+        assertEquals(4, rs.getInt(ALL_INT_COL_LABEL));
+        assertFalse(rs.isLast());
+        assertTrue(rs.relative(-2));
+        assertEquals(2, rs.getRow());
+        assertTrue(rs.absolute(-1));
+        assertEquals(5, rs.getInt(ALL_INT_COL_LABEL));
+        assertTrue(rs.isLast());
+        assertFalse(rs.next());
+        assertTrue(rs.isAfterLast());
+        assertEquals(0, rs.getRow());
+        assertThrows(SQLException.class, () -> rs.getInt(ALL_INT_COL_LABEL));
+        assertTrue(rs.previous());
+        assertEquals(5, rs.getInt(ALL_INT_COL_LABEL));
+
+        assertTrue(rs.first());
+        assertEquals(1, rs.getInt(ALL_INT_COL_LABEL));
+        assertTrue(rs.last());
+        assertEquals(5, rs.getRow());
+        assertFalse(rs.absolute(6));
+        assertTrue(rs.isAfterLast());
+        assertFalse(rs.relative(-10));
+        assertTrue(rs.isBeforeFirst());
+        rs.afterLast();
+        assertTrue(rs.isAfterLast());
+        rs.beforeFirst();
+        int count = 0;
+        while (rs.next()) {
+            assertEquals(++count, rs.getInt(ALL_INT_COL_LABEL));
+        }
+        assertEquals(5, count);
+        rs.close();
+
+        // Forward only result sets can't scroll.
+        MongoResultSet forwardOnly =
+                new MongoResultSet(
+                        mongoStatement,
+                        new BsonExplicitCursor(rows),
+                        generateMongoJsonSchemaAllTypes(),
+                        null,
+                        false,
+                        UuidRepresentation.STANDARD);
+        assertEquals(ResultSet.TYPE_FORWARD_ONLY, forwardOnly.getType());
+        assertTrue(forwardOnly.next());
+        assertThrows(SQLFeatureNotSupportedException.class, forwardOnly::previous);
+        assertThrows(SQLFeatureNotSupportedException.class, () -> forwardOnly.absolute(1));
+    }
+
+    @Test
+    void testMaxRowsCloseTheCursor() throws Exception {
+        List<BsonDocument> rows = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            rows.add(generateRowAllTypes());
+        }
+        AtomicBoolean cursorClosed = new AtomicBoolean();
+        BsonExplicitCursor cursor =
+                new BsonExplicitCursor(rows) {
+                    @Override
+                    public void close() {
+                        cursorClosed.set(true);
+                    }
+                };
+        MongoStatement statement = (MongoStatement) mongoConnection.createStatement();
+        statement.setMaxRows(3);
+        MongoResultSet rs =
+                new MongoResultSet(
+                        statement,
+                        cursor,
+                        generateMongoJsonSchemaAllTypes(),
+                        null,
+                        false,
+                        UuidRepresentation.STANDARD);
+        assertTrue(rs.next());
+        assertTrue(rs.next());
+        assertFalse(cursorClosed.get());
+        assertTrue(rs.next());
+        // The cursor is closed as soon as the last row is read.
+        assertTrue(cursorClosed.get());
+        assertTrue(rs.isLast());
+        assertFalse(rs.next());
+        rs.close();
+        statement.close();
+    }
+
+    private static String readAll(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] chars = new char[7];
+        for (int n; (n = reader.read(chars)) >= 0; ) {
+            sb.append(chars, 0, n);
+        }
+        return sb.toString();
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] bytes = new byte[7];
+        for (int n; (n = stream.read(bytes)) >= 0; ) {
+            out.write(bytes, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void testStreamingLobs() throws Exception {
+        String text = "h\u00e9llo \u4e2d \ud83d\ude00 \"end\"";
+        byte[] data = new byte[256];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        List<BsonDocument> rows = new ArrayList<>();
+        for (BsonBinarySubType subType :
+                new BsonBinarySubType[] {BsonBinarySubType.BINARY, BsonBinarySubType.OLD_BINARY}) {
+            BsonDocument row = generateRowAllTypes();
+            row.getDocument("all").put(ALL_STRING_COL_LABEL, new BsonString(text));
+            row.getDocument("all").put(ALL_BINARY_COL_LABEL, new BsonBinary(subType, data));
+            rows.add(row);
+        }
+        // The values of raw rows are streamed from the bytes of the rows.
+        List<BsonDocument> rawRows = new ArrayList<>();
+        for (BsonDocument row : rows) {
+            rawRows.add(new RawBsonDocument(row, new BsonDocumentCodec()));
+        }
+
+        for (List<BsonDocument> source : Arrays.asList(rows, rawRows)) {
+            MongoResultSet rs =
+                    new MongoResultSet(
+                            mongoStatement,
+                            new BsonExplicitCursor(source),
+                            generateMongoJsonSchemaAllTypes(),
+                            null,
+                            false,
+                            UuidRepresentation.STANDARD);
+            while (rs.next()) {
+                assertEquals(text, readAll(rs.getCharacterStream(ALL_STRING_COL_LABEL)));
+                assertFalse(rs.wasNull());
+                assertEquals(text, readAll(rs.getNCharacterStream(ALL_STRING_COL_LABEL)));
+                assertArrayEquals(
+                        text.getBytes(StandardCharsets.US_ASCII),
+                        readAll(rs.getAsciiStream(ALL_STRING_COL_LABEL)));
+                assertArrayEquals(
+                        text.getBytes(StandardCharsets.UTF_8),
+                        readAll(rs.getUnicodeStream(ALL_STRING_COL_LABEL)));
+                assertArrayEquals(data, readAll(rs.getBinaryStream(ALL_BINARY_COL_LABEL)));
+
+                Blob blob = rs.getBlob(ALL_BINARY_COL_LABEL);
+                assertEquals(data.length, blob.length());
+                assertArrayEquals(Arrays.copyOfRange(data, 10, 15), blob.getBytes(11, 5));
+                assertArrayEquals(
+                        Arrays.copyOfRange(data, 250, 256),
+                        readAll(blob.getBinaryStream(251, 10)));
+                assertEquals(11, blob.position(new byte[] {10, 11}, 1));
+                assertEquals(-1, blob.position(new byte[] {11, 10}, 1));
+
+                Clob clob = rs.getClob(ALL_STRING_COL_LABEL);
+                assertEquals(text.length(), clob.length());
+                assertEquals(text, readAll(clob.getCharacterStream()));
+                assertArrayEquals(
+                        text.getBytes(StandardCharsets.US_ASCII), readAll(clob.getAsciiStream()));
+                assertEquals(text.substring(2, 6), clob.getSubString(3, 4));
+                assertEquals(text.indexOf("end") + 1, clob.position("end", 1));
+                clob.free();
+                assertThrows(SQLException.class, clob::length);
+
+                assertNull(rs.getCharacterStream(ALL_NULL_COL_LABEL));
+                assertTrue(rs.wasNull());
+                assertNull(rs.getBinaryStream(ALL_NULL_COL_LABEL));
+                assertNull(rs.getClob(ALL_NULL_COL_LABEL));
+                assertThrows(SQLException.class, () -> rs.getBinaryStream(ALL_STRING_COL_LABEL));
+                assertThrows(SQLException.class, () -> blob.setBytes(1, data));
+            }
+        }
+    }
+
     @Test
     void testEmptyResultSet() throws SQLException {
 
@@ -20,23 +20,47 @@ import static java.sql.Statement.CLOSE_CURRENT_RESULT;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.mongodb.MongoException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
+import org.mockito.internal.util.reflection.FieldSetter;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -66,6 +90,11 @@ class MongoStatementTest extends MongoMock {
     void setupTest() throws NoSuchFieldException, SQLException {
         resetMockObjs();
         mongoConnection.clusterType = MongoConnection.MongoClusterType.AtlasDataFederation;
+        // Start each test with an empty result schema cache.
+        FieldSetter.setField(
+                mongoConnection,
+                MongoConnection.class.getDeclaredField("resultSchemaCache"),
+                new ResultSchemaCache(10, 60));
         mongoStatement = new MongoStatement(mongoConnection, database);
     }
 
@@ -224,6 +253,58 @@ class MongoStatementTest extends MongoMock {
         testNoop(() -> mongoStatement.setMaxRows(0));
     }
 
+    @Test
+    void testSetGetMaxRows() throws SQLException {
+        assertThrows(SQLException.class, () -> mongoStatement.setMaxRows(-1));
+        assertThrows(SQLException.class, () -> mongoStatement.setLargeMaxRows(-1));
+
+        mongoStatement.setMaxRows(10);
+        assertEquals(10, mongoStatement.getMaxRows());
+        assertEquals(10, mongoStatement.getLargeMaxRows());
+        mongoStatement.setLargeMaxRows(Long.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, mongoStatement.getMaxRows());
+        assertEquals(Long.MAX_VALUE, mongoStatement.getLargeMaxRows());
+
+        testExceptionAfterConnectionClosed(() -> mongoStatement.setLargeMaxRows(0));
+    }
+
+    @Test
+    void testMaxRowsAreAppliedToThePipeline() throws SQLException {
+        List<BsonDocument> pipeline =
+                Arrays.asList(
+                        BsonDocument.parse("{$match: {a: 1}}"),
+                        BsonDocument.parse("{$project: {a: 1}}"));
+        assertSame(pipeline, MongoStatement.limit(pipeline, 0));
+        assertEquals(
+                BsonDocument.parse("{$limit: {$numberLong: '10'}}"),
+                MongoStatement.limit(pipeline, 10).get(2));
+        assertEquals(2, pipeline.size());
+
+        // An existing $limit is merged with the max rows.
+        List<BsonDocument> limited =
+                Arrays.asList(
+                        BsonDocument.parse("{$match: {}}"), BsonDocument.parse("{$limit: 5}"));
+        assertSame(limited, MongoStatement.limit(limited, 10));
+        assertEquals(
+                Arrays.asList(
+                        BsonDocument.parse("{$match: {}}"),
+                        BsonDocument.parse("{$limit: {$numberLong: '3'}}")),
+                MongoStatement.limit(limited, 3));
+
+        // On Atlas Data Federation, the limit follows the $sql stage.
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        clearInvocations(mongoDatabase);
+        mongoStatement.setMaxRows(7);
+        mongoStatement.executeQuery("select * from foo");
+        ArgumentCaptor<List<BsonDocument>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mongoDatabase).aggregate(captor.capture(), eq(RawBsonDocument.class));
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().get(0).containsKey("$sql"));
+        assertEquals(
+                BsonDocument.parse("{$limit: {$numberLong: '7'}}"), captor.getValue().get(1));
+    }
+
     @Test
     void testSetEscapeProcessing() throws SQLException {
         testNoop(() -> mongoStatement.setEscapeProcessing(true));
@@ -292,6 +373,18 @@ class MongoStatementTest extends MongoMock {
         testExceptionAfterConnectionClosed(() -> mongoStatement.getFetchSize());
     }
 
+    @Test
+    void testSetGetFetchTargetBytes() throws SQLException {
+        assertEquals(0, mongoStatement.getFetchTargetBytes());
+        assertThrows(SQLException.class, () -> mongoStatement.setFetchTargetBytes(-1));
+
+        mongoStatement.setFetchTargetBytes(1024);
+        assertEquals(1024, mongoStatement.getFetchTargetBytes());
+
+        testExceptionAfterConnectionClosed(() -> mongoStatement.setFetchTargetBytes(0));
+        testExceptionAfterConnectionClosed(() -> mongoStatement.getFetchTargetBytes());
+    }
+
     @Test
     void testGetResultSetConcurrency() throws SQLException {
         assertEquals(ResultSet.CONCUR_READ_ONLY, mongoStatement.getResultSetConcurrency());
@@ -368,4 +461,223 @@ class MongoStatementTest extends MongoMock {
         assertEquals(0, mongoStatement.getLargeMaxRows());
         testExceptionAfterConnectionClosed(() -> mongoStatement.getLargeMaxRows());
     }
+
+    @Test
+    void testResultSchemaIsCached() throws SQLException {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        clearInvocations(mongoDatabase);
+        ResultSchemaCache cache = mongoConnection.getResultSchemaCache();
+        long misses = cache.getMissCount();
+        long hits = cache.getHitCount();
+
+        ResultSet rs = mongoStatement.executeQuery("select * from foo");
+        assertEquals(12, rs.getMetaData().getColumnCount());
+        rs = mongoStatement.executeQuery("select * from foo");
+        assertEquals(12, rs.getMetaData().getColumnCount());
+
+        // Only the first execution fetched the result schema.
+        verify(mongoDatabase, times(1)).runCommand(any(), eq(MongoJsonSchemaResult.class));
+        verify(mongoDatabase, times(2)).aggregate(any(), eq(RawBsonDocument.class));
+        assertEquals(misses + 1, cache.getMissCount());
+        assertEquals(hits + 1, cache.getHitCount());
+    }
+
+    @Test
+    void testTimeToFirstRow() throws SQLException {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        when(mongoCursor.hasNext()).thenReturn(true);
+        when(mongoCursor.next()).thenReturn(generateRow());
+
+        ResultSet rs = mongoStatement.executeQuery("select * from foo");
+        assertNull(mongoStatement.getQueryDiagnostics().getTimeToFirstRowMs());
+        assertTrue(rs.next());
+        Long timeToFirstRow = mongoStatement.getQueryDiagnostics().getTimeToFirstRowMs();
+        assertNotNull(timeToFirstRow);
+        assertTrue(timeToFirstRow >= 0);
+        assertTrue(mongoStatement.getQueryDiagnostics().toString().contains("timeToFirstRowMs"));
+
+        // Only the first row is measured.
+        assertTrue(rs.next());
+        assertEquals(timeToFirstRow, mongoStatement.getQueryDiagnostics().getTimeToFirstRowMs());
+
+        // A new execution resets the measure.
+        mongoStatement.executeQuery("select * from foo");
+        assertNull(mongoStatement.getQueryDiagnostics().getTimeToFirstRowMs());
+    }
+
+    @Test
+    void testQueryTimeoutIsAppliedToEveryServerCommand() throws SQLException {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        mongoStatement.setQueryTimeout(10);
+        mongoStatement.executeQuery("select * from foo");
+
+        ArgumentCaptor<BsonDocument> command = ArgumentCaptor.forClass(BsonDocument.class);
+        verify(mongoDatabase).runCommand(command.capture(), eq(MongoJsonSchemaResult.class));
+        long schemaMaxTimeMS = command.getValue().getInt64("maxTimeMS").getValue();
+        assertTrue(schemaMaxTimeMS > 0 && schemaMaxTimeMS <= 10_000, command.getValue().toJson());
+
+        // The aggregate gets the time left.
+        ArgumentCaptor<Long> maxTime = ArgumentCaptor.forClass(Long.class);
+        verify(aggregateIterable).maxTime(maxTime.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(maxTime.getValue() > 0 && maxTime.getValue() <= schemaMaxTimeMS);
+
+        BsonDocument phaseTimes = mongoStatement.getQueryDiagnostics().getPhaseTimesMs();
+        assertTrue(phaseTimes.containsKey("aggregate"), phaseTimes.toJson());
+        assertTrue(phaseTimes.containsKey("result schema"), phaseTimes.toJson());
+    }
+
+    @Test
+    void testGetMoreTimeoutIsReported() throws SQLException {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        when(mongoCursor.hasNext())
+                .thenThrow(
+                        new MongoExecutionTimeoutException(50, "operation exceeded time limit"));
+        mongoStatement.setQueryTimeout(10);
+
+        ResultSet rs = mongoStatement.executeQuery("select * from foo");
+        assertThrows(SQLTimeoutException.class, rs::next);
+    }
+
+    @Test
+    void testConnectionFailureIsReported() throws SQLException {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        when(mongoCursor.hasNext())
+                .thenThrow(new MongoSocketReadException("connection reset", new ServerAddress()));
+
+        ResultSet rs = mongoStatement.executeQuery("select * from foo");
+        SQLException e = assertThrows(SQLException.class, rs::next);
+        assertEquals(MongoDriver.CONNECTION_ERROR_SQLSTATE, e.getSQLState());
+    }
+
+    @Test
+    void testCancel() throws SQLException {
+        // Nothing to cancel before the first execution.
+        clearInvocations(mongoDatabase);
+        mongoStatement.cancel();
+        verify(mongoDatabase, times(0)).runCommand(any(), eq(BsonDocument.class));
+
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        when(mongoDatabase.runCommand(any(), eq(BsonDocument.class)))
+                .thenReturn(BsonDocument.parse("{inprog: [{opid: 12}]}"));
+        when(mongoCursor.hasNext()).thenReturn(true);
+        when(mongoCursor.next()).thenReturn(generateRow());
+        when(mongoCursor.getServerCursor()).thenReturn(new ServerCursor(42, new ServerAddress()));
+
+        ResultSet rs = mongoStatement.executeQuery("select * from foo");
+        ArgumentCaptor<String> comment = ArgumentCaptor.forClass(String.class);
+        verify(aggregateIterable).comment(comment.capture());
+        assertTrue(rs.next());
+
+        mongoStatement.cancel();
+        ArgumentCaptor<BsonDocument> commands = ArgumentCaptor.forClass(BsonDocument.class);
+        verify(mongoDatabase, times(3)).runCommand(commands.capture(), eq(BsonDocument.class));
+        // The operations are found by the comment of the aggregate.
+        BsonDocument currentOp = commands.getAllValues().get(0);
+        assertTrue(currentOp.containsKey("currentOp"));
+        assertEquals(
+                comment.getValue(),
+                currentOp
+                        .getArray("$or")
+                        .get(0)
+                        .asDocument()
+                        .getString("command.comment")
+                        .getValue());
+        assertEquals(
+                BsonDocument.parse("{killOp: 1, op: 12}"), commands.getAllValues().get(1));
+        assertEquals(
+                BsonDocument.parse(
+                        "{killCursors: '$cmd.aggregate', cursors: [{$numberLong: '42'}]}"),
+                commands.getAllValues().get(2));
+
+        SQLException e = assertThrows(SQLException.class, rs::next);
+        assertEquals(MongoStatement.CANCELLED_SQL_STATE, e.getSQLState());
+        verify(mongoCursor).close();
+
+        // A new execution is not cancelled.
+        rs = mongoStatement.executeQuery("select * from foo");
+        assertTrue(rs.next());
+    }
+
+    @Test
+    void testExecuteQueryAsync() throws Exception {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> executionThread = new AtomicReference<>();
+        when(aggregateIterable.cursor())
+                .thenAnswer(
+                        invocation -> {
+                            executionThread.set(Thread.currentThread());
+                            return mongoCursor;
+                        });
+
+        CompletableFuture<ResultSet> future = mongoStatement.executeQueryAsync("select * from foo");
+        ResultSet rs = future.get(10, TimeUnit.SECONDS);
+        assertEquals(12, rs.getMetaData().getColumnCount());
+        assertSame(rs, mongoStatement.getResultSet());
+        assertNotNull(executionThread.get());
+        assertNotSame(caller, executionThread.get());
+
+        // The failures complete the future.
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenThrow(new MongoException("schema failure"))
+                .thenReturn(generateSchema());
+        future = mongoStatement.executeQueryAsync("select * from bar", Runnable::run);
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertEquals("schema failure", e.getCause().getMessage());
+    }
+
+    @Test
+    void testCancelAsyncQueryBeforeItStarts() throws SQLException {
+        List<Runnable> tasks = new ArrayList<>();
+        CompletableFuture<ResultSet> future =
+                mongoStatement.executeQueryAsync("select * from foo", tasks::add);
+        assertTrue(future.cancel(true));
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        assertTrue(future.isCancelled());
+        verify(mongoDatabase, never()).aggregate(any(), eq(RawBsonDocument.class));
+        assertNull(mongoStatement.getResultSet());
+
+        // The result set of the previous execution is not cancelled.
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        when(mongoCursor.hasNext()).thenReturn(false);
+        ResultSet previous = mongoStatement.executeQuery("select * from foo");
+        clearInvocations(mongoDatabase);
+        tasks.clear();
+        future = mongoStatement.executeQueryAsync("select * from bar", tasks::add);
+        assertTrue(future.cancel(true));
+        tasks.get(0).run();
+        verify(mongoDatabase, never()).runCommand(any(), eq(BsonDocument.class));
+        assertSame(previous, mongoStatement.getResultSet());
+        assertFalse(previous.next());
+    }
+
+    @Test
+    void testCancelDuringExecution() throws SQLException {
+        when(mongoDatabase.runCommand(any(), eq(MongoJsonSchemaResult.class)))
+                .thenReturn(generateSchema());
+        when(mongoDatabase.runCommand(any(), eq(BsonDocument.class)))
+                .thenReturn(BsonDocument.parse("{inprog: []}"));
+        when(aggregateIterable.cursor())
+                .thenAnswer(
+                        invocation -> {
+                            mongoStatement.cancel();
+                            throw new MongoException(11601, "operation was interrupted");
+                        });
+
+        SQLException e =
+                assertThrows(
+                        SQLException.class, () -> mongoStatement.executeQuery("select * from foo"));
+        assertEquals(MongoStatement.CANCELLED_SQL_STATE, e.getSQLState());
+        assertTrue(e.getCause() instanceof MongoException);
+    }
 }
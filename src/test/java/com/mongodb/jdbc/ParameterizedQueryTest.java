@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+
+class ParameterizedQueryTest {
+
+    @Test
+    void testParameterMarkers() {
+        assertEquals(0, new ParameterizedQuery("SELECT * FROM foo").getParameterCount());
+        assertEquals(
+                2,
+                new ParameterizedQuery("SELECT * FROM foo WHERE a = ? AND b = ?")
+                        .getParameterCount());
+        // Question marks in strings, quoted identifiers and comments are not parameters.
+        assertEquals(
+                1,
+                new ParameterizedQuery(
+                                "SELECT 'what?', 'it''s ?', \"c?\", `d?` -- e?\n"
+                                        + "FROM foo /* f? */ WHERE a = ?")
+                        .getParameterCount());
+    }
+
+    @Test
+    void testInlineLiterals() throws SQLException {
+        ParameterizedQuery query =
+                new ParameterizedQuery(
+                        "SELECT * FROM foo WHERE a = ? AND b = ? AND c IN (?, ?, ?)");
+        String sql =
+                query.toSql(
+                        new BsonValue[] {
+                            new BsonInt32(1),
+                            new BsonString("it's"),
+                            BsonBoolean.TRUE,
+                            BsonNull.VALUE,
+                            new BsonDateTime(0)
+                        });
+        assertEquals(
+                "SELECT * FROM foo WHERE a = 1 AND b = 'it''s' AND c IN (TRUE, NULL, "
+                        + "CAST('1970-01-01T00:00:00Z' AS TIMESTAMP))",
+                sql);
+
+        assertThrows(
+                SQLException.class,
+                () -> ParameterizedQuery.toSqlLiteral(new BsonDouble(Double.NaN)));
+    }
+
+    @Test
+    void testNegativeLiterals() throws SQLException {
+        ParameterizedQuery query =
+                new ParameterizedQuery("SELECT a -? AS b, a -? AS c, a -? AS d FROM foo");
+        assertEquals(
+                "SELECT a -(-5) AS b, a -(-6) AS c, a -(-0.5) AS d FROM foo",
+                query.toSql(
+                        new BsonValue[] {
+                            new BsonInt32(-5), new BsonInt64(-6), new BsonDouble(-0.5)
+                        }));
+        assertEquals(
+                "CAST('-5' AS DECIMAL)",
+                ParameterizedQuery.toSqlLiteral(new BsonDecimal128(Decimal128.parse("-5"))));
+    }
+
+    @Test
+    void testTemplateOnlyDependsOnTypes() throws SQLException {
+        ParameterizedQuery query =
+                new ParameterizedQuery("SELECT * FROM foo WHERE a = ? AND b = ?");
+
+        String template1 =
+                query.toTemplateSql(new BsonValue[] {new BsonInt32(1), new BsonString("x")});
+        String template2 =
+                query.toTemplateSql(new BsonValue[] {new BsonInt32(2), new BsonString("y")});
+        String template3 =
+                query.toTemplateSql(new BsonValue[] {new BsonInt64(2), new BsonString("y")});
+
+        assertEquals(template1, template2);
+        assertNotEquals(template1, template3);
+        assertFalse(template1.contains("'x'"));
+        // Booleans are always inlined.
+        assertTrue(
+                query.toTemplateSql(new BsonValue[] {BsonBoolean.FALSE, new BsonString("x")})
+                        .contains("FALSE"));
+    }
+
+    @Test
+    void testSentinelsDoNotCollideWithLiterals() throws SQLException {
+        ParameterizedQuery query =
+                new ParameterizedQuery("SELECT * FROM foo WHERE a = 1987000000 AND b = ?");
+        String template = query.toTemplateSql(new BsonValue[] {new BsonInt32(1)});
+        assertFalse(template.endsWith("= 1987000000"));
+    }
+
+    /** Simulates the translation of a template query, with the literal wrapped in $literal. */
+    private static List<BsonDocument> translate(String templateSql, BsonValue literal) {
+        return Collections.singletonList(
+                new BsonDocument(
+                        "$match",
+                        new BsonDocument(
+                                "$expr",
+                                new BsonDocument(
+                                        "$eq",
+                                        new BsonArray(
+                                                Arrays.asList(
+                                                        new BsonString("$a"),
+                                                        new BsonDocument("$literal", literal)))))));
+    }
+
+    /** Extracts the string sentinel of a template query ending with it. */
+    private static String stringSentinel(String templateSql) {
+        return templateSql.substring(templateSql.indexOf('\'') + 1, templateSql.length() - 1);
+    }
+
+    @Test
+    void testBind() throws SQLException {
+        ParameterizedQuery query = new ParameterizedQuery("SELECT * FROM foo WHERE a = ?");
+        BsonValue[] values = {new BsonString("$notAFieldPath")};
+        String templateSql = query.toTemplateSql(values);
+        String sentinel = stringSentinel(templateSql);
+
+        List<BsonDocument> template = translate(templateSql, new BsonString(sentinel));
+        List<BsonDocument> bound = query.bind(template, values);
+
+        assertEquals(translate(templateSql, new BsonString("$notAFieldPath")), bound);
+        // The template pipeline is left untouched.
+        assertEquals(translate(templateSql, new BsonString(sentinel)), template);
+    }
+
+    @Test
+    void testBindFailsWhenSentinelIsNotALiteral() throws SQLException {
+        ParameterizedQuery query = new ParameterizedQuery("SELECT * FROM foo WHERE a = ?");
+        BsonValue[] values = {new BsonString("x")};
+        String templateSql = query.toTemplateSql(values);
+        String sentinel = stringSentinel(templateSql);
+
+        // The sentinel was folded into another value.
+        assertNull(query.bind(translate(templateSql, new BsonString(sentinel + "%")), values));
+        // The sentinel is not wrapped in a $literal.
+        assertNull(
+                query.bind(
+                        Collections.singletonList(
+                                new BsonDocument(
+                                        "$match", new BsonDocument("a", new BsonString(sentinel)))),
+                        values));
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.jdbc.logging.MongoLogger;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+/**
+ * Measures the throughput of a large extract read through 1, 2, 4 and 8 partitions.
+ *
+ * <p>By default the partitions are simulated cursors which wait a fixed latency per batch, standing
+ * for the server round trips, and the rows are read through a MongoResultSet. When a connection
+ * string is given, the query is run on that Enterprise cluster with the parallelpartitions
+ * property instead.
+ *
+ * <p>This is not a unit test, run it with the test classpath:
+ *
+ * <pre>
+ * java -cp &lt;test classpath&gt; com.mongodb.jdbc.PartitionedScanBenchmark [rows] [batchLatencyMs]
+ * java -cp &lt;test classpath&gt; com.mongodb.jdbc.PartitionedScanBenchmark uri database sql
+ * </pre>
+ */
+public class PartitionedScanBenchmark {
+    private static final String DATASOURCE = "foo";
+    private static final int BATCH_SIZE = 1000;
+    private static final int[] PARTITIONS = {1, 2, 4, 8};
+
+    private final List<RawBsonDocument> rows = new ArrayList<>();
+    private final MongoJsonSchema schema;
+    private final MongoLogger logger = new MongoLogger(Logger.getLogger("benchmark"), 0);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final long batchLatencyMs;
+    private long blackhole;
+
+    PartitionedScanBenchmark(int rowCount, long batchLatencyMs) {
+        this.batchLatencyMs = batchLatencyMs;
+        MongoJsonSchema datasourceSchema = MongoJsonSchema.createEmptyObjectSchema();
+        datasourceSchema.properties.put("id", MongoJsonSchema.createScalarSchema("int"));
+        datasourceSchema.properties.put("name", MongoJsonSchema.createScalarSchema("string"));
+        datasourceSchema.required.add("id");
+        datasourceSchema.required.add("name");
+        schema = MongoJsonSchema.createEmptyObjectSchema();
+        schema.properties.put(DATASOURCE, datasourceSchema);
+        schema.required.add(DATASOURCE);
+
+        for (int r = 0; r < rowCount; r++) {
+            BsonDocument datasource =
+                    new BsonDocument("id", new BsonInt32(r))
+                            .append("name", new BsonString("name-" + r));
+            rows.add(
+                    new RawBsonDocument(
+                            new BsonDocument(DATASOURCE, datasource), new BsonDocumentCodec()));
+        }
+    }
+
+    /** Reads all the rows through the given number of partitions and returns the rows/s. */
+    private double run(int partitions) throws SQLException {
+        List<MongoCursor<RawBsonDocument>> cursors = new ArrayList<>();
+        for (int p = 0; p < partitions; p++) {
+            int from = p * rows.size() / partitions;
+            int to = (p + 1) * rows.size() / partitions;
+            cursors.add(new LatencyCursor(rows.subList(from, to), batchLatencyMs));
+        }
+        long count = 0;
+        long start = System.nanoTime();
+        try (MongoResultSet rs =
+                new MongoResultSet(
+                        logger,
+                        new PrefetchCursor(
+                                cursors,
+                                2 * partitions,
+                                PrefetchCursor.DEFAULT_MAX_BYTES,
+                                executor),
+                        schema)) {
+            while (rs.next()) {
+                blackhole += rs.getInt(1) + rs.getString(2).length();
+                count++;
+            }
+        }
+        return count / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /** Runs a query on a cluster with each number of partitions and prints the rows/s. */
+    private static void runOnCluster(String uri, String database, String sql) throws SQLException {
+        for (int partitions : PARTITIONS) {
+            Properties properties = new Properties();
+            properties.setProperty("database", database);
+            properties.setProperty("parallelpartitions", String.valueOf(partitions));
+            try (Connection connection = DriverManager.getConnection(uri, properties);
+                    Statement statement = connection.createStatement()) {
+                long count = 0;
+                long start = System.nanoTime();
+                try (ResultSet rs = statement.executeQuery(sql)) {
+                    while (rs.next()) {
+                        count++;
+                    }
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf(
+                        "%d partition(s) %12.0f rows/s (%d rows)%n",
+                        partitions, count / seconds, count);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3) {
+            runOnCluster(args[0], args[1], args[2]);
+            return;
+        }
+        int rowCount = (args.length > 0) ? Integer.parseInt(args[0]) : 200_000;
+        long batchLatencyMs = (args.length > 1) ? Long.parseLong(args[1]) : 5;
+        PartitionedScanBenchmark benchmark = new PartitionedScanBenchmark(rowCount, batchLatencyMs);
+
+        System.out.println(
+                "Rows: "
+                        + rowCount
+                        + ", batch size: "
+                        + BATCH_SIZE
+                        + ", batch latency: "
+                        + batchLatencyMs
+                        + " ms, warming up...");
+        for (int partitions : PARTITIONS) {
+            benchmark.run(partitions);
+        }
+        for (int partitions : PARTITIONS) {
+            System.out.printf(
+                    "%d partition(s) %12.0f rows/s%n", partitions, benchmark.run(partitions));
+        }
+        benchmark.executor.shutdownNow();
+        if (benchmark.blackhole == 42) {
+            System.out.println();
+        }
+    }
+
+    /** Returns rows by batches of BATCH_SIZE, waiting a fixed latency before each batch. */
+    private static class LatencyCursor implements MongoCursor<RawBsonDocument> {
+        private final List<RawBsonDocument> rows;
+        private final long batchLatencyMs;
+        private int position = 0;
+        private int batchEnd = 0;
+
+        LatencyCursor(List<RawBsonDocument> rows, long batchLatencyMs) {
+            this.rows = rows;
+            this.batchLatencyMs = batchLatencyMs;
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public boolean hasNext() {
+            if (position < batchEnd) {
+                return true;
+            }
+            if (position == rows.size()) {
+                return false;
+            }
+            try {
+                Thread.sleep(batchLatencyMs);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            batchEnd = Math.min(rows.size(), position + BATCH_SIZE);
+            return true;
+        }
+
+        @Override
+        public RawBsonDocument next() {
+            hasNext();
+            return rows.get(position++);
+        }
+
+        @Override
+        public int available() {
+            return batchEnd - position;
+        }
+
+        @Override
+        public RawBsonDocument tryNext() {
+            return hasNext() ? next() : null;
+        }
+
+        @Override
+        public ServerCursor getServerCursor() {
+            return null;
+        }
+
+        @Override
+        public ServerAddress getServerAddress() {
+            return null;
+        }
+    }
+}
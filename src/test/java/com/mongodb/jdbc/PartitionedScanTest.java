@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class PartitionedScanTest {
+    private static List<BsonDocument> pipeline(String... stages) {
+        List<BsonDocument> pipeline = new ArrayList<>();
+        for (String stage : stages) {
+            pipeline.add(BsonDocument.parse(stage));
+        }
+        return pipeline;
+    }
+
+    private static List<BsonValue> ints(int count) {
+        List<BsonValue> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(new BsonInt32(i));
+        }
+        return values;
+    }
+
+    @Test
+    void testOnlyRowWisePipelinesArePartitionable() {
+        assertTrue(PartitionedScan.isPartitionable(pipeline()));
+        assertTrue(
+                PartitionedScan.isPartitionable(
+                        pipeline(
+                                "{$match: {a: 1}}",
+                                "{$project: {foo: {a: '$a'}}}",
+                                "{$unwind: '$b'}")));
+        assertFalse(PartitionedScan.isPartitionable(pipeline("{$sort: {a: 1}}")));
+        assertFalse(PartitionedScan.isPartitionable(pipeline("{$match: {}}", "{$limit: 10}")));
+        assertFalse(PartitionedScan.isPartitionable(pipeline("{$group: {_id: '$a'}}")));
+        assertFalse(PartitionedScan.isPartitionable(pipeline("{$unionWith: 'bar'}")));
+    }
+
+    @Test
+    void testPipelinesWithAFirstStageOnlyAreNotPartitionable() {
+        assertFalse(
+                PartitionedScan.isPartitionable(
+                        pipeline("{$match: {$text: {$search: 'foo'}}}", "{$project: {a: 1}}")));
+        assertFalse(
+                PartitionedScan.isPartitionable(
+                        pipeline("{$match: {$and: [{a: 1}, {$text: {$search: 'foo'}}]}}")));
+        assertFalse(
+                PartitionedScan.isPartitionable(
+                        pipeline("{$geoNear: {near: [0, 0], distanceField: 'd'}}")));
+        assertFalse(
+                PartitionedScan.isPartitionable(
+                        pipeline("{$search: {text: {query: 'foo', path: 'a'}}}")));
+        assertTrue(PartitionedScan.isPartitionable(pipeline("{$match: {text: 'foo'}}")));
+    }
+
+    @Test
+    void testRangesSplitTheSamples() {
+        List<BsonDocument> ranges = PartitionedScan.ranges(ints(40), 4);
+        assertEquals(
+                Arrays.asList(
+                        BsonDocument.parse(
+                                "{$or: [{_id: {$lt: 10}}, {_id: {$not: {$type: 'number'}}}]}"),
+                        BsonDocument.parse("{_id: {$gte: 10, $lt: 20}}"),
+                        BsonDocument.parse("{_id: {$gte: 20, $lt: 30}}"),
+                        BsonDocument.parse("{_id: {$gte: 30}}")),
+                ranges);
+
+        assertEquals(
+                BsonDocument.parse("{$match: {_id: {$gte: 30}}}"),
+                PartitionedScan.restrict(pipeline("{$match: {a: 1}}"), ranges.get(3)).get(0));
+    }
+
+    @Test
+    void testDuplicateBoundariesAreMerged() {
+        List<BsonValue> samples = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            samples.add(new BsonInt32(i < 25 ? 0 : 1));
+        }
+        assertEquals(
+                Arrays.asList(
+                        BsonDocument.parse(
+                                "{$or: [{_id: {$lt: 0}}, {_id: {$not: {$type: 'number'}}}]}"),
+                        BsonDocument.parse("{_id: {$gte: 0}}")),
+                PartitionedScan.ranges(samples, 3));
+    }
+
+    @Test
+    void testRangesOfMixedTypesAreNotSplit() {
+        List<BsonValue> samples = new ArrayList<>(ints(10));
+        for (int i = 0; i < 10; i++) {
+            samples.add(new BsonString("s" + i));
+        }
+        assertTrue(PartitionedScan.ranges(samples, 4).isEmpty());
+        assertTrue(PartitionedScan.ranges(new ArrayList<>(), 4).isEmpty());
+        assertTrue(PartitionedScan.ranges(ints(10), 1).isEmpty());
+
+        List<BsonValue> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(new BsonObjectId(new ObjectId()));
+        }
+        assertEquals(2, PartitionedScan.ranges(ids, 2).size());
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+class PrefetchCursorTest {
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+    private static final int ROWS_PER_BATCH = 3;
+
+    @AfterAll
+    static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    private static RawBsonDocument row(int i) {
+        return new RawBsonDocument(
+                new BsonDocument("i", new BsonInt32(i)), new BsonDocumentCodec());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the prefetch");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testReadsAllRowsInOrder() {
+        BatchedCursor source = new BatchedCursor(4);
+        PrefetchCursor cursor = new PrefetchCursor(source, 2, Long.MAX_VALUE, EXECUTOR);
+
+        int count = 0;
+        while (cursor.hasNext()) {
+            assertEquals(count, cursor.next().getInt32("i").getValue());
+            count++;
+        }
+        assertEquals(4 * ROWS_PER_BATCH, count);
+        assertNull(cursor.tryNext());
+        assertEquals(4, cursor.getFetchedBatches());
+        assertEquals(4 * ROWS_PER_BATCH, cursor.getFetchedRows());
+        assertEquals(0, cursor.getQueueDepth());
+        assertEquals(0, cursor.getBufferedBytes());
+
+        cursor.close();
+        assertTrue(source.closed);
+    }
+
+    @Test
+    void testQueueIsBoundedByBatches() throws InterruptedException {
+        BatchedCursor source = new BatchedCursor(10);
+        PrefetchCursor cursor = new PrefetchCursor(source, 2, Long.MAX_VALUE, EXECUTOR);
+
+        waitFor(() -> cursor.getQueueDepth() == 2 && source.fetching == 3);
+        Thread.sleep(50);
+        assertEquals(2, cursor.getQueueDepth());
+        // The third batch is held by the fetcher until there is room in the queue.
+        assertEquals(3, source.fetching);
+
+        assertTrue(cursor.hasNext());
+        waitFor(() -> source.fetching == 4);
+        assertEquals(2, cursor.getMaxQueueDepth());
+        cursor.close();
+    }
+
+    @Test
+    void testQueueIsBoundedByBytes() throws InterruptedException {
+        BatchedCursor source = new BatchedCursor(10);
+        long batchBytes = ROWS_PER_BATCH * (long) row(0).getByteBuffer().remaining();
+        PrefetchCursor cursor = new PrefetchCursor(source, 10, batchBytes, EXECUTOR);
+
+        waitFor(() -> cursor.getQueueDepth() == 1 && source.fetching == 2);
+        Thread.sleep(50);
+        assertEquals(1, cursor.getQueueDepth());
+        assertEquals(batchBytes, cursor.getBufferedBytes());
+        cursor.close();
+        assertEquals(0, cursor.getBufferedBytes());
+    }
+
+    @Test
+    void testFailureIsReportedAfterBufferedRows() {
+        BatchedCursor source = new BatchedCursor(3);
+        source.failAtBatch = 2;
+        PrefetchCursor cursor = new PrefetchCursor(source, 5, Long.MAX_VALUE, EXECUTOR);
+
+        for (int i = 0; i < 2 * ROWS_PER_BATCH; i++) {
+            assertTrue(cursor.hasNext());
+            cursor.next();
+        }
+        MongoException e = assertThrows(MongoException.class, cursor::hasNext);
+        assertEquals("getMore failed", e.getMessage());
+        cursor.close();
+    }
+
+    @Test
+    void testStallsAreMeasured() throws InterruptedException {
+        BatchedCursor source = new BatchedCursor(2);
+        source.blockAtBatch = 1;
+        PrefetchCursor cursor = new PrefetchCursor(source, 5, Long.MAX_VALUE, EXECUTOR);
+
+        for (int i = 0; i < ROWS_PER_BATCH; i++) {
+            cursor.next();
+        }
+        EXECUTOR.submit(
+                () -> {
+                    Thread.sleep(50);
+                    source.unblock.countDown();
+                    return null;
+                });
+        assertTrue(cursor.hasNext());
+        assertTrue(cursor.getStallCount() >= 1);
+        assertTrue(cursor.getStallTimeMillis() >= 40, cursor.toString());
+        cursor.close();
+    }
+
+    @Test
+    void testTryNextDoesNotWait() throws InterruptedException {
+        BatchedCursor source = new BatchedCursor(2);
+        source.blockAtBatch = 1;
+        PrefetchCursor cursor = new PrefetchCursor(source, 5, Long.MAX_VALUE, EXECUTOR);
+
+        waitFor(() -> cursor.getQueueDepth() == 1);
+        for (int i = 0; i < ROWS_PER_BATCH; i++) {
+            assertEquals(i, cursor.tryNext().getInt32("i").getValue());
+        }
+        // The second batch is still being fetched.
+        assertNull(cursor.tryNext());
+        assertEquals(0, cursor.getStallCount());
+
+        source.unblock.countDown();
+        waitFor(() -> cursor.getQueueDepth() == 1);
+        assertEquals(ROWS_PER_BATCH, cursor.tryNext().getInt32("i").getValue());
+        cursor.close();
+    }
+
+    @Test
+    void testCloseStopsTheFetch() throws InterruptedException {
+        BatchedCursor source = new BatchedCursor(10);
+        PrefetchCursor cursor = new PrefetchCursor(source, 1, Long.MAX_VALUE, EXECUTOR);
+
+        waitFor(() -> source.fetching == 2);
+        cursor.close();
+        assertTrue(source.closed);
+        assertEquals(0, cursor.getQueueDepth());
+        assertThrows(IllegalStateException.class, cursor::hasNext);
+        Thread.sleep(50);
+        assertEquals(2, source.fetching);
+    }
+
+    @Test
+    void testMergesSeveralCursors() {
+        List<MongoCursor<RawBsonDocument>> sources = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            sources.add(new BatchedCursor(3 + i));
+        }
+        PrefetchCursor cursor = new PrefetchCursor(sources, 2, Long.MAX_VALUE, EXECUTOR);
+        assertEquals(4, cursor.getCursorCount());
+
+        // Each source numbers its rows from 0, the rows of a source stay in order.
+        int[] counts = new int[6 * ROWS_PER_BATCH];
+        while (cursor.hasNext()) {
+            counts[cursor.next().getInt32("i").getValue()]++;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            assertEquals(4 - Math.max(0, i / ROWS_PER_BATCH - 2), counts[i], "row " + i);
+        }
+        assertEquals(18, cursor.getFetchedBatches());
+
+        cursor.close();
+        for (MongoCursor<RawBsonDocument> source : sources) {
+            assertTrue(((BatchedCursor) source).closed);
+        }
+    }
+
+    @Test
+    void testFailureOfOneCursorIsReported() {
+        BatchedCursor failing = new BatchedCursor(3);
+        failing.failAtBatch = 1;
+        List<MongoCursor<RawBsonDocument>> sources = new ArrayList<>();
+        sources.add(new BatchedCursor(100));
+        sources.add(failing);
+        PrefetchCursor cursor = new PrefetchCursor(sources, 2, Long.MAX_VALUE, EXECUTOR);
+
+        MongoException e =
+                assertThrows(
+                        MongoException.class,
+                        () -> {
+                            while (cursor.hasNext()) {
+                                cursor.next();
+                            }
+                        });
+        assertEquals("getMore failed", e.getMessage());
+        cursor.close();
+    }
+
+    /** Returns batches of ROWS_PER_BATCH rows, numbered sequentially. */
+    private static class BatchedCursor implements MongoCursor<RawBsonDocument> {
+        private final int batches;
+        private final CountDownLatch unblock = new CountDownLatch(1);
+        private int failAtBatch = -1;
+        private int blockAtBatch = -1;
+        private volatile int fetching = 0;
+        private volatile boolean closed = false;
+        private List<RawBsonDocument> batch = new ArrayList<>();
+        private int next = 0;
+
+        BatchedCursor(int batches) {
+            this.batches = batches;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!batch.isEmpty()) {
+                return true;
+            }
+            if (closed) {
+                throw new IllegalStateException("Cursor has been closed");
+            }
+            if (fetching == batches) {
+                return false;
+            }
+            if (fetching == failAtBatch) {
+                throw new MongoException("getMore failed");
+            }
+            if (fetching == blockAtBatch) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            fetching++;
+            for (int i = 0; i < ROWS_PER_BATCH; i++) {
+                batch.add(row(next++));
+            }
+            return true;
+        }
+
+        @Override
+        public RawBsonDocument next() {
+            hasNext();
+            return batch.remove(0);
+        }
+
+        @Override
+        public int available() {
+            return batch.size();
+        }
+
+        @Override
+        public RawBsonDocument tryNext() {
+            return hasNext() ? next() : null;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public ServerCursor getServerCursor() {
+            return null;
+        }
+
+        @Override
+        public ServerAddress getServerAddress() {
+            return null;
+        }
+    }
+}
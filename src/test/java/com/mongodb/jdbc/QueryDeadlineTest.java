@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mongodb.jdbc.mongosql.MongoSQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+class QueryDeadlineTest {
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+
+    @AfterAll
+    static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    void testNoTimeout() throws Exception {
+        QueryDeadline deadline = new QueryDeadline(0);
+        assertFalse(deadline.hasTimeout());
+        assertEquals(0, deadline.remainingMillis("aggregate"));
+        Thread caller = Thread.currentThread();
+        // Without timeout, the native calls run on the calling thread.
+        assertSame(caller, deadline.runNative("translate", Thread::currentThread, EXECUTOR));
+    }
+
+    @Test
+    void testPhasesAreTimed() throws Exception {
+        QueryDeadline deadline = new QueryDeadline(10);
+        long remaining = deadline.remainingMillis("namespaces");
+        assertTrue(remaining > 0 && remaining <= 10_000);
+
+        assertEquals("ns", deadline.runNative("namespaces", () -> "ns", EXECUTOR));
+        deadline.endPhase("catalog");
+        deadline.endPhase("translate");
+        deadline.endPhase("translate");
+        assertEquals(
+                Arrays.asList("namespaces", "catalog", "translate"),
+                new ArrayList<>(deadline.getPhaseTimesMillis().keySet()));
+    }
+
+    @Test
+    void testNativeCallFailureIsReported() {
+        QueryDeadline deadline = new QueryDeadline(10);
+        MongoSQLException e =
+                assertThrows(
+                        MongoSQLException.class,
+                        () ->
+                                deadline.runNative(
+                                        "translate",
+                                        () -> {
+                                            throw new MongoSQLException("bad query");
+                                        },
+                                        EXECUTOR));
+        assertEquals("bad query", e.getMessage());
+        assertTrue(deadline.getPhaseTimesMillis().containsKey("translate"));
+    }
+
+    @Test
+    void testSlowNativeCallIsAbandoned() throws Exception {
+        QueryDeadline deadline = new QueryDeadline(1);
+        CountDownLatch release = new CountDownLatch(1);
+        deadline.endPhase("namespaces");
+        SQLTimeoutException e =
+                assertThrows(
+                        SQLTimeoutException.class,
+                        () ->
+                                deadline.runNative(
+                                        "translate",
+                                        () -> {
+                                            // Not interruptible, like a native call.
+                                            while (release.getCount() > 0) {
+                                                LockSupport.parkNanos(1_000_000);
+                                            }
+                                            return null;
+                                        },
+                                        EXECUTOR));
+        release.countDown();
+        assertTrue(e.getMessage().contains("expired during translate"), e.getMessage());
+        assertTrue(e.getMessage().contains("namespaces"), e.getMessage());
+        assertTrue(deadline.getPhaseTimesMillis().get("translate") >= 900);
+
+        // The following phases are not started.
+        e = assertThrows(SQLTimeoutException.class, () -> deadline.remainingMillis("aggregate"));
+        assertTrue(e.getMessage().contains("expired before aggregate"), e.getMessage());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.Test;
+
+class RowStoreTest {
+    private static BsonDocument row(int i, int padding) {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < padding; j++) {
+            sb.append('x');
+        }
+        return new BsonDocument("i", new BsonInt32(i)).append("s", new BsonString(sb.toString()));
+    }
+
+    private static int size(BsonDocument row) {
+        return new RawBsonDocument(row, new BsonDocumentCodec()).getByteBuffer().remaining();
+    }
+
+    @Test
+    void testRowsAreSpilledBeyondTheWindow() throws Exception {
+        int rowSize = size(row(0, 10));
+        // The window holds 4 rows and the write buffer 10 rows.
+        RowStore store = new RowStore(4L * rowSize, 10 * rowSize);
+        for (int i = 0; i < 100; i++) {
+            store.add(row(i, 10));
+            assertTrue(store.getWindowSize() <= 4L * rowSize);
+        }
+        assertEquals(100, store.size());
+        assertEquals(96, store.getSpilledRows());
+        assertEquals(96L * rowSize, store.getSpilledBytes());
+
+        // The rows can be read in any order, from heap or from the spill file.
+        for (int i : new int[] {99, 0, 50, 96, 95, 9, 10, 11}) {
+            assertEquals(row(i, 10), store.get(i));
+        }
+        store.close();
+    }
+
+    @Test
+    void testLargeRowsAreSpilled() throws Exception {
+        int smallSize = size(row(0, 10));
+        RowStore store = new RowStore(0, 4 * smallSize);
+        store.add(row(0, 10));
+        // A row larger than the write buffer is written directly.
+        store.add(row(1, 1000));
+        store.add(row(2, 10));
+        store.add(row(3, 10));
+        assertEquals(3, store.getSpilledRows());
+
+        assertEquals(row(0, 10), store.get(0));
+        assertEquals(row(1, 1000), store.get(1));
+        assertEquals(row(2, 10), store.get(2));
+        assertEquals(row(3, 10), store.get(3));
+        store.close();
+    }
+
+    @Test
+    void testRowsStayOnHeapWithinTheWindow() throws Exception {
+        RowStore store = new RowStore(RowStore.DEFAULT_WINDOW_BYTES);
+        for (int i = 0; i < 100; i++) {
+            store.add(row(i, 10));
+        }
+        assertEquals(0, store.getSpilledRows());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(row(i, 10), store.get(i));
+        }
+        store.close();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.jdbc.logging.MongoLogger;
+import com.mongodb.jdbc.mongosql.GetNamespacesResult;
+import com.mongodb.jdbc.mongosql.MongoSQLException;
+import com.mongodb.jdbc.mongosql.MongoSQLTranslate;
+import com.mongodb.jdbc.mongosql.SchemaCatalogCache;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.codecs.DecoderContext;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class SchemaCatalogCacheTest {
+    private static final String DB = "db";
+    private static final BsonDocument SCHEMA_A =
+            new BsonDocument("bsonType", new BsonString("object"));
+    private static final BsonDocument SCHEMA_B =
+            new BsonDocument("bsonType", new BsonString("array"));
+
+    private MongoDatabase mongoDatabase;
+    private MongoCollection<BsonDocument> schemasCollection;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoDatabase = mock(MongoDatabase.class);
+        schemasCollection = mock(MongoCollection.class);
+        when(mongoDatabase.getName()).thenReturn(DB);
+        when(mongoDatabase.getCollection(
+                        MongoSQLTranslate.SQL_SCHEMAS_COLLECTION, BsonDocument.class))
+                .thenReturn(schemasCollection);
+        // Change streams are not available unless a test says otherwise.
+        when(schemasCollection.watch()).thenThrow(new IllegalStateException("standalone"));
+    }
+
+    private static Map<String, BsonValue> schemas(String collection, BsonDocument schema) {
+        return Collections.singletonMap(collection, schema);
+    }
+
+    @Test
+    void testTtlMode() throws Exception {
+        SchemaCatalogCache cache = new SchemaCatalogCache(1);
+
+        assertTrue(cache.getSchemas(mongoDatabase, Arrays.asList("a", "b")).isEmpty());
+        cache.putSchemas(mongoDatabase, cache.getVersion(mongoDatabase), schemas("a", SCHEMA_A));
+
+        Map<String, BsonValue> cached = cache.getSchemas(mongoDatabase, Arrays.asList("a", "b"));
+        assertEquals(schemas("a", SCHEMA_A), cached);
+        assertFalse(cache.isWatched(DB));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+
+        Thread.sleep(1100);
+        assertTrue(cache.getSchemas(mongoDatabase, Collections.singletonList("a")).isEmpty());
+    }
+
+    @Test
+    void testConcurrentInvalidationIsNotOverwritten() {
+        SchemaCatalogCache cache = new SchemaCatalogCache(60);
+
+        long version = cache.getVersion(mongoDatabase);
+        // A change is notified while the schemas are being fetched.
+        cache.clear();
+        cache.putSchemas(mongoDatabase, version, schemas("a", SCHEMA_A));
+
+        assertTrue(cache.getSchemas(mongoDatabase, Collections.singletonList("a")).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPartialMissOnlyFetchesMissingCollections() throws Exception {
+        SchemaCatalogCache cache = new SchemaCatalogCache(60);
+        cache.putSchemas(mongoDatabase, cache.getVersion(mongoDatabase), schemas("a", SCHEMA_A));
+
+        AggregateIterable<BsonDocument> aggregateIterable = mock(AggregateIterable.class);
+        MongoCursor<BsonDocument> cursor = mock(MongoCursor.class);
+        when(schemasCollection.aggregate(any(List.class))).thenReturn(aggregateIterable);
+        when(aggregateIterable.iterator()).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn(new BsonDocument(DB, new BsonDocument("b", SCHEMA_B)));
+
+        MongoSQLTranslate translate =
+                new MongoSQLTranslate(new MongoLogger(Logger.getLogger("Logger"), 1));
+        BsonDocument catalog =
+                translate.buildCatalogDocument(
+                        mongoDatabase,
+                        DB,
+                        Arrays.asList(
+                                new GetNamespacesResult.Namespace(DB, "a"),
+                                new GetNamespacesResult.Namespace(DB, "b")),
+                        cache);
+
+        assertEquals(
+                new BsonDocument(DB, new BsonDocument("a", SCHEMA_A).append("b", SCHEMA_B)),
+                catalog);
+
+        ArgumentCaptor<List<Bson>> pipeline = ArgumentCaptor.forClass(List.class);
+        verify(schemasCollection).aggregate(pipeline.capture());
+        BsonDocument match =
+                pipeline.getValue()
+                        .get(0)
+                        .toBsonDocument(
+                                BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+        assertTrue(match.toJson().contains("\"b\""));
+        assertFalse(match.toJson().contains("\"a\""));
+
+        // Everything is cached now, no more round trip.
+        translate.buildCatalogDocument(
+                mongoDatabase,
+                DB,
+                Collections.singletonList(new GetNamespacesResult.Namespace(DB, "b")),
+                cache);
+        verify(schemasCollection, times(1)).aggregate(any(List.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMissingSchemaIsAnError() {
+        SchemaCatalogCache cache = new SchemaCatalogCache(60);
+        cache.putSchemas(mongoDatabase, cache.getVersion(mongoDatabase), schemas("a", SCHEMA_A));
+
+        AggregateIterable<BsonDocument> aggregateIterable = mock(AggregateIterable.class);
+        MongoCursor<BsonDocument> cursor = mock(MongoCursor.class);
+        when(schemasCollection.aggregate(any(List.class))).thenReturn(aggregateIterable);
+        when(aggregateIterable.iterator()).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(false);
+
+        MongoSQLTranslate translate =
+                new MongoSQLTranslate(new MongoLogger(Logger.getLogger("Logger"), 1));
+        assertThrows(
+                MongoSQLException.class,
+                () ->
+                        translate.buildCatalogDocument(
+                                mongoDatabase,
+                                DB,
+                                Arrays.asList(
+                                        new GetNamespacesResult.Namespace(DB, "a"),
+                                        new GetNamespacesResult.Namespace(DB, "b")),
+                                cache));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testChangeStreamInvalidation() throws Exception {
+        ChangeStreamIterable<BsonDocument> changeStream = mock(ChangeStreamIterable.class);
+        MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> changeStreamCursor =
+                mock(MongoChangeStreamCursor.class);
+        reset(schemasCollection);
+        when(schemasCollection.watch()).thenReturn(changeStream);
+        when(changeStream.maxAwaitTime(anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(changeStream);
+        when(changeStream.cursor()).thenReturn(changeStreamCursor);
+
+        ChangeStreamDocument<BsonDocument> event =
+                ChangeStreamDocument.createCodec(
+                                BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry())
+                        .decode(
+                                new BsonDocumentReader(
+                                        new BsonDocument(
+                                                        "_id", new BsonDocument("_data", SCHEMA_A))
+                                                .append("operationType", new BsonString("update"))
+                                                .append(
+                                                        "documentKey",
+                                                        new BsonDocument(
+                                                                "_id", new BsonString("a")))),
+                                DecoderContext.builder().build());
+        Object lock = new Object();
+        boolean[] emit = {false};
+        when(changeStreamCursor.tryNext())
+                .thenAnswer(
+                        invocation -> {
+                            synchronized (lock) {
+                                if (emit[0]) {
+                                    emit[0] = false;
+                                    return event;
+                                }
+                            }
+                            Thread.sleep(20);
+                            return null;
+                        });
+
+        SchemaCatalogCache cache = new SchemaCatalogCache(60);
+        cache.putSchemas(
+                mongoDatabase,
+                cache.getVersion(mongoDatabase),
+                new BsonDocument("a", SCHEMA_A).append("b", SCHEMA_B));
+        assertTrue(cache.isWatched(DB));
+        assertEquals(2, cache.getSchemas(mongoDatabase, Arrays.asList("a", "b")).size());
+
+        synchronized (lock) {
+            emit[0] = true;
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.getInvalidationCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, cache.getInvalidationCount());
+        assertEquals(
+                schemas("b", SCHEMA_B),
+                cache.getSchemas(mongoDatabase, Arrays.asList("a", "b")));
+        cache.clear();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.jdbc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.jdbc.mongosql.GetNamespacesResult;
+import com.mongodb.jdbc.mongosql.TranslateResult;
+import com.mongodb.jdbc.mongosql.TranslationCache;
+import java.util.Collections;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+
+class TranslationCacheTest {
+    private static final String DB = "db";
+    private static final String SQL = "SELECT * FROM foo";
+
+    private static TranslateResult translateResult(String collection) {
+        return new TranslateResult(DB, collection, Collections.emptyList(), null, null);
+    }
+
+    private static BsonDocument catalog(String type) {
+        return new BsonDocument(
+                DB,
+                new BsonDocument(
+                        "foo",
+                        new BsonDocument("bsonType", new BsonString("object"))
+                                .append(
+                                        "properties",
+                                        new BsonDocument(
+                                                "a",
+                                                new BsonDocument(
+                                                        "bsonType", new BsonString(type))))));
+    }
+
+    @Test
+    void testHitAndMiss() throws Exception {
+        TranslationCache cache = new TranslationCache(10);
+        String fingerprint = TranslationCache.fingerprint(catalog("int"));
+
+        assertNull(cache.get(DB, SQL, fingerprint));
+        TranslateResult result = translateResult("foo");
+        cache.put(DB, SQL, fingerprint, result);
+
+        assertSame(result, cache.get(DB, SQL, fingerprint));
+        assertNull(cache.get("otherDb", SQL, fingerprint));
+        assertNull(cache.get(DB, "SELECT * FROM bar", fingerprint));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testCatalogChangeMisses() throws Exception {
+        TranslationCache cache = new TranslationCache(10);
+        String intFingerprint = TranslationCache.fingerprint(catalog("int"));
+        String stringFingerprint = TranslationCache.fingerprint(catalog("string"));
+
+        assertEquals(intFingerprint, TranslationCache.fingerprint(catalog("int")));
+        assertNotEquals(intFingerprint, stringFingerprint);
+
+        cache.put(DB, SQL, intFingerprint, translateResult("foo"));
+        assertNull(cache.get(DB, SQL, stringFingerprint));
+        assertNotNull(cache.get(DB, SQL, intFingerprint));
+    }
+
+    @Test
+    void testLruEviction() throws Exception {
+        TranslationCache cache = new TranslationCache(2);
+        String fingerprint = TranslationCache.fingerprint(catalog("int"));
+
+        cache.put(DB, "q1", fingerprint, translateResult("c1"));
+        cache.put(DB, "q2", fingerprint, translateResult("c2"));
+        // Touch q1 so that q2 becomes the least recently used entry.
+        assertNotNull(cache.get(DB, "q1", fingerprint));
+        cache.put(DB, "q3", fingerprint, translateResult("c3"));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get(DB, "q1", fingerprint));
+        assertNull(cache.get(DB, "q2", fingerprint));
+        assertNotNull(cache.get(DB, "q3", fingerprint));
+    }
+
+    @Test
+    void testNamespacesCache() {
+        TranslationCache cache = new TranslationCache(2);
+        GetNamespacesResult namespaces = new GetNamespacesResult(Collections.emptyList());
+
+        assertNull(cache.getNamespaces(DB, SQL));
+        cache.putNamespaces(DB, SQL, namespaces);
+        assertSame(namespaces, cache.getNamespaces(DB, SQL));
+
+        cache.clear();
+        assertNull(cache.getNamespaces(DB, SQL));
+    }
+
+    @Test
+    void testSharedPerClient() {
+        MongoClient client1 = mock(MongoClient.class);
+        MongoClient client2 = mock(MongoClient.class);
+
+        TranslationCache cache1 = TranslationCache.forClient(client1, 5);
+        assertSame(cache1, TranslationCache.forClient(client1, 50));
+        assertEquals(5, cache1.getMaxSize());
+        assertNotSame(cache1, TranslationCache.forClient(client2, 5));
+    }
+
+    @Test
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TranslationCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new TranslationCache(-1));
+    }
+}